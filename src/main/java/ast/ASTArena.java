@@ -0,0 +1,434 @@
+package ast;
+
+import toks.SrcRange;
+import toks.Tok;
+import toks.TokType;
+import types.TypeInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+// Compact AST stored as parallel primitive arrays indexed by node ids
+// Nodes are numbered in pre-order, so the first child of a node usually follows it immediately
+// Children are linked as first-child/next-sibling lists, and a node with fixed children, e.g. a binary operator node,
+// keeps a mask of the children that are present so missing ones can still be told apart
+public class ASTArena implements IFlatAST {
+    private static final ASTNodeType[] NODE_TYPES = ASTNodeType.values();
+    private static final TokType[] TOK_TYPES = TokType.values();
+    private static final byte VAL_EXPR = 1;
+    private static final byte MUTABLE = 2;
+
+    // Nodes
+    private int numNodes;
+    private byte[] nodeTypes;
+    private byte[] flags;
+    private byte[] childMasks;
+    private int[] toks;
+    private int[] dtypes;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private long[] startPos;
+    private long[] endPos;
+
+    // Tokens, whose values are stored as ranges in a single string
+    private int numToks;
+    private String tokText;
+    private int[] tokValStarts;
+    private int[] tokValEnds;
+    private byte[] tokTypes;
+    private long[] tokStartPos;
+    private long[] tokEndPos;
+
+    // Data types, which are shared between nodes
+    private final List<TypeInfo> dtypeList = new ArrayList<>();
+
+    // Tables used while the arena is being built
+    private IdentityHashMap<Tok, Integer> tokMap = new IdentityHashMap<>();
+    private IdentityHashMap<TypeInfo, Integer> dtypeMap = new IdentityHashMap<>();
+    private HashMap<String, Integer> tokValMap = new HashMap<>();
+    private StringBuilder tokTextBuff = new StringBuilder();
+
+    private ASTArena(int capacity) {
+        nodeTypes = new byte[capacity];
+        flags = new byte[capacity];
+        childMasks = new byte[capacity];
+        toks = new int[capacity];
+        dtypes = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        startPos = new long[capacity];
+        endPos = new long[capacity];
+        tokValStarts = new int[capacity];
+        tokValEnds = new int[capacity];
+        tokTypes = new byte[capacity];
+        tokStartPos = new long[capacity];
+        tokEndPos = new long[capacity];
+    }
+
+    /**
+     * Copies an AST into an arena.
+     *
+     * @param root the AST's root.
+     * @return an ASTArena object.
+     */
+    public static ASTArena fromTree(ASTNode root) {
+        ASTArena arena = new ASTArena(64);
+        new ASTTraverser().traverse(root, arena.new Builder());
+        arena.trim();
+        // The tables are only needed to share tokens and data types between nodes
+        arena.tokText = arena.tokTextBuff.toString();
+        arena.tokTextBuff = null;
+        arena.tokMap = null;
+        arena.dtypeMap = null;
+        arena.tokValMap = null;
+        return arena;
+    }
+
+    /**
+     * Gets the fixed children of a node in the order they are stored.
+     *
+     * @param node the node.
+     * @return an array of child nodes, some of which may be null.
+     */
+    static ASTNode[] getFixedChildren(ASTNode node) {
+        ASTNode[] childNodes = new ASTNode[IFlatAST.countFixedChildren(node.getNodeType())];
+        for (int i = 0; i < childNodes.length; ++i) {
+            childNodes[i] = ASTTraverser.getChild(node, i);
+        }
+        return childNodes;
+    }
+
+    // Adds the nodes in the order they are entered, which is pre-order, and links each one to its parent
+    private class Builder implements IASTTraversal {
+        // Ids of the nodes on the path from the root and of the last child added to each of them
+        private int[] parentStack = new int[64];
+        private int[] lastChildStack = new int[64];
+        private int depth = 0;
+
+        @Override
+        public boolean enter(ASTNode node) {
+            if (node instanceof PackedArrLiteralASTNode packedNode) {
+                // Stored as the array literal it was packed from, which exit leaves like the packed node
+                ArrLiteralASTNode arrLiteralNode = packedNode.unpack();
+                enter(arrLiteralNode);
+                for (ASTNode elmNode : arrLiteralNode) {
+                    enter(elmNode);
+                    exit(elmNode);
+                }
+                return false;
+            }
+
+            int id = addNode(node);
+            if (depth > 0) {
+                lastChildStack[depth - 1] = linkChild(parentStack[depth - 1], lastChildStack[depth - 1], id);
+            }
+            if (depth == parentStack.length) {
+                parentStack = Arrays.copyOf(parentStack, depth * 2);
+                lastChildStack = Arrays.copyOf(lastChildStack, depth * 2);
+            }
+            parentStack[depth] = id;
+            lastChildStack[depth] = NONE;
+            ++depth;
+            return true;
+        }
+
+        @Override
+        public ASTNode exit(ASTNode node) {
+            --depth;
+            return node;
+        }
+    }
+
+    /**
+     * Adds a node without its children.
+     *
+     * @param node the node to be added.
+     * @return the id of the node.
+     */
+    private int addNode(ASTNode node) {
+        int id = numNodes++;
+        if (id == nodeTypes.length) {
+            growNodes(nodeTypes.length * 2);
+        }
+
+        nodeTypes[id] = (byte) node.getNodeType().ordinal();
+        flags[id] = (byte) ((node.isValExpr() ? VAL_EXPR : 0) |
+                (node instanceof IdASTNode idNode && idNode.isMutable() ? MUTABLE : 0));
+        toks[id] = addTok(node.getTok());
+        dtypes[id] = addDtype(node.getDtype());
+        startPos[id] = node.getStartPos();
+        endPos[id] = node.getEndPos();
+        firstChildren[id] = NONE;
+        nextSiblings[id] = NONE;
+
+        if (!(node instanceof MultichildASTNode)) {
+            byte childMask = 0;
+            for (int i = 0; i < IFlatAST.countFixedChildren(node.getNodeType()); ++i) {
+                if (ASTTraverser.getChild(node, i) != null) {
+                    childMask |= (byte) (1 << i);
+                }
+            }
+            childMasks[id] = childMask;
+        }
+
+        return id;
+    }
+
+    private int linkChild(int parent, int prevChild, int child) {
+        if (prevChild == NONE) {
+            firstChildren[parent] = child;
+        } else {
+            nextSiblings[prevChild] = child;
+        }
+        return child;
+    }
+
+    private int addTok(Tok tok) {
+        if (tok == null) {
+            return NONE;
+        }
+        Integer id = tokMap.get(tok);
+        if (id != null) {
+            return id;
+        }
+
+        id = numToks++;
+        if (id == tokTypes.length) {
+            growToks(tokTypes.length * 2);
+        }
+        // Tokens with the same value share the same range in the text
+        String tokVal = tok.getVal();
+        int tokValStart = tokValMap.computeIfAbsent(tokVal, val -> {
+            tokTextBuff.append(val);
+            return tokTextBuff.length() - val.length();
+        });
+        tokValStarts[id] = tokValStart;
+        tokValEnds[id] = tokValStart + tokVal.length();
+        tokTypes[id] = (byte) tok.getTokType().ordinal();
+        tokStartPos[id] = tok.getStartPos();
+        tokEndPos[id] = tok.getEndPos();
+        tokMap.put(tok, id);
+        return id;
+    }
+
+    private int addDtype(TypeInfo dtype) {
+        if (dtype == null) {
+            return NONE;
+        }
+        return dtypeMap.computeIfAbsent(dtype, key -> {
+            dtypeList.add(key);
+            return dtypeList.size() - 1;
+        });
+    }
+
+    /**
+     * Shrinks the arrays to the number of nodes and tokens.
+     */
+    private void trim() {
+        growNodes(numNodes);
+        growToks(numToks);
+    }
+
+    private void growNodes(int capacity) {
+        nodeTypes = Arrays.copyOf(nodeTypes, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        childMasks = Arrays.copyOf(childMasks, capacity);
+        toks = Arrays.copyOf(toks, capacity);
+        dtypes = Arrays.copyOf(dtypes, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        startPos = Arrays.copyOf(startPos, capacity);
+        endPos = Arrays.copyOf(endPos, capacity);
+    }
+
+    private void growToks(int capacity) {
+        tokValStarts = Arrays.copyOf(tokValStarts, capacity);
+        tokValEnds = Arrays.copyOf(tokValEnds, capacity);
+        tokTypes = Arrays.copyOf(tokTypes, capacity);
+        tokStartPos = Arrays.copyOf(tokStartPos, capacity);
+        tokEndPos = Arrays.copyOf(tokEndPos, capacity);
+    }
+
+    @Override
+    public int countNodes() {
+        return numNodes;
+    }
+
+    @Override
+    public ASTNodeType getNodeType(int node) {
+        return NODE_TYPES[nodeTypes[node]];
+    }
+
+    @Override
+    public boolean isValExpr(int node) {
+        return (flags[node] & VAL_EXPR) != 0;
+    }
+
+    @Override
+    public boolean isMutable(int node) {
+        return (flags[node] & MUTABLE) != 0;
+    }
+
+    @Override
+    public TypeInfo getDtype(int node) {
+        int dtype = dtypes[node];
+        return dtype == NONE ? null : dtypeList.get(dtype);
+    }
+
+    /**
+     * Creates the token of a node.
+     *
+     * @param node the node's id.
+     * @return a new Tok object or null if the node has no token.
+     */
+    @Override
+    public Tok getTok(int node) {
+        int tok = toks[node];
+        if (tok == NONE) {
+            return null;
+        }
+        String tokVal = tokText.substring(tokValStarts[tok], tokValEnds[tok]);
+        return new Tok(tokVal, TOK_TYPES[tokTypes[tok]], tokStartPos[tok], tokEndPos[tok]);
+    }
+
+    @Override
+    public long getStartPos(int node) {
+        return startPos[node];
+    }
+
+    @Override
+    public long getEndPos(int node) {
+        return endPos[node];
+    }
+
+    /**
+     * Creates the source range of a node.
+     *
+     * @param node the node's id.
+     * @return a new SrcRange object.
+     */
+    @Override
+    public SrcRange getSrcRange(int node) {
+        return new SrcRange(startPos[node], endPos[node]);
+    }
+
+    @Override
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    @Override
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    @Override
+    public int getFixedChild(int node, int i) {
+        int childMask = childMasks[node];
+        if ((childMask & (1 << i)) == 0) {
+            return NONE;
+        }
+        // Skip the children that are present before the i-th one
+        int child = firstChildren[node];
+        for (int j = Integer.bitCount(childMask & ((1 << i) - 1)); j > 0; --j) {
+            child = nextSiblings[child];
+        }
+        return child;
+    }
+
+    /**
+     * Rebuilds the AST so that it can be processed by an IASTVisitor object.
+     *
+     * @return the AST's root.
+     */
+    public ASTNode toTree() {
+        return toNode(0, new Tok[numToks]);
+    }
+
+    /**
+     * Rebuilds a node and its subtree.
+     *
+     * @param node     the node's id.
+     * @param tokCache the tokens that have been rebuilt so that they are shared like in the original tree.
+     * @return the rebuilt node.
+     */
+    private ASTNode toNode(int node, Tok[] tokCache) {
+        Tok tok = null;
+        if (toks[node] != NONE) {
+            tok = tokCache[toks[node]];
+            if (tok == null) {
+                tok = getTok(node);
+                tokCache[toks[node]] = tok;
+            }
+        }
+
+        TypeInfo dtype = getDtype(node);
+        ASTNodeType nodeType = getNodeType(node);
+        ASTNode astNode = switch (nodeType) {
+            case LITERAL -> new LiteralASTNode(tok, dtype);
+            case ID -> new IdASTNode(tok, dtype, isMutable(node));
+            case SIMPLE_DTYPE -> new SimpleDtypeASTNode(tok, dtype);
+            case ARR_DTYPE -> new ArrDtypeASTNode(tok, startPos[node], endPos[node], nodeType, dtype);
+            case BREAK -> new BreakASTNode(tok);
+            case CONT -> new ContASTNode(tok);
+            case UN_OP -> new UnOpASTNode(tok, dtype);
+            case RET -> new RetASTNode(tok, dtype);
+            case BIN_OP -> new BinOpASTNode(tok, dtype);
+            case ELSE -> new ElseASTNode(tok);
+            case IF -> new IfASTNode(tok);
+            case WHILE -> new WhileASTNode(tok);
+            case VAR_DECL -> new VarDeclASTNode(tok, dtype);
+            case VAR_DEF -> new VarDefASTNode(tok, dtype);
+            case PARAM_DECL -> new ParamDeclASTNode(dtype);
+            case FUN_SIGN -> new FunSignASTNode(dtype);
+            case FUN_CALL -> new FunCallASTNode(dtype);
+            case ARR_ACCESS -> new ArrAccessASTNode(dtype);
+            case FUN_DEF -> new FunDefASTNode(tok, dtype);
+            case SCOPE -> new ScopeASTNode();
+            case IF_ELSE -> new IfElseASTNode();
+            case PARAM_LIST -> new ParamListASTNode();
+            // Packed array literals are stored unpacked
+            case ARR_LITERAL, PACKED_ARR_LITERAL -> new ArrLiteralASTNode(dtype);
+            case EXPR_LIST -> new ExprListASTNode(dtype);
+            case OP_CHAIN -> new OpChainASTNode(tok, dtype);
+        };
+
+        if (IFlatAST.countFixedChildren(nodeType) == LIST) {
+            MultichildASTNode multichildNode = (MultichildASTNode) astNode;
+            for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+                multichildNode.addChild(toNode(child, tokCache));
+            }
+        } else {
+            ASTNode[] childNodes = new ASTNode[IFlatAST.countFixedChildren(nodeType)];
+            for (int i = 0; i < childNodes.length; ++i) {
+                int child = getFixedChild(node, i);
+                childNodes[i] = child == NONE ? null : toNode(child, tokCache);
+            }
+            setFixedChildren(astNode, childNodes);
+        }
+
+        // The setters above may have changed the node's source range, so it is restored here
+        astNode.setTok(tok);
+        astNode.setDtype(dtype);
+        astNode.setStartPos(startPos[node]);
+        astNode.setEndPos(endPos[node]);
+        return astNode;
+    }
+
+    /**
+     * Sets the fixed children of a node in the order returned by getFixedChildren.
+     *
+     * @param node       the node.
+     * @param childNodes the child nodes, some of which may be null.
+     */
+    private static void setFixedChildren(ASTNode node, ASTNode[] childNodes) {
+        for (int i = 0; i < childNodes.length; ++i) {
+            if (childNodes[i] != null) {
+                ASTTraverser.setChild(node, i, childNodes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ast;
+
+// Layout of the binary AST format, all integers are big-endian
+//
+// Header:
+//   int   MAGIC
+//   short VERSION
+//   short RESTART_INTERVAL
+//   int   number of nodes, strings and data types
+//   int   offsets of the string index, string data, data type table, node index and node data sections
+// String index: one int per string, the offset of the string in the string data section
+// String data: each string is a varint length followed by its UTF-8 bytes
+// Data type table: three ints per data type, the id's string, the core type's string or -1, and the dimension
+// Node index: one int per node, the offset of the node's record in the node data section
+// Node data: one record per node in pre-order
+//   byte   node type
+//   byte   flags
+//   byte   mask of the fixed children that are present
+//   zigzag start line and start column, relative to the previous node's start or to 0 at a restart point
+//   zigzag end line and end column, relative to the start
+//   varint subtree size, which is the number of nodes in the subtree including the node itself
+//   varint data type index plus one, 0 if there is no data type
+//   If the node has a token:
+//     varint string index of the token's value plus one, 0 if there is no value
+//     byte   token type
+//     zigzag token start line and start column, relative to the node's start
+//     zigzag token end line and end column, relative to the token's start
+final class ASTBinFormat {
+    static final int MAGIC = 0x50415354;
+    static final short VERSION = 1;
+    // Every n-th node stores its start position relative to 0 so that decoding a position never goes far back
+    static final short RESTART_INTERVAL = 16;
+    static final int HEADER_SIZE = 4 + 2 + 2 + 3 * 4 + 5 * 4;
+    static final int DTYPE_SIZE = 3 * 4;
+    // Flags
+    static final int VAL_EXPR = 1;
+    static final int MUTABLE = 2;
+    static final int HAS_TOK = 4;
+    static final int HAS_NEXT_SIBLING = 8;
+
+    private ASTBinFormat() {
+    }
+}
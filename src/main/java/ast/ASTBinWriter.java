@@ -0,0 +1,196 @@
+package ast;
+
+import toks.SrcPos;
+import toks.Tok;
+import types.ArrTypeInfo;
+import types.TypeInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+// Serializes a flat AST into the binary format described in ASTBinFormat
+public class ASTBinWriter {
+    private final IFlatAST ast;
+    private final HashMap<String, Integer> strMap = new HashMap<>();
+    private final ByteArrayOutputStream strData = new ByteArrayOutputStream();
+    private final List<Integer> strOffsets = new ArrayList<>();
+    private final IdentityHashMap<TypeInfo, Integer> dtypeMap = new IdentityHashMap<>();
+    private final List<int[]> dtypeList = new ArrayList<>();
+    private final ByteArrayOutputStream nodeData = new ByteArrayOutputStream();
+
+    private ASTBinWriter(IFlatAST ast) {
+        this.ast = ast;
+    }
+
+    /**
+     * Writes an AST in the binary format.
+     *
+     * @param ast the flat AST.
+     * @param out the output stream, which is not closed.
+     * @throws IOException if there is an IO exception.
+     */
+    public static void write(IFlatAST ast, OutputStream out) throws IOException {
+        new ASTBinWriter(ast).write(out);
+    }
+
+    private void write(OutputStream out) throws IOException {
+        int numNodes = ast.countNodes();
+        int[] subtreeSizes = new int[numNodes];
+        boolean[] hasNextSibling = new boolean[numNodes];
+        // Children have greater ids than their parent so the sizes can be computed from the last node up
+        for (int node = numNodes - 1; node >= 0; --node) {
+            subtreeSizes[node] = 1;
+            for (int child = ast.getFirstChild(node); child != IFlatAST.NONE; child = ast.getNextSibling(child)) {
+                subtreeSizes[node] += subtreeSizes[child];
+                hasNextSibling[child] = ast.getNextSibling(child) != IFlatAST.NONE;
+            }
+        }
+
+        int[] nodeOffsets = new int[numNodes];
+        long prevStartPos = 0;
+        for (int node = 0; node < numNodes; ++node) {
+            nodeOffsets[node] = nodeData.size();
+            if (node % ASTBinFormat.RESTART_INTERVAL == 0) {
+                prevStartPos = 0;
+            }
+            writeNode(node, subtreeSizes[node], hasNextSibling[node], prevStartPos);
+            prevStartPos = ast.getStartPos(node);
+        }
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        int strIndexOffset = ASTBinFormat.HEADER_SIZE;
+        int strDataOffset = strIndexOffset + 4 * strOffsets.size();
+        int dtypeTableOffset = strDataOffset + strData.size();
+        int nodeIndexOffset = dtypeTableOffset + ASTBinFormat.DTYPE_SIZE * dtypeList.size();
+        int nodeDataOffset = nodeIndexOffset + 4 * numNodes;
+
+        dataOut.writeInt(ASTBinFormat.MAGIC);
+        dataOut.writeShort(ASTBinFormat.VERSION);
+        dataOut.writeShort(ASTBinFormat.RESTART_INTERVAL);
+        dataOut.writeInt(numNodes);
+        dataOut.writeInt(strOffsets.size());
+        dataOut.writeInt(dtypeList.size());
+        dataOut.writeInt(strIndexOffset);
+        dataOut.writeInt(strDataOffset);
+        dataOut.writeInt(dtypeTableOffset);
+        dataOut.writeInt(nodeIndexOffset);
+        dataOut.writeInt(nodeDataOffset);
+
+        for (int strOffset : strOffsets) {
+            dataOut.writeInt(strOffset);
+        }
+        strData.writeTo(dataOut);
+        for (int[] dtype : dtypeList) {
+            for (int field : dtype) {
+                dataOut.writeInt(field);
+            }
+        }
+        for (int nodeOffset : nodeOffsets) {
+            dataOut.writeInt(nodeOffset);
+        }
+        nodeData.writeTo(dataOut);
+        dataOut.flush();
+    }
+
+    /**
+     * Writes the record of a node.
+     *
+     * @param node           the node's id.
+     * @param subtreeSize    the number of nodes in the node's subtree.
+     * @param hasNextSibling whether the node has a next sibling.
+     * @param prevStartPos   the packed start position that the node's start is relative to.
+     */
+    private void writeNode(int node, int subtreeSize, boolean hasNextSibling, long prevStartPos) {
+        ASTNodeType nodeType = ast.getNodeType(node);
+        Tok tok = ast.getTok(node);
+        int flags = (ast.isValExpr(node) ? ASTBinFormat.VAL_EXPR : 0) |
+                (ast.isMutable(node) ? ASTBinFormat.MUTABLE : 0) |
+                (tok != null ? ASTBinFormat.HAS_TOK : 0) |
+                (hasNextSibling ? ASTBinFormat.HAS_NEXT_SIBLING : 0);
+        int childMask = 0;
+        for (int i = 0; i < IFlatAST.countFixedChildren(nodeType); ++i) {
+            if (ast.getFixedChild(node, i) != IFlatAST.NONE) {
+                childMask |= 1 << i;
+            }
+        }
+
+        nodeData.write(nodeType.ordinal());
+        nodeData.write(flags);
+        nodeData.write(childMask);
+        long startPos = ast.getStartPos(node);
+        writePos(prevStartPos, startPos);
+        writePos(startPos, ast.getEndPos(node));
+        writeVarint(subtreeSize);
+        TypeInfo dtype = ast.getDtype(node);
+        writeVarint(dtype == null ? 0 : addDtype(dtype) + 1);
+
+        if (tok != null) {
+            writeVarint(tok.getVal() == null ? 0 : addStr(tok.getVal()) + 1);
+            nodeData.write(tok.getTokType().ordinal());
+            writePos(startPos, tok.getStartPos());
+            writePos(tok.getStartPos(), tok.getEndPos());
+        }
+    }
+
+    /**
+     * Writes a position relative to another position.
+     *
+     * @param basePos the packed position that the position is relative to.
+     * @param pos     the packed position.
+     */
+    private void writePos(long basePos, long pos) {
+        writeZigzag(SrcPos.getLn(pos) - SrcPos.getLn(basePos));
+        writeZigzag(SrcPos.getCol(pos) - SrcPos.getCol(basePos));
+    }
+
+    private void writeVarint(int val) {
+        while ((val & ~0x7f) != 0) {
+            nodeData.write((val & 0x7f) | 0x80);
+            val >>>= 7;
+        }
+        nodeData.write(val);
+    }
+
+    private void writeZigzag(int val) {
+        writeVarint((val << 1) ^ (val >> 31));
+    }
+
+    private int addStr(String str) {
+        return strMap.computeIfAbsent(str, key -> {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            strOffsets.add(strData.size());
+            // The length is written as a varint like in the node data
+            int len = bytes.length;
+            while ((len & ~0x7f) != 0) {
+                strData.write((len & 0x7f) | 0x80);
+                len >>>= 7;
+            }
+            strData.write(len);
+            strData.writeBytes(bytes);
+            return strOffsets.size() - 1;
+        });
+    }
+
+    private int addDtype(TypeInfo dtype) {
+        Integer id = dtypeMap.get(dtype);
+        if (id != null) {
+            return id;
+        }
+
+        int[] fields = new int[]{addStr(dtype.getId()), -1, 0};
+        if (dtype instanceof ArrTypeInfo arrDtype) {
+            fields[1] = addStr(arrDtype.getCoreDtype().getId());
+            fields[2] = arrDtype.getDim();
+        }
+        dtypeList.add(fields);
+        dtypeMap.put(dtype, dtypeList.size() - 1);
+        return dtypeList.size() - 1;
+    }
+}
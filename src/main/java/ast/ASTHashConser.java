@@ -0,0 +1,95 @@
+package ast;
+
+import toks.Tok;
+import toks.TokType;
+import types.TypeInfo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+// Replaces structurally equal nodes of an AST with a single shared node
+// Literal, identifier and data type nodes are always shared, and other nodes are shared too if whole subtrees are.
+// Two nodes are equal if they have the same node type, token value and type, data type, variable address and identical
+// children, so after hash-consing two subtrees are structurally equal exactly when they are the same object. The
+// positions are not compared, so they are moved to an ASTPosTable before the nodes are shared, and the positions in the
+// shared nodes are not meaningful afterwards.
+// The AST should not be changed after it has been hash-consed, e.g. it should already have been checked.
+public class ASTHashConser implements IASTTraversal {
+    // Everything that tells two nodes apart except their positions
+    private record NodeKey(ASTNodeType nodeType, String tokVal, TokType tokType, TypeInfo dtype, boolean valExpr,
+                           boolean mutable, int frameDepth, int slot, List<ASTNode> children) {
+    }
+
+    private final boolean shareSubtrees;
+    private final HashMap<NodeKey, ASTNode> canonicalNodes = new HashMap<>();
+    private final ASTPosTable posTable = new ASTPosTable();
+
+    /**
+     * Creates a hash-conser.
+     *
+     * @param shareSubtrees whether to share all nodes instead of only literal, identifier and data type nodes.
+     */
+    public ASTHashConser(boolean shareSubtrees) {
+        this.shareSubtrees = shareSubtrees;
+    }
+
+    /**
+     * Hash-conses an AST, recording its positions in the position table.
+     *
+     * @param root the AST's root.
+     * @return the root of the hash-consed AST.
+     */
+    public ASTNode hashCons(ASTNode root) {
+        return new ASTTraverser().traverse(root, this);
+    }
+
+    public ASTPosTable getPosTable() {
+        return posTable;
+    }
+
+    /**
+     * Counts the distinct nodes that have been kept for sharing.
+     *
+     * @return the number of shared nodes.
+     */
+    public int countCanonicalNodes() {
+        return canonicalNodes.size();
+    }
+
+    @Override
+    public boolean enter(ASTNode node) {
+        // Recorded before the children replace theirs with shared ones, since the setters change the parent's range
+        posTable.add(node);
+        return true;
+    }
+
+    @Override
+    public ASTNode exit(ASTNode node) {
+        if (!canShare(node)) {
+            return node;
+        }
+
+        ASTNode[] children = new ASTNode[ASTTraverser.countChildren(node)];
+        for (int i = 0; i < children.length; ++i) {
+            children[i] = ASTTraverser.getChild(node, i);
+        }
+        Tok tok = node.getTok();
+        IdASTNode idNode = node instanceof IdASTNode ? (IdASTNode) node : null;
+        NodeKey key = new NodeKey(node.getNodeType(), tok == null ? null : tok.getVal(),
+                tok == null ? null : tok.getTokType(), node.getDtype(), node.isValExpr(),
+                idNode != null && idNode.isMutable(), idNode == null ? IdASTNode.NO_SLOT : idNode.getFrameDepth(),
+                idNode == null ? IdASTNode.NO_SLOT : idNode.getSlot(), Arrays.asList(children));
+        ASTNode canonicalNode = canonicalNodes.putIfAbsent(key, node);
+        return canonicalNode == null ? node : canonicalNode;
+    }
+
+    private boolean canShare(ASTNode node) {
+        return switch (node.getNodeType()) {
+            case LITERAL, ID, SIMPLE_DTYPE, ARR_DTYPE -> true;
+            // These nodes keep extra tokens or element positions that are not in the table
+            case RET, IF, WHILE, PACKED_ARR_LITERAL -> false;
+            default -> shareSubtrees;
+        };
+    }
+}
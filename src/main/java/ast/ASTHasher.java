@@ -0,0 +1,118 @@
+package ast;
+
+import toks.Tok;
+import types.ArrTypeInfo;
+import types.TypeInfo;
+
+// Computes a 64-bit Merkle hash for every node of an AST, bottom-up, and stores it in the node
+// The hash of a node covers its node type, token value and type, data type and the hashes of its children in order,
+// but not the positions, so equal subtrees at different places have equal hashes. A subtree can then be compared to
+// one seen before, e.g. to tell if a function has changed, without serializing it.
+// The nodes change while they are parsed and checked, so the hashes are computed once the AST is complete and have
+// to be computed again if it is changed. ModuleMain computes them after checking when passed --struct-hash. A hash of
+// 0 marks a node that has not been hashed, so it is never stored.
+public class ASTHasher implements IASTTraversal {
+    // FNV-1a parameters
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    // Stands for a missing fixed child
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Computes the hashes of all nodes of an AST.
+     *
+     * @param root the AST's root.
+     * @return the root's hash.
+     */
+    public static long hash(ASTNode root) {
+        return new ASTTraverser().traverse(root, new ASTHasher()).getStructHash();
+    }
+
+    @Override
+    public boolean enter(ASTNode node) {
+        return true;
+    }
+
+    @Override
+    public ASTNode exit(ASTNode node) {
+        long hash = mix(OFFSET_BASIS, node.getNodeType().ordinal());
+        Tok tok = node.getTok();
+        if (tok == null) {
+            hash = mix(hash, NULL_HASH);
+        } else {
+            hash = mixStr(hash, tok.getVal());
+            hash = mix(hash, tok.getTokType().ordinal());
+        }
+        hash = mixDtype(hash, node.getDtype());
+        hash = mix(hash, node instanceof IdASTNode idNode && idNode.isMutable() ? 1 : 0);
+
+        if (node instanceof PackedArrLiteralASTNode packedNode) {
+            hash = mixPackedElms(hash, packedNode);
+        }
+
+        int numChildren = ASTTraverser.countChildren(node);
+        hash = mix(hash, numChildren);
+        for (int i = 0; i < numChildren; ++i) {
+            // The children have been hashed already since they are left before their parent
+            ASTNode child = ASTTraverser.getChild(node, i);
+            hash = mix(hash, child == null ? NULL_HASH : child.getStructHash());
+        }
+
+        node.setStructHash(finish(hash));
+        return node;
+    }
+
+    private static long mix(long hash, long val) {
+        return (hash ^ val) * PRIME;
+    }
+
+    private static long mixStr(long hash, String str) {
+        if (str == null) {
+            return mix(hash, NULL_HASH);
+        }
+        hash = mix(hash, str.length());
+        for (int i = 0; i < str.length(); ++i) {
+            hash = mix(hash, str.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long mixPackedElms(long hash, PackedArrLiteralASTNode packedNode) {
+        hash = mix(hash, packedNode.getElmTokType().ordinal());
+        hash = mix(hash, packedNode.countElms());
+        for (int i = 0; i < packedNode.countElms(); ++i) {
+            hash = mix(hash, switch (packedNode.getElmTokType()) {
+                case INT_LITERAL -> packedNode.getInt(i);
+                case FLOAT_LITERAL -> Double.doubleToLongBits(packedNode.getFloat(i));
+                default -> packedNode.getBool(i) ? 1 : 0;
+            });
+        }
+        return hash;
+    }
+
+    private static long mixDtype(long hash, TypeInfo dtype) {
+        if (dtype == null) {
+            return mix(hash, NULL_HASH);
+        }
+        hash = mixStr(hash, dtype.getId());
+        if (dtype instanceof ArrTypeInfo arrDtype) {
+            hash = mixDtype(hash, arrDtype.getCoreDtype());
+            hash = mix(hash, arrDtype.getDim());
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of a hash so that the hashes of parents depend on every bit of their children's hashes.
+     *
+     * @param hash the hash.
+     * @return the final hash.
+     */
+    private static long finish(long hash) {
+        // Finalizer of SplitMix64
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash == 0 ? NULL_HASH : hash;
+    }
+}
@@ -0,0 +1,70 @@
+package ast;
+
+import toks.SrcPos;
+import toks.Tok;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// Moves a subtree that has been parsed before to other lines, e.g. a function that has moved down because lines were
+// added above it, so that it can take the place of the subtree that has just been parsed from the new lines.
+// Some nodes never get a range, e.g. an if-else sequence, and keep SrcPos.START, which is not a position in the subtree
+// unless the subtree starts the module, so it is not shifted.
+public class ASTLayout {
+    /**
+     * Moves every position of a subtree, including those of its tokens, by a number of lines.
+     *
+     * @param root   the subtree's root.
+     * @param numLns the number of lines, which is negative to move the subtree up.
+     */
+    public static void shiftLns(ASTNode root, int numLns) {
+        if (numLns != 0) {
+            new ASTTraverser().traverse(root, new LnShifter(SrcPos.pack(numLns, 0)));
+        }
+    }
+
+    // Adds a number of lines to every position of the nodes and tokens
+    // Tokens can be shared between nodes, e.g. by an identifier node and the one that replaced it, so each token is
+    // only shifted once
+    private static class LnShifter implements IASTTraversal {
+        private final long delta;
+        private final Set<Tok> shiftedToks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public LnShifter(long delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        public boolean enter(ASTNode node) {
+            node.setStartPos(shift(node.getStartPos()));
+            node.setEndPos(shift(node.getEndPos()));
+            shiftTok(node.getTok());
+            if (node instanceof BranchNode brNode) {
+                shiftTok(brNode.getLparenTok());
+            } else if (node instanceof RetASTNode retNode) {
+                shiftTok(retNode.getMissingExprTok());
+            } else if (node instanceof PackedArrLiteralASTNode packedNode) {
+                for (int i = 0; i < packedNode.countElms(); ++i) {
+                    packedNode.setElmStartPos(i, shift(packedNode.getElmStartPos(i)));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ASTNode exit(ASTNode node) {
+            return node;
+        }
+
+        private long shift(long pos) {
+            return pos == SrcPos.START ? pos : pos + delta;
+        }
+
+        private void shiftTok(Tok tok) {
+            if (tok != null && shiftedToks.add(tok)) {
+                tok.setPos(shift(tok.getStartPos()), shift(tok.getEndPos()));
+            }
+        }
+    }
+}
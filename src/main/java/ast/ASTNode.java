@@ -4,18 +4,26 @@ import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
-public abstract class ASTNode {
+// The hierarchy is sealed so that no node classes are added outside the ones that ASTNodeType and ASTSwitch cover
+public abstract sealed class ASTNode permits ArrAccessASTNode, BinASTNode, BranchNode, BreakASTNode, ContASTNode,
+        DtypeASTNode, ElseASTNode, FunCallASTNode, FunDefASTNode, FunSignASTNode, IdASTNode, LiteralASTNode,
+        MultichildASTNode, PackedArrLiteralASTNode, ParamDeclASTNode, UnASTNode, VarDeclASTNode, VarDefASTNode {
     protected Tok tok;
-    protected SrcRange srcRange;
+    // Packed source positions, see SrcPos
+    protected long startPos;
+    protected long endPos;
     protected final ASTNodeType nodeType;
     // The type of data held inside the node
     protected TypeInfo dtype;
     // Whether this node can be treated as a value
     protected final boolean valExprFlag;
+    // Structural hash of the node's subtree, which is computed by ASTHasher and is 0 until then
+    protected long structHash;
 
-    public ASTNode(Tok tok, SrcRange srcRange, ASTNodeType nodeType, TypeInfo dtype, boolean valExprFlag) {
+    public ASTNode(Tok tok, long startPos, long endPos, ASTNodeType nodeType, TypeInfo dtype, boolean valExprFlag) {
         this.tok = tok;
-        this.srcRange = srcRange;
+        this.startPos = startPos;
+        this.endPos = endPos;
         this.nodeType = nodeType;
         this.dtype = dtype;
         this.valExprFlag = valExprFlag;
@@ -29,12 +37,34 @@ public abstract class ASTNode {
         this.tok = tok;
     }
 
+    public long getStartPos() {
+        return startPos;
+    }
+
+    public void setStartPos(long startPos) {
+        this.startPos = startPos;
+    }
+
+    public long getEndPos() {
+        return endPos;
+    }
+
+    public void setEndPos(long endPos) {
+        this.endPos = endPos;
+    }
+
+    /**
+     * Creates the source range of the node.
+     *
+     * @return a new SrcRange object.
+     */
     public SrcRange getSrcRange() {
-        return srcRange;
+        return new SrcRange(startPos, endPos);
     }
 
     public void setSrcRange(SrcRange srcRange) {
-        this.srcRange = srcRange;
+        startPos = srcRange.getStartPos().pack();
+        endPos = srcRange.getEndPos().pack();
     }
 
     public ASTNodeType getNodeType() {
@@ -53,5 +83,22 @@ public abstract class ASTNode {
         return valExprFlag;
     }
 
+    /**
+     * Gets the structural hash of the node's subtree, see ASTHasher.
+     *
+     * @return the hash.
+     * @throws IllegalStateException if the hash has not been computed.
+     */
+    public long getStructHash() {
+        if (structHash == 0) {
+            throw new IllegalStateException("The structural hash of a " + nodeType + " node has not been computed");
+        }
+        return structHash;
+    }
+
+    void setStructHash(long structHash) {
+        this.structHash = structHash;
+    }
+
     public abstract ASTNode accept(IASTVisitor visitor);
 }
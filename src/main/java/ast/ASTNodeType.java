@@ -3,5 +3,5 @@ package ast;
 public enum ASTNodeType {
     LITERAL, ID, VAR_DECL, VAR_DEF, BIN_OP, UN_OP, SIMPLE_DTYPE, ARR_DTYPE, SCOPE, FUN_CALL, FUN_DEF, FUN_SIGN,
     PARAM_LIST, PARAM_DECL, RET, IF_ELSE, IF, ELSE, WHILE, BREAK, CONT, ARR_LITERAL,
-    ARR_ACCESS, EXPR_LIST
+    ARR_ACCESS, EXPR_LIST, OP_CHAIN, PACKED_ARR_LITERAL
 }
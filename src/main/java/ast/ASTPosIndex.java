@@ -0,0 +1,250 @@
+package ast;
+
+import toks.SrcPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+// Index of the source ranges of the nodes of an AST, built once after parsing, that finds nodes by position
+// The ranges are sorted by start, with enclosing ranges first, and a tree of maximum ends over the sorted ranges finds
+// the last range that starts before a position and ends after it, which is the innermost node at that position, in
+// O(log n) time
+// Positions are packed, see SrcPos, and a range contains the positions from its start up to but not including its end
+public class ASTPosIndex {
+    // Sorted ranges of a set of nodes
+    private static class RangeSet {
+        private final ASTNode[] nodes;
+        private final long[] starts;
+        private final long[] ends;
+        // Maximum end in each subtree of a complete binary tree whose leaves are the ranges, where node 1 is the root
+        private final long[] maxEnds;
+        private final int numLeaves;
+        private final IdentityHashMap<ASTNode, Integer> ids = new IdentityHashMap<>();
+
+        public RangeSet(List<ASTNode> nodeList) {
+            int numNodes = nodeList.size();
+            Integer[] order = new Integer[numNodes];
+            long[] nodeStarts = new long[numNodes];
+            for (int i = 0; i < numNodes; ++i) {
+                order[i] = i;
+                nodeStarts[i] = getStartPos(nodeList.get(i));
+            }
+            // The list is in pre-order so a stable sort keeps parents before children that start at the same place
+            Arrays.sort(order, Comparator.comparingLong(i -> nodeStarts[i]));
+
+            nodes = new ASTNode[numNodes];
+            starts = new long[numNodes];
+            ends = new long[numNodes];
+            for (int i = 0; i < numNodes; ++i) {
+                nodes[i] = nodeList.get(order[i]);
+                starts[i] = nodeStarts[order[i]];
+                ends[i] = nodes[i].getEndPos();
+                ids.put(nodes[i], i);
+            }
+
+            int leaves = 1;
+            while (leaves < numNodes) {
+                leaves *= 2;
+            }
+            numLeaves = leaves;
+            maxEnds = new long[2 * numLeaves];
+            Arrays.fill(maxEnds, Long.MIN_VALUE);
+            System.arraycopy(ends, 0, maxEnds, numLeaves, numNodes);
+            for (int i = numLeaves - 1; i > 0; --i) {
+                maxEnds[i] = Math.max(maxEnds[2 * i], maxEnds[2 * i + 1]);
+            }
+        }
+
+        /**
+         * Finds the last range that starts at or before a position and ends after it.
+         *
+         * @param pos the packed position.
+         * @return the range's node or null if no range contains the position.
+         */
+        public ASTNode findInnermost(long pos) {
+            int last = upperBound(pos) - 1;
+            if (last < 0) {
+                return null;
+            }
+            int i = findLastEndingAfter(1, 0, numLeaves, last, pos);
+            return i < 0 ? null : nodes[i];
+        }
+
+        /**
+         * Finds the last range in a subtree of the tree of maximum ends that is at or before a limit and ends after a
+         * position.
+         *
+         * @param treeNode the subtree's root.
+         * @param lo       the first range covered by the subtree.
+         * @param hi       the range after the last one covered by the subtree.
+         * @param last     the limit.
+         * @param pos      the packed position.
+         * @return the range's index or -1 if there is none.
+         */
+        private int findLastEndingAfter(int treeNode, int lo, int hi, int last, long pos) {
+            if (lo > last || maxEnds[treeNode] <= pos) {
+                return -1;
+            }
+            if (hi - lo == 1) {
+                return lo;
+            }
+            int mid = (lo + hi) / 2;
+            int i = findLastEndingAfter(2 * treeNode + 1, mid, hi, last, pos);
+            return i >= 0 ? i : findLastEndingAfter(2 * treeNode, lo, mid, last, pos);
+        }
+
+        /**
+         * Finds the first range that starts after a position.
+         *
+         * @param pos the packed position.
+         * @return the range's index, which is the number of ranges if there is none.
+         */
+        private int upperBound(long pos) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= pos) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Finds the ranges that lie within a range.
+         *
+         * @param startPos the packed start of the range.
+         * @param endPos   the packed end of the range.
+         * @return a list of nodes sorted by start.
+         */
+        public List<ASTNode> findWithin(long startPos, long endPos) {
+            List<ASTNode> found = new ArrayList<>();
+            for (int i = upperBound(startPos - 1); i < starts.length && starts[i] < endPos; ++i) {
+                if (ends[i] <= endPos) {
+                    found.add(nodes[i]);
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Updates the end of a node's range from the node.
+         *
+         * @param node the node.
+         */
+        public void updateEnd(ASTNode node) {
+            Integer i = ids.get(node);
+            if (i == null) {
+                return;
+            }
+            ends[i] = node.getEndPos();
+            int treeNode = numLeaves + i;
+            maxEnds[treeNode] = ends[i];
+            for (treeNode /= 2; treeNode > 0; treeNode /= 2) {
+                maxEnds[treeNode] = Math.max(maxEnds[2 * treeNode], maxEnds[2 * treeNode + 1]);
+            }
+        }
+    }
+
+    private final RangeSet nodeRanges;
+    private final RangeSet scopeRanges;
+
+    private ASTPosIndex(List<ASTNode> nodes, List<ASTNode> scopes) {
+        nodeRanges = new RangeSet(nodes);
+        scopeRanges = new RangeSet(scopes);
+    }
+
+    /**
+     * Indexes the nodes of an AST.
+     *
+     * @param root the AST's root.
+     * @return an ASTPosIndex object.
+     */
+    public static ASTPosIndex build(ASTNode root) {
+        List<ASTNode> nodes = new ArrayList<>();
+        List<ASTNode> scopes = new ArrayList<>();
+        new ASTTraverser().traverse(root, new IASTTraversal() {
+            @Override
+            public boolean enter(ASTNode node) {
+                nodes.add(node);
+                if (node.getNodeType() == ASTNodeType.SCOPE) {
+                    scopes.add(node);
+                }
+                return true;
+            }
+
+            @Override
+            public ASTNode exit(ASTNode node) {
+                return node;
+            }
+        });
+        return new ASTPosIndex(nodes, scopes);
+    }
+
+    /**
+     * Gets the start of a node's range for the index.
+     * A node with a list of children whose start has not been set, e.g. an if-else node, starts at its first child.
+     *
+     * @param node the node.
+     * @return the packed start position.
+     */
+    public static long getStartPos(ASTNode node) {
+        if (node.getStartPos() == SrcPos.START && node instanceof MultichildASTNode multichildNode &&
+                !multichildNode.isEmpty()) {
+            return getStartPos(multichildNode.getChild(0));
+        }
+        return node.getStartPos();
+    }
+
+    /**
+     * Finds the innermost node at a position.
+     *
+     * @param pos the packed position.
+     * @return the node or null if no node contains the position.
+     */
+    public ASTNode findInnermost(long pos) {
+        return nodeRanges.findInnermost(pos);
+    }
+
+    public ASTNode findInnermost(int ln, int col) {
+        return findInnermost(SrcPos.pack(ln, col));
+    }
+
+    /**
+     * Finds the innermost scope node that contains a position.
+     *
+     * @param pos the packed position.
+     * @return the scope node or null if no scope contains the position.
+     */
+    public ASTNode findEnclosingScope(long pos) {
+        return scopeRanges.findInnermost(pos);
+    }
+
+    /**
+     * Finds the nodes whose ranges lie within a range.
+     *
+     * @param startPos the packed start of the range.
+     * @param endPos   the packed end of the range.
+     * @return a list of nodes sorted by start, where enclosing nodes come before the nodes they contain.
+     */
+    public List<ASTNode> findWithin(long startPos, long endPos) {
+        return nodeRanges.findWithin(startPos, endPos);
+    }
+
+    /**
+     * Updates the index after the end of a node's range has changed, e.g. after MultichildASTNode.addChild.
+     * Nodes that are added to the AST after the index has been built are not indexed.
+     *
+     * @param node the node.
+     */
+    public void updateEnd(ASTNode node) {
+        nodeRanges.updateEnd(node);
+        scopeRanges.updateEnd(node);
+    }
+}
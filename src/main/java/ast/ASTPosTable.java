@@ -0,0 +1,61 @@
+package ast;
+
+import toks.Tok;
+
+import java.util.Arrays;
+
+// Source positions of the nodes of an AST, and of their tokens, stored apart from the nodes
+// The positions are indexed by the pre-order number of each occurrence of a node, so nodes that appear in several
+// places of a hash-consed AST still have their own positions at each place
+public class ASTPosTable {
+    private int numNodes = 0;
+    // Packed source positions, see SrcPos
+    private long[] startPos = new long[64];
+    private long[] endPos = new long[64];
+    private long[] tokStartPos = new long[64];
+    private long[] tokEndPos = new long[64];
+
+    /**
+     * Adds the positions of the next node in pre-order.
+     *
+     * @param node the node.
+     */
+    void add(ASTNode node) {
+        if (numNodes == startPos.length) {
+            int capacity = numNodes * 2;
+            startPos = Arrays.copyOf(startPos, capacity);
+            endPos = Arrays.copyOf(endPos, capacity);
+            tokStartPos = Arrays.copyOf(tokStartPos, capacity);
+            tokEndPos = Arrays.copyOf(tokEndPos, capacity);
+        }
+
+        startPos[numNodes] = node.getStartPos();
+        endPos[numNodes] = node.getEndPos();
+        Tok tok = node.getTok();
+        if (tok != null) {
+            tokStartPos[numNodes] = tok.getStartPos();
+            tokEndPos[numNodes] = tok.getEndPos();
+        }
+        ++numNodes;
+    }
+
+    public int countNodes() {
+        return numNodes;
+    }
+
+    public long getStartPos(int node) {
+        return startPos[node];
+    }
+
+    public long getEndPos(int node) {
+        return endPos[node];
+    }
+
+    public long getTokStartPos(int node) {
+        return tokStartPos[node];
+    }
+
+    public long getTokEndPos(int node) {
+        return tokEndPos[node];
+    }
+}
@@ -0,0 +1,158 @@
+package ast;
+
+// Pass that dispatches on the node type with a switch instead of calling accept, and returns results of any type
+// Each node class has its own case method, which falls back to defaultCase, so a pass only overrides the cases it
+// needs. The switch is over ASTNodeType and has no default branch, so javac rejects it until a new constant of the enum
+// has a case here. The cast in each case relies on the node type matching the node's class, which the compiler does
+// not check, since Java 17 cannot switch on the sealed classes themselves. Only DispatchBench uses it so far, and the
+// passes of the parser still go through IASTVisitor
+public abstract class ASTSwitch<R> {
+    /**
+     * Applies the case of a node's class to the node.
+     *
+     * @param node the node.
+     * @return the result of the case.
+     */
+    public R apply(ASTNode node) {
+        return switch (node.getNodeType()) {
+            case LITERAL -> caseLiteral((LiteralASTNode) node);
+            case ID -> caseId((IdASTNode) node);
+            case VAR_DECL -> caseVarDecl((VarDeclASTNode) node);
+            case VAR_DEF -> caseVarDef((VarDefASTNode) node);
+            case BIN_OP -> caseBinOp((BinOpASTNode) node);
+            case UN_OP -> caseUnOp((UnOpASTNode) node);
+            case SIMPLE_DTYPE -> caseSimpleDtype((SimpleDtypeASTNode) node);
+            case ARR_DTYPE -> caseArrDtype((ArrDtypeASTNode) node);
+            case SCOPE -> caseScope((ScopeASTNode) node);
+            case FUN_CALL -> caseFunCall((FunCallASTNode) node);
+            case FUN_DEF -> caseFunDef((FunDefASTNode) node);
+            case FUN_SIGN -> caseFunSign((FunSignASTNode) node);
+            case PARAM_LIST -> caseParamList((ParamListASTNode) node);
+            case PARAM_DECL -> caseParamDecl((ParamDeclASTNode) node);
+            case RET -> caseRet((RetASTNode) node);
+            case IF_ELSE -> caseIfElse((IfElseASTNode) node);
+            case IF -> caseIf((IfASTNode) node);
+            case ELSE -> caseElse((ElseASTNode) node);
+            case WHILE -> caseWhile((WhileASTNode) node);
+            case BREAK -> caseBreak((BreakASTNode) node);
+            case CONT -> caseCont((ContASTNode) node);
+            case ARR_LITERAL -> caseArrLiteral((ArrLiteralASTNode) node);
+            case ARR_ACCESS -> caseArrAccess((ArrAccessASTNode) node);
+            case EXPR_LIST -> caseExprList((ExprListASTNode) node);
+            case OP_CHAIN -> caseOpChain((OpChainASTNode) node);
+            case PACKED_ARR_LITERAL -> casePackedArrLiteral((PackedArrLiteralASTNode) node);
+        };
+    }
+
+    /**
+     * Handles a node whose case is not overridden.
+     *
+     * @param node the node.
+     * @return the result for the node.
+     */
+    protected abstract R defaultCase(ASTNode node);
+
+    protected R caseLiteral(LiteralASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseId(IdASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseVarDecl(VarDeclASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseVarDef(VarDefASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseBinOp(BinOpASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseUnOp(UnOpASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseSimpleDtype(SimpleDtypeASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseArrDtype(ArrDtypeASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseScope(ScopeASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseFunCall(FunCallASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseFunDef(FunDefASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseFunSign(FunSignASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseParamList(ParamListASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseParamDecl(ParamDeclASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseRet(RetASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseIfElse(IfElseASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseIf(IfASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseElse(ElseASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseWhile(WhileASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseBreak(BreakASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseCont(ContASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseArrLiteral(ArrLiteralASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseArrAccess(ArrAccessASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseExprList(ExprListASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R caseOpChain(OpChainASTNode node) {
+        return defaultCase(node);
+    }
+
+    protected R casePackedArrLiteral(PackedArrLiteralASTNode node) {
+        return defaultCase(node);
+    }
+}
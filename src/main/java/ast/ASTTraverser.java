@@ -0,0 +1,205 @@
+package ast;
+
+import java.util.Arrays;
+
+// Traverses an AST in depth-first order with an explicit stack instead of recursion, so any depth can be traversed
+// Nodes with fixed children and nodes with lists of children are traversed in the same way, where the i-th child of
+// a node with fixed children is the i-th one in the order of IFlatAST.getFixedChild, and missing ones are skipped
+public class ASTTraverser {
+    // Nodes on the path from the root to the current node
+    private ASTNode[] nodeStack = new ASTNode[64];
+    // Position of the next child to be traversed for each node on the stack
+    private int[] childStack = new int[64];
+    private int depth = 0;
+
+    /**
+     * Traverses an AST, calling enter on each node before its children and exit after them.
+     * When exit returns a different node, that node replaces the old one in its parent like IASTNodeIterator.set.
+     *
+     * @param root      the AST's root.
+     * @param traversal the callbacks.
+     * @return the node returned by exit for the root.
+     */
+    public ASTNode traverse(ASTNode root, IASTTraversal traversal) {
+        if (!traversal.enter(root)) {
+            return traversal.exit(root);
+        }
+        push(root);
+
+        while (depth > 0) {
+            ASTNode node = nodeStack[depth - 1];
+            int i = childStack[depth - 1];
+            if (i < countChildren(node)) {
+                ++childStack[depth - 1];
+                ASTNode child = getChild(node, i);
+                if (child == null) {
+                    continue;
+                }
+                if (traversal.enter(child)) {
+                    push(child);
+                } else {
+                    replaceChild(node, i, child, traversal.exit(child));
+                }
+                continue;
+            }
+
+            nodeStack[--depth] = null;
+            ASTNode newNode = traversal.exit(node);
+            if (depth == 0) {
+                return newNode;
+            }
+            replaceChild(nodeStack[depth - 1], childStack[depth - 1] - 1, node, newNode);
+        }
+        return root;
+    }
+
+    private void push(ASTNode node) {
+        if (depth == nodeStack.length) {
+            nodeStack = Arrays.copyOf(nodeStack, depth * 2);
+            childStack = Arrays.copyOf(childStack, depth * 2);
+        }
+        nodeStack[depth] = node;
+        childStack[depth] = 0;
+        ++depth;
+    }
+
+    private static void replaceChild(ASTNode node, int i, ASTNode oldChild, ASTNode newChild) {
+        if (newChild != oldChild) {
+            setChild(node, i, newChild);
+        }
+    }
+
+    /**
+     * Counts the children of a node, including missing fixed children.
+     *
+     * @param node the node.
+     * @return the number of children.
+     */
+    public static int countChildren(ASTNode node) {
+        if (node instanceof MultichildASTNode multichildNode) {
+            return multichildNode.countChildren();
+        }
+        return IFlatAST.countFixedChildren(node.getNodeType());
+    }
+
+    /**
+     * Gets a child of a node.
+     *
+     * @param node the node.
+     * @param i    the position of the child.
+     * @return the child node, which is null for a missing fixed child.
+     */
+    public static ASTNode getChild(ASTNode node, int i) {
+        if (node instanceof MultichildASTNode multichildNode) {
+            return multichildNode.getChild(i);
+        }
+
+        return switch (node.getNodeType()) {
+            case UN_OP, RET -> ((UnASTNode) node).getExprNode();
+            case ELSE -> ((ElseASTNode) node).getBodyNode();
+            case BIN_OP -> i == 0 ? ((BinASTNode) node).getLeft() : ((BinASTNode) node).getRight();
+            case IF, WHILE -> i == 0 ? ((BranchNode) node).getCondNode() : ((BranchNode) node).getBodyNode();
+            case VAR_DECL -> i == 0 ? ((VarDeclASTNode) node).getIdNode() : ((VarDeclASTNode) node).getDtypeNode();
+            case PARAM_DECL -> i == 0 ? ((ParamDeclASTNode) node).getIdNode() :
+                    ((ParamDeclASTNode) node).getDtypeNode();
+            case VAR_DEF -> i == 0 ? ((VarDefASTNode) node).getVarDeclNode() : ((VarDefASTNode) node).getExprNode();
+            case FUN_SIGN -> i == 0 ? ((FunSignASTNode) node).getParamListNode() :
+                    ((FunSignASTNode) node).getRetDtypeNode();
+            case FUN_CALL -> i == 0 ? ((FunCallASTNode) node).getIdNode() : ((FunCallASTNode) node).getArgListNode();
+            case ARR_ACCESS -> i == 0 ? ((ArrAccessASTNode) node).getIdNode() :
+                    ((ArrAccessASTNode) node).getIndexListNode();
+            case FUN_DEF -> switch (i) {
+                case 0 -> ((FunDefASTNode) node).getIdNode();
+                case 1 -> ((FunDefASTNode) node).getSignNode();
+                default -> ((FunDefASTNode) node).getBodyNode();
+            };
+            default -> throw new IndexOutOfBoundsException(i);
+        };
+    }
+
+    /**
+     * Sets a child of a node through the node's setter, which may update the node's source range.
+     * A child in a list is replaced without updating the source range.
+     *
+     * @param node  the node.
+     * @param i     the position of the child.
+     * @param child the new child node, whose class must fit the position.
+     */
+    public static void setChild(ASTNode node, int i, ASTNode child) {
+        if (node instanceof MultichildASTNode multichildNode) {
+            multichildNode.replaceChild(i, child);
+            return;
+        }
+
+        switch (node.getNodeType()) {
+            case UN_OP, RET -> ((UnASTNode) node).setExprNode(child);
+            case ELSE -> ((ElseASTNode) node).setBodyNode((ScopeASTNode) child);
+            case BIN_OP -> {
+                if (i == 0) {
+                    ((BinASTNode) node).setLeft(child);
+                } else {
+                    ((BinASTNode) node).setRight(child);
+                }
+            }
+            case IF, WHILE -> {
+                if (i == 0) {
+                    ((BranchNode) node).setCondNode(child);
+                } else {
+                    ((BranchNode) node).setBodyNode((ScopeASTNode) child);
+                }
+            }
+            case VAR_DECL -> {
+                if (i == 0) {
+                    ((VarDeclASTNode) node).setIdNode((IdASTNode) child);
+                } else {
+                    ((VarDeclASTNode) node).setDtypeNode((DtypeASTNode) child);
+                }
+            }
+            case PARAM_DECL -> {
+                if (i == 0) {
+                    ((ParamDeclASTNode) node).setIdNode((IdASTNode) child);
+                } else {
+                    ((ParamDeclASTNode) node).setDtypeNode((DtypeASTNode) child);
+                }
+            }
+            case VAR_DEF -> {
+                if (i == 0) {
+                    ((VarDefASTNode) node).setVarDeclNode((VarDeclASTNode) child);
+                } else {
+                    ((VarDefASTNode) node).setExprNode(child);
+                }
+            }
+            case FUN_SIGN -> {
+                if (i == 0) {
+                    ((FunSignASTNode) node).setParamListNode((ParamListASTNode) child);
+                } else {
+                    ((FunSignASTNode) node).setRetDtypeNode((DtypeASTNode) child);
+                }
+            }
+            case FUN_CALL -> {
+                if (i == 0) {
+                    ((FunCallASTNode) node).setIdNode((IdASTNode) child);
+                } else {
+                    ((FunCallASTNode) node).setArgListNode((ExprListASTNode) child);
+                }
+            }
+            case ARR_ACCESS -> {
+                if (i == 0) {
+                    ((ArrAccessASTNode) node).setIdNode((IdASTNode) child);
+                } else {
+                    ((ArrAccessASTNode) node).setIndexListNode((ExprListASTNode) child);
+                }
+            }
+            case FUN_DEF -> {
+                if (i == 0) {
+                    ((FunDefASTNode) node).setIdNode((IdASTNode) child);
+                } else if (i == 1) {
+                    ((FunDefASTNode) node).setSignNode((FunSignASTNode) child);
+                } else {
+                    ((FunDefASTNode) node).setBodyNode((ScopeASTNode) child);
+                }
+            }
+            default -> throw new IndexOutOfBoundsException(i);
+        }
+    }
+}
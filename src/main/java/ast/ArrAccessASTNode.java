@@ -1,14 +1,14 @@
 package ast;
 
-import toks.SrcRange;
+import toks.SrcPos;
 import types.TypeInfo;
 
-public class ArrAccessASTNode extends ASTNode {
+public final class ArrAccessASTNode extends ASTNode {
     private IdASTNode idNode;
     private ExprListASTNode indexListNode;
 
     public ArrAccessASTNode(TypeInfo dtype) {
-        super(null, new SrcRange(), ASTNodeType.ARR_ACCESS, dtype, true);
+        super(null, SrcPos.START, SrcPos.START, ASTNodeType.ARR_ACCESS, dtype, true);
     }
 
     public IdASTNode getIdNode() {
@@ -17,7 +17,7 @@ public class ArrAccessASTNode extends ASTNode {
 
     public void setIdNode(IdASTNode idNode) {
         this.idNode = idNode;
-        srcRange.setStartPos(idNode.srcRange.getStartPos());
+        startPos = idNode.startPos;
     }
 
     public ExprListASTNode getIndexListNode() {
@@ -26,7 +26,7 @@ public class ArrAccessASTNode extends ASTNode {
 
     public void setIndexListNode(ExprListASTNode indexListNode) {
         this.indexListNode = indexListNode;
-        srcRange.setEndPos(indexListNode.srcRange.getEndPos());
+        endPos = indexListNode.endPos;
     }
 
     @Override
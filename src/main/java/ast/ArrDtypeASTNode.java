@@ -1,12 +1,11 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
-public class ArrDtypeASTNode extends DtypeASTNode {
-    public ArrDtypeASTNode(Tok tok, SrcRange srcRange, ASTNodeType nodeType, TypeInfo dtype) {
-        super(tok, srcRange, nodeType, dtype);
+public final class ArrDtypeASTNode extends DtypeASTNode {
+    public ArrDtypeASTNode(Tok tok, long startPos, long endPos, ASTNodeType nodeType, TypeInfo dtype) {
+        super(tok, startPos, endPos, nodeType, dtype);
     }
 
     @Override
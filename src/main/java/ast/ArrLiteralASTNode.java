@@ -2,7 +2,7 @@ package ast;
 
 import types.TypeInfo;
 
-public class ArrLiteralASTNode extends MultichildASTNode {
+public final class ArrLiteralASTNode extends MultichildASTNode {
     public ArrLiteralASTNode(TypeInfo dtype) {
         super(ASTNodeType.ARR_LITERAL, dtype, true);
     }
@@ -1,16 +1,15 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
 // Node with data type and two children
-public abstract class BinASTNode extends ASTNode {
+public abstract sealed class BinASTNode extends ASTNode permits BinOpASTNode {
     protected ASTNode left;
     protected ASTNode right;
 
     public BinASTNode(Tok tok, ASTNodeType nodeType, TypeInfo dtype, boolean valExprFlag) {
-        super(tok, new SrcRange(tok.getSrcRange()), nodeType, dtype, valExprFlag);
+        super(tok, tok.getStartPos(), tok.getEndPos(), nodeType, dtype, valExprFlag);
     }
 
     public ASTNode getLeft() {
@@ -19,7 +18,7 @@ public abstract class BinASTNode extends ASTNode {
 
     public void setLeft(ASTNode left) {
         this.left = left;
-        srcRange.setStartPos(left.srcRange.getStartPos());
+        startPos = left.startPos;
     }
 
     public ASTNode getRight() {
@@ -28,6 +27,6 @@ public abstract class BinASTNode extends ASTNode {
 
     public void setRight(ASTNode right) {
         this.right = right;
-        srcRange.setEndPos(right.srcRange.getEndPos());
+        endPos = right.endPos;
     }
 }
@@ -3,7 +3,7 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class BinOpASTNode extends BinASTNode {
+public final class BinOpASTNode extends BinASTNode {
     public BinOpASTNode(Tok tok, TypeInfo dtype) {
         super(tok, ASTNodeType.BIN_OP, dtype, true);
     }
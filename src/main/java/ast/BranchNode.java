@@ -1,14 +1,15 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 
-public abstract class BranchNode extends ASTNode {
+public abstract sealed class BranchNode extends ASTNode permits IfASTNode, WhileASTNode {
     protected ASTNode condNode;
     protected ScopeASTNode bodyNode;
+    // '(' token before the condition, which is where errors about the condition are reported
+    protected Tok lparenTok;
 
     public BranchNode(Tok tok, ASTNodeType nodeType) {
-        super(tok, new SrcRange(tok.getSrcRange()), nodeType, null, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), nodeType, null, false);
     }
 
     public ASTNode getCondNode() {
@@ -19,12 +20,20 @@ public abstract class BranchNode extends ASTNode {
         this.condNode = condNode;
     }
 
+    public Tok getLparenTok() {
+        return lparenTok;
+    }
+
+    public void setLparenTok(Tok lparenTok) {
+        this.lparenTok = lparenTok;
+    }
+
     public ScopeASTNode getBodyNode() {
         return bodyNode;
     }
 
     public void setBodyNode(ScopeASTNode bodyNode) {
         this.bodyNode = bodyNode;
-        srcRange.setEndPos(bodyNode.srcRange.getEndPos());
+        endPos = bodyNode.endPos;
     }
 }
@@ -2,9 +2,9 @@ package ast;
 
 import toks.Tok;
 
-public class BreakASTNode extends ASTNode {
+public final class BreakASTNode extends ASTNode {
     public BreakASTNode(Tok tok) {
-        super(tok, tok.getSrcRange(), ASTNodeType.BREAK, null, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.BREAK, null, false);
     }
 
     @Override
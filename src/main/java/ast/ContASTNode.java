@@ -2,9 +2,9 @@ package ast;
 
 import toks.Tok;
 
-public class ContASTNode extends ASTNode {
+public final class ContASTNode extends ASTNode {
     public ContASTNode(Tok tok) {
-        super(tok, tok.getSrcRange(), ASTNodeType.CONT, null, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.CONT, null, false);
     }
 
     @Override
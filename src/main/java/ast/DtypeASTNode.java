@@ -1,13 +1,12 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
-public abstract class DtypeASTNode extends ASTNode {
-    public DtypeASTNode(Tok tok, SrcRange srcRange, ASTNodeType nodeType, TypeInfo dtype) {
+public abstract sealed class DtypeASTNode extends ASTNode permits ArrDtypeASTNode, SimpleDtypeASTNode {
+    public DtypeASTNode(Tok tok, long startPos, long endPos, ASTNodeType nodeType, TypeInfo dtype) {
         // The data type node cannot be a value for an operator except for the type conversion operator
         // This will be checked by the semantics checker
-        super(tok, srcRange, nodeType, dtype, false);
+        super(tok, startPos, endPos, nodeType, dtype, false);
     }
 }
@@ -1,13 +1,12 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 
-public class ElseASTNode extends ASTNode {
+public final class ElseASTNode extends ASTNode {
     private ScopeASTNode bodyNode;
 
     public ElseASTNode(Tok tok) {
-        super(tok, new SrcRange(tok.getSrcRange()), ASTNodeType.ELSE, null, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.ELSE, null, false);
     }
 
     public ScopeASTNode getBodyNode() {
@@ -16,7 +15,7 @@ public class ElseASTNode extends ASTNode {
 
     public void setBodyNode(ScopeASTNode bodyNode) {
         this.bodyNode = bodyNode;
-        srcRange.setEndPos(bodyNode.srcRange.getEndPos());
+        endPos = bodyNode.endPos;
     }
 
     @Override
@@ -2,7 +2,7 @@ package ast;
 
 import types.TypeInfo;
 
-public class ExprListASTNode extends MultichildASTNode {
+public final class ExprListASTNode extends MultichildASTNode {
     public ExprListASTNode(TypeInfo dtype) {
         super(ASTNodeType.EXPR_LIST, dtype, false);
     }
@@ -1,14 +1,14 @@
 package ast;
 
-import toks.SrcRange;
+import toks.SrcPos;
 import types.TypeInfo;
 
-public class FunCallASTNode extends ASTNode {
+public final class FunCallASTNode extends ASTNode {
     private IdASTNode idNode;
     private ExprListASTNode argListNode;
 
     public FunCallASTNode(TypeInfo dtype) {
-        super(null, new SrcRange(), ASTNodeType.FUN_CALL, dtype, true);
+        super(null, SrcPos.START, SrcPos.START, ASTNodeType.FUN_CALL, dtype, true);
     }
 
     public IdASTNode getIdNode() {
@@ -17,7 +17,7 @@ public class FunCallASTNode extends ASTNode {
 
     public void setIdNode(IdASTNode idNode) {
         this.idNode = idNode;
-        srcRange.setStartPos(idNode.srcRange.getStartPos());
+        startPos = idNode.startPos;
     }
 
     public ExprListASTNode getArgListNode() {
@@ -26,7 +26,7 @@ public class FunCallASTNode extends ASTNode {
 
     public void setArgListNode(ExprListASTNode argListNode) {
         this.argListNode = argListNode;
-        srcRange.setEndPos(argListNode.srcRange.getEndPos());
+        endPos = argListNode.endPos;
     }
 
     @Override
@@ -1,17 +1,18 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
 // Node for function definition
-public class FunDefASTNode extends ASTNode {
+public final class FunDefASTNode extends ASTNode {
     private IdASTNode idNode;
     private FunSignASTNode signNode;
     private ScopeASTNode bodyNode;
+    // Number of slots in the function's frame, which hold its parameters and local variables
+    private int frameSize = 0;
 
     public FunDefASTNode(Tok tok, TypeInfo retDtype) {
-        super(tok, new SrcRange(tok.getSrcRange()), ASTNodeType.FUN_DEF, retDtype, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.FUN_DEF, retDtype, false);
     }
 
     public IdASTNode getIdNode() {
@@ -36,7 +37,15 @@ public class FunDefASTNode extends ASTNode {
 
     public void setBodyNode(ScopeASTNode bodyNode) {
         this.bodyNode = bodyNode;
-        srcRange.setEndPos(bodyNode.srcRange.getEndPos());
+        endPos = bodyNode.endPos;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public void setFrameSize(int frameSize) {
+        this.frameSize = frameSize;
     }
 
     @Override
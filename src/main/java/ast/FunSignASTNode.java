@@ -1,15 +1,15 @@
 package ast;
 
-import toks.SrcRange;
+import toks.SrcPos;
 import types.TypeInfo;
 
-public class FunSignASTNode extends ASTNode {
+public final class FunSignASTNode extends ASTNode {
     private ParamListASTNode paramListNode;
     private DtypeASTNode retDtypeNode;
 
     public FunSignASTNode(TypeInfo dtype) {
         // data type is the same as the function's return type
-        super(null, new SrcRange(), ASTNodeType.FUN_SIGN, dtype, false);
+        super(null, SrcPos.START, SrcPos.START, ASTNodeType.FUN_SIGN, dtype, false);
     }
 
     public ParamListASTNode getParamListNode() {
@@ -18,7 +18,7 @@ public class FunSignASTNode extends ASTNode {
 
     public void setParamListNode(ParamListASTNode paramListNode) {
         this.paramListNode = paramListNode;
-        srcRange.setStartPos(paramListNode.srcRange.getStartPos());
+        startPos = paramListNode.startPos;
     }
 
     public DtypeASTNode getRetDtypeNode() {
@@ -27,7 +27,7 @@ public class FunSignASTNode extends ASTNode {
 
     public void setRetDtypeNode(DtypeASTNode retDtypeNode) {
         this.retDtypeNode = retDtypeNode;
-        srcRange.setEndPos(retDtypeNode.srcRange.getEndPos());
+        endPos = retDtypeNode.endPos;
     }
 
     @Override
@@ -0,0 +1,20 @@
+package ast;
+
+// Callbacks of a traversal by ASTTraverser
+public interface IASTTraversal {
+    /**
+     * Called when a node is reached, before its children.
+     *
+     * @param node the node.
+     * @return true if the node's children should be traversed and false if they should be skipped.
+     */
+    boolean enter(ASTNode node);
+
+    /**
+     * Called when a node is left, after its children or right after enter if they are skipped.
+     *
+     * @param node the node.
+     * @return the node that replaces this node in its parent, which is usually the node itself.
+     */
+    ASTNode exit(ASTNode node);
+}
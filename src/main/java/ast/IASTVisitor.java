@@ -46,4 +46,8 @@ public interface IASTVisitor {
     ASTNode visitArrLiteral(ASTNode node);
 
     ASTNode visitExprList(ASTNode node);
+
+    ASTNode visitOpChain(ASTNode node);
+
+    ASTNode visitPackedArrLiteral(ASTNode node);
 }
@@ -0,0 +1,62 @@
+package ast;
+
+import toks.SrcRange;
+import toks.Tok;
+import types.TypeInfo;
+
+// AST whose nodes are referred to by int ids instead of objects, e.g. an arena or a memory-mapped file
+// Nodes are numbered in pre-order and the root has the id 0
+public interface IFlatAST {
+    // No node
+    int NONE = -1;
+    // Number of children of a node that has a list of children instead of fixed ones
+    int LIST = -1;
+
+    int countNodes();
+
+    ASTNodeType getNodeType(int node);
+
+    boolean isValExpr(int node);
+
+    boolean isMutable(int node);
+
+    TypeInfo getDtype(int node);
+
+    Tok getTok(int node);
+
+    // Packed source positions, see SrcPos
+    long getStartPos(int node);
+
+    long getEndPos(int node);
+
+    SrcRange getSrcRange(int node);
+
+    int getFirstChild(int node);
+
+    int getNextSibling(int node);
+
+    /**
+     * Gets a fixed child of a node, e.g. the right operand of a binary operator node.
+     *
+     * @param node the node's id.
+     * @param i    the position of the child.
+     * @return the child's id or NONE if the child is missing.
+     */
+    int getFixedChild(int node, int i);
+
+    /**
+     * Gets the number of fixed children of a node type.
+     *
+     * @param nodeType the node type.
+     * @return the number of fixed children or LIST if the node has a list of children.
+     */
+    static int countFixedChildren(ASTNodeType nodeType) {
+        return switch (nodeType) {
+            case UN_OP, RET, ELSE -> 1;
+            case BIN_OP, IF, WHILE, VAR_DECL, PARAM_DECL, VAR_DEF, FUN_SIGN, FUN_CALL, ARR_ACCESS -> 2;
+            case FUN_DEF -> 3;
+            case SCOPE, IF_ELSE, PARAM_LIST, ARR_LITERAL, EXPR_LIST, OP_CHAIN -> LIST;
+            default -> 0;
+        };
+    }
+}
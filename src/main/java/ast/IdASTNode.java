@@ -3,11 +3,17 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class IdASTNode extends ASTNode {
+public final class IdASTNode extends ASTNode {
+    public static final int NO_SLOT = -1;
+
     private boolean mutable;
+    // Address of the variable or parameter that the identifier resolves to, see SymbolInfo
+    // It is set by the semantic checkers so that later passes can find the variable without looking up its name
+    private int frameDepth = NO_SLOT;
+    private int slot = NO_SLOT;
 
     public IdASTNode(Tok tok, TypeInfo dtype, boolean mutable) {
-        super(tok, tok.getSrcRange(), ASTNodeType.ID, dtype, true);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.ID, dtype, true);
         this.mutable = mutable;
     }
 
@@ -19,6 +25,25 @@ public class IdASTNode extends ASTNode {
         this.mutable = mutable;
     }
 
+    public int getFrameDepth() {
+        return frameDepth;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Sets the address of the variable or parameter that the identifier resolves to.
+     *
+     * @param frameDepth the depth of the frame that holds the variable.
+     * @param slot       the variable's slot in the frame.
+     */
+    public void setAddr(int frameDepth, int slot) {
+        this.frameDepth = frameDepth;
+        this.slot = slot;
+    }
+
     @Override
     public ASTNode accept(IASTVisitor visitor) {
         return visitor.visitId(this);
@@ -2,7 +2,7 @@ package ast;
 
 import toks.Tok;
 
-public class IfASTNode extends BranchNode {
+public final class IfASTNode extends BranchNode {
     public IfASTNode(Tok tok) {
         super(tok, ASTNodeType.IF);
     }
@@ -1,6 +1,6 @@
 package ast;
 
-public class IfElseASTNode extends MultichildASTNode {
+public final class IfElseASTNode extends MultichildASTNode {
     public IfElseASTNode() {
         super(ASTNodeType.IF_ELSE, null, false);
     }
@@ -0,0 +1,357 @@
+package ast;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+// Writes JSON as UTF-8 bytes through a fixed-size buffer, which is flushed to a channel whenever it is full
+// Strings can be written in parts so that a value made of several pieces does not have to be concatenated first
+public class JSONEmitter implements Flushable {
+    public static final int DEFAULT_BUFF_SIZE = 1 << 13;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+    private static final String INDENT = "  ";
+    private final WritableByteChannel channel;
+    private OutputStream channelOut;
+    private final ByteBuffer buff;
+    private final boolean pretty;
+    // Whether the innermost container is still empty, for each level of nesting
+    private boolean[] emptyStack = new boolean[16];
+    private int depth = 0;
+    // Extra indentation for a fragment that is written separately and then inserted into a document
+    private int indentBase = 0;
+    // Whether a key has just been written so the next value does not need a separator
+    private boolean afterKey = false;
+
+    /**
+     * Creates an emitter.
+     *
+     * @param channel  the channel to write to, which is not closed by the emitter.
+     * @param pretty   whether to put each value on its own indented line instead of writing compact JSON.
+     * @param buffSize the size of the buffer in bytes, which must be at least 4.
+     */
+    public JSONEmitter(WritableByteChannel channel, boolean pretty, int buffSize) {
+        this.channel = channel;
+        this.pretty = pretty;
+        buff = ByteBuffer.allocate(buffSize);
+    }
+
+    public JSONEmitter(OutputStream out, boolean pretty) {
+        this(Channels.newChannel(out), pretty, DEFAULT_BUFF_SIZE);
+    }
+
+    /**
+     * Creates an emitter for a single value that will be inserted into a document by rawVal.
+     *
+     * @param out         the stream to write the fragment to.
+     * @param pretty      whether to indent the fragment.
+     * @param indentDepth the indentation depth where the value will be inserted.
+     * @return a JSONEmitter object.
+     */
+    static JSONEmitter createValFragment(OutputStream out, boolean pretty, int indentDepth) {
+        JSONEmitter emitter = new JSONEmitter(out, pretty);
+        emitter.indentBase = indentDepth;
+        return emitter;
+    }
+
+    /**
+     * Creates an emitter for a sequence of array items that will be inserted into a document by rawItems.
+     *
+     * @param out         the stream to write the fragment to.
+     * @param pretty      whether to indent the fragment.
+     * @param indentDepth the indentation depth of the items where they will be inserted.
+     * @return a JSONEmitter object.
+     */
+    static JSONEmitter createItemsFragment(OutputStream out, boolean pretty, int indentDepth) {
+        JSONEmitter emitter = new JSONEmitter(out, pretty);
+        // The items are written as if they were inside an array that has not been opened
+        emitter.indentBase = indentDepth - 1;
+        emitter.emptyStack[emitter.depth++] = true;
+        return emitter;
+    }
+
+    /**
+     * Gets the indentation depth of the items in the innermost container.
+     *
+     * @return the indentation depth.
+     */
+    int getIndentDepth() {
+        return indentBase + depth;
+    }
+
+    /**
+     * Makes room in the buffer by flushing it to the channel.
+     *
+     * @param numBytes the number of bytes that are about to be put into the buffer.
+     * @throws IOException if there is an IO exception.
+     */
+    private void ensureRemaining(int numBytes) throws IOException {
+        if (buff.remaining() < numBytes) {
+            flushBuff();
+        }
+    }
+
+    private void flushBuff() throws IOException {
+        buff.flip();
+        while (buff.hasRemaining()) {
+            channel.write(buff);
+        }
+        buff.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuff();
+    }
+
+    private void putByte(int b) throws IOException {
+        ensureRemaining(1);
+        buff.put((byte) b);
+    }
+
+    /**
+     * Writes ASCII characters that do not need escaping.
+     *
+     * @param str the string of ASCII characters.
+     * @throws IOException if there is an IO exception.
+     */
+    private void putAscii(String str) throws IOException {
+        for (int i = 0; i < str.length(); ++i) {
+            putByte(str.charAt(i));
+        }
+    }
+
+    private void putNewline() throws IOException {
+        putByte('\n');
+        for (int i = 0; i < indentBase + depth; ++i) {
+            putAscii(INDENT);
+        }
+    }
+
+    /**
+     * Writes the separator before a value or a key in a container.
+     *
+     * @throws IOException if there is an IO exception.
+     */
+    private void beginItem() throws IOException {
+        if (afterKey) {
+            afterKey = false;
+            return;
+        }
+        if (depth == 0) {
+            return;
+        }
+        if (!emptyStack[depth - 1]) {
+            putByte(',');
+        }
+        emptyStack[depth - 1] = false;
+        if (pretty) {
+            putNewline();
+        }
+    }
+
+    private void beginContainer(char open) throws IOException {
+        beginItem();
+        putByte(open);
+        if (depth == emptyStack.length) {
+            emptyStack = Arrays.copyOf(emptyStack, depth * 2);
+        }
+        emptyStack[depth++] = true;
+    }
+
+    private void endContainer(char close) throws IOException {
+        boolean empty = emptyStack[--depth];
+        if (pretty && !empty) {
+            putNewline();
+        }
+        putByte(close);
+    }
+
+    public void beginObject() throws IOException {
+        beginContainer('{');
+    }
+
+    public void endObject() throws IOException {
+        endContainer('}');
+    }
+
+    public void beginArray() throws IOException {
+        beginContainer('[');
+    }
+
+    public void endArray() throws IOException {
+        endContainer(']');
+    }
+
+    /**
+     * Writes the key of the next value in an object.
+     *
+     * @param key the key.
+     * @throws IOException if there is an IO exception.
+     */
+    public void key(String key) throws IOException {
+        beginItem();
+        putByte('"');
+        appendStr(key);
+        putByte('"');
+        putByte(':');
+        if (pretty) {
+            putByte(' ');
+        }
+        afterKey = true;
+    }
+
+    /**
+     * Writes a value from a fragment created by createValFragment.
+     *
+     * @param fragment the fragment's bytes.
+     * @throws IOException if there is an IO exception.
+     */
+    void rawVal(ByteArrayOutputStream fragment) throws IOException {
+        beginItem();
+        putFragment(fragment);
+    }
+
+    /**
+     * Writes the items from a fragment created by createItemsFragment into the innermost array.
+     *
+     * @param fragment the fragment's bytes, which may contain no items.
+     * @throws IOException if there is an IO exception.
+     */
+    void rawItems(ByteArrayOutputStream fragment) throws IOException {
+        if (fragment.size() == 0) {
+            return;
+        }
+        // The fragment already starts with the line break before its first item
+        if (!emptyStack[depth - 1]) {
+            putByte(',');
+        }
+        emptyStack[depth - 1] = false;
+        putFragment(fragment);
+    }
+
+    private void putFragment(ByteArrayOutputStream fragment) throws IOException {
+        flushBuff();
+        if (channelOut == null) {
+            channelOut = Channels.newOutputStream(channel);
+        }
+        fragment.writeTo(channelOut);
+    }
+
+    public void nullVal() throws IOException {
+        beginItem();
+        putAscii("null");
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param str the string, which is escaped.
+     * @throws IOException if there is an IO exception.
+     */
+    public void strVal(String str) throws IOException {
+        beginStr();
+        appendStr(str);
+        endStr();
+    }
+
+    /**
+     * Starts a string value whose content is written by appendStr and appendInt.
+     *
+     * @throws IOException if there is an IO exception.
+     */
+    public void beginStr() throws IOException {
+        beginItem();
+        putByte('"');
+    }
+
+    public void endStr() throws IOException {
+        putByte('"');
+    }
+
+    /**
+     * Appends a piece of a string value, escaping it and encoding it as UTF-8.
+     *
+     * @param str the piece of the string, where null is written as "null" like in string concatenation.
+     * @throws IOException if there is an IO exception.
+     */
+    public void appendStr(String str) throws IOException {
+        if (str == null) {
+            putAscii("null");
+            return;
+        }
+
+        for (int i = 0; i < str.length(); ++i) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                putByte('\\');
+                putByte(c);
+            } else if (c < 0x20) {
+                putByte('\\');
+                switch (c) {
+                    case '\n' -> putByte('n');
+                    case '\r' -> putByte('r');
+                    case '\t' -> putByte('t');
+                    case '\b' -> putByte('b');
+                    case '\f' -> putByte('f');
+                    default -> {
+                        putAscii("u00");
+                        putByte(HEX_DIGITS[c >> 4]);
+                        putByte(HEX_DIGITS[c & 0xf]);
+                    }
+                }
+            } else if (c < 0x80) {
+                putByte(c);
+            } else {
+                ensureRemaining(4);
+                if (c < 0x800) {
+                    buff.put((byte) (0xc0 | (c >> 6)));
+                    buff.put((byte) (0x80 | (c & 0x3f)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < str.length() &&
+                        Character.isLowSurrogate(str.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    buff.put((byte) (0xf0 | (codePoint >> 18)));
+                    buff.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                    buff.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                    buff.put((byte) (0x80 | (codePoint & 0x3f)));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogates cannot be encoded, so they are replaced like String.getBytes does
+                    buff.put((byte) '?');
+                } else {
+                    buff.put((byte) (0xe0 | (c >> 12)));
+                    buff.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                    buff.put((byte) (0x80 | (c & 0x3f)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends an integer to a string value without creating a string.
+     *
+     * @param val the integer.
+     * @throws IOException if there is an IO exception.
+     */
+    public void appendInt(int val) throws IOException {
+        if (val < 0) {
+            if (val == Integer.MIN_VALUE) {
+                putAscii(Integer.toString(val));
+                return;
+            }
+            putByte('-');
+            val = -val;
+        }
+
+        int divisor = 1;
+        while (val / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            putByte('0' + val / divisor % 10);
+        }
+    }
+}
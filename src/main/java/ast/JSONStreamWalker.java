@@ -0,0 +1,313 @@
+package ast;
+
+import toks.SrcPos;
+import toks.Tok;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+// Displays an AST using JSON like JSONWalker but streams it through a JSONEmitter instead of building a string
+// The compact output is the same as JSONWalker's
+public class JSONStreamWalker {
+    private final JSONEmitter emitter;
+    // Positions of a hash-consed AST and the pre-order number of the next node to be written
+    private ASTPosTable posTable;
+    private int nextNode;
+
+    public JSONStreamWalker(JSONEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Writes an AST and flushes the emitter.
+     *
+     * @param root the AST's root.
+     * @throws IOException if there is an IO exception.
+     */
+    public void walk(ASTNode root) throws IOException {
+        walkNode(root);
+        emitter.flush();
+    }
+
+    /**
+     * Writes a hash-consed AST with the positions recorded when it was hash-consed and flushes the emitter.
+     *
+     * @param root     the AST's root.
+     * @param posTable the AST's positions.
+     * @throws IOException if there is an IO exception.
+     */
+    public void walk(ASTNode root, ASTPosTable posTable) throws IOException {
+        this.posTable = posTable;
+        nextNode = 0;
+        walkNode(root);
+        emitter.flush();
+        this.posTable = null;
+    }
+
+    /**
+     * Writes a flat AST, e.g. an arena, and flushes the emitter.
+     *
+     * @param ast the flat AST.
+     * @throws IOException if there is an IO exception.
+     */
+    public void walk(IFlatAST ast) throws IOException {
+        walkFlatNode(ast, 0);
+        emitter.flush();
+    }
+
+    /**
+     * Writes the fields that every node has.
+     *
+     * @param nodeType the node type.
+     * @param tok      the node's token, which may be null.
+     * @param startPos the node's packed start position.
+     * @param endPos   the node's packed end position.
+     * @throws IOException if there is an IO exception.
+     */
+    void walkNodeFields(ASTNodeType nodeType, Tok tok, long startPos, long endPos) throws IOException {
+        emitter.key("Node type");
+        emitter.strVal(nodeType.name());
+
+        // Same as Tok.toString without building the string
+        emitter.key("Tok");
+        emitter.beginStr();
+        if (tok == null) {
+            emitter.appendStr(null);
+        } else {
+            emitter.appendStr("val: ");
+            emitter.appendStr(tok.getVal());
+            emitter.appendStr(", tok type: ");
+            emitter.appendStr(tok.getTokType().name());
+            emitter.appendStr(", ");
+            appendSrcRange(tok.getStartPos(), tok.getEndPos());
+        }
+        emitter.endStr();
+
+        emitter.key("Source range");
+        emitter.beginStr();
+        appendSrcRange(startPos, endPos);
+        emitter.endStr();
+    }
+
+    /**
+     * Appends a source range to a string value in the format of SrcRange.toString.
+     *
+     * @param startPos the packed start position.
+     * @param endPos   the packed end position.
+     * @throws IOException if there is an IO exception.
+     */
+    private void appendSrcRange(long startPos, long endPos) throws IOException {
+        emitter.appendStr("ln ");
+        emitter.appendInt(SrcPos.getLn(startPos));
+        emitter.appendStr(", col: ");
+        emitter.appendInt(SrcPos.getCol(startPos));
+        emitter.appendStr(" - ln ");
+        emitter.appendInt(SrcPos.getLn(endPos));
+        emitter.appendStr(", col: ");
+        emitter.appendInt(SrcPos.getCol(endPos));
+    }
+
+    /**
+     * Writes a node and its subtree with ASTTraverser, so that deep ASTs do not overflow the stack.
+     *
+     * @param root the subtree's root.
+     * @throws IOException if there is an IO exception.
+     */
+    private void walkNode(ASTNode root) throws IOException {
+        try {
+            new ASTTraverser().traverse(root, new NodeWriter());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Writes a node when it is entered and closes it when it is exited
+    // The traverser skips missing fixed children, so the keys of a node's fixed children are written as its children
+    // are entered, with null for each missing child before them, and the rest when the node is exited.
+    private class NodeWriter implements IASTTraversal {
+        // Nodes whose objects are open and the position of the next fixed child key to be written for each
+        private ASTNode[] nodeStack = new ASTNode[64];
+        private int[] keyStack = new int[64];
+        private int depth = 0;
+
+        @Override
+        public boolean enter(ASTNode node) {
+            try {
+                if (depth > 0) {
+                    writeKeysUntilChild(nodeStack[depth - 1]);
+                }
+                beginNode(node);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (depth == nodeStack.length) {
+                nodeStack = Arrays.copyOf(nodeStack, depth * 2);
+                keyStack = Arrays.copyOf(keyStack, depth * 2);
+            }
+            nodeStack[depth] = node;
+            keyStack[depth] = 0;
+            ++depth;
+            return true;
+        }
+
+        @Override
+        public ASTNode exit(ASTNode node) {
+            --depth;
+            try {
+                if (node instanceof MultichildASTNode) {
+                    emitter.endArray();
+                } else if (!(node instanceof PackedArrLiteralASTNode)) {
+                    String[] childKeys = JSONWalker.getFixedChildKeys(node.getNodeType());
+                    for (int i = keyStack[depth]; i < childKeys.length; ++i) {
+                        emitter.key(childKeys[i]);
+                        emitter.nullVal();
+                    }
+                }
+                emitter.endObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            nodeStack[depth] = null;
+            return node;
+        }
+
+        /**
+         * Writes the key of the fixed child being entered, after the missing children that precede it.
+         *
+         * @param parent the child's parent, whose next present child is the one being entered.
+         * @throws IOException if there is an IO exception.
+         */
+        private void writeKeysUntilChild(ASTNode parent) throws IOException {
+            if (parent instanceof MultichildASTNode) {
+                return;
+            }
+            String[] childKeys = JSONWalker.getFixedChildKeys(parent.getNodeType());
+            int i = keyStack[depth - 1];
+            for (; ASTTraverser.getChild(parent, i) == null; ++i) {
+                emitter.key(childKeys[i]);
+                emitter.nullVal();
+            }
+            emitter.key(childKeys[i]);
+            keyStack[depth - 1] = i + 1;
+        }
+    }
+
+    /**
+     * Opens a node's object and writes its fields, and opens the array of its children if it has a list of them. The
+     * elements of a packed array literal are written here since they are not nodes.
+     *
+     * @param node the node.
+     * @throws IOException if there is an IO exception.
+     */
+    private void beginNode(ASTNode node) throws IOException {
+        emitter.beginObject();
+        // A packed array literal is displayed like the array literal it was packed from
+        ASTNodeType nodeType = node.getNodeType() == ASTNodeType.PACKED_ARR_LITERAL ? ASTNodeType.ARR_LITERAL :
+                node.getNodeType();
+        if (posTable == null) {
+            walkNodeFields(nodeType, node.getTok(), node.getStartPos(), node.getEndPos());
+        } else {
+            // The node may be shared, so its positions at this place are taken from the table
+            int id = nextNode++;
+            Tok tok = node.getTok();
+            if (tok != null) {
+                tok = new Tok(tok.getVal(), tok.getTokType(), posTable.getTokStartPos(id), posTable.getTokEndPos(id));
+            }
+            walkNodeFields(nodeType, tok, posTable.getStartPos(id), posTable.getEndPos(id));
+        }
+
+        if (node instanceof MultichildASTNode) {
+            emitter.key("Children");
+            emitter.beginArray();
+        } else if (node instanceof PackedArrLiteralASTNode packedNode) {
+            emitter.key("Children");
+            emitter.beginArray();
+            for (int i = 0; i < packedNode.countElms(); ++i) {
+                emitter.beginObject();
+                walkNodeFields(ASTNodeType.LITERAL, packedNode.getElmTok(i), packedNode.getElmStartPos(i),
+                        packedNode.getElmEndPos(i));
+                emitter.endObject();
+            }
+            emitter.endArray();
+        }
+    }
+
+    /**
+     * Writes a node of a flat AST and its subtree, with an explicit stack so that deep ASTs do not overflow the stack.
+     *
+     * @param ast  the flat AST.
+     * @param root the subtree's root.
+     * @throws IOException if there is an IO exception.
+     */
+    void walkFlatNode(IFlatAST ast, int root) throws IOException {
+        // Nodes whose objects are open and, for each, the next child of its list or the position of its next fixed
+        // child
+        int[] nodeStack = new int[64];
+        int[] childStack = new int[64];
+        int depth = 1;
+        nodeStack[0] = root;
+        childStack[0] = beginFlatNode(ast, root);
+
+        while (depth > 0) {
+            int node = nodeStack[depth - 1];
+            ASTNodeType nodeType = ast.getNodeType(node);
+            int child = IFlatAST.NONE;
+            if (IFlatAST.countFixedChildren(nodeType) == IFlatAST.LIST) {
+                child = childStack[depth - 1];
+                if (child == IFlatAST.NONE) {
+                    emitter.endArray();
+                    emitter.endObject();
+                    --depth;
+                    continue;
+                }
+                childStack[depth - 1] = ast.getNextSibling(child);
+            } else {
+                String[] childKeys = JSONWalker.getFixedChildKeys(nodeType);
+                int i = childStack[depth - 1];
+                if (i == childKeys.length) {
+                    emitter.endObject();
+                    --depth;
+                    continue;
+                }
+                ++childStack[depth - 1];
+                emitter.key(childKeys[i]);
+                child = ast.getFixedChild(node, i);
+                if (child == IFlatAST.NONE) {
+                    emitter.nullVal();
+                    continue;
+                }
+            }
+
+            if (depth == nodeStack.length) {
+                nodeStack = Arrays.copyOf(nodeStack, depth * 2);
+                childStack = Arrays.copyOf(childStack, depth * 2);
+            }
+            nodeStack[depth] = child;
+            childStack[depth] = beginFlatNode(ast, child);
+            ++depth;
+        }
+    }
+
+    /**
+     * Opens a flat node's object and writes its fields, and opens the array of its children if it has a list of them.
+     *
+     * @param ast  the flat AST.
+     * @param node the node.
+     * @return the node's first child if it has a list of children and 0 for the position of its first fixed child
+     * otherwise.
+     * @throws IOException if there is an IO exception.
+     */
+    private int beginFlatNode(IFlatAST ast, int node) throws IOException {
+        ASTNodeType nodeType = ast.getNodeType(node);
+        emitter.beginObject();
+        walkNodeFields(nodeType, ast.getTok(node), ast.getStartPos(node), ast.getEndPos(node));
+        if (IFlatAST.countFixedChildren(nodeType) != IFlatAST.LIST) {
+            return 0;
+        }
+        emitter.key("Children");
+        emitter.beginArray();
+        return ast.getFirstChild(node);
+    }
+}
@@ -13,6 +13,75 @@ public class JSONWalker implements IASTVisitor {
         return jsonStrBuff.toString();
     }
 
+    /**
+     * Displays a flat AST, e.g. an arena, without rebuilding its nodes.
+     *
+     * @param ast the flat AST.
+     * @return the AST as a JSON string.
+     */
+    public String walk(IFlatAST ast) {
+        jsonStrBuff.append("{");
+        walkFlatNode(ast, 0);
+        jsonStrBuff.append("}");
+        return jsonStrBuff.toString();
+    }
+
+    /**
+     * Gets the JSON keys of the fixed children of a node type, in the order they are stored in a flat AST.
+     *
+     * @param nodeType the node type.
+     * @return an array of keys.
+     */
+    static String[] getFixedChildKeys(ASTNodeType nodeType) {
+        return switch (nodeType) {
+            case UN_OP, RET -> new String[]{"Expression"};
+            case ELSE -> new String[]{"Body"};
+            case BIN_OP -> new String[]{"Left", "Right"};
+            case IF, WHILE -> new String[]{"Condition", "Body"};
+            case VAR_DECL, PARAM_DECL -> new String[]{"Identifier", "Data type"};
+            case VAR_DEF -> new String[]{"Declaration", "Expression"};
+            case FUN_SIGN -> new String[]{"Parameter list", "Return type"};
+            case FUN_CALL -> new String[]{"Identifier", "Argument list"};
+            case ARR_ACCESS -> new String[]{"Identifier", "Index list"};
+            case FUN_DEF -> new String[]{"Identifier", "Function signature", "Body"};
+            default -> new String[0];
+        };
+    }
+
+    private void walkFlatNode(IFlatAST ast, int node) {
+        ASTNodeType nodeType = ast.getNodeType(node);
+        jsonStrBuff.append("\"Node type\":\"").append(nodeType).append("\"")
+                .append(",\"Tok\":\"").append(ast.getTok(node)).append("\"")
+                .append(",\"Source range\":\"").append(ast.getSrcRange(node)).append("\"");
+
+        if (IFlatAST.countFixedChildren(nodeType) == IFlatAST.LIST) {
+            jsonStrBuff.append(",\"Children\":[");
+            for (int child = ast.getFirstChild(node); child != IFlatAST.NONE; child = ast.getNextSibling(child)) {
+                if (child != ast.getFirstChild(node)) {
+                    jsonStrBuff.append(",");
+                }
+                jsonStrBuff.append("{");
+                walkFlatNode(ast, child);
+                jsonStrBuff.append("}");
+            }
+            jsonStrBuff.append("]");
+            return;
+        }
+
+        String[] childKeys = getFixedChildKeys(nodeType);
+        for (int i = 0; i < childKeys.length; ++i) {
+            int child = ast.getFixedChild(node, i);
+            jsonStrBuff.append(",\"").append(childKeys[i]).append("\":");
+            if (child == IFlatAST.NONE) {
+                jsonStrBuff.append("null");
+            } else {
+                jsonStrBuff.append("{");
+                walkFlatNode(ast, child);
+                jsonStrBuff.append("}");
+            }
+        }
+    }
+
     private void walkNode(ASTNode node) {
         Tok tok = node.getTok();
         SrcRange srcRange = node.getSrcRange();
@@ -307,6 +376,33 @@ public class JSONWalker implements IASTVisitor {
         return node;
     }
 
+    @Override
+    public ASTNode visitOpChain(ASTNode node) {
+        walkMultichildNode((MultichildASTNode) node);
+        return node;
+    }
+
+    @Override
+    public ASTNode visitPackedArrLiteral(ASTNode node) {
+        // Displayed like the array literal it was packed from
+        PackedArrLiteralASTNode packedNode = (PackedArrLiteralASTNode) node;
+        jsonStrBuff.append("\"Node type\":\"").append(ASTNodeType.ARR_LITERAL).append("\"")
+                .append(",\"Tok\":\"null\"")
+                .append(",\"Source range\":\"").append(packedNode.getSrcRange()).append("\"")
+                .append(",\"Children\":[");
+        for (int i = 0; i < packedNode.countElms(); ++i) {
+            Tok elmTok = packedNode.getElmTok(i);
+            if (i > 0) {
+                jsonStrBuff.append(",");
+            }
+            jsonStrBuff.append("{\"Node type\":\"").append(ASTNodeType.LITERAL).append("\"")
+                    .append(",\"Tok\":\"").append(elmTok).append("\"")
+                    .append(",\"Source range\":\"").append(elmTok.getSrcRange()).append("\"}");
+        }
+        jsonStrBuff.append("]");
+        return node;
+    }
+
     @Override
     public ASTNode visitFunDef(ASTNode node) {
         walkNode(node);
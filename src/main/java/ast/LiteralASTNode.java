@@ -3,9 +3,9 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class LiteralASTNode extends ASTNode {
+public final class LiteralASTNode extends ASTNode {
     public LiteralASTNode(Tok tok, TypeInfo dtype) {
-        super(tok, tok.getSrcRange(), ASTNodeType.LITERAL, dtype, true);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.LITERAL, dtype, true);
     }
 
     @Override
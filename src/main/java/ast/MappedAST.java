@@ -0,0 +1,257 @@
+package ast;
+
+import toks.SrcPos;
+import toks.SrcRange;
+import toks.Tok;
+import toks.TokType;
+import types.ArrTypeInfo;
+import types.TypeInfo;
+import types.TypeTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// AST read in place from a file in the binary format described in ASTBinFormat
+// The file is memory-mapped and each field is decoded only when it is requested, so loading does not depend on the
+// size of the AST
+public class MappedAST implements IFlatAST {
+    private static final ASTNodeType[] NODE_TYPES = ASTNodeType.values();
+    private static final TokType[] TOK_TYPES = TokType.values();
+    private final ByteBuffer buff;
+    private final int numNodes;
+    private final int numStrs;
+    private final int restartInterval;
+    private final int strIndexOffset;
+    private final int strDataOffset;
+    private final int nodeIndexOffset;
+    private final int nodeDataOffset;
+    // The data types are few so they are created when the file is opened
+    private final TypeInfo[] dtypes;
+
+    private MappedAST(ByteBuffer buff) throws IOException {
+        this.buff = buff;
+        if (buff.limit() < ASTBinFormat.HEADER_SIZE || buff.getInt(0) != ASTBinFormat.MAGIC) {
+            throw new IOException("Not a binary AST file");
+        }
+        if (buff.getShort(4) != ASTBinFormat.VERSION) {
+            throw new IOException("Unsupported binary AST version " + buff.getShort(4));
+        }
+
+        restartInterval = buff.getShort(6);
+        numNodes = buff.getInt(8);
+        numStrs = buff.getInt(12);
+        int numDtypes = buff.getInt(16);
+        strIndexOffset = buff.getInt(20);
+        strDataOffset = buff.getInt(24);
+        int dtypeTableOffset = buff.getInt(28);
+        nodeIndexOffset = buff.getInt(32);
+        nodeDataOffset = buff.getInt(36);
+
+        TypeTable typeTable = TypeTable.getInst();
+        dtypes = new TypeInfo[numDtypes];
+        for (int i = 0; i < numDtypes; ++i) {
+            int offset = dtypeTableOffset + i * ASTBinFormat.DTYPE_SIZE;
+            String id = getStr(buff.getInt(offset));
+            if (id.equals(ArrTypeInfo.ID)) {
+                TypeInfo coreDtype = typeTable.getType(getStr(buff.getInt(offset + 4)));
+                dtypes[i] = ArrTypeInfo.getInst(coreDtype, buff.getInt(offset + 8));
+            } else {
+                dtypes[i] = typeTable.getType(id);
+            }
+        }
+    }
+
+    /**
+     * Maps a file in the binary format.
+     *
+     * @param path the file's path.
+     * @return a MappedAST object.
+     * @throws IOException if there is an IO exception or the file is not in the binary format.
+     */
+    public static MappedAST open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buff = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedAST(buff);
+        }
+    }
+
+    /**
+     * Reads an AST in the binary format from a buffer, e.g. one that has been read into memory.
+     *
+     * @param buff the buffer whose content starts at index 0.
+     * @return a MappedAST object.
+     * @throws IOException if the buffer is not in the binary format.
+     */
+    public static MappedAST wrap(ByteBuffer buff) throws IOException {
+        return new MappedAST(buff);
+    }
+
+    // Readers of variable-length fields, which return the field's value and store the offset past it in pos[0]
+
+    private int readVarint(int[] pos) {
+        int offset = pos[0];
+        int val = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buff.get(offset++);
+            val |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        pos[0] = offset;
+        return val;
+    }
+
+    private int readZigzag(int[] pos) {
+        int val = readVarint(pos);
+        return (val >>> 1) ^ -(val & 1);
+    }
+
+    private long readPos(long basePos, int[] pos) {
+        int ln = SrcPos.getLn(basePos) + readZigzag(pos);
+        int col = SrcPos.getCol(basePos) + readZigzag(pos);
+        return SrcPos.pack(ln, col);
+    }
+
+    private int getNodeOffset(int node) {
+        return nodeDataOffset + buff.getInt(nodeIndexOffset + 4 * node);
+    }
+
+    private int getFlags(int node) {
+        return buff.get(getNodeOffset(node) + 1);
+    }
+
+    private String getStr(int str) {
+        int[] pos = new int[]{strDataOffset + buff.getInt(strIndexOffset + 4 * str)};
+        int len = readVarint(pos);
+        byte[] bytes = new byte[len];
+        buff.get(pos[0], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int countStrs() {
+        return numStrs;
+    }
+
+    @Override
+    public int countNodes() {
+        return numNodes;
+    }
+
+    @Override
+    public ASTNodeType getNodeType(int node) {
+        return NODE_TYPES[buff.get(getNodeOffset(node))];
+    }
+
+    @Override
+    public boolean isValExpr(int node) {
+        return (getFlags(node) & ASTBinFormat.VAL_EXPR) != 0;
+    }
+
+    @Override
+    public boolean isMutable(int node) {
+        return (getFlags(node) & ASTBinFormat.MUTABLE) != 0;
+    }
+
+    @Override
+    public long getStartPos(int node) {
+        // Add up the relative starts from the last restart point
+        long startPos = 0;
+        int[] pos = new int[1];
+        for (int i = node - node % restartInterval; i <= node; ++i) {
+            pos[0] = getNodeOffset(i) + 3;
+            startPos = readPos(startPos, pos);
+        }
+        return startPos;
+    }
+
+    @Override
+    public long getEndPos(int node) {
+        long startPos = getStartPos(node);
+        // Skip the relative start
+        int[] pos = new int[]{getNodeOffset(node) + 3};
+        readZigzag(pos);
+        readZigzag(pos);
+        return readPos(startPos, pos);
+    }
+
+    @Override
+    public SrcRange getSrcRange(int node) {
+        return new SrcRange(getStartPos(node), getEndPos(node));
+    }
+
+    /**
+     * Gets the number of nodes in the subtree of a node, including the node itself.
+     *
+     * @param node the node's id.
+     * @return the size of the subtree.
+     */
+    public int getSubtreeSize(int node) {
+        int[] pos = new int[]{getNodeOffset(node) + 3};
+        // Skip the positions
+        for (int i = 0; i < 4; ++i) {
+            readVarint(pos);
+        }
+        return readVarint(pos);
+    }
+
+    @Override
+    public TypeInfo getDtype(int node) {
+        int[] pos = new int[]{getNodeOffset(node) + 3};
+        for (int i = 0; i < 5; ++i) {
+            readVarint(pos);
+        }
+        int dtype = readVarint(pos);
+        return dtype == 0 ? null : dtypes[dtype - 1];
+    }
+
+    @Override
+    public Tok getTok(int node) {
+        int offset = getNodeOffset(node);
+        if ((buff.get(offset + 1) & ASTBinFormat.HAS_TOK) == 0) {
+            return null;
+        }
+
+        long startPos = getStartPos(node);
+        int[] pos = new int[]{offset + 3};
+        // Skip the positions, the subtree size and the data type
+        for (int i = 0; i < 6; ++i) {
+            readVarint(pos);
+        }
+        int str = readVarint(pos);
+        TokType tokType = TOK_TYPES[buff.get(pos[0]++)];
+        long tokStartPos = readPos(startPos, pos);
+        long tokEndPos = readPos(tokStartPos, pos);
+        return new Tok(str == 0 ? null : getStr(str - 1), tokType, tokStartPos, tokEndPos);
+    }
+
+    @Override
+    public int getFirstChild(int node) {
+        return getSubtreeSize(node) > 1 ? node + 1 : NONE;
+    }
+
+    @Override
+    public int getNextSibling(int node) {
+        return (getFlags(node) & ASTBinFormat.HAS_NEXT_SIBLING) != 0 ? node + getSubtreeSize(node) : NONE;
+    }
+
+    @Override
+    public int getFixedChild(int node, int i) {
+        int childMask = buff.get(getNodeOffset(node) + 2);
+        if ((childMask & (1 << i)) == 0) {
+            return NONE;
+        }
+        // Skip the subtrees of the children that are present before the i-th one
+        int child = node + 1;
+        for (int j = Integer.bitCount(childMask & ((1 << i) - 1)); j > 0; --j) {
+            child += getSubtreeSize(child);
+        }
+        return child;
+    }
+}
@@ -1,6 +1,6 @@
 package ast;
 
-import toks.SrcRange;
+import toks.SrcPos;
 import types.TypeInfo;
 
 import java.util.ArrayList;
@@ -9,7 +9,9 @@ import java.util.List;
 
 // AST node with multiple children
 // Implemented using the Iterator pattern
-public abstract class MultichildASTNode extends ASTNode implements Iterable<ASTNode> {
+public abstract sealed class MultichildASTNode extends ASTNode implements Iterable<ASTNode>
+        permits ArrLiteralASTNode, ExprListASTNode, IfElseASTNode, OpChainASTNode, ParamListASTNode,
+        ScopeASTNode {
     private class ASTNodeIterator implements IASTNodeIterator {
         private int i;
 
@@ -30,14 +32,14 @@ public abstract class MultichildASTNode extends ASTNode implements Iterable<ASTN
         @Override
         public void set(ASTNode node) {
             children.set(i - 1, node);
-            srcRange.setEndPos(node.srcRange.getEndPos());
+            endPos = node.endPos;
         }
     }
 
     protected final List<ASTNode> children = new ArrayList<>();
 
     public MultichildASTNode(ASTNodeType nodeType, TypeInfo dtype, boolean valExprFlag) {
-        super(null, new SrcRange(), nodeType, dtype, valExprFlag);
+        super(null, SrcPos.START, SrcPos.START, nodeType, dtype, valExprFlag);
     }
 
     /**
@@ -47,7 +49,27 @@ public abstract class MultichildASTNode extends ASTNode implements Iterable<ASTN
      */
     public void addChild(ASTNode child) {
         children.add(child);
-        srcRange.setEndPos(child.srcRange.getEndPos());
+        endPos = child.endPos;
+    }
+
+    /**
+     * Gets a child node.
+     *
+     * @param i the position of the child node.
+     * @return the child node at the given position.
+     */
+    public ASTNode getChild(int i) {
+        return children.get(i);
+    }
+
+    /**
+     * Replaces a child node without updating the source range.
+     *
+     * @param i     the position of the child node.
+     * @param child the new child node.
+     */
+    public void replaceChild(int i, ASTNode child) {
+        children.set(i, child);
     }
 
     /**
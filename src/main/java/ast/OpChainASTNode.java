@@ -0,0 +1,60 @@
+package ast;
+
+import toks.Tok;
+import types.TypeInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Node for a run of the same left-associative binary operator, e.g. a + b + c, whose children are the operands
+// It has the same meaning as the left-leaning chain of binary operator nodes it replaces, where the token is the first
+// operator's
+public final class OpChainASTNode extends MultichildASTNode {
+    // Operator tokens between the operands, where the i-th one precedes the (i + 1)-th operand
+    private final List<Tok> opToks = new ArrayList<>();
+
+    public OpChainASTNode(Tok tok, TypeInfo dtype) {
+        super(ASTNodeType.OP_CHAIN, dtype, true);
+        this.tok = tok;
+    }
+
+    /**
+     * Creates a chain from a binary operator node, which becomes its first two operands.
+     *
+     * @param binOpNode the binary operator node.
+     * @return an OpChainASTNode object with the binary operator node's data type.
+     */
+    public static OpChainASTNode fromBinOp(BinOpASTNode binOpNode) {
+        OpChainASTNode chainNode = new OpChainASTNode(binOpNode.getTok(), binOpNode.getDtype());
+        chainNode.addChild(binOpNode.getLeft());
+        chainNode.addOperand(binOpNode.getTok(), binOpNode.getRight());
+        chainNode.setStartPos(binOpNode.getStartPos());
+        return chainNode;
+    }
+
+    /**
+     * Adds an operator and the operand following it.
+     *
+     * @param opTok   the operator token.
+     * @param operand the operand node.
+     */
+    public void addOperand(Tok opTok, ASTNode operand) {
+        opToks.add(opTok);
+        addChild(operand);
+    }
+
+    /**
+     * Gets the operator token that precedes an operand.
+     *
+     * @param i the operand's position, which is at least 1.
+     * @return the operator token, or the node's token if the operand was added without one, e.g. by addChild.
+     */
+    public Tok getOpTok(int i) {
+        return i - 1 < opToks.size() ? opToks.get(i - 1) : tok;
+    }
+
+    @Override
+    public ASTNode accept(IASTVisitor visitor) {
+        return visitor.visitOpChain(this);
+    }
+}
@@ -0,0 +1,177 @@
+package ast;
+
+import toks.Tok;
+import toks.TokType;
+import types.TypeInfo;
+
+// Array literal whose elements are literals of the same token type, stored as a packed primitive array instead of a
+// literal node and a token for each element
+// The element tokens can be rebuilt from the values and the start positions, so it is only created when each value's
+// canonical text is the literal's text, e.g. 2.50 is kept as an ArrLiteralASTNode
+public final class PackedArrLiteralASTNode extends ASTNode {
+    private final TokType elmTokType;
+    // Only the array of the element token type is used
+    private final long[] intVals;
+    private final double[] floatVals;
+    private final boolean[] boolVals;
+    // Packed start positions of the elements, see SrcPos, where each element ends after its text on the same line
+    private final long[] elmStartPos;
+    // Data type of each element, which is set when the literal is checked
+    private TypeInfo elmDtype;
+
+    private PackedArrLiteralASTNode(TypeInfo dtype, TokType elmTokType, int numElms) {
+        super(null, 0, 0, ASTNodeType.PACKED_ARR_LITERAL, dtype, true);
+        this.elmTokType = elmTokType;
+        intVals = elmTokType == TokType.INT_LITERAL ? new long[numElms] : null;
+        floatVals = elmTokType == TokType.FLOAT_LITERAL ? new double[numElms] : null;
+        boolVals = elmTokType == TokType.BOOL_LITERAL ? new boolean[numElms] : null;
+        elmStartPos = new long[numElms];
+    }
+
+    /**
+     * Packs an array literal whose elements are all literals of the same token type.
+     *
+     * @param arrLiteralNode the array literal node.
+     * @return a PackedArrLiteralASTNode object with the array literal's data type and range, or null if the array
+     * literal is empty or cannot be packed.
+     */
+    public static PackedArrLiteralASTNode pack(ArrLiteralASTNode arrLiteralNode) {
+        int numElms = arrLiteralNode.countChildren();
+        if (numElms == 0 || arrLiteralNode.getChild(0).getNodeType() != ASTNodeType.LITERAL) {
+            return null;
+        }
+
+        TokType elmTokType = arrLiteralNode.getChild(0).getTok().getTokType();
+        PackedArrLiteralASTNode packedNode = new PackedArrLiteralASTNode(arrLiteralNode.getDtype(), elmTokType,
+                numElms);
+        for (int i = 0; i < numElms; ++i) {
+            ASTNode elmNode = arrLiteralNode.getChild(i);
+            if (elmNode.getNodeType() != ASTNodeType.LITERAL || !packedNode.setElm(i, elmNode.getTok())) {
+                return null;
+            }
+        }
+
+        packedNode.elmDtype = arrLiteralNode.getChild(0).getDtype();
+        packedNode.startPos = arrLiteralNode.getStartPos();
+        packedNode.endPos = arrLiteralNode.getEndPos();
+        return packedNode;
+    }
+
+    /**
+     * Stores an element if its token can be rebuilt from the stored value.
+     *
+     * @param i   the element's position.
+     * @param tok the element's token.
+     * @return true if the element has been stored.
+     */
+    private boolean setElm(int i, Tok tok) {
+        String val = tok.getVal();
+        if (tok.getTokType() != elmTokType || tok.getEndPos() != tok.getStartPos() + val.length()) {
+            return false;
+        }
+
+        try {
+            switch (elmTokType) {
+                case INT_LITERAL -> intVals[i] = Long.parseLong(val);
+                case FLOAT_LITERAL -> floatVals[i] = Double.parseDouble(val);
+                default -> boolVals[i] = Boolean.parseBoolean(val);
+            }
+        } catch (NumberFormatException e) {
+            // Out of range
+            return false;
+        }
+        elmStartPos[i] = tok.getStartPos();
+        return getElmVal(i).equals(val);
+    }
+
+    public int countElms() {
+        return elmStartPos.length;
+    }
+
+    public TokType getElmTokType() {
+        return elmTokType;
+    }
+
+    public TypeInfo getElmDtype() {
+        return elmDtype;
+    }
+
+    public void setElmDtype(TypeInfo elmDtype) {
+        this.elmDtype = elmDtype;
+    }
+
+    public long getInt(int i) {
+        return intVals[i];
+    }
+
+    public double getFloat(int i) {
+        return floatVals[i];
+    }
+
+    public boolean getBool(int i) {
+        return boolVals[i];
+    }
+
+    /**
+     * Gets the text of an element.
+     *
+     * @param i the element's position.
+     * @return the element's literal text.
+     */
+    public String getElmVal(int i) {
+        return switch (elmTokType) {
+            case INT_LITERAL -> Long.toString(intVals[i]);
+            case FLOAT_LITERAL -> Double.toString(floatVals[i]);
+            default -> Boolean.toString(boolVals[i]);
+        };
+    }
+
+    public long getElmStartPos(int i) {
+        return elmStartPos[i];
+    }
+
+    void setElmStartPos(int i, long pos) {
+        elmStartPos[i] = pos;
+    }
+
+    /**
+     * Gets the packed end position of an element.
+     *
+     * @param i the element's position.
+     * @return the position right after the element's text.
+     */
+    public long getElmEndPos(int i) {
+        return elmStartPos[i] + getElmVal(i).length();
+    }
+
+    /**
+     * Rebuilds the token of an element.
+     *
+     * @param i the element's position.
+     * @return a new Tok object equal to the element's original token.
+     */
+    public Tok getElmTok(int i) {
+        String val = getElmVal(i);
+        return new Tok(val, elmTokType, elmStartPos[i], elmStartPos[i] + val.length());
+    }
+
+    /**
+     * Rebuilds the array literal node that was packed, with a new literal node for each element.
+     *
+     * @return an ArrLiteralASTNode object with the same data type and range.
+     */
+    public ArrLiteralASTNode unpack() {
+        ArrLiteralASTNode arrLiteralNode = new ArrLiteralASTNode(dtype);
+        for (int i = 0; i < countElms(); ++i) {
+            arrLiteralNode.addChild(new LiteralASTNode(getElmTok(i), elmDtype));
+        }
+        arrLiteralNode.setStartPos(startPos);
+        arrLiteralNode.setEndPos(endPos);
+        return arrLiteralNode;
+    }
+
+    @Override
+    public ASTNode accept(IASTVisitor visitor) {
+        return visitor.visitPackedArrLiteral(this);
+    }
+}
@@ -0,0 +1,226 @@
+package ast;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Displays a flat AST using JSON like JSONStreamWalker but renders large subtrees in parallel
+// A subtree with fewer nodes than the threshold is written sequentially, otherwise its children are rendered into
+// separate buffers by fork-join tasks and the buffers are written in order, so the output is the same as the
+// sequential walk
+public class ParallelJSONWalker {
+    public static final int DEFAULT_THRESHOLD = 1 << 12;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private IFlatAST ast;
+    private boolean pretty;
+    private int[] subtreeSizes;
+
+    /**
+     * Creates a walker.
+     *
+     * @param pool      the pool that runs the tasks.
+     * @param threshold the smallest number of nodes in a subtree for its children to be rendered in parallel.
+     */
+    public ParallelJSONWalker(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public ParallelJSONWalker() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Writes a flat AST and flushes the emitter.
+     *
+     * @param ast     the flat AST, which is only read by the tasks.
+     * @param emitter the emitter to write to.
+     * @param pretty  whether the emitter indents the output.
+     * @throws IOException if there is an IO exception.
+     */
+    public void walk(IFlatAST ast, JSONEmitter emitter, boolean pretty) throws IOException {
+        this.ast = ast;
+        this.pretty = pretty;
+        int numNodes = ast.countNodes();
+        subtreeSizes = new int[numNodes];
+        // Children have greater ids than their parent so the sizes can be computed from the last node up
+        for (int node = numNodes - 1; node >= 0; --node) {
+            subtreeSizes[node] = 1;
+            for (int child = ast.getFirstChild(node); child != IFlatAST.NONE; child = ast.getNextSibling(child)) {
+                subtreeSizes[node] += subtreeSizes[child];
+            }
+        }
+
+        try {
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    walkNode(0, emitter);
+                    return null;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        emitter.flush();
+    }
+
+    /**
+     * Writes a node, rendering its children in parallel if its subtree is large.
+     *
+     * @param node    the node's id.
+     * @param emitter the emitter to write to.
+     */
+    private void walkNode(int node, JSONEmitter emitter) {
+        try {
+            JSONStreamWalker walker = new JSONStreamWalker(emitter);
+            if (subtreeSizes[node] < threshold) {
+                walker.walkFlatNode(ast, node);
+                return;
+            }
+
+            ASTNodeType nodeType = ast.getNodeType(node);
+            emitter.beginObject();
+            walker.walkNodeFields(nodeType, ast.getTok(node), ast.getStartPos(node), ast.getEndPos(node));
+            if (IFlatAST.countFixedChildren(nodeType) == IFlatAST.LIST) {
+                emitter.key("Children");
+                emitter.beginArray();
+                walkChildList(node, emitter);
+                emitter.endArray();
+            } else {
+                walkFixedChildren(node, nodeType, emitter);
+            }
+            emitter.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders a list of children in chunks of about the threshold's size and writes the chunks in order.
+     *
+     * @param node    the parent's id.
+     * @param emitter the emitter whose innermost container is the parent's list of children.
+     * @throws IOException if there is an IO exception.
+     */
+    private void walkChildList(int node, JSONEmitter emitter) throws IOException {
+        List<ChunkTask> tasks = new ArrayList<>();
+        int indentDepth = emitter.getIndentDepth();
+        int chunkStart = ast.getFirstChild(node);
+        int chunkSize = 0;
+        int numChildren = 0;
+
+        for (int child = chunkStart; child != IFlatAST.NONE; child = ast.getNextSibling(child)) {
+            chunkSize += subtreeSizes[child];
+            ++numChildren;
+            if (chunkSize >= threshold) {
+                tasks.add(new ChunkTask(chunkStart, numChildren, indentDepth));
+                chunkStart = ast.getNextSibling(child);
+                chunkSize = 0;
+                numChildren = 0;
+            }
+        }
+        if (numChildren > 0) {
+            tasks.add(new ChunkTask(chunkStart, numChildren, indentDepth));
+        }
+
+        RecursiveTask.invokeAll(tasks);
+        for (ChunkTask task : tasks) {
+            emitter.rawItems(task.join());
+        }
+    }
+
+    /**
+     * Renders the fixed children of a node in parallel and writes them in order.
+     *
+     * @param node     the node's id.
+     * @param nodeType the node's type.
+     * @param emitter  the emitter whose innermost container is the node's object.
+     * @throws IOException if there is an IO exception.
+     */
+    private void walkFixedChildren(int node, ASTNodeType nodeType, JSONEmitter emitter) throws IOException {
+        String[] childKeys = JSONWalker.getFixedChildKeys(nodeType);
+        ValTask[] tasks = new ValTask[childKeys.length];
+        List<ValTask> taskList = new ArrayList<>();
+        for (int i = 0; i < childKeys.length; ++i) {
+            int child = ast.getFixedChild(node, i);
+            if (child != IFlatAST.NONE) {
+                tasks[i] = new ValTask(child, emitter.getIndentDepth());
+                taskList.add(tasks[i]);
+            }
+        }
+
+        RecursiveTask.invokeAll(taskList);
+        for (int i = 0; i < childKeys.length; ++i) {
+            emitter.key(childKeys[i]);
+            if (tasks[i] == null) {
+                emitter.nullVal();
+            } else {
+                emitter.rawVal(tasks[i].join());
+            }
+        }
+    }
+
+    // Task that renders a single child value into a buffer
+    private class ValTask extends RecursiveTask<ByteArrayOutputStream> {
+        private static final long serialVersionUID = 1L;
+
+        private final int node;
+        private final int indentDepth;
+
+        public ValTask(int node, int indentDepth) {
+            this.node = node;
+            this.indentDepth = indentDepth;
+        }
+
+        @Override
+        protected ByteArrayOutputStream compute() {
+            ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+            JSONEmitter emitter = JSONEmitter.createValFragment(fragment, pretty, indentDepth);
+            walkNode(node, emitter);
+            flush(emitter);
+            return fragment;
+        }
+    }
+
+    // Task that renders consecutive children in a list into a buffer
+    private class ChunkTask extends RecursiveTask<ByteArrayOutputStream> {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstNode;
+        private final int numNodes;
+        private final int indentDepth;
+
+        public ChunkTask(int firstNode, int numNodes, int indentDepth) {
+            this.firstNode = firstNode;
+            this.numNodes = numNodes;
+            this.indentDepth = indentDepth;
+        }
+
+        @Override
+        protected ByteArrayOutputStream compute() {
+            ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+            JSONEmitter emitter = JSONEmitter.createItemsFragment(fragment, pretty, indentDepth);
+            int node = firstNode;
+            for (int i = 0; i < numNodes; ++i) {
+                walkNode(node, emitter);
+                node = ast.getNextSibling(node);
+            }
+            flush(emitter);
+            return fragment;
+        }
+    }
+
+    private static void flush(JSONEmitter emitter) {
+        try {
+            emitter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package ast;
 
-import toks.SrcRange;
+import toks.SrcPos;
 import types.TypeInfo;
 
-public class ParamDeclASTNode extends ASTNode {
+public final class ParamDeclASTNode extends ASTNode {
     private IdASTNode idNode;
     private DtypeASTNode dtypeNode;
 
     public ParamDeclASTNode(TypeInfo dtype) {
-        super(null, new SrcRange(), ASTNodeType.PARAM_DECL, dtype, false);
+        super(null, SrcPos.START, SrcPos.START, ASTNodeType.PARAM_DECL, dtype, false);
     }
 
     public IdASTNode getIdNode() {
@@ -17,7 +17,7 @@ public class ParamDeclASTNode extends ASTNode {
 
     public void setIdNode(IdASTNode idNode) {
         this.idNode = idNode;
-        srcRange.setStartPos(idNode.srcRange.getStartPos());
+        startPos = idNode.startPos;
     }
 
     public DtypeASTNode getDtypeNode() {
@@ -26,7 +26,7 @@ public class ParamDeclASTNode extends ASTNode {
 
     public void setDtypeNode(DtypeASTNode dtypeNode) {
         this.dtypeNode = dtypeNode;
-        srcRange.setEndPos(dtypeNode.srcRange.getEndPos());
+        endPos = dtypeNode.endPos;
     }
 
     @Override
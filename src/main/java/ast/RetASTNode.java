@@ -3,11 +3,22 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class RetASTNode extends UnASTNode {
+public final class RetASTNode extends UnASTNode {
+    // Token found in place of the return expression when it is missing
+    private Tok missingExprTok;
+
     public RetASTNode(Tok tok, TypeInfo dtype) {
         super(tok, ASTNodeType.RET, dtype, false);
     }
 
+    public Tok getMissingExprTok() {
+        return missingExprTok;
+    }
+
+    public void setMissingExprTok(Tok missingExprTok) {
+        this.missingExprTok = missingExprTok;
+    }
+
     @Override
     public ASTNode accept(IASTVisitor visitor) {
         return visitor.visitRet(this);
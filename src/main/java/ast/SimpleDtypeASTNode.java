@@ -3,9 +3,9 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class SimpleDtypeASTNode extends DtypeASTNode {
+public final class SimpleDtypeASTNode extends DtypeASTNode {
     public SimpleDtypeASTNode(Tok tok, TypeInfo dtype) {
-        super(tok, tok.getSrcRange(), ASTNodeType.SIMPLE_DTYPE, dtype);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.SIMPLE_DTYPE, dtype);
     }
 
     @Override
@@ -1,15 +1,14 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
 // Node with data type and one child
-public abstract class UnASTNode extends ASTNode {
+public abstract sealed class UnASTNode extends ASTNode permits RetASTNode, UnOpASTNode {
     protected ASTNode exprNode;
 
     public UnASTNode(Tok tok, ASTNodeType nodeType, TypeInfo dtype, boolean valExprFlag) {
-        super(tok, new SrcRange(tok.getSrcRange()), nodeType, dtype, valExprFlag);
+        super(tok, tok.getStartPos(), tok.getEndPos(), nodeType, dtype, valExprFlag);
     }
 
     public ASTNode getExprNode() {
@@ -18,6 +17,6 @@ public abstract class UnASTNode extends ASTNode {
 
     public void setExprNode(ASTNode exprNode) {
         this.exprNode = exprNode;
-        srcRange.setEndPos(exprNode.srcRange.getEndPos());
+        endPos = exprNode.endPos;
     }
 }
@@ -3,7 +3,7 @@ package ast;
 import toks.Tok;
 import types.TypeInfo;
 
-public class UnOpASTNode extends UnASTNode {
+public final class UnOpASTNode extends UnASTNode {
     public UnOpASTNode(Tok tok, TypeInfo dtype) {
         super(tok, ASTNodeType.UN_OP, dtype, true);
     }
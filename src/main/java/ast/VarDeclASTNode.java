@@ -1,15 +1,14 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
-public class VarDeclASTNode extends ASTNode {
+public final class VarDeclASTNode extends ASTNode {
     private IdASTNode idNode;
     private DtypeASTNode dtypeNode;
 
     public VarDeclASTNode(Tok tok, TypeInfo dtype) {
-        super(tok, new SrcRange(tok.getSrcRange()), ASTNodeType.VAR_DECL, dtype, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.VAR_DECL, dtype, false);
     }
 
     public IdASTNode getIdNode() {
@@ -18,7 +17,7 @@ public class VarDeclASTNode extends ASTNode {
 
     public void setIdNode(IdASTNode idNode) {
         this.idNode = idNode;
-        srcRange.setEndPos(idNode.srcRange.getEndPos());
+        endPos = idNode.endPos;
     }
 
     public DtypeASTNode getDtypeNode() {
@@ -27,7 +26,7 @@ public class VarDeclASTNode extends ASTNode {
 
     public void setDtypeNode(DtypeASTNode dtypeNode) {
         this.dtypeNode = dtypeNode;
-        srcRange.setEndPos(dtypeNode.srcRange.getEndPos());
+        endPos = dtypeNode.endPos;
     }
 
     @Override
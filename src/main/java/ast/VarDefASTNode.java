@@ -1,15 +1,14 @@
 package ast;
 
-import toks.SrcRange;
 import toks.Tok;
 import types.TypeInfo;
 
-public class VarDefASTNode extends ASTNode {
+public final class VarDefASTNode extends ASTNode {
     private VarDeclASTNode varDeclNode;
     private ASTNode exprNode;
 
     public VarDefASTNode(Tok tok, TypeInfo dtype) {
-        super(tok, new SrcRange(tok.getSrcRange()), ASTNodeType.VAR_DEF, dtype, false);
+        super(tok, tok.getStartPos(), tok.getEndPos(), ASTNodeType.VAR_DEF, dtype, false);
     }
 
     public VarDeclASTNode getVarDeclNode() {
@@ -18,7 +17,7 @@ public class VarDefASTNode extends ASTNode {
 
     public void setVarDeclNode(VarDeclASTNode varDeclNode) {
         this.varDeclNode = varDeclNode;
-        srcRange.setStartPos(varDeclNode.srcRange.getStartPos());
+        startPos = varDeclNode.startPos;
     }
 
     public ASTNode getExprNode() {
@@ -27,7 +26,7 @@ public class VarDefASTNode extends ASTNode {
 
     public void setExprNode(ASTNode exprNode) {
         this.exprNode = exprNode;
-        srcRange.setEndPos(exprNode.srcRange.getEndPos());
+        endPos = exprNode.endPos;
     }
 
     @Override
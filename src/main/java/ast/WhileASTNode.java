@@ -2,7 +2,7 @@ package ast;
 
 import toks.Tok;
 
-public class WhileASTNode extends BranchNode {
+public final class WhileASTNode extends BranchNode {
     public WhileASTNode(Tok tok) {
         super(tok, ASTNodeType.WHILE);
     }
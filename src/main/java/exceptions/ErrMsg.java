@@ -18,7 +18,7 @@ public class ErrMsg {
     }
 
     public ErrMsg(String val, Tok tok) {
-        this(val, tok.getSrcRange().getStartPos());
+        this(val, SrcPos.unpack(tok.getStartPos()));
     }
 
     public String getVal() {
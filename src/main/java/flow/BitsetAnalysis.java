@@ -0,0 +1,275 @@
+package flow;
+
+import java.util.Arrays;
+
+// Dataflow analysis over a CFG whose facts are bits, e.g. one bit for each variable, solved with a worklist
+// The transfer function of a block clears the block's kill bits and then sets its gen bits, for the facts before the
+// block in a forward analysis and after it in a backward one. The facts where paths meet are joined by union or by
+// intersection, and the facts at the entry, or at the exit for a backward analysis, are given by the boundary.
+// The gen and kill bits are stored as lists in compressed sparse row form, so they take space in the number of
+// accesses rather than in the number of blocks times the number of bits. Only the facts after each block's transfer
+// function are stored, in a flat long array with the words of block b from b * numWords to (b + 1) * numWords - 1, and
+// the facts before a block are joined again from them when they are needed.
+// The blocks are first visited in reverse postorder, and a block is visited again only when the facts it depends on
+// change. For problems of this form the facts settle after a number of passes bounded by the loop nesting depth, so the
+// solver takes O((blocks + edges) * words) time for code with shallow loops.
+public abstract class BitsetAnalysis {
+    protected final CFG cfg;
+    private final boolean forward;
+    private final boolean union;
+    private final int numBits;
+    private final int numWords;
+    // The gen bits of block b are genBits[genStarts[b]] to genBits[genStarts[b + 1] - 1]
+    private final int[] genStarts;
+    private int[] genBits = new int[16];
+    private int numGens = 0;
+    // The kill ranges of block b are killFroms[i] to killTos[i] - 1 for i from killStarts[b] to killStarts[b + 1] - 1
+    private final int[] killStarts;
+    private int[] killFroms = new int[16];
+    private int[] killTos = new int[16];
+    private int numKills = 0;
+    private final long[] boundary;
+    private final long[] afters;
+    // Number of times a block has been visited by solve
+    private int numVisits = 0;
+
+    /**
+     * Creates an analysis without solving it.
+     *
+     * @param cfg     the control-flow graph.
+     * @param numBits the number of facts.
+     * @param forward whether the facts flow along the edges instead of against them.
+     * @param union   whether the facts are joined by union instead of intersection.
+     */
+    protected BitsetAnalysis(CFG cfg, int numBits, boolean forward, boolean union) {
+        this.cfg = cfg;
+        this.forward = forward;
+        this.union = union;
+        this.numBits = numBits;
+        numWords = (numBits + 63) >>> 6;
+        genStarts = new int[cfg.countBlocks() + 1];
+        killStarts = new int[cfg.countBlocks() + 1];
+        boundary = new long[numWords];
+        afters = new long[cfg.countBlocks() * numWords];
+    }
+
+    /**
+     * Adds the gen and kill bits of a block, through addGen, addKill and addKillRange. The blocks are initialized in
+     * order.
+     *
+     * @param block the block.
+     */
+    protected abstract void initBlock(int block);
+
+    /**
+     * Sets the boundary bits through setBoundary, which are all clear by default.
+     */
+    protected void initBoundary() {
+    }
+
+    /**
+     * Computes the facts at the start and end of every block.
+     */
+    public void solve() {
+        int numBlocks = cfg.countBlocks();
+        for (int block = 0; block < numBlocks; ++block) {
+            initBlock(block);
+            genStarts[block + 1] = numGens;
+            killStarts[block + 1] = numKills;
+        }
+        initBoundary();
+
+        // The facts after each block start from the top of the lattice
+        if (!union) {
+            Arrays.fill(afters, -1L);
+            for (int block = 0; block < numBlocks; ++block) {
+                clearUnusedBits(afters, block * numWords);
+            }
+        }
+
+        int[] order = cfg.getRevPostOrder(!forward);
+        // Circular queue that holds each block at most once
+        int[] queue = Arrays.copyOf(order, numBlocks);
+        boolean[] queued = new boolean[numBlocks];
+        Arrays.fill(queued, true);
+        int head = 0;
+        int numQueued = numBlocks;
+        long[] newAfter = new long[numWords];
+
+        while (numQueued > 0) {
+            int block = queue[head];
+            head = head + 1 == numBlocks ? 0 : head + 1;
+            --numQueued;
+            queued[block] = false;
+            ++numVisits;
+
+            meet(block, newAfter);
+            transfer(block, newAfter);
+            int offset = block * numWords;
+            if (Arrays.equals(newAfter, 0, numWords, afters, offset, offset + numWords)) {
+                continue;
+            }
+
+            System.arraycopy(newAfter, 0, afters, offset, numWords);
+            int numTargets = forward ? cfg.countSuccs(block) : cfg.countPreds(block);
+            for (int i = 0; i < numTargets; ++i) {
+                int target = forward ? cfg.getSucc(block, i) : cfg.getPred(block, i);
+                if (!queued[target]) {
+                    queued[target] = true;
+                    queue[(head + numQueued) % numBlocks] = target;
+                    ++numQueued;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the transfer function of a block.
+     *
+     * @param block the block.
+     * @param facts the facts before the block's transfer function, which are replaced by the facts after it.
+     */
+    private void transfer(int block, long[] facts) {
+        for (int i = killStarts[block]; i < killStarts[block + 1]; ++i) {
+            for (int bit = killFroms[i]; bit < killTos[i]; ) {
+                int word = bit >>> 6;
+                int end = Math.min(killTos[i], (word + 1) << 6);
+                facts[word] &= ~((-1L >>> (64 - (end - bit))) << bit);
+                bit = end;
+            }
+        }
+        for (int i = genStarts[block]; i < genStarts[block + 1]; ++i) {
+            facts[genBits[i] >>> 6] |= 1L << genBits[i];
+        }
+    }
+
+    /**
+     * Joins the facts that flow into a block.
+     *
+     * @param block the block.
+     * @param facts where the facts before the block's transfer function are stored.
+     */
+    private void meet(int block, long[] facts) {
+        if (block == (forward ? CFG.ENTRY : CFG.EXIT)) {
+            System.arraycopy(boundary, 0, facts, 0, numWords);
+            return;
+        }
+
+        int numSources = forward ? cfg.countPreds(block) : cfg.countSuccs(block);
+        // A block that nothing flows into cannot be reached, so its facts are the top of the lattice
+        Arrays.fill(facts, 0, numWords, union ? 0 : -1L);
+        for (int i = 0; i < numSources; ++i) {
+            int sourceOffset = (forward ? cfg.getPred(block, i) : cfg.getSucc(block, i)) * numWords;
+            for (int j = 0; j < numWords; ++j) {
+                if (union) {
+                    facts[j] |= afters[sourceOffset + j];
+                } else {
+                    facts[j] &= afters[sourceOffset + j];
+                }
+            }
+        }
+        if (!union) {
+            clearUnusedBits(facts, 0);
+        }
+    }
+
+    private void clearUnusedBits(long[] sets, int offset) {
+        if ((numBits & 63) != 0) {
+            sets[offset + numWords - 1] &= -1L >>> (64 - (numBits & 63));
+        }
+    }
+
+    protected void addGen(int bit) {
+        if (numGens == genBits.length) {
+            genBits = Arrays.copyOf(genBits, numGens * 2);
+        }
+        genBits[numGens++] = bit;
+    }
+
+    protected void addKill(int bit) {
+        addKillRange(bit, bit + 1);
+    }
+
+    /**
+     * Adds a range of kill bits to the block being initialized, which are cleared a word at a time.
+     *
+     * @param from the first bit.
+     * @param to   the bit after the last one.
+     */
+    protected void addKillRange(int from, int to) {
+        if (numKills == killFroms.length) {
+            killFroms = Arrays.copyOf(killFroms, numKills * 2);
+            killTos = Arrays.copyOf(killTos, numKills * 2);
+        }
+        killFroms[numKills] = from;
+        killTos[numKills++] = to;
+    }
+
+    protected void setBoundary(int bit) {
+        boundary[bit >>> 6] |= 1L << bit;
+    }
+
+    public int countBits() {
+        return numBits;
+    }
+
+    public int countVisits() {
+        return numVisits;
+    }
+
+    /**
+     * Checks a fact at the start of a block.
+     *
+     * @param block the block.
+     * @param bit   the fact.
+     * @return true if the fact holds before the block's first statement.
+     */
+    public boolean isInSet(int block, int bit) {
+        return isSet(forward ? before(block) : after(block), bit);
+    }
+
+    /**
+     * Checks a fact at the end of a block.
+     *
+     * @param block the block.
+     * @param bit   the fact.
+     * @return true if the fact holds after the block's last statement.
+     */
+    public boolean isOutSet(int block, int bit) {
+        return isSet(forward ? after(block) : before(block), bit);
+    }
+
+    /**
+     * Copies the facts at the start of a block.
+     *
+     * @param block the block.
+     * @return a new bitset of the facts, with bit i in word i / 64.
+     */
+    public long[] copyIn(int block) {
+        return forward ? before(block) : after(block);
+    }
+
+    /**
+     * Copies the facts at the end of a block.
+     *
+     * @param block the block.
+     * @return a new bitset of the facts, with bit i in word i / 64.
+     */
+    public long[] copyOut(int block) {
+        return forward ? after(block) : before(block);
+    }
+
+    private long[] before(int block) {
+        long[] facts = new long[numWords];
+        meet(block, facts);
+        return facts;
+    }
+
+    private long[] after(int block) {
+        return Arrays.copyOfRange(afters, block * numWords, (block + 1) * numWords);
+    }
+
+    private static boolean isSet(long[] facts, int bit) {
+        return (facts[bit >>> 6] & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,244 @@
+package flow;
+
+import ast.ASTNode;
+import ast.IdASTNode;
+
+// Control-flow graph of a function body or of the top-level code of a module, built by CFGBuilder
+// A basic block is a run of statements that are executed one after the other, where a condition is the last statement
+// of its block. The blocks are numbered from 0 and stored in primitive arrays in compressed sparse row form: the
+// statements of block b are stmts[stmtStarts[b]] to stmts[stmtStarts[b + 1] - 1], and the same goes for the successors,
+// the predecessors and the variable accesses.
+// A variable access is a use or a definition of a variable in the graph's frame, in the order they are executed. A
+// variable is exposed if some block uses it before defining it, and the variables that are not exposed are never live
+// or read across blocks. A definition of an exposed variable that is the last one of its variable in its block has a
+// definition id, and the ids of the definitions of the same variable are consecutive. The other definitions are either
+// overwritten before the block ends or only read in their own block. The analyses only give bits to definition ids
+// and exposed variables, so their bitsets only grow with what flows between blocks.
+public class CFG {
+    // The block where the code starts, which has no predecessors
+    public static final int ENTRY = 0;
+    // The block that every return and the end of the code lead to, which has no statements and no successors
+    public static final int EXIT = 1;
+    // Definition id of a definition that is never read in another block
+    public static final int NO_DEF_ID = -1;
+    // Index of a variable that is not exposed
+    public static final int NOT_EXPOSED = -1;
+
+    private final int numBlocks;
+    private final int[] stmtStarts;
+    private final ASTNode[] stmts;
+    private final int[] succStarts;
+    private final int[] succs;
+    private final int[] predStarts;
+    private final int[] preds;
+    // The slot of each access, which is negative for a definition, see encodeDef
+    private final int[] accessStarts;
+    private final int[] accesses;
+    private final IdASTNode[] accessNodes;
+    // Definition id of each access that is a definition, and the range of definition ids of each slot
+    private final int[] accessDefIds;
+    private final int[] slotDefStarts;
+    private final int numSlots;
+    // Index of each slot among the exposed ones
+    private final int[] exposedIndices;
+    private final int numExposed;
+
+    CFG(int numBlocks, int[] stmtStarts, ASTNode[] stmts, int[] succStarts, int[] succs, int[] predStarts, int[] preds,
+        int[] accessStarts, int[] accesses, IdASTNode[] accessNodes, int[] accessDefIds, int[] slotDefStarts,
+        int numSlots, int[] exposedIndices, int numExposed) {
+        this.numBlocks = numBlocks;
+        this.stmtStarts = stmtStarts;
+        this.stmts = stmts;
+        this.succStarts = succStarts;
+        this.succs = succs;
+        this.predStarts = predStarts;
+        this.preds = preds;
+        this.accessStarts = accessStarts;
+        this.accesses = accesses;
+        this.accessNodes = accessNodes;
+        this.accessDefIds = accessDefIds;
+        this.slotDefStarts = slotDefStarts;
+        this.numSlots = numSlots;
+        this.exposedIndices = exposedIndices;
+        this.numExposed = numExposed;
+    }
+
+    /**
+     * Encodes the slot of a definition as an access.
+     *
+     * @param slot the slot of the variable.
+     * @return a negative access.
+     */
+    static int encodeDef(int slot) {
+        return -slot - 1;
+    }
+
+    public int countBlocks() {
+        return numBlocks;
+    }
+
+    public int countSlots() {
+        return numSlots;
+    }
+
+    public int countStmts(int block) {
+        return stmtStarts[block + 1] - stmtStarts[block];
+    }
+
+    public ASTNode getStmt(int block, int i) {
+        return stmts[stmtStarts[block] + i];
+    }
+
+    public int countSuccs(int block) {
+        return succStarts[block + 1] - succStarts[block];
+    }
+
+    public int getSucc(int block, int i) {
+        return succs[succStarts[block] + i];
+    }
+
+    public int countPreds(int block) {
+        return predStarts[block + 1] - predStarts[block];
+    }
+
+    public int getPred(int block, int i) {
+        return preds[predStarts[block] + i];
+    }
+
+    /**
+     * Gets the position of a block's first variable access among all accesses. The accesses of block b are numbered
+     * from getAccessStart(b) to getAccessStart(b + 1) - 1.
+     *
+     * @param block the block, or the number of blocks for the end of the last block's accesses.
+     * @return the position of the block's first access.
+     */
+    public int getAccessStart(int block) {
+        return accessStarts[block];
+    }
+
+    public boolean isDef(int access) {
+        return accesses[access] < 0;
+    }
+
+    /**
+     * Gets the variable that is accessed.
+     *
+     * @param access the position of the access.
+     * @return the slot of the variable in the graph's frame.
+     */
+    public int getAccessSlot(int access) {
+        int encoded = accesses[access];
+        return encoded < 0 ? -encoded - 1 : encoded;
+    }
+
+    /**
+     * Gets the identifier node of an access, which is the declared identifier for a variable definition or a
+     * parameter.
+     *
+     * @param access the position of the access.
+     * @return the identifier node.
+     */
+    public IdASTNode getAccessNode(int access) {
+        return accessNodes[access];
+    }
+
+    /**
+     * Gets the definition id of an access.
+     *
+     * @param access the position of the access, which must be a definition.
+     * @return the definition id, or NO_DEF_ID if the definition is never read in another block.
+     */
+    public int getDefId(int access) {
+        return accessDefIds[access];
+    }
+
+    public int countDefs() {
+        return slotDefStarts[numSlots];
+    }
+
+    /**
+     * Gets the first definition id of a variable. The definitions of slot s have the ids from getSlotDefStart(s) to
+     * getSlotDefStart(s + 1) - 1.
+     *
+     * @param slot the slot of the variable, or the number of slots for the number of definitions.
+     * @return the first definition id.
+     */
+    public int getSlotDefStart(int slot) {
+        return slotDefStarts[slot];
+    }
+
+    public int countExposedSlots() {
+        return numExposed;
+    }
+
+    /**
+     * Gets the index of a variable among the exposed ones.
+     *
+     * @param slot the slot of the variable.
+     * @return the index, or NOT_EXPOSED if no block uses the variable before defining it.
+     */
+    public int getExposedIndex(int slot) {
+        return exposedIndices[slot];
+    }
+
+    /**
+     * Orders the blocks so that each block comes before its successors, except along the edges that close loops. The
+     * blocks that cannot be reached from the entry come last.
+     *
+     * @param reverse whether to follow the edges backwards from the exit instead.
+     * @return the blocks in reverse postorder.
+     */
+    public int[] getRevPostOrder(boolean reverse) {
+        int root = reverse ? EXIT : ENTRY;
+        int[] edgeStarts = reverse ? predStarts : succStarts;
+        int[] edges = reverse ? preds : succs;
+        int[] order = new int[numBlocks];
+        boolean[] visited = new boolean[numBlocks];
+        // Depth-first search with an explicit stack of blocks and of the next edge to follow from each
+        int[] blockStack = new int[numBlocks];
+        int[] edgeStack = new int[numBlocks];
+        int depth = 0;
+        int numOrdered = 0;
+
+        for (int start = -1; start < numBlocks; ++start) {
+            int block = start < 0 ? root : start;
+            if (visited[block]) {
+                continue;
+            }
+            visited[block] = true;
+            blockStack[0] = block;
+            edgeStack[0] = edgeStarts[block];
+            depth = 1;
+            while (depth > 0) {
+                int top = blockStack[depth - 1];
+                int edge = edgeStack[depth - 1];
+                if (edge < edgeStarts[top + 1]) {
+                    ++edgeStack[depth - 1];
+                    int next = edges[edge];
+                    if (!visited[next]) {
+                        visited[next] = true;
+                        blockStack[depth] = next;
+                        edgeStack[depth] = edgeStarts[next];
+                        ++depth;
+                    }
+                } else {
+                    order[numOrdered++] = top;
+                    --depth;
+                }
+            }
+            if (start < 0) {
+                // Reverse the reachable blocks, then the unreachable ones are appended in postorder
+                reverse(order, numOrdered);
+            }
+        }
+        return order;
+    }
+
+    private static void reverse(int[] arr, int len) {
+        for (int i = 0, j = len - 1; i < j; ++i, --j) {
+            int tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+    }
+}
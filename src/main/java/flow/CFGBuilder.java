@@ -0,0 +1,419 @@
+package flow;
+
+import ast.*;
+import toks.TokType;
+
+import java.util.Arrays;
+
+// Builds the control-flow graph of a checked function body or of the top-level code of a module
+// The AST is traversed once with ASTTraverser, so deeply nested code does not overflow the stack. The statements, edges
+// and variable accesses are appended to arrays as they are found, with the block each belongs to, and are grouped by
+// block at the end with counting sorts, so the whole build takes linear time.
+// A block is given its id when the first edge to it is known, e.g. the block after an if-else chain when the chain is
+// entered, so the ids are not in source order. The code after a break, a continue or a return starts a block that has
+// no predecessors.
+// Function definitions in the top-level code are statements like others, and neither their bodies nor the variables
+// they access are part of the module's graph.
+public class CFGBuilder implements IASTTraversal {
+    // Frame whose variables are tracked, see IdASTNode
+    private final int frameDepth;
+    private int numBlocks = 2;
+    // Block that the next statement is appended to
+    private int curBlock = CFG.ENTRY;
+
+    private ASTNode[] stmts = new ASTNode[64];
+    private int[] stmtBlocks = new int[64];
+    private int numStmts = 0;
+    private int[] edgeFroms = new int[64];
+    private int[] edgeTos = new int[64];
+    private int numEdges = 0;
+    private int[] accesses = new int[64];
+    private IdASTNode[] accessNodes = new IdASTNode[64];
+    private int[] accessBlocks = new int[64];
+    private int numAccesses = 0;
+    private int numSlots;
+
+    // Join block and the block whose condition was false last of each if-else chain being built, where the latter is
+    // -1 once an else branch has been entered
+    private int[] joinStack = new int[16];
+    private int[] falseStack = new int[16];
+    private int numChains = 0;
+    // Condition and exit blocks of the innermost loop, which are saved on a stack while nested loops are built
+    private int loopCondBlock = -1;
+    private int loopExitBlock = -1;
+    private int[] loopStack = new int[16];
+    private int numLoopStack = 0;
+    // Condition of the branch that has just been entered, which has already been appended to its block
+    private ASTNode enteredCond;
+
+    private final ASTTraverser accessTraverser = new ASTTraverser();
+    private final AccessRecorder accessRecorder = new AccessRecorder();
+
+    private CFGBuilder(int frameDepth, int numSlots) {
+        this.frameDepth = frameDepth;
+        this.numSlots = numSlots;
+    }
+
+    /**
+     * Builds the graph of a function's body, where the parameters are defined on entry.
+     *
+     * @param funDefNode the function definition's AST node, whose semantics have been checked.
+     * @return a CFG object whose variables are the function's parameters and local variables.
+     */
+    public static CFG build(FunDefASTNode funDefNode) {
+        CFGBuilder builder = new CFGBuilder(1, funDefNode.getFrameSize());
+        for (ASTNode paramDeclNode : funDefNode.getSignNode().getParamListNode()) {
+            IdASTNode paramIdNode = ((ParamDeclASTNode) paramDeclNode).getIdNode();
+            if (paramIdNode.getSlot() != IdASTNode.NO_SLOT) {
+                builder.addAccess(CFG.encodeDef(paramIdNode.getSlot()), paramIdNode);
+            }
+        }
+        return builder.buildBody(funDefNode.getBodyNode());
+    }
+
+    /**
+     * Builds the graph of the top-level code of a module.
+     *
+     * @param moduleNode the module AST's root, whose semantics have been checked.
+     * @return a CFG object whose variables are the global variables and the ones in the top-level scopes.
+     */
+    public static CFG buildModule(ScopeASTNode moduleNode) {
+        return new CFGBuilder(0, 0).buildBody(moduleNode);
+    }
+
+    /**
+     * Traverses the code and groups what has been found by block.
+     *
+     * @param bodyNode the scope of the code.
+     * @return a CFG object.
+     */
+    private CFG buildBody(ScopeASTNode bodyNode) {
+        new ASTTraverser().traverse(bodyNode, this);
+        addEdge(curBlock, CFG.EXIT);
+
+        int[] stmtStarts = countByBlock(stmtBlocks, numStmts);
+        ASTNode[] sortedStmts = new ASTNode[numStmts];
+        int[] nextStmts = Arrays.copyOf(stmtStarts, numBlocks);
+        for (int i = 0; i < numStmts; ++i) {
+            sortedStmts[nextStmts[stmtBlocks[i]]++] = stmts[i];
+        }
+
+        int[] succStarts = countByBlock(edgeFroms, numEdges);
+        int[] succs = sortByBlock(edgeFroms, edgeTos, succStarts);
+        int[] predStarts = countByBlock(edgeTos, numEdges);
+        int[] preds = sortByBlock(edgeTos, edgeFroms, predStarts);
+
+        int[] accessStarts = countByBlock(accessBlocks, numAccesses);
+        int[] sortedAccesses = sortByBlock(accessBlocks, accesses, accessStarts);
+        IdASTNode[] sortedAccessNodes = new IdASTNode[numAccesses];
+        int[] nextAccesses = Arrays.copyOf(accessStarts, numBlocks);
+        for (int i = 0; i < numAccesses; ++i) {
+            sortedAccessNodes[nextAccesses[accessBlocks[i]]++] = accessNodes[i];
+        }
+
+        // A slot is exposed if it is used before it is defined in some block, otherwise each of its uses reads a
+        // definition of the same block
+        int[] lastAccessBlocks = new int[numSlots];
+        Arrays.fill(lastAccessBlocks, -1);
+        boolean[] exposed = new boolean[numSlots];
+        for (int block = 0; block < numBlocks; ++block) {
+            for (int i = accessStarts[block]; i < accessStarts[block + 1]; ++i) {
+                int access = sortedAccesses[i];
+                int slot = access < 0 ? -access - 1 : access;
+                if (lastAccessBlocks[slot] != block) {
+                    lastAccessBlocks[slot] = block;
+                    exposed[slot] |= access >= 0;
+                }
+            }
+        }
+
+        // A definition can only be read in another block if its slot is exposed and it is the last one of its slot in
+        // its block. Only such definitions get ids, which are consecutive for each slot in the order of the accesses
+        int[] accessDefIds = new int[numAccesses];
+        int[] slotDefStarts = new int[numSlots + 1];
+        // Block whose definitions of each slot have been seen last
+        int[] lastDefBlocks = new int[numSlots];
+        Arrays.fill(lastDefBlocks, -1);
+        for (int block = 0; block < numBlocks; ++block) {
+            for (int i = accessStarts[block + 1] - 1; i >= accessStarts[block]; --i) {
+                int slot = -sortedAccesses[i] - 1;
+                if (slot < 0) {
+                    continue;
+                } else if (!exposed[slot] || lastDefBlocks[slot] == block) {
+                    accessDefIds[i] = CFG.NO_DEF_ID;
+                } else {
+                    lastDefBlocks[slot] = block;
+                    ++slotDefStarts[slot + 1];
+                }
+            }
+        }
+        for (int slot = 0; slot < numSlots; ++slot) {
+            slotDefStarts[slot + 1] += slotDefStarts[slot];
+        }
+        int[] nextDefIds = Arrays.copyOf(slotDefStarts, numSlots);
+        for (int i = 0; i < numAccesses; ++i) {
+            if (sortedAccesses[i] < 0 && accessDefIds[i] != CFG.NO_DEF_ID) {
+                accessDefIds[i] = nextDefIds[-sortedAccesses[i] - 1]++;
+            }
+        }
+
+        int[] exposedIndices = new int[numSlots];
+        int numExposed = 0;
+        for (int slot = 0; slot < numSlots; ++slot) {
+            exposedIndices[slot] = exposed[slot] ? numExposed++ : CFG.NOT_EXPOSED;
+        }
+
+        return new CFG(numBlocks, stmtStarts, sortedStmts, succStarts, succs, predStarts, preds, accessStarts,
+                sortedAccesses, sortedAccessNodes, accessDefIds, slotDefStarts, numSlots, exposedIndices, numExposed);
+    }
+
+    @Override
+    public boolean enter(ASTNode node) {
+        if (node == enteredCond) {
+            enteredCond = null;
+            return false;
+        }
+
+        switch (node.getNodeType()) {
+            case SCOPE -> {
+                return true;
+            }
+            case IF_ELSE -> {
+                pushChain(newBlock());
+                return true;
+            }
+            case IF -> {
+                int falseBlock = falseStack[numChains - 1];
+                if (falseBlock != -1) {
+                    // The condition is checked when the previous one is false
+                    curBlock = newBlock();
+                    addEdge(falseBlock, curBlock);
+                }
+                falseStack[numChains - 1] = curBlock;
+                enterBranch((IfASTNode) node);
+                return true;
+            }
+            case ELSE -> {
+                curBlock = newBlock();
+                addEdge(falseStack[numChains - 1], curBlock);
+                falseStack[numChains - 1] = -1;
+                return true;
+            }
+            case WHILE -> {
+                pushLoop();
+                loopCondBlock = newBlock();
+                loopExitBlock = newBlock();
+                addEdge(curBlock, loopCondBlock);
+                curBlock = loopCondBlock;
+                enterBranch((WhileASTNode) node);
+                addEdge(loopCondBlock, loopExitBlock);
+                return true;
+            }
+            case BREAK -> jump(node, loopExitBlock);
+            case CONT -> jump(node, loopCondBlock);
+            case RET -> jump(node, CFG.EXIT);
+            default -> addStmt(node);
+        }
+        return false;
+    }
+
+    @Override
+    public ASTNode exit(ASTNode node) {
+        switch (node.getNodeType()) {
+            case IF, ELSE -> addEdge(curBlock, joinStack[numChains - 1]);
+            case IF_ELSE -> {
+                --numChains;
+                if (falseStack[numChains] != -1) {
+                    // There is no else branch, so the chain is left when every condition is false
+                    addEdge(falseStack[numChains], joinStack[numChains]);
+                }
+                curBlock = joinStack[numChains];
+            }
+            case WHILE -> {
+                addEdge(curBlock, loopCondBlock);
+                curBlock = loopExitBlock;
+                popLoop();
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Appends the condition of a branch to the current block and starts the branch's body in a new block.
+     *
+     * @param branchNode the if or while node.
+     */
+    private void enterBranch(BranchNode branchNode) {
+        enteredCond = branchNode.getCondNode();
+        addStmt(enteredCond);
+        int bodyBlock = newBlock();
+        addEdge(curBlock, bodyBlock);
+        curBlock = bodyBlock;
+    }
+
+    /**
+     * Appends a break, a continue or a return to the current block and starts a block that cannot be reached.
+     *
+     * @param node   the statement's node.
+     * @param target the block that the statement jumps to.
+     */
+    private void jump(ASTNode node, int target) {
+        addStmt(node);
+        addEdge(curBlock, target);
+        curBlock = newBlock();
+    }
+
+    private int newBlock() {
+        return numBlocks++;
+    }
+
+    private void addStmt(ASTNode node) {
+        if (numStmts == stmts.length) {
+            stmts = Arrays.copyOf(stmts, numStmts * 2);
+            stmtBlocks = Arrays.copyOf(stmtBlocks, numStmts * 2);
+        }
+        stmts[numStmts] = node;
+        stmtBlocks[numStmts] = curBlock;
+        ++numStmts;
+        accessTraverser.traverse(node, accessRecorder);
+    }
+
+    private void addEdge(int from, int to) {
+        if (numEdges == edgeFroms.length) {
+            edgeFroms = Arrays.copyOf(edgeFroms, numEdges * 2);
+            edgeTos = Arrays.copyOf(edgeTos, numEdges * 2);
+        }
+        edgeFroms[numEdges] = from;
+        edgeTos[numEdges] = to;
+        ++numEdges;
+    }
+
+    private void addAccess(int access, IdASTNode idNode) {
+        if (numAccesses == accesses.length) {
+            accesses = Arrays.copyOf(accesses, numAccesses * 2);
+            accessNodes = Arrays.copyOf(accessNodes, numAccesses * 2);
+            accessBlocks = Arrays.copyOf(accessBlocks, numAccesses * 2);
+        }
+        accesses[numAccesses] = access;
+        accessNodes[numAccesses] = idNode;
+        accessBlocks[numAccesses] = curBlock;
+        ++numAccesses;
+        int slot = access < 0 ? -access - 1 : access;
+        numSlots = Math.max(numSlots, slot + 1);
+    }
+
+    private void pushChain(int joinBlock) {
+        if (numChains == joinStack.length) {
+            joinStack = Arrays.copyOf(joinStack, numChains * 2);
+            falseStack = Arrays.copyOf(falseStack, numChains * 2);
+        }
+        joinStack[numChains] = joinBlock;
+        falseStack[numChains] = -1;
+        ++numChains;
+    }
+
+    private void pushLoop() {
+        if (numLoopStack + 2 > loopStack.length) {
+            loopStack = Arrays.copyOf(loopStack, loopStack.length * 2);
+        }
+        loopStack[numLoopStack++] = loopCondBlock;
+        loopStack[numLoopStack++] = loopExitBlock;
+    }
+
+    private void popLoop() {
+        loopExitBlock = loopStack[--numLoopStack];
+        loopCondBlock = loopStack[--numLoopStack];
+    }
+
+    /**
+     * Counts the items of each block.
+     *
+     * @param blocks   the block of each item.
+     * @param numItems the number of items.
+     * @return the position of each block's first item once the items are grouped by block, followed by the number of
+     * items.
+     */
+    private int[] countByBlock(int[] blocks, int numItems) {
+        int[] starts = new int[numBlocks + 1];
+        for (int i = 0; i < numItems; ++i) {
+            ++starts[blocks[i] + 1];
+        }
+        for (int block = 0; block < numBlocks; ++block) {
+            starts[block + 1] += starts[block];
+        }
+        return starts;
+    }
+
+    /**
+     * Groups items by block, keeping their order within each block.
+     *
+     * @param blocks the block of each item.
+     * @param items  the items.
+     * @param starts the position of each block's first item, see countByBlock.
+     * @return the grouped items.
+     */
+    private int[] sortByBlock(int[] blocks, int[] items, int[] starts) {
+        int numItems = starts[numBlocks];
+        int[] sorted = new int[numItems];
+        int[] next = Arrays.copyOf(starts, numBlocks);
+        for (int i = 0; i < numItems; ++i) {
+            sorted[next[blocks[i]]++] = items[i];
+        }
+        return sorted;
+    }
+
+    // Records the uses and definitions of the tracked variables in a statement in the order they are executed
+    // The operands are evaluated from left to right, and an assignment or a definition defines its variable after its
+    // expression has been evaluated. An assignment to an array element uses the array.
+    private class AccessRecorder implements IASTTraversal {
+        // Identifier on the left-hand side of the assignment that has just been entered, which is not a use
+        // It is the next node to be left, since it has no children
+        private ASTNode assignedId;
+
+        @Override
+        public boolean enter(ASTNode node) {
+            switch (node.getNodeType()) {
+                // The identifier is defined when the definition is left, and a declaration alone does not define it
+                case VAR_DECL, FUN_DEF -> {
+                    return false;
+                }
+                case BIN_OP -> {
+                    if (isIdAssignment(node)) {
+                        assignedId = ((BinOpASTNode) node).getLeft();
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ASTNode exit(ASTNode node) {
+            switch (node.getNodeType()) {
+                case ID -> {
+                    if (node != assignedId) {
+                        recordAccess((IdASTNode) node, false);
+                    }
+                }
+                case BIN_OP -> {
+                    if (isIdAssignment(node)) {
+                        recordAccess((IdASTNode) ((BinOpASTNode) node).getLeft(), true);
+                    }
+                }
+                case VAR_DEF -> recordAccess(((VarDefASTNode) node).getVarDeclNode().getIdNode(), true);
+            }
+            return node;
+        }
+
+        private static boolean isIdAssignment(ASTNode node) {
+            return node.getTok().getTokType() == TokType.ASSIGNMENT &&
+                    ((BinOpASTNode) node).getLeft().getNodeType() == ASTNodeType.ID;
+        }
+
+        private void recordAccess(IdASTNode idNode, boolean isDef) {
+            int slot = idNode.getSlot();
+            if (slot != IdASTNode.NO_SLOT && idNode.getFrameDepth() == frameDepth) {
+                addAccess(isDef ? CFG.encodeDef(slot) : slot, idNode);
+            }
+        }
+    }
+}
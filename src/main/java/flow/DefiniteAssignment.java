@@ -0,0 +1,65 @@
+package flow;
+
+import ast.IdASTNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Definitely assigned variables, i.e. the variables that have been defined on every path from the entry, as a forward
+// analysis with a bit for each exposed variable of the graph, whose facts are joined by intersection
+// A block assigns every variable it defines and never unassigns one. The parameters of a function are defined in the
+// entry block, and a variable declared without an expression is not assigned until it is assigned to. A variable that
+// is not exposed is always assigned where it is used, so it needs no bit.
+public class DefiniteAssignment extends BitsetAnalysis {
+    public DefiniteAssignment(CFG cfg) {
+        super(cfg, cfg.countExposedSlots(), true, false);
+    }
+
+    @Override
+    protected void initBlock(int block) {
+        for (int access = cfg.getAccessStart(block); access < cfg.getAccessStart(block + 1); ++access) {
+            int index = cfg.getExposedIndex(cfg.getAccessSlot(access));
+            if (cfg.isDef(access) && index != CFG.NOT_EXPOSED) {
+                addGen(index);
+            }
+        }
+    }
+
+    /**
+     * Checks if a variable is definitely assigned at the start of a block.
+     *
+     * @param block the block.
+     * @param slot  the slot of the variable.
+     * @return true if the variable is exposed and assigned on every path to the block, false otherwise.
+     */
+    public boolean isAssignedIn(int block, int slot) {
+        int index = cfg.getExposedIndex(slot);
+        return index != CFG.NOT_EXPOSED && isInSet(block, index);
+    }
+
+    /**
+     * Finds the uses of variables that may not have been assigned yet. The analysis must have been solved.
+     *
+     * @return the identifier nodes of the uses in block order, which is empty if every use follows an assignment on
+     * every path.
+     */
+    public List<IdASTNode> findUnassignedUses() {
+        List<IdASTNode> idNodes = new ArrayList<>();
+        for (int block = 0; block < cfg.countBlocks(); ++block) {
+            long[] assigned = copyIn(block);
+            for (int access = cfg.getAccessStart(block); access < cfg.getAccessStart(block + 1); ++access) {
+                int index = cfg.getExposedIndex(cfg.getAccessSlot(access));
+                if (index == CFG.NOT_EXPOSED) {
+                    continue;
+                }
+                long bit = 1L << index;
+                if (cfg.isDef(access)) {
+                    assigned[index >>> 6] |= bit;
+                } else if ((assigned[index >>> 6] & bit) == 0) {
+                    idNodes.add(cfg.getAccessNode(access));
+                }
+            }
+        }
+        return idNodes;
+    }
+}
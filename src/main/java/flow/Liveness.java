@@ -0,0 +1,47 @@
+package flow;
+
+import java.util.Arrays;
+
+// Live variables, i.e. the variables whose current values may be used later, as a backward analysis with a bit for each
+// exposed variable of the graph, see CFG.getExposedIndex
+// A variable is live before a block if the block uses it before defining it, or if it is live after the block and the
+// block does not define it. Nothing is live at the exit, and a variable that is not exposed is never live across
+// blocks, since every use of it follows a definition in the same block.
+public class Liveness extends BitsetAnalysis {
+    // Block whose first access of each slot has been seen last
+    private final int[] seenBlocks;
+
+    public Liveness(CFG cfg) {
+        super(cfg, cfg.countExposedSlots(), false, true);
+        seenBlocks = new int[cfg.countSlots()];
+        Arrays.fill(seenBlocks, -1);
+    }
+
+    @Override
+    protected void initBlock(int block) {
+        // Only the first access of a variable in a block decides whether the block uses or defines it first
+        for (int access = cfg.getAccessStart(block); access < cfg.getAccessStart(block + 1); ++access) {
+            int slot = cfg.getAccessSlot(access);
+            int index = cfg.getExposedIndex(slot);
+            if (seenBlocks[slot] == block || index == CFG.NOT_EXPOSED) {
+                continue;
+            }
+            seenBlocks[slot] = block;
+            if (cfg.isDef(access)) {
+                addKill(index);
+            } else {
+                addGen(index);
+            }
+        }
+    }
+
+    public boolean isLiveIn(int block, int slot) {
+        int index = cfg.getExposedIndex(slot);
+        return index != CFG.NOT_EXPOSED && isInSet(block, index);
+    }
+
+    public boolean isLiveOut(int block, int slot) {
+        int index = cfg.getExposedIndex(slot);
+        return index != CFG.NOT_EXPOSED && isOutSet(block, index);
+    }
+}
@@ -0,0 +1,35 @@
+package flow;
+
+// Reaching definitions, i.e. the definitions whose values a variable may still hold, as a forward analysis with a bit
+// for each definition id of the graph
+// A block generates the last definition of each variable it defines and kills every other definition of that variable.
+// Only the definitions that can be read in another block have ids, see CFG.getDefId, so a use of a variable that is not
+// exposed reads the latest definition before it in its block. The definitions of a variable have consecutive ids, so
+// they are killed a word at a time.
+public class ReachingDefs extends BitsetAnalysis {
+    public ReachingDefs(CFG cfg) {
+        super(cfg, cfg.countDefs(), true, true);
+    }
+
+    @Override
+    protected void initBlock(int block) {
+        for (int access = cfg.getAccessStart(block); access < cfg.getAccessStart(block + 1); ++access) {
+            if (cfg.isDef(access) && cfg.getDefId(access) != CFG.NO_DEF_ID) {
+                int slot = cfg.getAccessSlot(access);
+                addKillRange(cfg.getSlotDefStart(slot), cfg.getSlotDefStart(slot + 1));
+                addGen(cfg.getDefId(access));
+            }
+        }
+    }
+
+    /**
+     * Checks if a definition reaches the start of a block.
+     *
+     * @param block the block.
+     * @param defId the definition id, see CFG.getDefId.
+     * @return true if the definition may be the latest one of its variable before the block.
+     */
+    public boolean reaches(int block, int defId) {
+        return isInSet(block, defId);
+    }
+}
@@ -5,7 +5,9 @@ import toks.TokType;
 import java.util.HashMap;
 
 // Table for storing keywords
+// There is a single instance, which is never modified after it is built, so it is shared by all parses and threads
 public class KeywordTable {
+    private static final KeywordTable inst = createTable();
     private final HashMap<String, TokType> kwMap = new HashMap<>();
     // List of keywords for direct access
     public static final String VAR = "var", CONST = "let",
@@ -17,12 +19,21 @@ public class KeywordTable {
     private KeywordTable() {
     }
 
+    /**
+     * Gets the only instance of the keyword table.
+     *
+     * @return a KeywordTable object.
+     */
+    public static KeywordTable getInst() {
+        return inst;
+    }
+
     /**
      * Creates an instance of KeywordTable and initializes it.
      *
      * @return a KeywordTable object.
      */
-    public static KeywordTable createTable() {
+    private static KeywordTable createTable() {
         KeywordTable table = new KeywordTable();
         // Add keywords to table
         table.kwMap.put(VAR, TokType.VAR_DECL);
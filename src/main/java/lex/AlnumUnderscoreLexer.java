@@ -1,8 +1,6 @@
 package lex;
 
 import exceptions.ErrMsg;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 
@@ -32,7 +30,7 @@ public class AlnumUnderscoreLexer {
 
         StringBuilder tokStr = new StringBuilder();
         boolean end = false;
-        SrcPos startPos = reader.getSrcPos();
+        long startPos = reader.getPos();
 
         // Consume the character from the stream until it is a separator or a valid special character
         while (!reader.isSep(c) && !end) {
@@ -49,9 +47,8 @@ public class AlnumUnderscoreLexer {
         }
 
         // The token string cannot be empty
-        SrcPos endPos = reader.getSrcPos();
-        SrcRange srcRange = new SrcRange(startPos, endPos);
-        Tok tok = new Tok(tokStr.toString(), TokType.UNKNOWN, srcRange);
+        long endPos = reader.getPos();
+        Tok tok = new Tok(tokStr.toString(), TokType.UNKNOWN, startPos, endPos);
         return LexResult.ok(tok);
     }
 }
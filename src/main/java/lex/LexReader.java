@@ -82,6 +82,15 @@ public class LexReader {
         return new SrcPos(ln, col);
     }
 
+    /**
+     * Gets the current position in the source without creating an object.
+     *
+     * @return the current source position packed into a long.
+     */
+    public long getPos() {
+        return SrcPos.pack(lnEndList.size(), lnEndList.get(lnEndList.size() - 1));
+    }
+
     /**
      * Skips the spaces until a non-space character is encountered.
      *
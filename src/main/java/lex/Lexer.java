@@ -2,8 +2,6 @@ package lex;
 
 import exceptions.ErrMsg;
 import parse.utils.ParseContext;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 
@@ -61,9 +59,8 @@ public class Lexer {
         // Check if the token is EOF
         Tok tok;
         if (reader.peek() == LexReader.EOS) {
-            SrcPos srcPos = reader.getSrcPos();
-            SrcRange srcRange = new SrcRange(srcPos);
-            tok = new Tok(null, TokType.EOS, srcRange);
+            long pos = reader.getPos();
+            tok = new Tok(null, TokType.EOS, pos, pos);
             tokBuff.addLast(tok);
             return LexResult.ok(tok);
         }
@@ -1,8 +1,6 @@
 package lex;
 
 import exceptions.ErrMsg;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 
@@ -124,7 +122,7 @@ public class NumLexer {
      */
     public LexResult<Tok> read() throws IOException {
         StringBuilder tokVal = new StringBuilder();
-        SrcPos startPos = reader.getSrcPos();
+        long startPos = reader.getPos();
 
         // Read sequence of digits
         String digits = readDigits();
@@ -153,9 +151,8 @@ public class NumLexer {
         }
 
         TokType literalType = (isFp ? TokType.FLOAT_LITERAL : TokType.INT_LITERAL);
-        SrcPos endPos = reader.getSrcPos();
-        SrcRange srcRange = new SrcRange(startPos, endPos);
-        Tok numTok = new Tok(tokVal.toString(), literalType, srcRange);
+        long endPos = reader.getPos();
+        Tok numTok = new Tok(tokVal.toString(), literalType, startPos, endPos);
         return LexResult.ok(numTok);
     }
 }
@@ -1,8 +1,6 @@
 package lex;
 
 import operators.OpTable;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 import parse.utils.ParseContext;
@@ -30,7 +28,7 @@ public class OpLexer {
         TokType tmpTokType, opId = null;
         OpTable opTable = context.getOpTable();
         boolean end = false;
-        SrcPos startPos = reader.getSrcPos();
+        long startPos = reader.getPos();
 
         while ((c = reader.peek()) != LexReader.EOS && !reader.isSpace(c) && !end) {
             tmpStr.append((char) c);
@@ -58,9 +56,8 @@ public class OpLexer {
             return LexResult.fail();
         }
 
-        SrcPos endPos = reader.getSrcPos();
-        SrcRange srcRange = new SrcRange(startPos, endPos);
-        Tok opTok = new Tok(tokVal, opId, srcRange);
+        long endPos = reader.getPos();
+        Tok opTok = new Tok(tokVal, opId, startPos, endPos);
         return LexResult.ok(opTok);
     }
 }
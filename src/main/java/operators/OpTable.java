@@ -3,24 +3,33 @@ package operators;
 import toks.TokType;
 import types.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 
 // Table for storing operators and their properties
+// There is a single instance, which is built when the class is initialized and never modified afterwards, so it is
+// shared by all parses and threads. The properties of operators are stored in arrays indexed by the operator's ordinal.
 public class OpTable {
+    private static final int NUM_OPS = TokType.values().length;
+    private static final OpTable inst = createTable();
     private final HashMap<String, TokType> opMap = new HashMap<>();
     private final HashSet<String> opPrefixStrSet = new HashSet<>();
-    private final HashSet<TokType> prefixOps = new HashSet<>();
-    private final HashSet<TokType> infixOps = new HashSet<>();
-    private final HashSet<TokType> postfixOps = new HashSet<>();
-    // Precedence table
-    private final HashMap<TokType, Integer> precedMap = new HashMap<>();
+    private final boolean[] prefixOps = new boolean[NUM_OPS];
+    private final boolean[] infixOps = new boolean[NUM_OPS];
+    private final boolean[] postfixOps = new boolean[NUM_OPS];
+    // Precedence table, where -1 means the token is not a binary operator
+    private final int[] preceds = new int[NUM_OPS];
     // Associativity table, true means left-to-right, false means right-to-left
-    private final HashMap<TokType, Boolean> associativityMap = new HashMap<>();
-    // This table stores the data type compatibility for each operator
-    // When an operator is applied, it is used to check if the operands' data types are compatible
-    // If they are, it finds the data type of the result after applying the operator
-    private final HashMap<OpCompat, TypeInfo> compatMap = new HashMap<>();
+    private final boolean[] associativities = new boolean[NUM_OPS];
+    // These tables store the data type compatibility for each operator
+    // When an operator is applied, they are used to check if the operands' data types are compatible
+    // If they are, they give the data type of the result after applying the operator
+    // They are dense arrays indexed by the operator's ordinal and the operands' dense type ids, so a lookup is an array
+    // read, and null means the data types are not compatible
+    private final TypeInfo[] unCompats = new TypeInfo[NUM_OPS * TypeInfo.NUM_PRIM_DENSE_IDS];
+    private final TypeInfo[] binCompats = new TypeInfo[NUM_OPS * TypeInfo.NUM_PRIM_DENSE_IDS *
+            TypeInfo.NUM_PRIM_DENSE_IDS];
     // List of operator strings for direct access
     public static final String LOG_NOT = "!", LOG_OR = "||", LOG_AND = "&&",
             EQ = "==", NEQ = "!=", LESS = "<", GREATER = ">", LEQ = "<=", GEQ = ">=",
@@ -31,6 +40,16 @@ public class OpTable {
             SEMI = ";", COMMA = ",";
 
     private OpTable() {
+        Arrays.fill(preceds, -1);
+    }
+
+    /**
+     * Gets the only instance of the operator table.
+     *
+     * @return an OpTable object.
+     */
+    public static OpTable getInst() {
+        return inst;
     }
 
     /**
@@ -38,7 +57,7 @@ public class OpTable {
      *
      * @return an OpTable object.
      */
-    public static OpTable createTable() {
+    private static OpTable createTable() {
         OpTable table = new OpTable();
         // Add operators to table
         table.registerOp(LOG_NOT, TokType.LOG_NOT);
@@ -72,71 +91,71 @@ public class OpTable {
         table.registerOp(COMMA, TokType.COMMA);
 
         // Initialize prefix table
-        table.prefixOps.add(TokType.ADD);
-        table.prefixOps.add(TokType.SUB);
-        table.prefixOps.add(TokType.LOG_NOT);
+        table.prefixOps[TokType.ADD.ordinal()] = true;
+        table.prefixOps[TokType.SUB.ordinal()] = true;
+        table.prefixOps[TokType.LOG_NOT.ordinal()] = true;
 
         // Initialize infix table
-        table.infixOps.add(TokType.ASSIGNMENT);
-        table.infixOps.add(TokType.LOG_OR);
-        table.infixOps.add(TokType.LOG_AND);
-        table.infixOps.add(TokType.EQ);
-        table.infixOps.add(TokType.NEQ);
-        table.infixOps.add(TokType.LESS);
-        table.infixOps.add(TokType.GREATER);
-        table.infixOps.add(TokType.LEQ);
-        table.infixOps.add(TokType.GEQ);
-        table.infixOps.add(TokType.ADD);
-        table.infixOps.add(TokType.SUB);
-        table.infixOps.add(TokType.MUL);
-        table.infixOps.add(TokType.DIV);
-        table.infixOps.add(TokType.MOD);
-        table.infixOps.add(TokType.SHL);
-        table.infixOps.add(TokType.ART_SHR);
-        table.infixOps.add(TokType.LOG_SHR);
-        table.infixOps.add(TokType.TYPE_CONV);
+        table.infixOps[TokType.ASSIGNMENT.ordinal()] = true;
+        table.infixOps[TokType.LOG_OR.ordinal()] = true;
+        table.infixOps[TokType.LOG_AND.ordinal()] = true;
+        table.infixOps[TokType.EQ.ordinal()] = true;
+        table.infixOps[TokType.NEQ.ordinal()] = true;
+        table.infixOps[TokType.LESS.ordinal()] = true;
+        table.infixOps[TokType.GREATER.ordinal()] = true;
+        table.infixOps[TokType.LEQ.ordinal()] = true;
+        table.infixOps[TokType.GEQ.ordinal()] = true;
+        table.infixOps[TokType.ADD.ordinal()] = true;
+        table.infixOps[TokType.SUB.ordinal()] = true;
+        table.infixOps[TokType.MUL.ordinal()] = true;
+        table.infixOps[TokType.DIV.ordinal()] = true;
+        table.infixOps[TokType.MOD.ordinal()] = true;
+        table.infixOps[TokType.SHL.ordinal()] = true;
+        table.infixOps[TokType.ART_SHR.ordinal()] = true;
+        table.infixOps[TokType.LOG_SHR.ordinal()] = true;
+        table.infixOps[TokType.TYPE_CONV.ordinal()] = true;
 
         // Initialize postfix table
 
         // Initialize precedence table
-        table.precedMap.put(TokType.ASSIGNMENT, 10);
-        table.precedMap.put(TokType.LOG_OR, 20);
-        table.precedMap.put(TokType.LOG_AND, 30);
-        table.precedMap.put(TokType.EQ, 40);
-        table.precedMap.put(TokType.NEQ, 40);
-        table.precedMap.put(TokType.LESS, 50);
-        table.precedMap.put(TokType.GREATER, 50);
-        table.precedMap.put(TokType.LEQ, 50);
-        table.precedMap.put(TokType.GEQ, 50);
-        table.precedMap.put(TokType.SHL, 60);
-        table.precedMap.put(TokType.ART_SHR, 60);
-        table.precedMap.put(TokType.LOG_SHR, 60);
-        table.precedMap.put(TokType.ADD, 70);
-        table.precedMap.put(TokType.SUB, 70);
-        table.precedMap.put(TokType.MUL, 80);
-        table.precedMap.put(TokType.DIV, 80);
-        table.precedMap.put(TokType.MOD, 80);
-        table.precedMap.put(TokType.TYPE_CONV, 90);
+        table.preceds[TokType.ASSIGNMENT.ordinal()] = 10;
+        table.preceds[TokType.LOG_OR.ordinal()] = 20;
+        table.preceds[TokType.LOG_AND.ordinal()] = 30;
+        table.preceds[TokType.EQ.ordinal()] = 40;
+        table.preceds[TokType.NEQ.ordinal()] = 40;
+        table.preceds[TokType.LESS.ordinal()] = 50;
+        table.preceds[TokType.GREATER.ordinal()] = 50;
+        table.preceds[TokType.LEQ.ordinal()] = 50;
+        table.preceds[TokType.GEQ.ordinal()] = 50;
+        table.preceds[TokType.SHL.ordinal()] = 60;
+        table.preceds[TokType.ART_SHR.ordinal()] = 60;
+        table.preceds[TokType.LOG_SHR.ordinal()] = 60;
+        table.preceds[TokType.ADD.ordinal()] = 70;
+        table.preceds[TokType.SUB.ordinal()] = 70;
+        table.preceds[TokType.MUL.ordinal()] = 80;
+        table.preceds[TokType.DIV.ordinal()] = 80;
+        table.preceds[TokType.MOD.ordinal()] = 80;
+        table.preceds[TokType.TYPE_CONV.ordinal()] = 90;
 
         // Initialize associativity table
-        table.associativityMap.put(TokType.ASSIGNMENT, false);
-        table.associativityMap.put(TokType.LOG_OR, true);
-        table.associativityMap.put(TokType.LOG_AND, true);
-        table.associativityMap.put(TokType.EQ, true);
-        table.associativityMap.put(TokType.NEQ, true);
-        table.associativityMap.put(TokType.LESS, true);
-        table.associativityMap.put(TokType.GREATER, true);
-        table.associativityMap.put(TokType.LEQ, true);
-        table.associativityMap.put(TokType.GEQ, true);
-        table.associativityMap.put(TokType.ADD, true);
-        table.associativityMap.put(TokType.SUB, true);
-        table.associativityMap.put(TokType.MUL, true);
-        table.associativityMap.put(TokType.DIV, true);
-        table.associativityMap.put(TokType.MOD, true);
-        table.associativityMap.put(TokType.SHL, true);
-        table.associativityMap.put(TokType.ART_SHR, true);
-        table.associativityMap.put(TokType.LOG_SHR, true);
-        table.associativityMap.put(TokType.TYPE_CONV, true);
+        table.associativities[TokType.ASSIGNMENT.ordinal()] = false;
+        table.associativities[TokType.LOG_OR.ordinal()] = true;
+        table.associativities[TokType.LOG_AND.ordinal()] = true;
+        table.associativities[TokType.EQ.ordinal()] = true;
+        table.associativities[TokType.NEQ.ordinal()] = true;
+        table.associativities[TokType.LESS.ordinal()] = true;
+        table.associativities[TokType.GREATER.ordinal()] = true;
+        table.associativities[TokType.LEQ.ordinal()] = true;
+        table.associativities[TokType.GEQ.ordinal()] = true;
+        table.associativities[TokType.ADD.ordinal()] = true;
+        table.associativities[TokType.SUB.ordinal()] = true;
+        table.associativities[TokType.MUL.ordinal()] = true;
+        table.associativities[TokType.DIV.ordinal()] = true;
+        table.associativities[TokType.MOD.ordinal()] = true;
+        table.associativities[TokType.SHL.ordinal()] = true;
+        table.associativities[TokType.ART_SHR.ordinal()] = true;
+        table.associativities[TokType.LOG_SHR.ordinal()] = true;
+        table.associativities[TokType.TYPE_CONV.ordinal()] = true;
 
         // Initialize operator type compatibility table
         TypeInfo intType = IntType.getInst();
@@ -283,7 +302,7 @@ public class OpTable {
      * @return true if the token is a prefix operator and false otherwise.
      */
     public boolean isPrefixOp(TokType id) {
-        return prefixOps.contains(id);
+        return prefixOps[id.ordinal()];
     }
 
     /**
@@ -293,7 +312,7 @@ public class OpTable {
      * @return true if the token is an infix operator and false otherwise.
      */
     public boolean isInfixOp(TokType id) {
-        return infixOps.contains(id);
+        return infixOps[id.ordinal()];
     }
 
     /**
@@ -303,7 +322,7 @@ public class OpTable {
      * @return true if the token is a postfix operator and false otherwise.
      */
     public boolean isPostfixOp(TokType id) {
-        return postfixOps.contains(id);
+        return postfixOps[id.ordinal()];
     }
 
     /**
@@ -313,8 +332,7 @@ public class OpTable {
      * @return an int value representing the operator precedence.
      */
     public int getPreced(TokType id) {
-        Integer preced = precedMap.get(id);
-        return preced == null ? -1 : preced;
+        return preceds[id.ordinal()];
     }
 
     /**
@@ -324,7 +342,7 @@ public class OpTable {
      * @return true if the operator left-to-right, otherwise, return false.
      */
     public boolean getAssociativity(TokType id) {
-        return associativityMap.get(id);
+        return associativities[id.ordinal()];
     }
 
     /**
@@ -355,7 +373,21 @@ public class OpTable {
      * @param resultDtype the result's data type after applying the operator.
      */
     private void registerCompat(OpCompat opCompat, TypeInfo resultDtype) {
-        compatMap.put(opCompat, resultDtype);
+        if (opCompat instanceof BinOpCompat binOpCompat) {
+            binCompats[getCompatIndex(binOpCompat.getId(), binOpCompat.getLeftDtype().getDenseId(),
+                    binOpCompat.getRightDtype().getDenseId())] = resultDtype;
+        } else {
+            UnOpCompat unOpCompat = (UnOpCompat) opCompat;
+            unCompats[getCompatIndex(unOpCompat.getId(), unOpCompat.getDtype().getDenseId())] = resultDtype;
+        }
+    }
+
+    private static int getCompatIndex(TokType id, int denseId) {
+        return id.ordinal() * TypeInfo.NUM_PRIM_DENSE_IDS + denseId;
+    }
+
+    private static int getCompatIndex(TokType id, int leftDenseId, int rightDenseId) {
+        return (id.ordinal() * TypeInfo.NUM_PRIM_DENSE_IDS + leftDenseId) * TypeInfo.NUM_PRIM_DENSE_IDS + rightDenseId;
     }
 
     /**
@@ -365,6 +397,45 @@ public class OpTable {
      * @return the result's data type.
      */
     public TypeInfo getCompatDtype(OpCompat opCompact) {
-        return compatMap.get(opCompact);
+        if (opCompact instanceof BinOpCompat binOpCompat) {
+            return getCompatDtype(binOpCompat.getId(), binOpCompat.getLeftDtype(), binOpCompat.getRightDtype());
+        }
+        UnOpCompat unOpCompat = (UnOpCompat) opCompact;
+        return getCompatDtype(unOpCompat.getId(), unOpCompat.getDtype());
+    }
+
+    /**
+     * Gets the result's data type after applying a unary operator to an operand, without creating an OpCompat object.
+     *
+     * @param id    the operator's identifier.
+     * @param dtype the operand's data type.
+     * @return the result's data type or null if the operator is not compatible with the data type.
+     */
+    public TypeInfo getCompatDtype(TokType id, TypeInfo dtype) {
+        int denseId = dtype.getDenseId();
+        return isPrimDenseId(denseId) ? unCompats[getCompatIndex(id, denseId)] : null;
+    }
+
+    /**
+     * Gets the result's data type after applying a binary operator to two operands, without creating an OpCompat
+     * object. Arrays are not compatible with any operator, so the elements of array literals are checked through their
+     * core data types.
+     *
+     * @param id         the operator's identifier.
+     * @param leftDtype  the left operand's data type.
+     * @param rightDtype the right operand's data type.
+     * @return the result's data type or null if the operator is not compatible with the data types.
+     */
+    public TypeInfo getCompatDtype(TokType id, TypeInfo leftDtype, TypeInfo rightDtype) {
+        int leftDenseId = leftDtype.getDenseId();
+        int rightDenseId = rightDtype.getDenseId();
+        if (!isPrimDenseId(leftDenseId) || !isPrimDenseId(rightDenseId)) {
+            return null;
+        }
+        return binCompats[getCompatIndex(id, leftDenseId, rightDenseId)];
+    }
+
+    private static boolean isPrimDenseId(int denseId) {
+        return denseId >= 0 && denseId < TypeInfo.NUM_PRIM_DENSE_IDS;
     }
 }
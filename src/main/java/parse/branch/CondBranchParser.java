@@ -8,7 +8,6 @@ import parse.scope.ScopeType;
 import parse.utils.*;
 import toks.Tok;
 import toks.TokType;
-import types.BoolType;
 
 import java.io.IOException;
 
@@ -17,21 +16,25 @@ public abstract class CondBranchParser {
     protected SemiChecker semiChecker;
     protected ExprParser exprParser;
     protected ScopeParser scopeParser;
+    protected CondSemanChecker semanChecker;
     protected ParseContext context;
 
     /**
      * Initializes the dependencies.
      *
-     * @param tokMatcher  a token matcher.
-     * @param semiChecker a trailing semicolon checker.
-     * @param exprParser  an expression parser for parsing the branch condition.
-     * @param scopeParser a scope parser for parsing the branch body.
+     * @param tokMatcher   a token matcher.
+     * @param semiChecker  a trailing semicolon checker.
+     * @param exprParser   an expression parser for parsing the branch condition.
+     * @param scopeParser  a scope parser for parsing the branch body.
+     * @param semanChecker a semantic checker for the branch condition.
      */
-    public void init(TokMatcher tokMatcher, SemiChecker semiChecker, ExprParser exprParser, ScopeParser scopeParser) {
+    public void init(TokMatcher tokMatcher, SemiChecker semiChecker, ExprParser exprParser, ScopeParser scopeParser,
+                     CondSemanChecker semanChecker) {
         this.tokMatcher = tokMatcher;
         this.semiChecker = semiChecker;
         this.exprParser = exprParser;
         this.scopeParser = scopeParser;
+        this.semanChecker = semanChecker;
     }
 
     /**
@@ -112,19 +115,17 @@ public abstract class CondBranchParser {
             return context.raiseErr(new ErrMsg("Missing ')'", rparenResult.getFailTok()));
         }
 
-        ASTNode exprNode = exprResult.getData();
-        // Check if expression has a boolean value
-        if (!exprNode.getDtype().equals(BoolType.getInst())) {
-            return context.raiseErr(new ErrMsg("Branch condition's expression is not of boolean type",
-                    lparenResult.getData()));
-        }
-
         Tok kwTok = kwResult.getData();
         BranchNode brNode = switch (tokType) {
             case IF, ELIF -> new IfASTNode(kwTok);
             default -> new WhileASTNode(kwTok);
         };
-        brNode.setCondNode(exprNode);
-        return ParseResult.ok(brNode);
+        brNode.setCondNode(exprResult.getData());
+        brNode.setLparenTok(lparenResult.getData());
+        if (context.isSyntaxOnly()) {
+            return ParseResult.ok(brNode);
+        }
+        // Check if expression has a boolean value
+        return semanChecker.checkSeman(brNode, context);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package parse.branch;
+
+import ast.ASTNode;
+import ast.BranchNode;
+import exceptions.ErrMsg;
+import parse.utils.ParseContext;
+import parse.utils.ParseResult;
+import types.BoolType;
+
+public class CondSemanChecker {
+    /**
+     * Checks if a branch condition has a boolean value.
+     *
+     * @param brNode  the branch AST's root whose condition has been checked.
+     * @param context the parsing context.
+     * @return a ParseResult object as the result of checking the branch condition.
+     */
+    public ParseResult<ASTNode> checkSeman(BranchNode brNode, ParseContext context) {
+        if (!brNode.getCondNode().getDtype().equals(BoolType.getInst())) {
+            return context.raiseErr(new ErrMsg("Branch condition's expression is not of boolean type",
+                    brNode.getLparenTok()));
+        }
+        return ParseResult.ok(brNode);
+    }
+}
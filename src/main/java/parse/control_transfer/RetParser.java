@@ -4,32 +4,31 @@ import ast.ASTNode;
 import ast.RetASTNode;
 import exceptions.ErrMsg;
 import parse.expr.ExprParser;
-import parse.scope.RetState;
-import parse.scope.Scope;
 import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
 import parse.utils.TokMatcher;
 import toks.Tok;
 import toks.TokType;
-import types.TypeInfo;
-import types.VoidType;
 
 import java.io.IOException;
 
 public class RetParser {
     private TokMatcher tokMatcher;
     private ExprParser exprParser;
+    private RetSemanChecker semanChecker;
 
     /**
      * Initializes the dependencies.
      *
-     * @param tokMatcher a token matcher.
-     * @param exprParser an expression parser.
+     * @param tokMatcher   a token matcher.
+     * @param exprParser   an expression parser.
+     * @param semanChecker a semantic checker for the return statement.
      */
-    public void init(TokMatcher tokMatcher, ExprParser exprParser) {
+    public void init(TokMatcher tokMatcher, ExprParser exprParser, RetSemanChecker semanChecker) {
         this.tokMatcher = tokMatcher;
         this.exprParser = exprParser;
+        this.semanChecker = semanChecker;
     }
 
     /**
@@ -49,8 +48,7 @@ public class RetParser {
         }
 
         // Detect unexpected return statement in a non-function scope
-        TypeInfo retType = context.getScope().isInFun();
-        if (retType == null) {
+        if (context.getScope().getFunScope() == null) {
             return context.raiseErr(new ErrMsg("Return statements can only exist inside a function",
                     kwResult.getData()));
         }
@@ -59,36 +57,19 @@ public class RetParser {
         ParseResult<ASTNode> exprResult = exprParser.parseExpr(context);
         if (exprResult.getStatus() == ParseStatus.ERR) {
             return exprResult;
-        } else if (exprResult.getStatus() == ParseStatus.FAIL && !retType.equals(VoidType.getInst())) {
-            // When the status is "failed", that means an expression is missing
-            return context.raiseErr(new ErrMsg("Invalid return expression", exprResult.getFailTok()));
         }
 
-        ASTNode exprNode = null;
-        TypeInfo exprDtype;
-
+        RetASTNode retNode = new RetASTNode(kwResult.getData(), null);
         if (exprResult.getStatus() == ParseStatus.FAIL) {
-            // Missing expression indicates the return type is void
-            exprDtype = VoidType.getInst();
+            // When the status is "failed", that means an expression is missing
+            retNode.setMissingExprTok(exprResult.getFailTok());
         } else {
-            exprNode = exprResult.getData();
-            exprDtype = exprNode.getDtype();
+            retNode.setExprNode(exprResult.getData());
         }
 
-        // Check if the return type is as expected
-        Tok kwTok = kwResult.getData();
-        RetASTNode retNode = new RetASTNode(kwTok, exprDtype);
-        if (!retNode.getDtype().equals(retType)) {
-            return context.raiseErr(new ErrMsg("Return type is not '" + retType.getId() + "'", kwTok));
+        if (context.isSyntaxOnly()) {
+            return ParseResult.ok(retNode);
         }
-
-        if (exprNode != null) {
-            retNode.setExprNode(exprNode);
-        }
-
-        // Update the return state of the current scope
-        Scope scope = context.getScope();
-        scope.setRetState(RetState.EXIST);
-        return ParseResult.ok(retNode);
+        return semanChecker.checkSeman(retNode, context);
     }
 }
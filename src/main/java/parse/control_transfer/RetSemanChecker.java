@@ -0,0 +1,44 @@
+package parse.control_transfer;
+
+import ast.ASTNode;
+import ast.RetASTNode;
+import exceptions.ErrMsg;
+import parse.scope.RetState;
+import parse.scope.Scope;
+import parse.utils.ParseContext;
+import parse.utils.ParseResult;
+import toks.Tok;
+import types.TypeInfo;
+import types.VoidType;
+
+public class RetSemanChecker {
+    /**
+     * Checks if the data type of a return statement matches the function's return type.
+     *
+     * @param retNode the return statement AST's root whose expression, if any, has been checked.
+     * @param context the parsing context.
+     * @return a ParseResult object as the result of checking the return statement.
+     */
+    public ParseResult<ASTNode> checkSeman(RetASTNode retNode, ParseContext context) {
+        Scope scope = context.getScope();
+        TypeInfo retType = scope.isInFun();
+        ASTNode exprNode = retNode.getExprNode();
+        if (exprNode == null && !retType.equals(VoidType.getInst())) {
+            // The expression is missing but the function does not return void
+            return context.raiseErr(new ErrMsg("Invalid return expression", retNode.getMissingExprTok()));
+        }
+
+        // Missing expression indicates the return type is void
+        TypeInfo exprDtype = exprNode == null ? VoidType.getInst() : exprNode.getDtype();
+        retNode.setDtype(exprDtype);
+        // Check if the return type is as expected
+        if (!retNode.getDtype().equals(retType)) {
+            Tok kwTok = retNode.getTok();
+            return context.raiseErr(new ErrMsg("Return type is not '" + retType.getId() + "'", kwTok));
+        }
+
+        // Update the return state of the current scope
+        scope.setRetState(RetState.EXIST);
+        return ParseResult.ok(retNode);
+    }
+}
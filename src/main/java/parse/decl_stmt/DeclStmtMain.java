@@ -8,6 +8,7 @@ import lex.Lexer;
 import parse.dtype.DtypeParser;
 import parse.expr.ExprParser;
 import parse.expr.ExprSemanChecker;
+import parse.ll.LLPredictor;
 import parse.scope.ScopeType;
 import parse.utils.*;
 import parse.utils.ParseContext;
@@ -34,7 +35,7 @@ public class DeclStmtMain {
 
             tokMatcher.init(lexer);
             dtypeParser.init(tokMatcher);
-            exprParser.init(lexer, tokMatcher, exprSemanChecker);
+            exprParser.init(lexer, tokMatcher, exprSemanChecker, new LLPredictor());
             declStmtParser.init(tokMatcher, dtypeParser, exprParser, declStmtSemanChecker);
 
             ParseContext context = ParseContext.createContext();
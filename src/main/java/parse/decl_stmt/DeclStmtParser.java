@@ -82,7 +82,7 @@ public class DeclStmtParser {
         } else if (defResult.getStatus() == ParseStatus.FAIL) {
             if (dtypeResult.getStatus() == ParseStatus.OK) {
                 // No rhs expression but the data type is defined
-                return semanChecker.checkSeman(declNode, context);
+                return context.isSyntaxOnly() ? ParseResult.ok(declNode) : semanChecker.checkSeman(declNode, context);
             }
             return context.raiseErr(new ErrMsg("Cannot determine the data type of '" + idNode.getTok().getVal() + "'",
                     defResult.getFailTok()));
@@ -99,7 +99,7 @@ public class DeclStmtParser {
         VarDefASTNode defNode = (VarDefASTNode) defResult.getData();
         defNode.setVarDeclNode(declNode);
         defNode.setExprNode(exprResult.getData());
-        return semanChecker.checkSeman(defNode, context);
+        return context.isSyntaxOnly() ? ParseResult.ok(defNode) : semanChecker.checkSeman(defNode, context);
     }
 
     /**
@@ -2,13 +2,11 @@ package parse.decl_stmt;
 
 import ast.*;
 import exceptions.ErrMsg;
-import operators.BinOpCompat;
-import operators.OpCompat;
 import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
+import symbols.ISymbolTable;
 import symbols.SymbolInfo;
-import symbols.SymbolTable;
 import symbols.VarInfo;
 import toks.Tok;
 import toks.TokType;
@@ -74,6 +72,8 @@ public class DeclStmtSemanChecker {
         }
 
         TypeInfo dtype = dtypeResult.getData();
+        // The references to the variable are resolved to the declared data type
+        idSymbol.setDtype(dtype);
         declNode.setDtype(dtype);
         idNode.setDtype(dtype);
         dtypeNode.setDtype(dtype);
@@ -96,7 +96,7 @@ public class DeclStmtSemanChecker {
         }
 
         // Check if the declaration id has been defined
-        SymbolTable symbolTable = context.getScope().getSymbolTable();
+        ISymbolTable symbolTable = context.getSymbolTable();
         SymbolInfo symbol = symbolTable.getLocalSymbol(id);
         if (symbol != null) {
             return context.raiseErr(new ErrMsg("Identifier '" + id + "' cannot be redeclared", idTok));
@@ -105,6 +105,9 @@ public class DeclStmtSemanChecker {
         // Create a new symbol
         symbol = new VarInfo(id, null, idNode.isMutable());
         symbolTable.registerSymbol(symbol);
+        context.getScope().allocSlot(symbol);
+        idNode.setAddr(symbol.getFrameDepth(), symbol.getSlot());
+        context.recordDef(symbol, idNode);
         return ParseResult.ok(symbol);
     }
 
@@ -143,8 +146,7 @@ public class DeclStmtSemanChecker {
             return context.raiseErr(new ErrMsg("No type detected on the right-hand side", defTok));
         } else if (lhsDtype != rhsDtype) {
             if (lhsDtype != null) {
-                OpCompat opCompat = new BinOpCompat(TokType.ASSIGNMENT, lhsDtype, rhsDtype);
-                if (context.getOpTable().getCompatDtype(opCompat) == null) {
+                if (context.getOpTable().getCompatDtype(TokType.ASSIGNMENT, lhsDtype, rhsDtype) == null) {
                     return context.raiseErr(new ErrMsg("Unable to assign data of type '" + rhsDtype.getId() +
                             "' to data of type '" + lhsDtype.getId() + "'", defTok));
                 }
@@ -0,0 +1,175 @@
+package parse.expr;
+
+import ast.ASTNode;
+import ast.ArrLiteralASTNode;
+import ast.PackedArrLiteralASTNode;
+import operators.OpTable;
+import toks.TokType;
+import types.ArrTypeInfo;
+import types.TypeInfo;
+import types.TypeTable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Infers the data types of constant array literals, whose elements are literals or constant array literals, in
+// parallel
+// A range of elements at least as long as the threshold is split in two and the halves are inferred by fork-join tasks,
+// then their core data types are joined through the ARR_TYPE_CONV compatibilities. The join does not depend on the
+// grouping or the order of the elements, so the data types are the same as the ones ExprSemanChecker sets from left to
+// right. The tasks only read the type and operator tables and write the data types and ranges of the literal's own
+// nodes.
+// Anything that is not constant or does not type check is given up on and left to ExprSemanChecker, which then reports
+// the same error as usual.
+public class ArrLiteralTypeInferrer {
+    public static final int DEFAULT_THRESHOLD = 1 << 12;
+
+    // Core data type and dimension shared by a range of elements, where the dimension of a non-array element is 0
+    private record ElmDtype(TypeInfo coreDtype, int dim) {
+    }
+
+    // Stands for an empty range of elements
+    private static final ElmDtype NO_ELMS = new ElmDtype(null, 0);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final TypeTable typeTable;
+    private final OpTable opTable;
+
+    /**
+     * Creates an inferrer.
+     *
+     * @param pool      the pool that runs the tasks.
+     * @param threshold the smallest number of elements in a range for it to be split between tasks.
+     * @param typeTable the type table.
+     * @param opTable   the operator table.
+     */
+    public ArrLiteralTypeInferrer(ForkJoinPool pool, int threshold, TypeTable typeTable, OpTable opTable) {
+        this.pool = pool;
+        this.threshold = threshold;
+        this.typeTable = typeTable;
+        this.opTable = opTable;
+    }
+
+    public ArrLiteralTypeInferrer(TypeTable typeTable, OpTable opTable) {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, typeTable, opTable);
+    }
+
+    // Infers the shared data type of a range of an array literal's elements
+    private class RangeTask extends RecursiveTask<ElmDtype> {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrLiteralASTNode arrLiteralNode;
+        private final int lo;
+        private final int hi;
+
+        public RangeTask(ArrLiteralASTNode arrLiteralNode, int lo, int hi) {
+            this.arrLiteralNode = arrLiteralNode;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected ElmDtype compute() {
+            if (hi - lo >= threshold && hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                RangeTask leftTask = new RangeTask(arrLiteralNode, lo, mid);
+                leftTask.fork();
+                ElmDtype rightDtype = new RangeTask(arrLiteralNode, mid, hi).compute();
+                ElmDtype leftDtype = leftTask.join();
+                return leftDtype == null || rightDtype == null ? null : joinDtypes(leftDtype, rightDtype);
+            }
+
+            ElmDtype rangeDtype = NO_ELMS;
+            for (int i = lo; i < hi && rangeDtype != null; ++i) {
+                ElmDtype elmDtype = inferElm(arrLiteralNode.getChild(i));
+                rangeDtype = elmDtype == null ? null : joinDtypes(rangeDtype, elmDtype);
+            }
+            return rangeDtype;
+        }
+    }
+
+    /**
+     * Infers the data types of a constant array literal and its elements.
+     *
+     * @param arrLiteralNode the array literal node.
+     * @return true if the data types have been set, or false if the array literal is not constant or does not type
+     * check, in which case some of them may have been set already.
+     */
+    public boolean infer(ArrLiteralASTNode arrLiteralNode) {
+        ElmDtype rangeDtype = pool.invoke(new RangeTask(arrLiteralNode, 0, arrLiteralNode.countChildren()));
+        return rangeDtype != null && setArrDtype(arrLiteralNode, rangeDtype) != null;
+    }
+
+    /**
+     * Infers the data types of an element and its subtree.
+     *
+     * @param elmNode the element node.
+     * @return the element's data type or null if it is not constant or does not type check.
+     */
+    private ElmDtype inferElm(ASTNode elmNode) {
+        switch (elmNode.getNodeType()) {
+            case LITERAL -> {
+                TypeInfo dtype = typeTable.getType(elmNode.getTok().getTokType());
+                elmNode.setDtype(dtype);
+                return new ElmDtype(dtype, 0);
+            }
+            case PACKED_ARR_LITERAL -> {
+                PackedArrLiteralASTNode packedNode = (PackedArrLiteralASTNode) elmNode;
+                TypeInfo elmDtype = typeTable.getType(packedNode.getElmTokType());
+                packedNode.setElmDtype(elmDtype);
+                packedNode.setDtype(ArrTypeInfo.getInst(elmDtype, 1));
+                packedNode.setEndPos(packedNode.getElmEndPos(packedNode.countElms() - 1));
+                return new ElmDtype(elmDtype, 1);
+            }
+            case ARR_LITERAL -> {
+                ArrLiteralASTNode arrLiteralNode = (ArrLiteralASTNode) elmNode;
+                // Runs in the current task, which forks more tasks if the nested literal is large
+                ElmDtype rangeDtype = new RangeTask(arrLiteralNode, 0, arrLiteralNode.countChildren()).compute();
+                return rangeDtype == null ? null : setArrDtype(arrLiteralNode, rangeDtype);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Sets the data type of an array literal from the shared data type of its elements.
+     *
+     * @param arrLiteralNode the array literal node.
+     * @param rangeDtype     the shared data type of all the elements.
+     * @return the array literal's data type.
+     */
+    private ElmDtype setArrDtype(ArrLiteralASTNode arrLiteralNode, ElmDtype rangeDtype) {
+        if (rangeDtype.coreDtype() != null) {
+            // An empty array literal keeps its default data type
+            arrLiteralNode.setDtype(ArrTypeInfo.getInst(rangeDtype.coreDtype(), rangeDtype.dim() + 1));
+            // Ends at the last element like after ExprSemanChecker updates the elements through the node iterator
+            arrLiteralNode.setEndPos(arrLiteralNode.getChild(arrLiteralNode.countChildren() - 1).getEndPos());
+        }
+        ArrTypeInfo arrDtype = (ArrTypeInfo) arrLiteralNode.getDtype();
+        return new ElmDtype(arrDtype.getCoreDtype(), arrDtype.getDim());
+    }
+
+    /**
+     * Joins the shared data types of two ranges of elements.
+     *
+     * @param leftDtype  the left range's data type.
+     * @param rightDtype the right range's data type.
+     * @return the data type shared by both ranges or null if the ranges are heterogeneous.
+     */
+    private ElmDtype joinDtypes(ElmDtype leftDtype, ElmDtype rightDtype) {
+        if (leftDtype.coreDtype() == null) {
+            return rightDtype;
+        } else if (rightDtype.coreDtype() == null) {
+            return leftDtype;
+        } else if (leftDtype.dim() != rightDtype.dim()) {
+            return null;
+        }
+
+        TypeInfo coreDtype = opTable.getCompatDtype(TokType.ARR_TYPE_CONV, leftDtype.coreDtype(),
+                rightDtype.coreDtype());
+        return coreDtype == null ? null : new ElmDtype(coreDtype, leftDtype.dim());
+    }
+}
@@ -0,0 +1,426 @@
+package parse.expr;
+
+import ast.*;
+import exceptions.ErrMsg;
+import operators.OpTable;
+import parse.utils.ParseContext;
+import parse.utils.ParseResult;
+import toks.Tok;
+import toks.TokType;
+import types.BoolType;
+import types.FloatType;
+import types.IntType;
+import types.TypeInfo;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+// Folds the operators whose operands are literals into literals once the semantics of a module have been checked, and
+// replaces the references to constants, which are defined by let with a literal, with that literal
+// The nodes are folded bottom-up, so an expression whose leaves are literals or constants becomes a single literal and
+// a constant defined by such an expression is propagated too. The data type of a folded literal is the result's data
+// type in the operator table. An Int is a 32-bit integer and a Float a 32-bit floating-point number, so they are
+// computed in int and float precision. An Int result out of range is reported as an overflow, like a Float result that
+// is infinite, and so is a division or a remainder by zero. A folded Float is written as a plain decimal, since the
+// lexer does not read the exponent notation of Float.toString.
+// Literals that do not fit their data types, e.g. an Int literal beyond 32 bits, are left as they are, and so are the
+// operators applied to them. A run of the same operator is only folded from its first operand, since the operators are
+// applied from left to right.
+// The constants are found by their addresses, see IdASTNode. The bodies of a module that is checked with a
+// FunCheckCache should not be folded, since a reused body would keep the values of global constants from an earlier
+// check.
+public class ConstFolder implements IASTTraversal {
+    // Value of a literal, where an Int or a Bool, as 0 or 1, is held in intVal and a Float in floatVal
+    private record Const(TypeInfo dtype, long intVal, float floatVal) {
+        float toFloat() {
+            return dtype == FloatType.getInst() ? floatVal : intVal;
+        }
+    }
+
+    private ParseContext context;
+    private OpTable opTable;
+    // Literals that the constants are defined by, indexed by their slots in the module's frame and in the frame of the
+    // current function
+    private LiteralASTNode[] globalConsts = new LiteralASTNode[16];
+    private LiteralASTNode[] localConsts = new LiteralASTNode[16];
+    // First error found, after which the rest of the AST is skipped
+    private ErrMsg err;
+
+    /**
+     * Folds the constant expressions of a module whose semantics have been checked.
+     *
+     * @param root    the module AST's root.
+     * @param context the parsing context.
+     * @return a ParseResult object as the result of folding, which holds the root of the folded AST.
+     */
+    public ParseResult<ASTNode> fold(ASTNode root, ParseContext context) {
+        this.context = context;
+        opTable = context.getOpTable();
+        ASTNode newRoot = new ASTTraverser().traverse(root, this);
+        if (err != null) {
+            return context.raiseErr(err);
+        }
+        return ParseResult.ok(newRoot);
+    }
+
+    @Override
+    public boolean enter(ASTNode node) {
+        if (err != null) {
+            return false;
+        }
+
+        switch (node.getNodeType()) {
+            case FUN_DEF -> Arrays.fill(localConsts, null);
+            // Declarations are not references, and neither are data types
+            case VAR_DECL, FUN_SIGN -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ASTNode exit(ASTNode node) {
+        if (err != null) {
+            return node;
+        }
+
+        ASTNode newNode = switch (node.getNodeType()) {
+            case ID -> propagateConst((IdASTNode) node);
+            case UN_OP -> foldUnOp((UnOpASTNode) node);
+            case BIN_OP -> {
+                BinOpASTNode binOpNode = (BinOpASTNode) node;
+                yield foldBinOp(binOpNode.getTok(), binOpNode.getLeft(), binOpNode.getRight(), binOpNode.getStartPos(),
+                        binOpNode.getEndPos());
+            }
+            case OP_CHAIN -> foldOpChain((OpChainASTNode) node);
+            case VAR_DEF -> {
+                defineConst((VarDefASTNode) node);
+                yield null;
+            }
+            default -> null;
+        };
+        return newNode == null ? node : newNode;
+    }
+
+    /**
+     * Records the literal that a constant is defined by, if it is defined by let with a literal.
+     *
+     * @param defNode the variable definition's AST node, whose expression has been folded.
+     */
+    private void defineConst(VarDefASTNode defNode) {
+        IdASTNode idNode = defNode.getVarDeclNode().getIdNode();
+        ASTNode exprNode = defNode.getExprNode();
+        int slot = idNode.getSlot();
+        if (idNode.isMutable() || slot == IdASTNode.NO_SLOT || exprNode.getNodeType() != ASTNodeType.LITERAL ||
+                toConst(exprNode) == null) {
+            return;
+        }
+
+        if (idNode.getFrameDepth() == 0) {
+            if (slot >= globalConsts.length) {
+                globalConsts = Arrays.copyOf(globalConsts, Math.max(slot + 1, globalConsts.length * 2));
+            }
+            globalConsts[slot] = (LiteralASTNode) exprNode;
+        } else {
+            if (slot >= localConsts.length) {
+                localConsts = Arrays.copyOf(localConsts, Math.max(slot + 1, localConsts.length * 2));
+            }
+            localConsts[slot] = (LiteralASTNode) exprNode;
+        }
+    }
+
+    /**
+     * Replaces a reference to a constant with a copy of its literal at the reference's position.
+     *
+     * @param idNode the identifier's AST node.
+     * @return the new literal node or null if the identifier is not a constant.
+     */
+    private ASTNode propagateConst(IdASTNode idNode) {
+        int slot = idNode.getSlot();
+        if (slot == IdASTNode.NO_SLOT) {
+            return null;
+        }
+
+        LiteralASTNode[] consts = idNode.getFrameDepth() == 0 ? globalConsts : localConsts;
+        LiteralASTNode literalNode = slot < consts.length ? consts[slot] : null;
+        if (literalNode == null || literalNode.getDtype() != idNode.getDtype()) {
+            return null;
+        }
+        Tok literalTok = literalNode.getTok();
+        return new LiteralASTNode(new Tok(literalTok.getVal(), literalTok.getTokType(), idNode.getStartPos(),
+                idNode.getEndPos()), literalNode.getDtype());
+    }
+
+    /**
+     * Folds a unary expression whose operand is a literal.
+     *
+     * @param unOpNode the unary expression AST's root.
+     * @return the literal node of the result or null if the expression cannot be folded.
+     */
+    private ASTNode foldUnOp(UnOpASTNode unOpNode) {
+        Tok opTok = unOpNode.getTok();
+        Const operand = toConst(unOpNode.getExprNode());
+        if (operand == null) {
+            return null;
+        }
+        TypeInfo resultDtype = opTable.getCompatDtype(opTok.getTokType(), operand.dtype());
+        if (resultDtype == null) {
+            return null;
+        }
+
+        Const result = switch (opTok.getTokType()) {
+            case ADD -> operand;
+            case SUB -> resultDtype == FloatType.getInst() ? checkFloat(-operand.floatVal(), opTok) :
+                    checkInt(-operand.intVal(), opTok);
+            case LOG_NOT -> new Const(resultDtype, 1 - operand.intVal(), 0);
+            default -> null;
+        };
+        return result == null ? null : toLiteral(result, unOpNode.getStartPos(), unOpNode.getEndPos());
+    }
+
+    /**
+     * Folds a binary operator whose operands are literals, or a type conversion of a literal.
+     *
+     * @param opTok     the operator token.
+     * @param leftNode  the left operand's node.
+     * @param rightNode the right operand's node.
+     * @param startPos  the start position of the expression.
+     * @param endPos    the end position of the expression.
+     * @return the literal node of the result or null if the operator cannot be folded.
+     */
+    private LiteralASTNode foldBinOp(Tok opTok, ASTNode leftNode, ASTNode rightNode, long startPos, long endPos) {
+        TokType opId = opTok.getTokType();
+        Const left = toConst(leftNode);
+        if (left == null) {
+            return null;
+        }
+        TypeInfo resultDtype = opTable.getCompatDtype(opId, left.dtype(), rightNode.getDtype());
+        if (resultDtype == null) {
+            return null;
+        }
+
+        Const result;
+        if (opId == TokType.TYPE_CONV) {
+            result = convert(left, resultDtype, opTok);
+        } else {
+            Const right = toConst(rightNode);
+            if (right == null) {
+                return null;
+            }
+            result = resultDtype == BoolType.getInst() ? compare(opId, left, right) :
+                    calc(opTok, left, right, resultDtype);
+        }
+        return result == null ? null : toLiteral(result, startPos, endPos);
+    }
+
+    /**
+     * Folds the operands of a chain from the first one for as long as they are literals.
+     *
+     * @param chainNode the chain's AST node.
+     * @return the literal node of the result if the whole chain is folded, a shorter chain if only some operands are,
+     * or null if the chain cannot be folded.
+     */
+    private ASTNode foldOpChain(OpChainASTNode chainNode) {
+        int numOperands = chainNode.countChildren();
+        ASTNode leftNode = chainNode.getChild(0);
+        int i = 1;
+        while (i < numOperands) {
+            ASTNode rightNode = chainNode.getChild(i);
+            LiteralASTNode resultNode = foldBinOp(chainNode.getOpTok(i), leftNode, rightNode, leftNode.getStartPos(),
+                    rightNode.getEndPos());
+            if (resultNode == null) {
+                break;
+            }
+            leftNode = resultNode;
+            ++i;
+        }
+
+        if (i == 1 || err != null) {
+            return null;
+        } else if (i == numOperands) {
+            return leftNode;
+        }
+        // The folded operands become the first operand of the rest of the chain
+        OpChainASTNode newChainNode = new OpChainASTNode(chainNode.getOpTok(i), chainNode.getDtype());
+        newChainNode.addChild(leftNode);
+        for (; i < numOperands; ++i) {
+            newChainNode.addOperand(chainNode.getOpTok(i), chainNode.getChild(i));
+        }
+        newChainNode.setStartPos(leftNode.getStartPos());
+        return newChainNode;
+    }
+
+    /**
+     * Applies an arithmetic or logical operator to two values.
+     *
+     * @param opTok       the operator token.
+     * @param left        the left operand.
+     * @param right       the right operand.
+     * @param resultDtype the result's data type, which is not Bool unless the operator is logical.
+     * @return the result or null if it cannot be computed.
+     */
+    private Const calc(Tok opTok, Const left, Const right, TypeInfo resultDtype) {
+        TokType opId = opTok.getTokType();
+        if ((opId == TokType.DIV || opId == TokType.MOD) && right.toFloat() == 0) {
+            err = new ErrMsg("Division by zero", opTok);
+            return null;
+        }
+
+        if (resultDtype == FloatType.getInst()) {
+            float leftVal = left.toFloat();
+            float rightVal = right.toFloat();
+            return switch (opId) {
+                case ADD -> checkFloat(leftVal + rightVal, opTok);
+                case SUB -> checkFloat(leftVal - rightVal, opTok);
+                case MUL -> checkFloat(leftVal * rightVal, opTok);
+                case DIV -> checkFloat(leftVal / rightVal, opTok);
+                default -> null;
+            };
+        }
+        // The operands are in the range of Int, so the results below cannot overflow a long
+        long leftVal = left.intVal();
+        long rightVal = right.intVal();
+        return switch (opId) {
+            case ADD -> checkInt(leftVal + rightVal, opTok);
+            case SUB -> checkInt(leftVal - rightVal, opTok);
+            case MUL -> checkInt(leftVal * rightVal, opTok);
+            case DIV -> checkInt(leftVal / rightVal, opTok);
+            case MOD -> checkInt(leftVal % rightVal, opTok);
+            default -> null;
+        };
+    }
+
+    /**
+     * Applies a comparison or logical operator, whose result is a Bool, to two values.
+     *
+     * @param opId  the operator's identifier.
+     * @param left  the left operand.
+     * @param right the right operand.
+     * @return the result or null if it cannot be computed.
+     */
+    private static Const compare(TokType opId, Const left, Const right) {
+        boolean isFloat = left.dtype() == FloatType.getInst() || right.dtype() == FloatType.getInst();
+        float leftFloat = left.toFloat();
+        float rightFloat = right.toFloat();
+        long leftInt = left.intVal();
+        long rightInt = right.intVal();
+        Boolean result = switch (opId) {
+            case EQ -> isFloat ? leftFloat == rightFloat : leftInt == rightInt;
+            case NEQ -> isFloat ? leftFloat != rightFloat : leftInt != rightInt;
+            case LESS -> isFloat ? leftFloat < rightFloat : leftInt < rightInt;
+            case GREATER -> isFloat ? leftFloat > rightFloat : leftInt > rightInt;
+            case LEQ -> isFloat ? leftFloat <= rightFloat : leftInt <= rightInt;
+            case GEQ -> isFloat ? leftFloat >= rightFloat : leftInt >= rightInt;
+            case LOG_AND -> leftInt != 0 && rightInt != 0;
+            case LOG_OR -> leftInt != 0 || rightInt != 0;
+            default -> null;
+        };
+        return result == null ? null : new Const(BoolType.getInst(), result ? 1 : 0, 0);
+    }
+
+    /**
+     * Converts a value to another data type, where a Float is truncated to an Int.
+     *
+     * @param operand     the value.
+     * @param resultDtype the data type to convert to.
+     * @param opTok       the conversion operator token.
+     * @return the converted value or null if it does not fit the data type.
+     */
+    private Const convert(Const operand, TypeInfo resultDtype, Tok opTok) {
+        if (resultDtype == operand.dtype()) {
+            return operand;
+        } else if (resultDtype == FloatType.getInst()) {
+            return new Const(resultDtype, 0, operand.toFloat());
+        }
+        float val = operand.floatVal();
+        if (!(val > Integer.MIN_VALUE - 1.0 && val < Integer.MAX_VALUE + 1.0)) {
+            err = new ErrMsg("Value " + val + " overflows data type '" + IntType.ID + "'", opTok);
+            return null;
+        }
+        return new Const(resultDtype, (long) val, 0);
+    }
+
+    /**
+     * Checks that the result of an operator fits an Int.
+     *
+     * @param val   the result.
+     * @param opTok the operator token.
+     * @return the result as an Int value or null if it overflows.
+     */
+    private Const checkInt(long val, Tok opTok) {
+        if (val < Integer.MIN_VALUE || val > Integer.MAX_VALUE) {
+            err = new ErrMsg("Result of operator '" + opTok.getVal() + "' overflows data type '" + IntType.ID + "'",
+                    opTok);
+            return null;
+        }
+        return new Const(IntType.getInst(), val, 0);
+    }
+
+    /**
+     * Checks that the result of an operator fits a Float.
+     *
+     * @param val   the result.
+     * @param opTok the operator token.
+     * @return the result as a Float value or null if it is infinite or not a number.
+     */
+    private Const checkFloat(float val, Tok opTok) {
+        if (Float.isInfinite(val) || Float.isNaN(val)) {
+            err = new ErrMsg("Result of operator '" + opTok.getVal() + "' overflows data type '" + FloatType.ID + "'",
+                    opTok);
+            return null;
+        }
+        return new Const(FloatType.getInst(), 0, val);
+    }
+
+    /**
+     * Reads the value of a literal.
+     *
+     * @param node the node.
+     * @return the literal's value or null if the node is not a literal or its value does not fit its data type.
+     */
+    private static Const toConst(ASTNode node) {
+        if (node.getNodeType() != ASTNodeType.LITERAL) {
+            return null;
+        }
+
+        TypeInfo dtype = node.getDtype();
+        String val = node.getTok().getVal();
+        try {
+            if (dtype == IntType.getInst()) {
+                return new Const(dtype, Integer.parseInt(val), 0);
+            } else if (dtype == FloatType.getInst()) {
+                float floatVal = Float.parseFloat(val);
+                return Float.isInfinite(floatVal) ? null : new Const(dtype, 0, floatVal);
+            } else if (dtype == BoolType.getInst()) {
+                return new Const(dtype, Boolean.parseBoolean(val) ? 1 : 0, 0);
+            }
+        } catch (NumberFormatException e) {
+            // Out of range
+        }
+        return null;
+    }
+
+    /**
+     * Creates a literal node for a value.
+     *
+     * @param val      the value.
+     * @param startPos the start position of the expression that the literal replaces.
+     * @param endPos   the end position of the expression that the literal replaces.
+     * @return a new LiteralASTNode object.
+     */
+    private static LiteralASTNode toLiteral(Const val, long startPos, long endPos) {
+        TypeInfo dtype = val.dtype();
+        Tok tok;
+        if (dtype == IntType.getInst()) {
+            tok = new Tok(Long.toString(val.intVal()), TokType.INT_LITERAL, startPos, endPos);
+        } else if (dtype == FloatType.getInst()) {
+            String floatVal = new BigDecimal(Float.toString(val.floatVal())).toPlainString();
+            tok = new Tok(floatVal.indexOf('.') < 0 ? floatVal + ".0" : floatVal, TokType.FLOAT_LITERAL, startPos,
+                    endPos);
+        } else {
+            tok = new Tok(Boolean.toString(val.intVal() != 0), TokType.BOOL_LITERAL, startPos, endPos);
+        }
+        return new LiteralASTNode(tok, dtype);
+    }
+}
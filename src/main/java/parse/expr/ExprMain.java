@@ -5,6 +5,7 @@ import ast.JSONWalker;
 import exceptions.SyntaxErr;
 import lex.LexReader;
 import lex.Lexer;
+import parse.ll.LLPredictor;
 import parse.scope.ScopeType;
 import parse.utils.*;
 import parse.utils.ParseContext;
@@ -27,7 +28,7 @@ public class ExprMain {
             ExprParser parser = new ExprParser();
 
             tokMatcher.init(lexer);
-            parser.init(lexer, tokMatcher, semanChecker);
+            parser.init(lexer, tokMatcher, semanChecker, new LLPredictor());
 
             ParseContext context = ParseContext.createContext();
             Scope globalScope = new Scope(ScopeType.MODULE, null);
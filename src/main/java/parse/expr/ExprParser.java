@@ -7,12 +7,12 @@ import lex.LexResult;
 import lex.LexStatus;
 import lex.Lexer;
 import operators.OpTable;
+import parse.ll.LLPredictor;
+import parse.ll.LLTable;
 import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
 import parse.utils.TokMatcher;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 import types.ArrTypeInfo;
@@ -25,6 +25,7 @@ public class ExprParser {
     private Lexer lexer;
     private TokMatcher tokMatcher;
     private ExprSemanChecker semanChecker;
+    private LLPredictor llPredictor;
     private ParseContext context;
 
     /**
@@ -33,11 +34,13 @@ public class ExprParser {
      * @param lexer        a lexer.
      * @param tokMatcher   a token matcher.
      * @param semanChecker an expression semantic checker.
+     * @param llPredictor  a predictor that chooses the primary expression to parse from the LL(1) table.
      */
-    public void init(Lexer lexer, TokMatcher tokMatcher, ExprSemanChecker semanChecker) {
+    public void init(Lexer lexer, TokMatcher tokMatcher, ExprSemanChecker semanChecker, LLPredictor llPredictor) {
         this.lexer = lexer;
         this.tokMatcher = tokMatcher;
         this.semanChecker = semanChecker;
+        this.llPredictor = llPredictor;
     }
 
     // General expressions
@@ -57,6 +60,12 @@ public class ExprParser {
             return exprResult;
         }
         ASTNode exprNode = exprResult.getData();
+        if (context.isSyntaxOnly()) {
+            return exprResult;
+        } else if (context.isFusedExprCheck()) {
+            // Every node has been checked while parsing so only the root is left
+            return semanChecker.reduceExpr(exprNode, context);
+        }
         return semanChecker.checkSeman(exprNode, context);
     }
 
@@ -116,15 +125,32 @@ public class ExprParser {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> parsePrimary() throws IOException {
-        ParseResult<ASTNode> result = parseIdClause();
-        if (result.getStatus() == ParseStatus.ERR || result.getStatus() == ParseStatus.OK) {
-            return result;
+        ParseResult<Tok> tokResult = tokMatcher.peekTok(context);
+        if (tokResult.getStatus() == ParseStatus.ERR) {
+            return ParseResult.err();
         }
-        result = parseLiteralExpr();
-        if (result.getStatus() == ParseStatus.ERR || result.getStatus() == ParseStatus.OK) {
-            return result;
+
+        Tok tok = tokResult.getData();
+        return switch (llPredictor.predict(LLTable.PRIMARY_EXPRESSION, tok)) {
+            case LLTable.PRIMARY_EXPRESSION_IDENTIFIER_CLAUSE -> parseIdClause();
+            case LLTable.PRIMARY_EXPRESSION_LITERAL -> parseLiteral();
+            case LLTable.PRIMARY_EXPRESSION_ARRAY_LITERAL -> parseArrLiteral();
+            case LLTable.PRIMARY_EXPRESSION_PARENTHESIZED_EXPRESSION -> parseParenExpr();
+            default -> ParseResult.fail(tok);
+        };
+    }
+
+    /**
+     * Checks the semantics of a node that has just been reduced if expressions are checked while being parsed.
+     *
+     * @param node the node to be checked.
+     * @return a ParseResult object as the result of checking the node.
+     */
+    private ParseResult<ASTNode> reduce(ASTNode node) {
+        if (!context.isFusedExprCheck()) {
+            return ParseResult.ok(node);
         }
-        return parseParenExpr();
+        return semanChecker.reduceNode(node, context);
     }
 
     /**
@@ -132,12 +158,13 @@ public class ExprParser {
      *
      * @param leftTokType  the left bracket type identified by its token type.
      * @param rightTokType the right bracket type identified by its token type.
-     * @param isArrLiteral true if this is an array literal and false otherwise.
+     * @param groupNode    the node to which the expressions are added.
+     * @param ownerNode    the function call, array access, or array literal node that owns the list.
      * @return a ParseResult object as the result of parsing a list of expressions.
      * @throws IOException if there is an IO exception.
      */
-    private ParseResult<ASTNode> parseList(TokType leftTokType, TokType rightTokType, boolean isArrLiteral)
-            throws IOException {
+    private ParseResult<ASTNode> parseList(TokType leftTokType, TokType rightTokType, MultichildASTNode groupNode,
+                                           ASTNode ownerNode) throws IOException {
         ParseResult<Tok> bracketResult = tokMatcher.parseTok(leftTokType, context);
         if (bracketResult.getStatus() == ParseStatus.ERR) {
             return ParseResult.err();
@@ -146,14 +173,7 @@ public class ExprParser {
         }
 
         Tok bracketTok = bracketResult.getData();
-        SrcPos bracketStartPos = bracketTok.getSrcRange().getStartPos();
-        MultichildASTNode groupNode;
-        if (isArrLiteral) {
-            groupNode = new ArrLiteralASTNode(null);
-        } else {
-            groupNode = new ExprListASTNode(null);
-        }
-
+        long bracketStartPos = bracketTok.getStartPos();
         ParseResult<ASTNode> exprResult;
         ParseResult<Tok> commaResult;
         boolean end = false;
@@ -182,18 +202,39 @@ public class ExprParser {
                     return context.raiseErr(new ErrMsg("Invalid expression", exprResult.getFailTok()));
                 }
 
+                if (context.isFusedExprCheck()) {
+                    exprResult = semanChecker.reduceListElm(ownerNode, exprResult.getData(),
+                            groupNode.countChildren(), context);
+                    if (exprResult.getStatus() == ParseStatus.ERR) {
+                        return exprResult;
+                    }
+                }
+
                 groupNode.addChild(exprResult.getData());
                 firstExpr = false;
             }
         }
 
         bracketTok = bracketResult.getData();
-        SrcPos bracketEndPos = bracketTok.getSrcRange().getEndPos();
-        SrcRange bracketRange = new SrcRange(bracketStartPos, bracketEndPos);
-        groupNode.setSrcRange(bracketRange);
+        groupNode.setStartPos(bracketStartPos);
+        groupNode.setEndPos(bracketTok.getEndPos());
         return ParseResult.ok(groupNode);
     }
 
+    /**
+     * Moves the end of a list whose expressions have been checked while being parsed to its last expression, which is
+     * where the separate pass leaves it when it updates the checked expressions. A function call or an array access
+     * still ends at the right bracket in both cases.
+     *
+     * @param groupNode the list node.
+     */
+    private static void endAtLastElm(MultichildASTNode groupNode) {
+        int numElms = groupNode.countChildren();
+        if (numElms > 0) {
+            groupNode.setEndPos(groupNode.getChild(numElms - 1).getEndPos());
+        }
+    }
+
     /**
      * Parses an array access expression.
      *
@@ -202,17 +243,10 @@ public class ExprParser {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> parseArrAccess(Tok arrIdTok) throws IOException {
-        ParseResult<ASTNode> indexListResult = parseList(TokType.LSQUARE, TokType.RSQUARE, false);
-        if (indexListResult.getStatus() == ParseStatus.ERR || indexListResult.getStatus() == ParseStatus.FAIL) {
-            return indexListResult;
-        }
-
         ArrAccessASTNode arrAccessNode = new ArrAccessASTNode(null);
         IdASTNode idNode = new IdASTNode(arrIdTok, null, false);
-        ExprListASTNode indexListNode = (ExprListASTNode) indexListResult.getData();
         arrAccessNode.setIdNode(idNode);
-        arrAccessNode.setIndexListNode(indexListNode);
-        return ParseResult.ok(arrAccessNode);
+        return parseListClause(arrAccessNode);
     }
 
     /**
@@ -231,21 +265,17 @@ public class ExprParser {
         }
 
         Tok idTok = idResult.getData();
-        // Try parsing an argument list
-        ParseResult<ASTNode> argListResult = parseArgList(idTok);
-        if (argListResult.getStatus() == ParseStatus.ERR || argListResult.getStatus() == ParseStatus.OK) {
-            return argListResult;
-        }
-
-        // Try parsing an array access expression
-        ParseResult<ASTNode> arrAccessResult = parseArrAccess(idTok);
-        if (arrAccessResult.getStatus() == ParseStatus.ERR || arrAccessResult.getStatus() == ParseStatus.OK) {
-            return arrAccessResult;
+        ParseResult<Tok> tokResult = tokMatcher.peekTok(context);
+        if (tokResult.getStatus() == ParseStatus.ERR) {
+            return ParseResult.err();
         }
 
-        // Dummy id node
-        ASTNode idNode = new IdASTNode(idTok, null, false);
-        return ParseResult.ok(idNode);
+        return switch (llPredictor.predict(LLTable.IDENTIFIER_SUFFIX, tokResult.getData())) {
+            case LLTable.IDENTIFIER_SUFFIX_FUNCTION_CALL_ARGUMENT_CLAUSE -> parseArgList(idTok);
+            case LLTable.IDENTIFIER_SUFFIX_ARRAY_ACCESS_EXPRESSION -> parseArrAccess(idTok);
+            // Dummy id node, which is replaced when its semantics are checked
+            default -> reduce(new IdASTNode(idTok, null, false));
+        };
     }
 
     /**
@@ -256,31 +286,51 @@ public class ExprParser {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> parseArgList(Tok funIdTok) throws IOException {
-        ParseResult<ASTNode> argListResult = parseList(TokType.LPAREN, TokType.RPAREN, false);
-        if (argListResult.getStatus() == ParseStatus.ERR || argListResult.getStatus() == ParseStatus.FAIL) {
-            return argListResult;
-        }
-
         FunCallASTNode funCallNode = new FunCallASTNode(null);
         IdASTNode idNode = new IdASTNode(funIdTok, null, false);
-        ExprListASTNode argListNode = (ExprListASTNode) argListResult.getData();
         funCallNode.setIdNode(idNode);
-        funCallNode.setArgListNode(argListNode);
-        return ParseResult.ok(funCallNode);
+        return parseListClause(funCallNode);
     }
 
     /**
-     * Parses a literal expression.
+     * Parses the list of expressions of a function call or an array access following its identifier.
      *
-     * @return a ParseResult object as the result of parsing a literal expression.
+     * @param ownerNode the function call or array access node whose identifier has been set.
+     * @return a ParseResult object as the result of parsing the function call or array access.
      * @throws IOException if there is an IO exception.
      */
-    private ParseResult<ASTNode> parseLiteralExpr() throws IOException {
-        ParseResult<ASTNode> result = parseLiteral();
-        if (result.getStatus() == ParseStatus.ERR || result.getStatus() == ParseStatus.OK) {
+    private ParseResult<ASTNode> parseListClause(ASTNode ownerNode) throws IOException {
+        boolean isFunCall = ownerNode.getNodeType() == ASTNodeType.FUN_CALL;
+        boolean fusedExprCheck = context.isFusedExprCheck();
+        ParseResult<ASTNode> result;
+        if (fusedExprCheck) {
+            // The identifier is checked before the list like in the separate pass
+            result = semanChecker.reduceListHead(ownerNode, context);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+        }
+
+        ExprListASTNode listNode = new ExprListASTNode(null);
+        if (isFunCall) {
+            result = parseList(TokType.LPAREN, TokType.RPAREN, listNode, ownerNode);
+        } else {
+            result = parseList(TokType.LSQUARE, TokType.RSQUARE, listNode, ownerNode);
+        }
+        if (result.getStatus() == ParseStatus.ERR || result.getStatus() == ParseStatus.FAIL) {
             return result;
         }
-        return parseArrLiteral();
+
+        if (isFunCall) {
+            ((FunCallASTNode) ownerNode).setArgListNode(listNode);
+        } else {
+            ((ArrAccessASTNode) ownerNode).setIndexListNode(listNode);
+        }
+        if (fusedExprCheck) {
+            endAtLastElm(listNode);
+            return semanChecker.reduceListTail(ownerNode, listNode.countChildren(), context);
+        }
+        return ParseResult.ok(ownerNode);
     }
 
     /**
@@ -290,17 +340,21 @@ public class ExprParser {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> parseArrLiteral() throws IOException {
-        ParseResult<ASTNode> arrLiteralResult = parseList(TokType.LSQUARE, TokType.RSQUARE, true);
-        if (arrLiteralResult.getStatus() == ParseStatus.ERR || arrLiteralResult.getStatus() == ParseStatus.FAIL) {
-            return arrLiteralResult;
-        }
-
         // Set void as the core type and dimension of 1 by default
         // Semantics checker will update this later
-        TypeInfo arrDtype = new ArrTypeInfo(VoidType.getInst(), 1);
-        ArrLiteralASTNode arrLiteralNode = (ArrLiteralASTNode) arrLiteralResult.getData();
-        arrLiteralNode.setDtype(arrDtype);
-        return ParseResult.ok(arrLiteralNode);
+        TypeInfo arrDtype = ArrTypeInfo.getInst(VoidType.getInst(), 1);
+        ArrLiteralASTNode arrLiteralNode = new ArrLiteralASTNode(arrDtype);
+        ParseResult<ASTNode> result = parseList(TokType.LSQUARE, TokType.RSQUARE, arrLiteralNode, arrLiteralNode);
+        if (result.getStatus() == ParseStatus.OK && context.isFusedExprCheck()) {
+            endAtLastElm(arrLiteralNode);
+        }
+        if (result.getStatus() != ParseStatus.OK || !context.isPackedArrLiterals()) {
+            return result;
+        }
+
+        // Only the packed values are kept if the elements are literals of the same type
+        PackedArrLiteralASTNode packedNode = PackedArrLiteralASTNode.pack(arrLiteralNode);
+        return packedNode == null ? result : ParseResult.ok(packedNode);
     }
 
     /**
@@ -325,7 +379,7 @@ public class ExprParser {
 
         lexer.consume();
         LiteralASTNode literalNode = new LiteralASTNode(literalTok, null);
-        return ParseResult.ok(literalNode);
+        return reduce(literalNode);
     }
 
     /**
@@ -432,7 +486,24 @@ public class ExprParser {
         }
 
         prefixLeaf.setExprNode(postfixResult.getData());
-        return ParseResult.ok(root);
+        return reducePrefixOpSeq((UnASTNode) root, prefixLeaf);
+    }
+
+    /**
+     * Checks the semantics of a sequence of prefix operators from the innermost to the outermost.
+     *
+     * @param opNode   the outermost operator node in the sequence.
+     * @param leafNode the innermost operator node in the sequence.
+     * @return a ParseResult object as the result of checking the sequence of prefix operators.
+     */
+    private ParseResult<ASTNode> reducePrefixOpSeq(UnASTNode opNode, UnASTNode leafNode) {
+        if (opNode != leafNode) {
+            ParseResult<ASTNode> result = reducePrefixOpSeq((UnASTNode) opNode.getExprNode(), leafNode);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+        }
+        return reduce(opNode);
     }
 
     // Postfix expressions
@@ -464,7 +535,11 @@ public class ExprParser {
             } else if (!(end = opResult.getStatus() == ParseStatus.FAIL)) {
                 postfixNode = (UnASTNode) opResult.getData();
                 postfixNode.setExprNode(root);
-                root = postfixNode;
+                opResult = reduce(postfixNode);
+                if (opResult.getStatus() == ParseStatus.ERR) {
+                    return opResult;
+                }
+                root = opResult.getData();
             }
         }
 
@@ -533,7 +608,6 @@ public class ExprParser {
             }
 
             lexer.consume();
-            binOpNode = new BinOpASTNode(opTok, null);
             rightResult = parseInfixExpr(opTok);
             rightStatus = rightResult.getStatus();
             if (rightStatus == ParseStatus.ERR) {
@@ -542,9 +616,54 @@ public class ExprParser {
                 return context.raiseErr(new ErrMsg("Invalid expression", rightResult.getFailTok()));
             }
 
+            if (context.isOpChains() && canChain(leftResult.getData(), opTok)) {
+                leftResult = reduce(appendOperand(leftResult.getData(), opTok, rightResult.getData()));
+                if (leftResult.getStatus() == ParseStatus.ERR) {
+                    return leftResult;
+                }
+                continue;
+            }
+
+            binOpNode = new BinOpASTNode(opTok, null);
             binOpNode.setLeft(leftResult.getData());
             binOpNode.setRight(rightResult.getData());
-            leftResult = ParseResult.ok(binOpNode);
+            leftResult = reduce(binOpNode);
+            if (leftResult.getStatus() == ParseStatus.ERR) {
+                return leftResult;
+            }
+        }
+    }
+
+    /**
+     * Checks if an operator continues a run of the same operator on its left, so that its right operand can be added
+     * to an OpChainASTNode instead of building another binary operator node.
+     *
+     * @param leftNode the left operand.
+     * @param opTok    the operator token.
+     * @return true if the operand can be added to a chain.
+     */
+    private boolean canChain(ASTNode leftNode, Tok opTok) {
+        TokType opId = opTok.getTokType();
+        if (opId == TokType.ASSIGNMENT || opId == TokType.TYPE_CONV || !context.getOpTable().getAssociativity(opId)) {
+            return false;
         }
+        ASTNodeType leftNodeType = leftNode.getNodeType();
+        return (leftNodeType == ASTNodeType.BIN_OP || leftNodeType == ASTNodeType.OP_CHAIN) &&
+                leftNode.getTok().getTokType() == opId;
+    }
+
+    /**
+     * Adds an operand to the chain on its left, turning a binary operator node into a chain first.
+     *
+     * @param leftNode the binary operator or chain node on the left.
+     * @param opTok    the operator token.
+     * @param operand  the right operand.
+     * @return the chain node.
+     */
+    private OpChainASTNode appendOperand(ASTNode leftNode, Tok opTok, ASTNode operand) {
+        OpChainASTNode chainNode = leftNode.getNodeType() == ASTNodeType.BIN_OP ?
+                OpChainASTNode.fromBinOp((BinOpASTNode) leftNode) : (OpChainASTNode) leftNode;
+        chainNode.addOperand(opTok, operand);
+        return chainNode;
     }
 }
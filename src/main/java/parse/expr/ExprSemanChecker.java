@@ -2,15 +2,12 @@ package parse.expr;
 
 import ast.*;
 import exceptions.ErrMsg;
-import operators.BinOpCompat;
-import operators.OpCompat;
-import operators.UnOpCompat;
 import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
 import symbols.FunInfo;
+import symbols.ISymbolTable;
 import symbols.SymbolInfo;
-import symbols.SymbolTable;
 import symbols.SymbolType;
 import toks.Tok;
 import toks.TokType;
@@ -20,10 +17,14 @@ import types.TypeInfo;
 import types.TypeInfoType;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.ArrayDeque;
 
 public class ExprSemanChecker {
     private ParseContext context;
+    // Functions of the calls whose heads have been checked but not their tails, innermost first, so that a callee is
+    // only looked up once per call. A call whose check fails leaves its function behind, which is never read since
+    // each call pushes its own function before checking its arguments.
+    private final ArrayDeque<FunInfo> calledFuns = new ArrayDeque<>();
 
     /**
      * Checks the semantics of an expression.
@@ -38,6 +39,91 @@ public class ExprSemanChecker {
         return checkValExprSeman(exprNode);
     }
 
+    // Methods below are used when the semantics are checked while parsing
+    // Each of them checks a single node assuming that its children have already been checked
+
+    /**
+     * Checks the semantics of a literal, an identifier, or an operator node when it is reduced by the parser.
+     *
+     * @param exprNode the node to be checked.
+     * @param context  the parsing context.
+     * @return a ParseResult object as the result of checking the node, which may be a new node replacing it.
+     */
+    public ParseResult<ASTNode> reduceNode(ASTNode exprNode, ParseContext context) {
+        this.context = context;
+        return switch (exprNode.getNodeType()) {
+            case LITERAL -> typeCheckLiteral((LiteralASTNode) exprNode);
+            case ID -> checkId(exprNode);
+            case UN_OP -> reduceUnExpr((UnOpASTNode) exprNode);
+            case BIN_OP -> reduceBinExpr((BinOpASTNode) exprNode);
+            case OP_CHAIN -> reduceOpChain((OpChainASTNode) exprNode);
+            default -> ParseResult.ok(exprNode);
+        };
+    }
+
+    /**
+     * Checks the part of a function call or an array access that precedes its list of expressions.
+     *
+     * @param ownerNode the function call, array access, or array literal node that owns the list.
+     * @param context   the parsing context.
+     * @return a ParseResult object as the result of checking the node.
+     */
+    public ParseResult<ASTNode> reduceListHead(ASTNode ownerNode, ParseContext context) {
+        this.context = context;
+        return switch (ownerNode.getNodeType()) {
+            case FUN_CALL -> checkFunCallHead((FunCallASTNode) ownerNode);
+            case ARR_ACCESS -> checkArrAccessHead((ArrAccessASTNode) ownerNode);
+            default -> ParseResult.ok(ownerNode);
+        };
+    }
+
+    /**
+     * Checks an expression in the list of a function call, an array access, or an array literal.
+     *
+     * @param ownerNode the function call, array access, or array literal node that owns the list.
+     * @param elmNode   the expression node in the list.
+     * @param i         the expression's position in the list.
+     * @param context   the parsing context.
+     * @return a ParseResult object as the result of checking the expression.
+     */
+    public ParseResult<ASTNode> reduceListElm(ASTNode ownerNode, ASTNode elmNode, int i, ParseContext context) {
+        this.context = context;
+        return switch (ownerNode.getNodeType()) {
+            case FUN_CALL -> checkArg(elmNode, i);
+            case ARR_ACCESS -> checkArrIndex(elmNode);
+            default -> checkArrElm((ArrLiteralASTNode) ownerNode, elmNode, i);
+        };
+    }
+
+    /**
+     * Checks a function call, an array access, or an array literal once its list of expressions is parsed.
+     *
+     * @param ownerNode the function call, array access, or array literal node that owns the list.
+     * @param numElms   the number of expressions in the list.
+     * @param context   the parsing context.
+     * @return a ParseResult object as the result of checking the node.
+     */
+    public ParseResult<ASTNode> reduceListTail(ASTNode ownerNode, int numElms, ParseContext context) {
+        this.context = context;
+        return switch (ownerNode.getNodeType()) {
+            case FUN_CALL -> checkFunCallTail((FunCallASTNode) ownerNode, numElms);
+            case ARR_ACCESS -> checkArrAccessTail((ArrAccessASTNode) ownerNode, numElms);
+            default -> ParseResult.ok(ownerNode);
+        };
+    }
+
+    /**
+     * Checks if an expression whose nodes have all been reduced is a value expression.
+     *
+     * @param exprNode the expression AST's root.
+     * @param context  the parsing context.
+     * @return a ParseResult object as the result of checking the expression.
+     */
+    public ParseResult<ASTNode> reduceExpr(ASTNode exprNode, ParseContext context) {
+        this.context = context;
+        return checkValExpr(exprNode);
+    }
+
     /**
      * Checks if an expression is a value expression, that is, it carries a value and not just a data type.
      *
@@ -50,13 +136,20 @@ public class ExprSemanChecker {
         if (result.getStatus() == ParseStatus.ERR) {
             return result;
         }
+        return checkValExpr(result.getData());
+    }
 
-        exprNode = result.getData();
+    /**
+     * Checks if an expression whose semantics have been checked is a value expression.
+     *
+     * @param exprNode the expression AST's root to be checked.
+     * @return a ParseResult object as the result of checking the expression.
+     */
+    private ParseResult<ASTNode> checkValExpr(ASTNode exprNode) {
         if (!exprNode.isValExpr()) {
             return context.raiseErr(new ErrMsg("Expected a value expression", exprNode.getSrcRange()));
         }
-
-        return result;
+        return ParseResult.ok(exprNode);
     }
 
     /**
@@ -75,8 +168,10 @@ public class ExprSemanChecker {
             case ID -> result = checkId(exprNode);
             case UN_OP -> result = typeCheckUnExpr((UnOpASTNode) exprNode);
             case BIN_OP -> result = typeCheckBinExpr((BinOpASTNode) exprNode);
+            case OP_CHAIN -> result = typeCheckOpChain((OpChainASTNode) exprNode);
             case ARR_ACCESS -> result = checkArrAccess((ArrAccessASTNode) exprNode);
             case ARR_LITERAL -> result = checkArrLiteral((ArrLiteralASTNode) exprNode);
+            case PACKED_ARR_LITERAL -> result = typeCheckPackedArrLiteral((PackedArrLiteralASTNode) exprNode);
             default -> result = checkFunCall((FunCallASTNode) exprNode);
         }
 
@@ -114,7 +209,7 @@ public class ExprSemanChecker {
         }
 
         // Check if the id is valid
-        SymbolTable symbolTable = context.getScope().getSymbolTable();
+        ISymbolTable symbolTable = context.getSymbolTable();
         SymbolInfo symbol = symbolTable.getClosureSymbol(id);
         if (symbol == null || (symbol.getSymbolType() != SymbolType.VAR && symbol.getSymbolType() != SymbolType.PARAM)) {
             return context.raiseErr(new ErrMsg("Invalid identifier '" + id + "'", idTok));
@@ -122,8 +217,10 @@ public class ExprSemanChecker {
 
         dtype = symbol.getDtype();
         boolean mutable = symbol.isMutable();
-        idNode = new IdASTNode(idTok, dtype, mutable);
-        return ParseResult.ok(idNode);
+        IdASTNode resolvedIdNode = new IdASTNode(idTok, dtype, mutable);
+        resolvedIdNode.setAddr(symbol.getFrameDepth(), symbol.getSlot());
+        context.recordUse(symbol, resolvedIdNode);
+        return ParseResult.ok(resolvedIdNode);
     }
 
     /**
@@ -134,29 +231,41 @@ public class ExprSemanChecker {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> typeCheckUnExpr(UnOpASTNode unOpNode) throws IOException {
+        // Recursively analyze the semantics of the operand node
+        ParseResult<ASTNode> result = recurCheckSeman(unOpNode.getExprNode());
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        // Update the child node
+        unOpNode.setExprNode(result.getData());
+        return reduceUnExpr(unOpNode);
+    }
+
+    /**
+     * Checks the type compatibilities in a unary expression whose operand has been checked.
+     *
+     * @param unOpNode the unary expression AST's root.
+     * @return a ParseResult object as the result of type checking a unary expression.
+     */
+    private ParseResult<ASTNode> reduceUnExpr(UnOpASTNode unOpNode) {
         Tok opTok = unOpNode.getTok();
         String opVal = opTok.getVal();
         TokType opId = opTok.getTokType();
         ASTNode exprNode = unOpNode.getExprNode();
-
-        // Recursively analyze the semantics of the operand node
-        ParseResult<ASTNode> result = checkValExprSeman(exprNode);
+        ParseResult<ASTNode> result = checkValExpr(exprNode);
         if (result.getStatus() == ParseStatus.ERR) {
             return result;
         }
 
-        exprNode = result.getData();
         // Check the result's data type after applying the operator
         TypeInfo operandDtype = exprNode.getDtype();
-        OpCompat opCompat = new UnOpCompat(opId, operandDtype);
-        TypeInfo resultDtype = context.getOpTable().getCompatDtype(opCompat);
+        TypeInfo resultDtype = context.getOpTable().getCompatDtype(opId, operandDtype);
         if (resultDtype == null) {
             return context.raiseErr(new ErrMsg("Operator '" + opVal + "' is not compatible with data type '" +
                     operandDtype.getId() + "'", opTok));
         }
 
-        // Update the child node
-        unOpNode.setExprNode(exprNode);
         // Set the current node's data type to that of the result
         unOpNode.setDtype(resultDtype);
         return ParseResult.ok(unOpNode);
@@ -199,27 +308,40 @@ public class ExprSemanChecker {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> typeCheckBinExpr(BinOpASTNode binOpNode) throws IOException {
-        Tok opTok = binOpNode.getTok();
-        String opVal = opTok.getVal();
-        TokType opId = opTok.getTokType();
         // Recursively analyze the semantics of the left child
-        ASTNode leftNode = binOpNode.getLeft();
-        ParseResult<ASTNode> result = recurCheckSeman(leftNode);
+        ParseResult<ASTNode> result = recurCheckSeman(binOpNode.getLeft());
         if (result.getStatus() == ParseStatus.ERR) {
             return result;
         }
 
-        leftNode = result.getData();
-        TypeInfo leftDtype = leftNode.getDtype();
+        ASTNode leftNode = result.getData();
         // Recursively analyze the semantics of the right node
-        ASTNode rightNode = binOpNode.getRight();
-        result = recurCheckSeman(rightNode);
+        result = recurCheckSeman(binOpNode.getRight());
         if (result.getStatus() == ParseStatus.ERR) {
             return result;
         }
 
-        rightNode = result.getData();
+        // Update the left and right child
+        binOpNode.setLeft(leftNode);
+        binOpNode.setRight(result.getData());
+        return reduceBinExpr(binOpNode);
+    }
+
+    /**
+     * Checks the type compatibilities in a binary expression whose operands have been checked.
+     *
+     * @param binOpNode the binary expression AST's root.
+     * @return a ParseResult object as the result of type checking a binary expression.
+     */
+    private ParseResult<ASTNode> reduceBinExpr(BinOpASTNode binOpNode) {
+        Tok opTok = binOpNode.getTok();
+        String opVal = opTok.getVal();
+        TokType opId = opTok.getTokType();
+        ASTNode leftNode = binOpNode.getLeft();
+        TypeInfo leftDtype = leftNode.getDtype();
+        ASTNode rightNode = binOpNode.getRight();
         TypeInfo rightDtype = rightNode.getDtype();
+        ParseResult<ASTNode> result;
 
         if (opId == TokType.ASSIGNMENT) {
             // Check assignment operator
@@ -227,7 +349,6 @@ public class ExprSemanChecker {
             if (result.getStatus() == ParseStatus.ERR) {
                 return result;
             }
-            leftNode = result.getData();
         } else if (opId == TokType.TYPE_CONV) {
             // Check type conversion operator
             if (rightNode.getNodeType() != ASTNodeType.SIMPLE_DTYPE) {
@@ -240,21 +361,93 @@ public class ExprSemanChecker {
         }
 
         // Check the result's data type after applying the operator
-        OpCompat opCompat = new BinOpCompat(opId, leftDtype, rightDtype);
-        TypeInfo resultDtype = context.getOpTable().getCompatDtype(opCompat);
+        TypeInfo resultDtype = context.getOpTable().getCompatDtype(opId, leftDtype, rightDtype);
         if (resultDtype == null) {
             return context.raiseErr(new ErrMsg("Operator '" + opVal + "' is not compatible with type '" +
                     leftDtype.getId() + "' and type '" + rightDtype.getId() + "'", opTok));
         }
 
-        // Update the left and right child
-        binOpNode.setLeft(leftNode);
-        binOpNode.setRight(rightNode);
         // Set the current node's data type to that of the result
         binOpNode.setDtype(resultDtype);
         return ParseResult.ok(binOpNode);
     }
 
+    /**
+     * Checks the type compatibilities in a chain of the same operator, from left to right, in the same order as the
+     * chain of binary expressions it replaces.
+     *
+     * @param chainNode the chain's AST node.
+     * @return a ParseResult object as the result of type checking the chain.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> typeCheckOpChain(OpChainASTNode chainNode) throws IOException {
+        IASTNodeIterator operandIter = chainNode.nodeIterator();
+        int i = 0;
+
+        while (operandIter.hasNext()) {
+            ParseResult<ASTNode> result = recurCheckSeman(operandIter.next());
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+
+            // Update the operand node at the current position
+            operandIter.set(result.getData());
+            if (i > 0) {
+                // The operands on the left have been reduced to the chain's data type
+                TypeInfo leftDtype = i == 1 ? chainNode.getChild(0).getDtype() : chainNode.getDtype();
+                result = reduceChainOp(chainNode, i, leftDtype);
+                if (result.getStatus() == ParseStatus.ERR) {
+                    return result;
+                }
+            }
+            ++i;
+        }
+
+        return ParseResult.ok(chainNode);
+    }
+
+    /**
+     * Checks the last operator of a chain whose operands on the left have been reduced.
+     *
+     * @param chainNode the chain's AST node.
+     * @return a ParseResult object as the result of checking the operator.
+     */
+    private ParseResult<ASTNode> reduceOpChain(OpChainASTNode chainNode) {
+        int last = chainNode.countChildren() - 1;
+        TypeInfo leftDtype = last == 1 ? chainNode.getChild(0).getDtype() : chainNode.getDtype();
+        return reduceChainOp(chainNode, last, leftDtype);
+    }
+
+    /**
+     * Applies the operator preceding an operand of a chain, like reduceBinExpr does for a binary expression.
+     *
+     * @param chainNode the chain's AST node.
+     * @param i         the operand's position, which is at least 1.
+     * @param leftDtype the data type of the operands on the left after applying their operators.
+     * @return a ParseResult object as the result of checking the operator.
+     */
+    private ParseResult<ASTNode> reduceChainOp(OpChainASTNode chainNode, int i, TypeInfo leftDtype) {
+        Tok opTok = chainNode.getOpTok(i);
+        String opVal = opTok.getVal();
+        // The operands on the left of the first one are reduced to a binary expression, which is a value expression
+        boolean leftValExpr = i > 1 || chainNode.getChild(0).isValExpr();
+        ASTNode rightNode = chainNode.getChild(i);
+        TypeInfo rightDtype = rightNode.getDtype();
+        if (!leftValExpr || !rightNode.isValExpr()) {
+            return context.raiseErr(new ErrMsg("Each operand on both sides of '" + opVal +
+                    "' must be a value expression", opTok));
+        }
+
+        TypeInfo resultDtype = context.getOpTable().getCompatDtype(opTok.getTokType(), leftDtype, rightDtype);
+        if (resultDtype == null) {
+            return context.raiseErr(new ErrMsg("Operator '" + opVal + "' is not compatible with type '" +
+                    leftDtype.getId() + "' and type '" + rightDtype.getId() + "'", opTok));
+        }
+
+        chainNode.setDtype(resultDtype);
+        return ParseResult.ok(chainNode);
+    }
+
     /**
      * Checks if an array access expression is valid.
      *
@@ -263,56 +456,106 @@ public class ExprSemanChecker {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> checkArrAccess(ArrAccessASTNode arrAccessNode) throws IOException {
+        ParseResult<ASTNode> result = checkArrAccessHead(arrAccessNode);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        ExprListASTNode indexListNode = arrAccessNode.getIndexListNode();
+        IASTNodeIterator indexIter = indexListNode.nodeIterator();
+        int i = 0;
+
+        while (indexIter.hasNext()) {
+            result = recurCheckSeman(indexIter.next());
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+
+            result = checkArrIndex(result.getData());
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+
+            // Update the index node at the current position
+            indexIter.set(result.getData());
+            ++i;
+        }
+
+        return checkArrAccessTail(arrAccessNode, i);
+    }
+
+    /**
+     * Checks if the identifier of an array access expression is an array.
+     *
+     * @param arrAccessNode the AST node associated with the array access expression.
+     * @return a ParseResult object as the result of checking the array identifier.
+     */
+    private ParseResult<ASTNode> checkArrAccessHead(ArrAccessASTNode arrAccessNode) {
         IdASTNode arrIdNode = arrAccessNode.getIdNode();
         Tok arrIdTok = arrIdNode.getTok();
         String arrId = arrIdTok.getVal();
         // Check if the array id exists
-        SymbolTable symbolTable = context.getScope().getSymbolTable();
+        ISymbolTable symbolTable = context.getSymbolTable();
         SymbolInfo symbol = symbolTable.getClosureSymbol(arrId);
         if (symbol == null || (symbol.getSymbolType() != SymbolType.VAR && symbol.getSymbolType() != SymbolType.PARAM)) {
             return context.raiseErr(new ErrMsg("Invalid array identifier '" + arrId + "'", arrIdTok));
         }
+        // The id node is created by the parser, so it is resolved here like a plain identifier
+        TypeInfo dtype = symbol.getDtype();
+        arrIdNode.setDtype(dtype);
+        arrIdNode.setMutable(symbol.isMutable());
+        arrIdNode.setAddr(symbol.getFrameDepth(), symbol.getSlot());
+        context.recordUse(symbol, arrIdNode);
 
         // Check if the id is of type array
-        TypeInfo dtype = arrIdNode.getDtype();
-        if (dtype.getInfoType() != TypeInfoType.ARR) {
+        if (dtype == null || dtype.getInfoType() != TypeInfoType.ARR) {
             return context.raiseErr(new ErrMsg("Expected an array identifier '" + arrId + "'", arrIdTok));
         }
 
-        ParseResult<ASTNode> indexResult;
-        ASTNode indexNode;
-        ExprListASTNode indexListNode = arrAccessNode.getIndexListNode();
-        IASTNodeIterator indexIter = indexListNode.nodeIterator();
-        int i = 0;
-
-        while (indexIter.hasNext()) {
-            indexNode = indexIter.next();
-            indexResult = checkValExprSeman(indexNode);
-            if (indexResult.getStatus() == ParseStatus.ERR) {
-                return indexResult;
-            }
+        return ParseResult.ok(arrAccessNode);
+    }
 
-            // Check if each index is of type integer
-            indexNode = indexResult.getData();
-            if (!indexNode.getDtype().equals(IntType.getInst())) {
-                return context.raiseErr(new ErrMsg("Expected data type '" + IntType.ID + "' for array index",
-                        indexNode.getSrcRange()));
-            }
+    /**
+     * Checks if an array index whose semantics have been checked is an integer.
+     *
+     * @param indexNode the AST node associated with the index.
+     * @return a ParseResult object as the result of checking the index.
+     */
+    private ParseResult<ASTNode> checkArrIndex(ASTNode indexNode) {
+        ParseResult<ASTNode> result = checkValExpr(indexNode);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
 
-            // Update the index node at the current position
-            indexIter.set(indexNode);
-            ++i;
+        // Check if each index is of type integer
+        if (!indexNode.getDtype().equals(IntType.getInst())) {
+            return context.raiseErr(new ErrMsg("Expected data type '" + IntType.ID + "' for array index",
+                    indexNode.getSrcRange()));
         }
 
-        ArrTypeInfo arrDtype = (ArrTypeInfo) dtype;
-        int newArrDim = arrDtype.getDim() - i;
+        return result;
+    }
+
+    /**
+     * Computes the data type of an array access expression from the number of indices.
+     *
+     * @param arrAccessNode the AST node associated with the array access expression.
+     * @param numIndices    the number of indices.
+     * @return a ParseResult object as the result of checking the array access expression.
+     */
+    private ParseResult<ASTNode> checkArrAccessTail(ArrAccessASTNode arrAccessNode, int numIndices) {
+        IdASTNode arrIdNode = arrAccessNode.getIdNode();
+        Tok arrIdTok = arrIdNode.getTok();
+        ArrTypeInfo arrDtype = (ArrTypeInfo) arrIdNode.getDtype();
+        int newArrDim = arrDtype.getDim() - numIndices;
         if (newArrDim < 0) {
-            return context.raiseErr(new ErrMsg("Cannot get element from non-array object '" + arrId + "'", arrIdTok));
+            return context.raiseErr(new ErrMsg("Cannot get element from non-array object '" + arrIdTok.getVal() + "'",
+                    arrIdTok));
         }
 
+        // Indexing every dimension gives an element of the core data type
         TypeInfo coreDtype = arrDtype.getCoreDtype();
-        ArrTypeInfo newArrDtype = new ArrTypeInfo(coreDtype, newArrDim);
-        arrAccessNode.setDtype(newArrDtype);
+        arrAccessNode.setDtype(newArrDim == 0 ? coreDtype : ArrTypeInfo.getInst(coreDtype, newArrDim));
         return ParseResult.ok(arrAccessNode);
     }
 
@@ -324,73 +567,111 @@ public class ExprSemanChecker {
      * @throws IOException if there is an IO exception.
      */
     private ParseResult<ASTNode> checkArrLiteral(ArrLiteralASTNode arrLiteralNode) throws IOException {
+        if (context.isParallelArrCheck() &&
+                new ArrLiteralTypeInferrer(context.getTypeTable(), context.getOpTable()).infer(arrLiteralNode)) {
+            // The literal is constant and type checks, otherwise it is checked again below to find the error
+            return ParseResult.ok(arrLiteralNode);
+        }
+
         ParseResult<ASTNode> elmResult;
-        ASTNode elmNode;
-        TypeInfo elmDtype, coreArrDtype, coreElmDtype, coreResultDtype;
-        ArrTypeInfo arrDtype, elmArrDtype;
-        int arrDim, elmArrDim;
         IASTNodeIterator elmIter = arrLiteralNode.nodeIterator();
-        boolean firstElm = true;
+        int i = 0;
 
         while (elmIter.hasNext()) {
-            elmNode = elmIter.next();
-            elmResult = checkValExprSeman(elmNode);
+            elmResult = recurCheckSeman(elmIter.next());
             if (elmResult.getStatus() == ParseStatus.ERR) {
                 return elmResult;
             }
 
-            // Check if the current element node's data type is compatible with that of the array
-            elmNode = elmResult.getData();
-            arrDtype = (ArrTypeInfo) arrLiteralNode.getDtype();
-            elmDtype = elmNode.getDtype();
-
-            if (firstElm) {
-                firstElm = false;
-                if (elmDtype.getInfoType() != TypeInfoType.ARR) {
-                    // The element is not an array
-                    arrDtype.setCoreDtype(elmDtype);
-                } else {
-                    elmArrDtype = (ArrTypeInfo) elmDtype;
-                    coreArrDtype = elmArrDtype.getCoreDtype();
-                    elmArrDim = elmArrDtype.getDim();
-                    arrDim = elmArrDim + 1;
-                    arrDtype.setCoreDtype(coreArrDtype);
-                    arrDtype.setDim(arrDim);
-                }
+            elmResult = checkArrElm(arrLiteralNode, elmResult.getData(), i);
+            if (elmResult.getStatus() == ParseStatus.ERR) {
+                return elmResult;
+            }
+
+            // Update the element node at the current position
+            elmIter.set(elmResult.getData());
+            ++i;
+        }
+
+        return ParseResult.ok(arrLiteralNode);
+    }
+
+    /**
+     * Assigns data types to a packed array literal, whose elements are literals of the same type.
+     *
+     * @param packedNode the AST node associated with the packed array literal.
+     * @return a ParseResult object as the result of assigning the data types.
+     */
+    private ParseResult<ASTNode> typeCheckPackedArrLiteral(PackedArrLiteralASTNode packedNode) {
+        TypeInfo elmDtype = context.getTypeTable().getType(packedNode.getElmTokType());
+        packedNode.setElmDtype(elmDtype);
+        packedNode.setDtype(ArrTypeInfo.getInst(elmDtype, 1));
+        // Ends at the last element like an array literal whose elements have been updated by checkArrLiteral
+        packedNode.setEndPos(packedNode.getElmEndPos(packedNode.countElms() - 1));
+        return ParseResult.ok(packedNode);
+    }
+
+    /**
+     * Checks if the data type of an array literal's element is compatible with that of the array.
+     *
+     * @param arrLiteralNode the AST node associated with the array literal.
+     * @param elmNode        the element node whose semantics have been checked.
+     * @param i              the element's position in the array.
+     * @return a ParseResult object as the result of checking the element.
+     */
+    private ParseResult<ASTNode> checkArrElm(ArrLiteralASTNode arrLiteralNode, ASTNode elmNode, int i) {
+        TypeInfo elmDtype, coreArrDtype, coreElmDtype, coreResultDtype;
+        ArrTypeInfo elmArrDtype;
+        int arrDim, elmArrDim;
+        ParseResult<ASTNode> elmResult = checkValExpr(elmNode);
+        if (elmResult.getStatus() == ParseStatus.ERR) {
+            return elmResult;
+        }
+
+        // Check if the current element node's data type is compatible with that of the array
+        ArrTypeInfo arrDtype = (ArrTypeInfo) arrLiteralNode.getDtype();
+        elmDtype = elmNode.getDtype();
+
+        if (i == 0) {
+            if (elmDtype.getInfoType() != TypeInfoType.ARR) {
+                // The element is not an array
+                arrLiteralNode.setDtype(ArrTypeInfo.getInst(elmDtype, arrDtype.getDim()));
             } else {
-                arrDim = arrDtype.getDim();
-                // Check if the dimensions match
-                if (elmDtype.getInfoType() != TypeInfoType.ARR) {
-                    if (arrDim != 1) {
-                        return context.raiseErr(new ErrMsg("Arrays cannot be heterogeneous", elmNode.getSrcRange()));
-                    }
-                    coreElmDtype = elmDtype;
-                } else {
-                    elmArrDtype = (ArrTypeInfo) elmDtype;
-                    elmArrDim = elmArrDtype.getDim();
-                    if (arrDim != elmArrDim + 1) {
-                        return context.raiseErr(new ErrMsg("Arrays cannot be heterogeneous", elmNode.getSrcRange()));
-                    }
-                    coreElmDtype = elmArrDtype.getCoreDtype();
+                elmArrDtype = (ArrTypeInfo) elmDtype;
+                coreArrDtype = elmArrDtype.getCoreDtype();
+                elmArrDim = elmArrDtype.getDim();
+                arrDim = elmArrDim + 1;
+                arrLiteralNode.setDtype(ArrTypeInfo.getInst(coreArrDtype, arrDim));
+            }
+        } else {
+            arrDim = arrDtype.getDim();
+            // Check if the dimensions match
+            if (elmDtype.getInfoType() != TypeInfoType.ARR) {
+                if (arrDim != 1) {
+                    return context.raiseErr(new ErrMsg("Arrays cannot be heterogeneous", elmNode.getSrcRange()));
                 }
-
-                // Treat the current node as a type conversion node and check if the data types are compatible
-                coreArrDtype = arrDtype.getCoreDtype();
-                OpCompat opCompat = new BinOpCompat(TokType.ARR_TYPE_CONV, coreArrDtype, coreElmDtype);
-                coreResultDtype = context.getOpTable().getCompatDtype(opCompat);
-                if (coreResultDtype == null) {
-                    return context.raiseErr(new ErrMsg("Unable to have data of type '" + coreElmDtype.getId() +
-                            "' in an array of type '" + coreArrDtype.getId() + "'", elmNode.getSrcRange()));
+                coreElmDtype = elmDtype;
+            } else {
+                elmArrDtype = (ArrTypeInfo) elmDtype;
+                elmArrDim = elmArrDtype.getDim();
+                if (arrDim != elmArrDim + 1) {
+                    return context.raiseErr(new ErrMsg("Arrays cannot be heterogeneous", elmNode.getSrcRange()));
                 }
+                coreElmDtype = elmArrDtype.getCoreDtype();
+            }
 
-                arrDtype.setCoreDtype(coreResultDtype);
+            // Treat the current node as a type conversion node and check if the data types are compatible
+            coreArrDtype = arrDtype.getCoreDtype();
+            coreResultDtype = context.getOpTable().getCompatDtype(TokType.ARR_TYPE_CONV, coreArrDtype, coreElmDtype);
+            if (coreResultDtype == null) {
+                return context.raiseErr(new ErrMsg("Unable to have data of type '" + coreElmDtype.getId() +
+                        "' in an array of type '" + coreArrDtype.getId() + "'", elmNode.getSrcRange()));
             }
 
-            // Update the element node at the current position
-            elmIter.set(elmNode);
+            arrLiteralNode.setDtype(ArrTypeInfo.getInst(coreResultDtype, arrDim));
         }
 
-        return ParseResult.ok(arrLiteralNode);
+        return elmResult;
     }
 
     /**
@@ -400,52 +681,98 @@ public class ExprSemanChecker {
      * @return a ParseResult object as the result of checking the function call.
      */
     private ParseResult<ASTNode> checkFunCall(FunCallASTNode funCallNode) throws IOException {
+        ParseResult<ASTNode> result = checkFunCallHead(funCallNode);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        MultichildASTNode argListNode = funCallNode.getArgListNode();
+        IASTNodeIterator argIter = argListNode.nodeIterator();
+        int i = 0;
+
+        while (argIter.hasNext()) {
+            result = recurCheckSeman(argIter.next());
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+
+            result = checkArg(result.getData(), i);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+
+            // Update the argument node at the current position
+            argIter.set(result.getData());
+            ++i;
+        }
+
+        return checkFunCallTail(funCallNode, i);
+    }
+
+    /**
+     * Checks if the identifier of a function call refers to a function.
+     *
+     * @param funCallNode the AST node associated with the function call.
+     * @return a ParseResult object as the result of checking the function identifier.
+     */
+    private ParseResult<ASTNode> checkFunCallHead(FunCallASTNode funCallNode) {
         IdASTNode funIdNode = funCallNode.getIdNode();
         Tok funIdTok = funIdNode.getTok();
         String funId = funIdTok.getVal();
         // Check if the function id exists
-        SymbolTable symbolTable = context.getScope().getSymbolTable();
+        ISymbolTable symbolTable = context.getSymbolTable();
         SymbolInfo symbol = symbolTable.getClosureSymbol(funId);
         if (symbol == null || symbol.getSymbolType() != SymbolType.FUNCTION) {
             return context.raiseErr(new ErrMsg("Invalid function identifier '" + funId + "'", funIdTok));
         }
+        context.recordUse(symbol, funIdNode);
+        calledFuns.push((FunInfo) symbol);
 
-        FunInfo funInfo = (FunInfo) symbol;
-        Iterator<TypeInfo> paramDtypesIter = funInfo.iterator();
-        TypeInfo paramDtype;
-        ParseResult<ASTNode> argResult;
-        ASTNode argNode;
-        MultichildASTNode argListNode = funCallNode.getArgListNode();
-        IASTNodeIterator argIter = argListNode.nodeIterator();
-        int i = 0;
+        // The function's return type is set here so that the arguments can be checked against its parameters
+        funCallNode.setDtype(symbol.getDtype());
+        return ParseResult.ok(funCallNode);
+    }
 
-        while (argIter.hasNext()) {
-            argNode = argIter.next();
-            // Check if each argument type is as expected
-            paramDtype = paramDtypesIter.next();
-            argResult = checkValExprSeman(argNode);
-            if (argResult.getStatus() == ParseStatus.ERR) {
-                return argResult;
-            }
+    /**
+     * Checks if the data type of an argument whose semantics have been checked is as expected.
+     *
+     * @param argNode the argument node.
+     * @param i       the argument's position in the argument list.
+     * @return a ParseResult object as the result of checking the argument.
+     */
+    private ParseResult<ASTNode> checkArg(ASTNode argNode, int i) {
+        ParseResult<ASTNode> argResult = checkValExpr(argNode);
+        if (argResult.getStatus() == ParseStatus.ERR) {
+            return argResult;
+        }
 
-            argNode = argResult.getData();
+        // Extra arguments are reported when the number of arguments is checked
+        FunInfo funInfo = calledFuns.peek();
+        if (i < funInfo.countParams()) {
+            TypeInfo paramDtype = funInfo.getParamDtype(i);
             if (!argNode.getDtype().equals(paramDtype)) {
                 return context.raiseErr(new ErrMsg("Expected type '" + paramDtype.getId() + "' for argument " + i,
                         argNode.getSrcRange()));
             }
-
-            // Update the argument node at the current position
-            argIter.set(argNode);
-            ++i;
         }
 
-        int numArgs = funInfo.countParams();
-        if (i != numArgs) {
-            return context.raiseErr(new ErrMsg("Expected the number of arguments to be " + numArgs + " but got " +
-                    i + " for function '" + funId + "'", argListNode.getSrcRange()));
-        }
+        return argResult;
+    }
 
-        funCallNode.setDtype(funInfo.getDtype());
+    /**
+     * Checks if the number of arguments matches that of the function's parameters.
+     *
+     * @param funCallNode the AST node associated with the function call.
+     * @param numArgs     the number of arguments.
+     * @return a ParseResult object as the result of checking the function call.
+     */
+    private ParseResult<ASTNode> checkFunCallTail(FunCallASTNode funCallNode, int numArgs) {
+        int numParams = calledFuns.pop().countParams();
+        if (numArgs != numParams) {
+            return context.raiseErr(new ErrMsg("Expected the number of arguments to be " + numParams + " but got " +
+                    numArgs + " for function '" + funCallNode.getIdNode().getTok().getVal() + "'",
+                    funCallNode.getArgListNode().getSrcRange()));
+        }
         return ParseResult.ok(funCallNode);
     }
 }
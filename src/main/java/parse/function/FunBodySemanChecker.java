@@ -0,0 +1,48 @@
+package parse.function;
+
+import ast.ASTNode;
+import ast.FunDefASTNode;
+import ast.RetASTNode;
+import ast.ScopeASTNode;
+import exceptions.ErrMsg;
+import keywords.KeywordTable;
+import parse.scope.RetState;
+import parse.scope.Scope;
+import parse.utils.ParseContext;
+import parse.utils.ParseResult;
+import toks.SrcPos;
+import toks.Tok;
+import toks.TokType;
+import types.VoidType;
+
+public class FunBodySemanChecker {
+    /**
+     * Checks if the body of a function returns a value when the function does not return void, and records the size
+     * of the function's frame.
+     *
+     * @param funDefNode the function definition AST's root whose body has been checked.
+     * @param funScope   the function scope that has been popped off the scope stack.
+     * @param context    the parsing context.
+     * @return a ParseResult object as the result of checking the function body.
+     */
+    public ParseResult<ASTNode> checkSeman(FunDefASTNode funDefNode, Scope funScope, ParseContext context) {
+        // The parameters and all the local variables have been allocated their slots
+        funDefNode.setFrameSize(funScope.getFrameSize());
+
+        // Check if the return statement is present
+        if (funScope.getRetState() != RetState.EXIST) {
+            long funDefEnd = funDefNode.getEndPos();
+            if (funDefNode.getDtype() != VoidType.getInst()) {
+                return context.raiseErr(new ErrMsg("Missing a return statement", SrcPos.unpack(funDefEnd)));
+            } else {
+                // Add a dummy return statement to the body
+                Tok retTok = new Tok(KeywordTable.RET, TokType.RET, funDefEnd, funDefEnd);
+                RetASTNode retNode = new RetASTNode(retTok, VoidType.getInst());
+                ScopeASTNode bodyNode = funDefNode.getBodyNode();
+                bodyNode.addChild(retNode);
+            }
+        }
+
+        return ParseResult.ok(funDefNode);
+    }
+}
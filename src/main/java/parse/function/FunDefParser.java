@@ -2,35 +2,31 @@ package parse.function;
 
 import ast.ASTNode;
 import ast.FunDefASTNode;
-import ast.RetASTNode;
 import ast.ScopeASTNode;
 import exceptions.ErrMsg;
-import keywords.KeywordTable;
 import parse.scope.*;
 import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
-import toks.SrcPos;
-import toks.SrcRange;
-import toks.Tok;
-import toks.TokType;
-import types.VoidType;
 
 import java.io.IOException;
 
 public class FunDefParser {
     private FunHeadParser funHeadParser;
     private ScopeParser scopeParser;
+    private FunBodySemanChecker semanChecker;
 
     /**
      * Initializes the dependencies.
      *
      * @param funHeadParser a function header parser.
      * @param scopeParser   a scope parser for parsing the function body.
+     * @param semanChecker  a semantic checker for the function body.
      */
-    public void init(FunHeadParser funHeadParser, ScopeParser scopeParser) {
+    public void init(FunHeadParser funHeadParser, ScopeParser scopeParser, FunBodySemanChecker semanChecker) {
         this.funHeadParser = funHeadParser;
         this.scopeParser = scopeParser;
+        this.semanChecker = semanChecker;
     }
 
     /**
@@ -60,20 +56,9 @@ public class FunDefParser {
         // Pop function scope that was pushed earlier when the parameter list and the return type was parsed
         ScopeStack scopeStack = context.getScopeStack();
         Scope funScope = scopeStack.pop();
-
-        // Check if the return statement is present
-        if (funScope.getRetState() != RetState.EXIST) {
-            SrcPos funDefEnd = funDefNode.getSrcRange().getEndPos();
-            if (funDefNode.getDtype() != VoidType.getInst()) {
-                return context.raiseErr(new ErrMsg("Missing a return statement", funDefEnd));
-            } else {
-                // Add a dummy return statement to the body
-                Tok retTok = new Tok(KeywordTable.RET, TokType.RET, new SrcRange(funDefEnd));
-                RetASTNode retNode = new RetASTNode(retTok, VoidType.getInst());
-                bodyNode.addChild(retNode);
-            }
+        if (context.isSyntaxOnly()) {
+            return ParseResult.ok(funDefNode);
         }
-
-        return ParseResult.ok(funDefNode);
+        return semanChecker.checkSeman(funDefNode, funScope, context);
     }
 }
@@ -3,9 +3,9 @@ package parse.function;
 import ast.*;
 import exceptions.ErrMsg;
 import parse.dtype.DtypeParser;
+import parse.scope.FunScope;
+import parse.scope.ScopeStack;
 import parse.utils.*;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 
@@ -47,7 +47,7 @@ public class FunHeadParser {
             return ParseResult.fail(kwResult.getFailTok());
         }
 
-        if (context.getScope().isInFun() != null) {
+        if (context.getScope().getFunScope() != null) {
             // Function is defined inside another function
             return context.raiseErr(new ErrMsg("A function definition cannot exist inside another function",
                     kwResult.getData()));
@@ -74,6 +74,12 @@ public class FunHeadParser {
         FunSignASTNode funSignNode = (FunSignASTNode) funSignResult.getData();
         funDefNode.setIdNode(funIdNode);
         funDefNode.setSignNode(funSignNode);
+        if (context.isSyntaxOnly()) {
+            // The function scope is pushed by the semantic checker otherwise
+            ScopeStack scopeStack = context.getScopeStack();
+            scopeStack.push(new FunScope(scopeStack.peek(), null));
+            return ParseResult.ok(funDefNode);
+        }
         return semanChecker.checkSeman(funDefNode, context);
     }
 
@@ -126,7 +132,7 @@ public class FunHeadParser {
         }
 
         Tok parenTok = parenResult.getData();
-        SrcPos paramListStartPos = parenTok.getSrcRange().getStartPos();
+        long paramListStartPos = parenTok.getStartPos();
         ParamListASTNode paramListNode = new ParamListASTNode();
         ParseResult<Tok> commaResult;
         ParseResult<ASTNode> paramResult;
@@ -163,9 +169,8 @@ public class FunHeadParser {
         }
 
         parenTok = parenResult.getData();
-        SrcPos paramListEndPos = parenTok.getSrcRange().getEndPos();
-        SrcRange paramListRange = new SrcRange(paramListStartPos, paramListEndPos);
-        paramListNode.setSrcRange(paramListRange);
+        paramListNode.setStartPos(paramListStartPos);
+        paramListNode.setEndPos(parenTok.getEndPos());
         return ParseResult.ok(paramListNode);
     }
 
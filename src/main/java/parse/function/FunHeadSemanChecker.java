@@ -9,8 +9,8 @@ import parse.utils.ParseContext;
 import parse.utils.ParseResult;
 import parse.utils.ParseStatus;
 import symbols.FunInfo;
+import symbols.ISymbolTable;
 import symbols.ParamInfo;
-import symbols.SymbolTable;
 import toks.Tok;
 import types.TypeInfo;
 import types.VoidType;
@@ -99,7 +99,7 @@ public class FunHeadSemanChecker {
         }
 
         // Check if the function id has been defined
-        SymbolTable symbolTable = context.getScope().getSymbolTable();
+        ISymbolTable symbolTable = context.getSymbolTable();
         if (symbolTable.getLocalSymbol(id) != null) {
             return context.raiseErr(new ErrMsg("Identifier '" + id + "' cannot be redeclared", idTok));
         }
@@ -107,6 +107,7 @@ public class FunHeadSemanChecker {
         // Create a new function
         FunInfo funInfo = new FunInfo(id, null);
         symbolTable.registerSymbol(funInfo);
+        context.recordDef(funInfo, idNode);
         return ParseResult.ok(funInfo);
     }
 
@@ -126,7 +127,7 @@ public class FunHeadSemanChecker {
         scopeStack.push(funScope);
 
         for (ASTNode paramDeclNode : paramListNode) {
-            paramResult = checkParam((ParamDeclASTNode) paramDeclNode, funScope);
+            paramResult = checkParam((ParamDeclASTNode) paramDeclNode);
             if (paramResult.getStatus() == ParseStatus.ERR) {
                 return ParseResult.err();
             }
@@ -141,15 +142,15 @@ public class FunHeadSemanChecker {
      * Checks if a parameter declaration, including its name and data type, is valid.
      *
      * @param paramDeclNode the AST node associated with the parameter declaration.
-     * @param paramScope    the scope containing the parameter.
      * @return a ParseResult object as the result of checking the parameter declaration.
      */
-    private ParseResult<TypeInfo> checkParam(ParamDeclASTNode paramDeclNode, Scope paramScope) {
+    private ParseResult<TypeInfo> checkParam(ParamDeclASTNode paramDeclNode) {
         // Check if the parameter has been declared
         IdASTNode nameNode = paramDeclNode.getIdNode();
         Tok nameTok = nameNode.getTok();
         String name = nameTok.getVal();
-        SymbolTable symbolTable = paramScope.getSymbolTable();
+        // The function scope containing the parameter is on top of the stack
+        ISymbolTable symbolTable = context.getSymbolTable();
         if (symbolTable.getLocalSymbol(name) != null) {
             return context.raiseErr(new ErrMsg("Parameter '" + name + "' cannot be redeclared", nameTok));
         }
@@ -165,6 +166,9 @@ public class FunHeadSemanChecker {
         // Add parameter to the symbol table
         ParamInfo paramInfo = new ParamInfo(name, dtype);
         symbolTable.registerSymbol(paramInfo);
+        context.getScope().allocSlot(paramInfo);
+        nameNode.setAddr(paramInfo.getFrameDepth(), paramInfo.getSlot());
+        context.recordDef(paramInfo, nameNode);
         nameNode.setDtype(dtype);
         dtypeNode.setDtype(dtype);
         paramDeclNode.setDtype(dtype);
@@ -0,0 +1,63 @@
+# Machine-readable form of the grammar in parse/Grammar.md
+# Run LLTableGen on this file to regenerate LLTable.java after changing it
+#
+# Notations:
+# * Nonterminals are written in lowercase and separated by '-'.
+# * Terminals are written in uppercase and must be the name of a TokType.
+# * 'eps' stands for the empty string.
+# * Alternatives are separated by '|' and can be continued on the following lines.
+# * The first rule defines the start symbol, which is followed by EOS.
+
+module -> scope
+
+scope -> scope-item scope | eps
+scope-item -> function | if-statement | while-statement | block | statement
+
+block -> LCURLY scope RCURLY
+
+function -> FUN_DECL ID parameter-clause function-return-type block
+function-return-type -> type-annotation | eps
+parameter-clause -> LPAREN parameter-list RPAREN
+parameter-list -> parameter parameter-list-tail | eps
+parameter-list-tail -> COMMA parameter parameter-list-tail | eps
+parameter -> ID type-annotation
+type-annotation -> COLON ID
+
+if-statement -> IF condition block else-clause
+else-clause -> ELIF condition block else-clause | ELSE block | eps
+while-statement -> WHILE condition while-body
+while-body -> block | SEMI
+condition -> LPAREN expression RPAREN
+
+statement -> declaration SEMI
+    | return-statement SEMI
+    | BREAK SEMI
+    | CONT SEMI
+    | expression SEMI
+    | SEMI
+
+declaration -> declaration-head ID declaration-tail
+declaration-head -> VAR_DECL | CONST_DECL
+declaration-tail -> type-annotation optional-initializer | initializer
+optional-initializer -> initializer | eps
+initializer -> ASSIGNMENT expression
+
+return-statement -> RET return-value
+return-value -> expression | eps
+
+expression -> prefix-expression infix-tail
+infix-tail -> infix-operator prefix-expression infix-tail | eps
+infix-operator -> ASSIGNMENT | LOG_OR | LOG_AND | EQ | NEQ | LESS | GREATER | LEQ | GEQ
+    | SHL | ART_SHR | LOG_SHR | ADD | SUB | MUL | DIV | MOD | TYPE_CONV
+prefix-expression -> prefix-operator prefix-expression | primary-expression
+prefix-operator -> ADD | SUB | LOG_NOT
+primary-expression -> identifier-clause | literal | array-literal | parenthesized-expression
+identifier-clause -> ID identifier-suffix
+identifier-suffix -> function-call-argument-clause | array-access-expression | eps
+function-call-argument-clause -> LPAREN expression-list RPAREN
+array-access-expression -> LSQUARE expression-list RSQUARE
+array-literal -> LSQUARE expression-list RSQUARE
+expression-list -> expression expression-list-tail | eps
+expression-list-tail -> COMMA expression expression-list-tail | eps
+literal -> INT_LITERAL | FLOAT_LITERAL | BOOL_LITERAL
+parenthesized-expression -> LPAREN expression RPAREN
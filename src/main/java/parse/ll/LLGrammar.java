@@ -0,0 +1,267 @@
+package parse.ll;
+
+import toks.TokType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+// Context-free grammar read from its machine-readable form along with its FIRST and FOLLOW sets
+// Terminals are encoded as TokType ordinals and nonterminals as indices into the list of nonterminals
+public class LLGrammar {
+    public static final String EPS = "eps";
+    private static final String ARROW = "->";
+    private static final String ALT = "|";
+    private static final String COMMENT = "#";
+    private final List<String> nonterminals = new ArrayList<>();
+    private final HashMap<String, Integer> nonterminalMap = new HashMap<>();
+    // Each production is stored as its left-hand side and its right-hand side symbols
+    // A symbol on the right-hand side is either a nonterminal(>= 0) or a terminal encoded as -(ordinal + 1)
+    private final List<Integer> prodLhsList = new ArrayList<>();
+    private final List<int[]> prodRhsList = new ArrayList<>();
+    private BitSet[] firstSets;
+    private BitSet[] followSets;
+    private boolean[] nullable;
+
+    private LLGrammar() {
+    }
+
+    /**
+     * Reads a grammar and computes its FIRST and FOLLOW sets.
+     *
+     * @param reader the reader of the grammar's machine-readable form.
+     * @return an LLGrammar object.
+     * @throws IOException if the read operation causes an IO error.
+     */
+    public static LLGrammar read(Reader reader) throws IOException {
+        LLGrammar grammar = new LLGrammar();
+        List<String[]> rules = grammar.readRules(new BufferedReader(reader));
+        for (String[] rule : rules) {
+            grammar.addRule(rule);
+        }
+        grammar.computeFirstSets();
+        grammar.computeFollowSets();
+        return grammar;
+    }
+
+    /**
+     * Reads the rules as lists of words, joining alternatives that continue on the following lines.
+     *
+     * @param reader the reader of the grammar's machine-readable form.
+     * @return a list of rules.
+     * @throws IOException if the read operation causes an IO error.
+     */
+    private List<String[]> readRules(BufferedReader reader) throws IOException {
+        List<String[]> rules = new ArrayList<>();
+        StringBuilder ruleStr = null;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            int commentStart = line.indexOf(COMMENT);
+            if (commentStart >= 0) {
+                line = line.substring(0, commentStart);
+            }
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith(ALT)) {
+                if (ruleStr == null) {
+                    throw new IllegalArgumentException("Alternative without a rule: '" + line + "'");
+                }
+                ruleStr.append(' ').append(line);
+            } else {
+                if (ruleStr != null) {
+                    rules.add(ruleStr.toString().split("\\s+"));
+                }
+                ruleStr = new StringBuilder(line);
+            }
+        }
+
+        if (ruleStr != null) {
+            rules.add(ruleStr.toString().split("\\s+"));
+        }
+
+        // Register the left-hand sides first so that rules can refer to nonterminals defined later
+        for (String[] rule : rules) {
+            if (rule.length < 2 || !rule[1].equals(ARROW)) {
+                throw new IllegalArgumentException("Expected '" + ARROW + "' after '" + rule[0] + "'");
+            }
+            if (nonterminalMap.containsKey(rule[0])) {
+                throw new IllegalArgumentException("Nonterminal '" + rule[0] + "' is defined more than once");
+            }
+            nonterminalMap.put(rule[0], nonterminals.size());
+            nonterminals.add(rule[0]);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Adds the productions of a rule in the form 'lhs -> alt | alt ...'.
+     *
+     * @param rule the rule as a list of words.
+     */
+    private void addRule(String[] rule) {
+        int lhs = nonterminalMap.get(rule[0]);
+        List<Integer> rhs = new ArrayList<>();
+
+        for (int i = 2; i <= rule.length; ++i) {
+            if (i == rule.length || rule[i].equals(ALT)) {
+                prodLhsList.add(lhs);
+                prodRhsList.add(rhs.stream().mapToInt(Integer::intValue).toArray());
+                rhs.clear();
+            } else if (!rule[i].equals(EPS)) {
+                rhs.add(encodeSymbol(rule[i]));
+            }
+        }
+    }
+
+    /**
+     * Encodes a symbol on the right-hand side of a production.
+     *
+     * @param symbolStr the symbol's name.
+     * @return the nonterminal's index or the terminal encoded as -(ordinal + 1).
+     */
+    private int encodeSymbol(String symbolStr) {
+        Integer nonterminal = nonterminalMap.get(symbolStr);
+        if (nonterminal != null) {
+            return nonterminal;
+        }
+        try {
+            return -(TokType.valueOf(symbolStr).ordinal() + 1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown symbol '" + symbolStr + "'");
+        }
+    }
+
+    /**
+     * Computes the FIRST set and the nullability of every nonterminal using fixed-point iteration.
+     */
+    private void computeFirstSets() {
+        int numNonterminals = nonterminals.size();
+        firstSets = new BitSet[numNonterminals];
+        nullable = new boolean[numNonterminals];
+        for (int i = 0; i < numNonterminals; ++i) {
+            firstSets[i] = new BitSet();
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < prodLhsList.size(); ++i) {
+                int lhs = prodLhsList.get(i);
+                BitSet first = firstSets[lhs];
+                int oldCardinality = first.cardinality();
+                boolean rhsNullable = addFirst(prodRhsList.get(i), 0, first);
+                if (rhsNullable && !nullable[lhs]) {
+                    nullable[lhs] = true;
+                    changed = true;
+                }
+                changed |= first.cardinality() != oldCardinality;
+            }
+        }
+    }
+
+    /**
+     * Adds the FIRST set of a sequence of symbols to the given set.
+     *
+     * @param symbols the sequence of symbols.
+     * @param start   the index where the sequence starts.
+     * @param first   the set to be updated.
+     * @return true if the sequence is nullable and false otherwise.
+     */
+    private boolean addFirst(int[] symbols, int start, BitSet first) {
+        for (int i = start; i < symbols.length; ++i) {
+            int symbol = symbols[i];
+            if (symbol < 0) {
+                first.set(-symbol - 1);
+                return false;
+            }
+            first.or(firstSets[symbol]);
+            if (!nullable[symbol]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the FOLLOW set of every nonterminal using fixed-point iteration.
+     */
+    private void computeFollowSets() {
+        int numNonterminals = nonterminals.size();
+        followSets = new BitSet[numNonterminals];
+        for (int i = 0; i < numNonterminals; ++i) {
+            followSets[i] = new BitSet();
+        }
+        // The start symbol is followed by the end of stream
+        followSets[0].set(TokType.EOS.ordinal());
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < prodLhsList.size(); ++i) {
+                int lhs = prodLhsList.get(i);
+                int[] rhs = prodRhsList.get(i);
+                for (int j = 0; j < rhs.length; ++j) {
+                    if (rhs[j] < 0) {
+                        continue;
+                    }
+                    BitSet follow = followSets[rhs[j]];
+                    int oldCardinality = follow.cardinality();
+                    if (addFirst(rhs, j + 1, follow)) {
+                        follow.or(followSets[lhs]);
+                    }
+                    changed |= follow.cardinality() != oldCardinality;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the set of lookahead tokens that predict a production.
+     *
+     * @param prod the production's index.
+     * @return a set of TokType ordinals.
+     */
+    public BitSet predictSet(int prod) {
+        BitSet predict = new BitSet();
+        if (addFirst(prodRhsList.get(prod), 0, predict)) {
+            predict.or(followSets[prodLhsList.get(prod)]);
+        }
+        return predict;
+    }
+
+    public List<String> getNonterminals() {
+        return nonterminals;
+    }
+
+    public int countProds() {
+        return prodLhsList.size();
+    }
+
+    public int getProdLhs(int prod) {
+        return prodLhsList.get(prod);
+    }
+
+    public int[] getProdRhs(int prod) {
+        return prodRhsList.get(prod);
+    }
+
+    public BitSet getFirstSet(int nonterminal) {
+        return firstSets[nonterminal];
+    }
+
+    public BitSet getFollowSet(int nonterminal) {
+        return followSets[nonterminal];
+    }
+
+    public boolean isNullable(int nonterminal) {
+        return nullable[nonterminal];
+    }
+}
@@ -0,0 +1,26 @@
+package parse.ll;
+
+import toks.Tok;
+import toks.TokType;
+
+// Table-driven driver that predicts which production to parse from a single lookahead token
+// Only the choices of the scope items, the statements, the primary expressions and the identifier suffixes are
+// predicted with it. The other productions are parsed by the hand-written sub-parsers
+public class LLPredictor {
+    public LLPredictor() {
+        if (TokType.values().length != LLTable.NUM_TOKS) {
+            throw new IllegalStateException("LLTable is out of date, run LLTableGen on Grammar.ll");
+        }
+    }
+
+    /**
+     * Predicts the production to expand a nonterminal with.
+     *
+     * @param nonterminal the nonterminal defined in LLTable.
+     * @param lookahead   the lookahead token.
+     * @return the production defined in LLTable or -1 if the lookahead token cannot start the nonterminal.
+     */
+    public int predict(int nonterminal, Tok lookahead) {
+        return LLTable.PREDICT.charAt(nonterminal * LLTable.NUM_TOKS + lookahead.getTokType().ordinal()) - 1;
+    }
+}
@@ -0,0 +1,354 @@
+package parse.ll;
+
+// Generated by LLTableGen from Grammar.ll, do not edit
+public final class LLTable {
+    // Number of token types when the table was generated
+    public static final int NUM_TOKS = 49;
+
+    // Nonterminals
+    public static final int MODULE = 0;
+    public static final int SCOPE = 1;
+    public static final int SCOPE_ITEM = 2;
+    public static final int BLOCK = 3;
+    public static final int FUNCTION = 4;
+    public static final int FUNCTION_RETURN_TYPE = 5;
+    public static final int PARAMETER_CLAUSE = 6;
+    public static final int PARAMETER_LIST = 7;
+    public static final int PARAMETER_LIST_TAIL = 8;
+    public static final int PARAMETER = 9;
+    public static final int TYPE_ANNOTATION = 10;
+    public static final int IF_STATEMENT = 11;
+    public static final int ELSE_CLAUSE = 12;
+    public static final int WHILE_STATEMENT = 13;
+    public static final int WHILE_BODY = 14;
+    public static final int CONDITION = 15;
+    public static final int STATEMENT = 16;
+    public static final int DECLARATION = 17;
+    public static final int DECLARATION_HEAD = 18;
+    public static final int DECLARATION_TAIL = 19;
+    public static final int OPTIONAL_INITIALIZER = 20;
+    public static final int INITIALIZER = 21;
+    public static final int RETURN_STATEMENT = 22;
+    public static final int RETURN_VALUE = 23;
+    public static final int EXPRESSION = 24;
+    public static final int INFIX_TAIL = 25;
+    public static final int INFIX_OPERATOR = 26;
+    public static final int PREFIX_EXPRESSION = 27;
+    public static final int PREFIX_OPERATOR = 28;
+    public static final int PRIMARY_EXPRESSION = 29;
+    public static final int IDENTIFIER_CLAUSE = 30;
+    public static final int IDENTIFIER_SUFFIX = 31;
+    public static final int FUNCTION_CALL_ARGUMENT_CLAUSE = 32;
+    public static final int ARRAY_ACCESS_EXPRESSION = 33;
+    public static final int ARRAY_LITERAL = 34;
+    public static final int EXPRESSION_LIST = 35;
+    public static final int EXPRESSION_LIST_TAIL = 36;
+    public static final int LITERAL = 37;
+    public static final int PARENTHESIZED_EXPRESSION = 38;
+
+    // Productions
+    // module -> scope
+    public static final int MODULE_SCOPE = 0;
+    // scope -> scope-item scope
+    public static final int SCOPE_SCOPE_ITEM = 1;
+    // scope -> eps
+    public static final int SCOPE_EPS = 2;
+    // scope-item -> function
+    public static final int SCOPE_ITEM_FUNCTION = 3;
+    // scope-item -> if-statement
+    public static final int SCOPE_ITEM_IF_STATEMENT = 4;
+    // scope-item -> while-statement
+    public static final int SCOPE_ITEM_WHILE_STATEMENT = 5;
+    // scope-item -> block
+    public static final int SCOPE_ITEM_BLOCK = 6;
+    // scope-item -> statement
+    public static final int SCOPE_ITEM_STATEMENT = 7;
+    // block -> LCURLY scope RCURLY
+    public static final int BLOCK_LCURLY = 8;
+    // function -> FUN_DECL ID parameter-clause function-return-type block
+    public static final int FUNCTION_FUN_DECL = 9;
+    // function-return-type -> type-annotation
+    public static final int FUNCTION_RETURN_TYPE_TYPE_ANNOTATION = 10;
+    // function-return-type -> eps
+    public static final int FUNCTION_RETURN_TYPE_EPS = 11;
+    // parameter-clause -> LPAREN parameter-list RPAREN
+    public static final int PARAMETER_CLAUSE_LPAREN = 12;
+    // parameter-list -> parameter parameter-list-tail
+    public static final int PARAMETER_LIST_PARAMETER = 13;
+    // parameter-list -> eps
+    public static final int PARAMETER_LIST_EPS = 14;
+    // parameter-list-tail -> COMMA parameter parameter-list-tail
+    public static final int PARAMETER_LIST_TAIL_COMMA = 15;
+    // parameter-list-tail -> eps
+    public static final int PARAMETER_LIST_TAIL_EPS = 16;
+    // parameter -> ID type-annotation
+    public static final int PARAMETER_ID = 17;
+    // type-annotation -> COLON ID
+    public static final int TYPE_ANNOTATION_COLON = 18;
+    // if-statement -> IF condition block else-clause
+    public static final int IF_STATEMENT_IF = 19;
+    // else-clause -> ELIF condition block else-clause
+    public static final int ELSE_CLAUSE_ELIF = 20;
+    // else-clause -> ELSE block
+    public static final int ELSE_CLAUSE_ELSE = 21;
+    // else-clause -> eps
+    public static final int ELSE_CLAUSE_EPS = 22;
+    // while-statement -> WHILE condition while-body
+    public static final int WHILE_STATEMENT_WHILE = 23;
+    // while-body -> block
+    public static final int WHILE_BODY_BLOCK = 24;
+    // while-body -> SEMI
+    public static final int WHILE_BODY_SEMI = 25;
+    // condition -> LPAREN expression RPAREN
+    public static final int CONDITION_LPAREN = 26;
+    // statement -> declaration SEMI
+    public static final int STATEMENT_DECLARATION = 27;
+    // statement -> return-statement SEMI
+    public static final int STATEMENT_RETURN_STATEMENT = 28;
+    // statement -> BREAK SEMI
+    public static final int STATEMENT_BREAK = 29;
+    // statement -> CONT SEMI
+    public static final int STATEMENT_CONT = 30;
+    // statement -> expression SEMI
+    public static final int STATEMENT_EXPRESSION = 31;
+    // statement -> SEMI
+    public static final int STATEMENT_SEMI = 32;
+    // declaration -> declaration-head ID declaration-tail
+    public static final int DECLARATION_DECLARATION_HEAD = 33;
+    // declaration-head -> VAR_DECL
+    public static final int DECLARATION_HEAD_VAR_DECL = 34;
+    // declaration-head -> CONST_DECL
+    public static final int DECLARATION_HEAD_CONST_DECL = 35;
+    // declaration-tail -> type-annotation optional-initializer
+    public static final int DECLARATION_TAIL_TYPE_ANNOTATION = 36;
+    // declaration-tail -> initializer
+    public static final int DECLARATION_TAIL_INITIALIZER = 37;
+    // optional-initializer -> initializer
+    public static final int OPTIONAL_INITIALIZER_INITIALIZER = 38;
+    // optional-initializer -> eps
+    public static final int OPTIONAL_INITIALIZER_EPS = 39;
+    // initializer -> ASSIGNMENT expression
+    public static final int INITIALIZER_ASSIGNMENT = 40;
+    // return-statement -> RET return-value
+    public static final int RETURN_STATEMENT_RET = 41;
+    // return-value -> expression
+    public static final int RETURN_VALUE_EXPRESSION = 42;
+    // return-value -> eps
+    public static final int RETURN_VALUE_EPS = 43;
+    // expression -> prefix-expression infix-tail
+    public static final int EXPRESSION_PREFIX_EXPRESSION = 44;
+    // infix-tail -> infix-operator prefix-expression infix-tail
+    public static final int INFIX_TAIL_INFIX_OPERATOR = 45;
+    // infix-tail -> eps
+    public static final int INFIX_TAIL_EPS = 46;
+    // infix-operator -> ASSIGNMENT
+    public static final int INFIX_OPERATOR_ASSIGNMENT = 47;
+    // infix-operator -> LOG_OR
+    public static final int INFIX_OPERATOR_LOG_OR = 48;
+    // infix-operator -> LOG_AND
+    public static final int INFIX_OPERATOR_LOG_AND = 49;
+    // infix-operator -> EQ
+    public static final int INFIX_OPERATOR_EQ = 50;
+    // infix-operator -> NEQ
+    public static final int INFIX_OPERATOR_NEQ = 51;
+    // infix-operator -> LESS
+    public static final int INFIX_OPERATOR_LESS = 52;
+    // infix-operator -> GREATER
+    public static final int INFIX_OPERATOR_GREATER = 53;
+    // infix-operator -> LEQ
+    public static final int INFIX_OPERATOR_LEQ = 54;
+    // infix-operator -> GEQ
+    public static final int INFIX_OPERATOR_GEQ = 55;
+    // infix-operator -> SHL
+    public static final int INFIX_OPERATOR_SHL = 56;
+    // infix-operator -> ART_SHR
+    public static final int INFIX_OPERATOR_ART_SHR = 57;
+    // infix-operator -> LOG_SHR
+    public static final int INFIX_OPERATOR_LOG_SHR = 58;
+    // infix-operator -> ADD
+    public static final int INFIX_OPERATOR_ADD = 59;
+    // infix-operator -> SUB
+    public static final int INFIX_OPERATOR_SUB = 60;
+    // infix-operator -> MUL
+    public static final int INFIX_OPERATOR_MUL = 61;
+    // infix-operator -> DIV
+    public static final int INFIX_OPERATOR_DIV = 62;
+    // infix-operator -> MOD
+    public static final int INFIX_OPERATOR_MOD = 63;
+    // infix-operator -> TYPE_CONV
+    public static final int INFIX_OPERATOR_TYPE_CONV = 64;
+    // prefix-expression -> prefix-operator prefix-expression
+    public static final int PREFIX_EXPRESSION_PREFIX_OPERATOR = 65;
+    // prefix-expression -> primary-expression
+    public static final int PREFIX_EXPRESSION_PRIMARY_EXPRESSION = 66;
+    // prefix-operator -> ADD
+    public static final int PREFIX_OPERATOR_ADD = 67;
+    // prefix-operator -> SUB
+    public static final int PREFIX_OPERATOR_SUB = 68;
+    // prefix-operator -> LOG_NOT
+    public static final int PREFIX_OPERATOR_LOG_NOT = 69;
+    // primary-expression -> identifier-clause
+    public static final int PRIMARY_EXPRESSION_IDENTIFIER_CLAUSE = 70;
+    // primary-expression -> literal
+    public static final int PRIMARY_EXPRESSION_LITERAL = 71;
+    // primary-expression -> array-literal
+    public static final int PRIMARY_EXPRESSION_ARRAY_LITERAL = 72;
+    // primary-expression -> parenthesized-expression
+    public static final int PRIMARY_EXPRESSION_PARENTHESIZED_EXPRESSION = 73;
+    // identifier-clause -> ID identifier-suffix
+    public static final int IDENTIFIER_CLAUSE_ID = 74;
+    // identifier-suffix -> function-call-argument-clause
+    public static final int IDENTIFIER_SUFFIX_FUNCTION_CALL_ARGUMENT_CLAUSE = 75;
+    // identifier-suffix -> array-access-expression
+    public static final int IDENTIFIER_SUFFIX_ARRAY_ACCESS_EXPRESSION = 76;
+    // identifier-suffix -> eps
+    public static final int IDENTIFIER_SUFFIX_EPS = 77;
+    // function-call-argument-clause -> LPAREN expression-list RPAREN
+    public static final int FUNCTION_CALL_ARGUMENT_CLAUSE_LPAREN = 78;
+    // array-access-expression -> LSQUARE expression-list RSQUARE
+    public static final int ARRAY_ACCESS_EXPRESSION_LSQUARE = 79;
+    // array-literal -> LSQUARE expression-list RSQUARE
+    public static final int ARRAY_LITERAL_LSQUARE = 80;
+    // expression-list -> expression expression-list-tail
+    public static final int EXPRESSION_LIST_EXPRESSION = 81;
+    // expression-list -> eps
+    public static final int EXPRESSION_LIST_EPS = 82;
+    // expression-list-tail -> COMMA expression expression-list-tail
+    public static final int EXPRESSION_LIST_TAIL_COMMA = 83;
+    // expression-list-tail -> eps
+    public static final int EXPRESSION_LIST_TAIL_EPS = 84;
+    // literal -> INT_LITERAL
+    public static final int LITERAL_INT_LITERAL = 85;
+    // literal -> FLOAT_LITERAL
+    public static final int LITERAL_FLOAT_LITERAL = 86;
+    // literal -> BOOL_LITERAL
+    public static final int LITERAL_BOOL_LITERAL = 87;
+    // parenthesized-expression -> LPAREN expression RPAREN
+    public static final int PARENTHESIZED_EXPRESSION_LPAREN = 88;
+
+    // Parse table indexed by nonterminal * NUM_TOKS + token type ordinal
+    static final String PREDICT =
+            "\000\001\001\001\001\001\001\001\001\001\000\000\000\000\000\000" +
+            "\000\000\000\001\000\000\000\000\000\000\000\000\000\000\001\001" +
+            "\000\000\001\001\001\001\000\001\000\001\000\000\001\000\000\000" +
+            "\001\000\002\002\002\002\002\002\002\002\002\000\000\000\000\000" +
+            "\000\000\000\000\002\000\000\000\000\000\000\000\000\000\000\002" +
+            "\002\000\000\002\002\002\002\000\002\003\002\000\000\002\000\000" +
+            "\000\003\000\010\010\004\010\010\010\010\010\010\000\000\000\000" +
+            "\000\000\000\000\000\010\000\000\000\000\000\000\000\000\000\000" +
+            "\010\005\000\000\006\010\010\010\000\007\000\010\000\000\010\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\011\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\012\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\014\000\000\000" +
+            "\013\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\015\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\016\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\017\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\021\000" +
+            "\000\000\000\000\000\020\000\000\000\000\000\000\000\022\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\023\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\024\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\027\027\027" +
+            "\027\027\027\027\027\027\000\000\000\000\000\000\000\000\000\027" +
+            "\000\000\000\000\000\000\000\000\000\000\027\027\026\025\027\027" +
+            "\027\027\000\027\027\027\000\000\027\000\000\000\027\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\030" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\031\000\000\000\000\032\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\033\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\034\034\000\040\040\040\040\040\040\000\000\000\000\000\000" +
+            "\000\000\000\040\000\000\000\000\000\000\000\000\000\000\035\000" +
+            "\000\000\000\036\037\040\000\000\000\040\000\000\041\000\000\000" +
+            "\000\000\042\042\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\043\044\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\045\000" +
+            "\000\000\046\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\050\000\000\047\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\051\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\052\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\053\053\053\053\053" +
+            "\053\000\000\000\000\000\000\000\000\000\053\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\053\000\000\000" +
+            "\053\000\000\054\000\000\000\000\000\000\000\000\055\055\055\055" +
+            "\055\055\000\000\000\000\000\000\000\000\000\055\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\055\000\000" +
+            "\000\055\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\056\056\056\056\056\056\056\056\000\000\000\000\056\056\056" +
+            "\056\056\056\056\056\000\056\000\000\000\000\000\000\000\000\057" +
+            "\000\000\000\057\000\057\057\000\056\000\000\000\000\000\000\000" +
+            "\000\000\074\075\076\077\100\071\072\073\000\000\000\000\062\061" +
+            "\066\065\063\064\070\067\000\101\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\060\000\000\000\000\000\103" +
+            "\103\103\103\102\102\000\000\000\000\000\000\000\000\000\102\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\103\000\000\000\103\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\104\105\000\000\000\000\000\000\000\000\000\106" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\107\110\110\110\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\112\000\000\000\111\000\000\000\000\000\000\000\000\000" +
+            "\000\000\113\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\116\116\116\116\116\116\116\116\000" +
+            "\000\000\000\116\116\116\116\116\116\116\116\000\116\000\000\000" +
+            "\000\000\000\000\114\116\000\000\115\116\000\116\116\000\116\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\117\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\120\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\121\000\000\000\000" +
+            "\000\000\000\000\000\000\000\122\122\122\122\122\122\000\000\000" +
+            "\000\000\000\000\000\000\122\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\122\123\000\000\122\123\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\125\000\000\000\125\000" +
+            "\000\124\000\000\000\000\000\000\000\000\126\127\130\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+            "\000\000\000\000\000\000\000\000\000\000\000\131\000\000\000\000" +
+            "\000\000\000\000\000\000\000";
+
+    private LLTable() {
+    }
+}
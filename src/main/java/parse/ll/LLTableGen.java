@@ -0,0 +1,161 @@
+package parse.ll;
+
+import toks.TokType;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+
+// Generates LLTable.java from the machine-readable grammar
+// Usage: LLTableGen <grammar file> <output Java file>
+public class LLTableGen {
+    private static final String PACKAGE = "parse.ll";
+    private static final String CLASS_NAME = "LLTable";
+    // The largest production index plus one must fit in an octal escape
+    private static final int MAX_PRODS = 0377 - 1;
+
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        String outFilename = args[1];
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(inFilename))) {
+            LLGrammar grammar = LLGrammar.read(reader);
+            int[] table = buildTable(grammar);
+            String src = emit(grammar, table, new File(inFilename).getName());
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(outFilename))) {
+                writer.write(src);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Builds the LL(1) parse table, which maps a nonterminal and a lookahead token to a production.
+     *
+     * @param grammar the grammar with its FIRST and FOLLOW sets.
+     * @return the table as a flattened array of production indices, where -1 means no production.
+     */
+    private static int[] buildTable(LLGrammar grammar) {
+        if (grammar.countProds() > MAX_PRODS) {
+            throw new IllegalArgumentException("Grammar has more than " + MAX_PRODS + " productions");
+        }
+
+        int numToks = TokType.values().length;
+        int[] table = new int[grammar.getNonterminals().size() * numToks];
+        List<String> conflicts = new ArrayList<>();
+        Arrays.fill(table, -1);
+
+        for (int prod = 0; prod < grammar.countProds(); ++prod) {
+            int lhs = grammar.getProdLhs(prod);
+            BitSet predict = grammar.predictSet(prod);
+            for (int tok = predict.nextSetBit(0); tok >= 0; tok = predict.nextSetBit(tok + 1)) {
+                int i = lhs * numToks + tok;
+                if (table[i] >= 0) {
+                    conflicts.add("'" + grammar.getNonterminals().get(lhs) + "' on " + TokType.values()[tok] +
+                            ": " + prodToString(grammar, table[i]) + " and " + prodToString(grammar, prod));
+                } else {
+                    table[i] = prod;
+                }
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("Grammar is not LL(1):\n" + String.join("\n", conflicts));
+        }
+
+        return table;
+    }
+
+    /**
+     * Emits the Java source of the table class.
+     *
+     * @param grammar         the grammar.
+     * @param table           the flattened parse table.
+     * @param grammarFilename the name of the grammar file.
+     * @return the Java source as a string.
+     */
+    private static String emit(LLGrammar grammar, int[] table, String grammarFilename) {
+        List<String> nonterminals = grammar.getNonterminals();
+        StringBuilder src = new StringBuilder();
+        src.append("package ").append(PACKAGE).append(";\n\n");
+        src.append("// Generated by LLTableGen from ").append(grammarFilename).append(", do not edit\n");
+        src.append("public final class ").append(CLASS_NAME).append(" {\n");
+        src.append("    // Number of token types when the table was generated\n");
+        src.append("    public static final int NUM_TOKS = ").append(TokType.values().length).append(";\n\n");
+
+        src.append("    // Nonterminals\n");
+        for (int i = 0; i < nonterminals.size(); ++i) {
+            src.append("    public static final int ").append(toConstName(nonterminals.get(i)))
+                    .append(" = ").append(i).append(";\n");
+        }
+
+        src.append("\n    // Productions\n");
+        HashSet<String> prodNames = new HashSet<>();
+        for (int prod = 0; prod < grammar.countProds(); ++prod) {
+            String prodName = prodName(grammar, prod);
+            if (!prodNames.add(prodName)) {
+                prodName += "_" + prod;
+                prodNames.add(prodName);
+            }
+            src.append("    // ").append(prodToString(grammar, prod)).append("\n");
+            src.append("    public static final int ").append(prodName).append(" = ").append(prod).append(";\n");
+        }
+
+        // Each entry is stored as a character holding the production index plus one
+        // Octal escapes are used since unicode escapes are translated before the string literal is parsed
+        src.append("\n    // Parse table indexed by nonterminal * NUM_TOKS + token type ordinal\n");
+        src.append("    static final String PREDICT =\n            \"");
+        for (int i = 0; i < table.length; ++i) {
+            if (i > 0 && i % 16 == 0) {
+                src.append("\" +\n            \"");
+            }
+            src.append(String.format("\\%03o", table[i] + 1));
+        }
+        src.append("\";\n\n");
+
+        src.append("    private ").append(CLASS_NAME).append("() {\n    }\n}\n");
+        return src.toString();
+    }
+
+    /**
+     * Names a production after its left-hand side and the first symbol on its right-hand side.
+     *
+     * @param grammar the grammar.
+     * @param prod    the production's index.
+     * @return the constant name of the production.
+     */
+    private static String prodName(LLGrammar grammar, int prod) {
+        String lhsName = toConstName(grammar.getNonterminals().get(grammar.getProdLhs(prod)));
+        int[] rhs = grammar.getProdRhs(prod);
+        if (rhs.length == 0) {
+            return lhsName + "_EPS";
+        }
+        return lhsName + "_" + toConstName(symbolToString(grammar, rhs[0]));
+    }
+
+    private static String prodToString(LLGrammar grammar, int prod) {
+        StringBuilder prodStr = new StringBuilder(grammar.getNonterminals().get(grammar.getProdLhs(prod)))
+                .append(" ->");
+        int[] rhs = grammar.getProdRhs(prod);
+        if (rhs.length == 0) {
+            prodStr.append(' ').append(LLGrammar.EPS);
+        }
+        for (int symbol : rhs) {
+            prodStr.append(' ').append(symbolToString(grammar, symbol));
+        }
+        return prodStr.toString();
+    }
+
+    private static String symbolToString(LLGrammar grammar, int symbol) {
+        return symbol < 0 ? TokType.values()[-symbol - 1].name() : grammar.getNonterminals().get(symbol);
+    }
+
+    private static String toConstName(String name) {
+        return name.toUpperCase().replace('-', '_');
+    }
+}
@@ -0,0 +1,28 @@
+package parse.module;
+
+import ast.JSONEmitter;
+import ast.JSONStreamWalker;
+import ast.MappedAST;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Displays an AST written by ModuleMain in the binary format as JSON
+// Usage: BinModuleMain <binary AST file> <output JSON file> [--pretty]
+public class BinModuleMain {
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        String outFilename = args[1];
+        boolean pretty = args.length > 2 && args[2].equals(ModuleMain.PRETTY_OPT);
+
+        try (FileOutputStream out = new FileOutputStream(outFilename)) {
+            MappedAST ast = MappedAST.open(Path.of(inFilename));
+            JSONStreamWalker walker = new JSONStreamWalker(new JSONEmitter(out.getChannel(), pretty,
+                    JSONEmitter.DEFAULT_BUFF_SIZE));
+            walker.walk(ast);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
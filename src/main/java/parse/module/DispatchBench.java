@@ -0,0 +1,406 @@
+package parse.module;
+
+import ast.*;
+import exceptions.SyntaxErr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Compares dispatching on the nodes of an AST with accept and IASTVisitor to dispatching with a switch in ASTSwitch
+// Both passes count the nodes of each type and get the children of each node with its getters, so only the dispatch
+// differs
+// Usage: DispatchBench <input file> <number of iterations>
+public class DispatchBench {
+    private static final int NUM_NODE_TYPES = ASTNodeType.values().length;
+
+    // Counts the nodes through accept, which is a megamorphic call site since it is reached by every node class
+    // The visit methods only get ASTNode objects, so they cast them to get the children
+    private static class VisitorCounter implements IASTVisitor {
+        private final int[] counts = new int[NUM_NODE_TYPES];
+
+        private void visitChild(ASTNode child) {
+            if (child != null) {
+                child.accept(this);
+            }
+        }
+
+        private ASTNode visitList(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            for (ASTNode child : (MultichildASTNode) node) {
+                child.accept(this);
+            }
+            return node;
+        }
+
+        @Override
+        public ASTNode visitId(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+
+        @Override
+        public ASTNode visitSimpleDtype(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+
+        @Override
+        public ASTNode visitLiteral(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+
+        @Override
+        public ASTNode visitVarDecl(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            VarDeclASTNode varDeclNode = (VarDeclASTNode) node;
+            visitChild(varDeclNode.getIdNode());
+            visitChild(varDeclNode.getDtypeNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitVarDef(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            VarDefASTNode varDefNode = (VarDefASTNode) node;
+            visitChild(varDefNode.getVarDeclNode());
+            visitChild(varDefNode.getExprNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitParamDecl(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            ParamDeclASTNode paramDeclNode = (ParamDeclASTNode) node;
+            visitChild(paramDeclNode.getIdNode());
+            visitChild(paramDeclNode.getDtypeNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitParamList(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitUnOp(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            UnOpASTNode unOpNode = (UnOpASTNode) node;
+            visitChild(unOpNode.getExprNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitBinOp(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            BinOpASTNode binOpNode = (BinOpASTNode) node;
+            visitChild(binOpNode.getLeft());
+            visitChild(binOpNode.getRight());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitFunCall(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            FunCallASTNode funCallNode = (FunCallASTNode) node;
+            visitChild(funCallNode.getIdNode());
+            visitChild(funCallNode.getArgListNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitFunDef(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            FunDefASTNode funDefNode = (FunDefASTNode) node;
+            visitChild(funDefNode.getIdNode());
+            visitChild(funDefNode.getSignNode());
+            visitChild(funDefNode.getBodyNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitFunSign(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            FunSignASTNode funSignNode = (FunSignASTNode) node;
+            visitChild(funSignNode.getParamListNode());
+            visitChild(funSignNode.getRetDtypeNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitRet(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            RetASTNode retNode = (RetASTNode) node;
+            visitChild(retNode.getExprNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitBreak(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+
+        @Override
+        public ASTNode visitCont(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+
+        @Override
+        public ASTNode visitScope(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitIfElse(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitIf(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            IfASTNode ifNode = (IfASTNode) node;
+            visitChild(ifNode.getCondNode());
+            visitChild(ifNode.getBodyNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitElse(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            ElseASTNode elseNode = (ElseASTNode) node;
+            visitChild(elseNode.getBodyNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitWhile(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            WhileASTNode whileNode = (WhileASTNode) node;
+            visitChild(whileNode.getCondNode());
+            visitChild(whileNode.getBodyNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitArrAccess(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            ArrAccessASTNode arrAccessNode = (ArrAccessASTNode) node;
+            visitChild(arrAccessNode.getIdNode());
+            visitChild(arrAccessNode.getIndexListNode());
+            return node;
+        }
+
+        @Override
+        public ASTNode visitArrLiteral(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitExprList(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitOpChain(ASTNode node) {
+            return visitList(node);
+        }
+
+        @Override
+        public ASTNode visitPackedArrLiteral(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return node;
+        }
+    }
+
+    // Counts the nodes through a switch on the node type, where each case gets its node class and returns no result
+    private static class SwitchCounter extends ASTSwitch<Void> {
+        private final int[] counts = new int[NUM_NODE_TYPES];
+
+        private void applyChild(ASTNode child) {
+            if (child != null) {
+                apply(child);
+            }
+        }
+
+        private Void applyList(MultichildASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            for (ASTNode child : node) {
+                apply(child);
+            }
+            return null;
+        }
+
+        @Override
+        protected Void defaultCase(ASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            return null;
+        }
+
+        @Override
+        protected Void caseVarDecl(VarDeclASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getIdNode());
+            applyChild(node.getDtypeNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseVarDef(VarDefASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getVarDeclNode());
+            applyChild(node.getExprNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseBinOp(BinOpASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getLeft());
+            applyChild(node.getRight());
+            return null;
+        }
+
+        @Override
+        protected Void caseUnOp(UnOpASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getExprNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseScope(ScopeASTNode node) {
+            return applyList(node);
+        }
+
+        @Override
+        protected Void caseFunCall(FunCallASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getIdNode());
+            applyChild(node.getArgListNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseFunDef(FunDefASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getIdNode());
+            applyChild(node.getSignNode());
+            applyChild(node.getBodyNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseFunSign(FunSignASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getParamListNode());
+            applyChild(node.getRetDtypeNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseParamList(ParamListASTNode node) {
+            return applyList(node);
+        }
+
+        @Override
+        protected Void caseParamDecl(ParamDeclASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getIdNode());
+            applyChild(node.getDtypeNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseRet(RetASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getExprNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseIfElse(IfElseASTNode node) {
+            return applyList(node);
+        }
+
+        @Override
+        protected Void caseIf(IfASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getCondNode());
+            applyChild(node.getBodyNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseElse(ElseASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getBodyNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseWhile(WhileASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getCondNode());
+            applyChild(node.getBodyNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseArrLiteral(ArrLiteralASTNode node) {
+            return applyList(node);
+        }
+
+        @Override
+        protected Void caseArrAccess(ArrAccessASTNode node) {
+            ++counts[node.getNodeType().ordinal()];
+            applyChild(node.getIdNode());
+            applyChild(node.getIndexListNode());
+            return null;
+        }
+
+        @Override
+        protected Void caseExprList(ExprListASTNode node) {
+            return applyList(node);
+        }
+
+        @Override
+        protected Void caseOpChain(OpChainASTNode node) {
+            return applyList(node);
+        }
+    }
+
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        int numIters = Integer.parseInt(args[1]);
+
+        try {
+            ASTNode root = ModuleBench.parse(Files.readString(Path.of(inFilename)));
+            // Warm up both passes before measuring
+            for (int i = 0; i < numIters; ++i) {
+                root.accept(new VisitorCounter());
+                new SwitchCounter().apply(root);
+            }
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < numIters; ++i) {
+                root.accept(new VisitorCounter());
+            }
+            long visitorTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            for (int i = 0; i < numIters; ++i) {
+                new SwitchCounter().apply(root);
+            }
+            long switchTime = System.nanoTime() - startTime;
+
+            System.out.printf("%d iterations%n", numIters);
+            System.out.printf("visitor: %.3f us per pass%n", visitorTime / 1e3 / numIters);
+            System.out.printf("switch:  %.3f us per pass%n", switchTime / 1e3 / numIters);
+        } catch (SyntaxErr | IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package parse.module;
+
+import ast.ASTNode;
+import ast.FunDefASTNode;
+import ast.ScopeASTNode;
+import exceptions.SyntaxErr;
+import flow.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Measures the average time it takes to build the control-flow graphs of a module and solve the built-in dataflow
+// analyses on them
+// The module is parsed and checked once. Each iteration builds the graph of the top-level code and of each function
+// body, then solves liveness, reaching definitions and definite assignment on each graph.
+// Usage: FlowBench <input file> <number of iterations>
+public class FlowBench {
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        int numIters = Integer.parseInt(args[1]);
+
+        try {
+            ScopeASTNode moduleNode = (ScopeASTNode) ModuleBench.parse(Files.readString(Path.of(inFilename)));
+            List<FunDefASTNode> funDefNodes = new ArrayList<>();
+            for (ASTNode stmtNode : moduleNode) {
+                if (stmtNode instanceof FunDefASTNode funDefNode) {
+                    funDefNodes.add(funDefNode);
+                }
+            }
+
+            // Warm up before measuring
+            for (int i = 0; i < numIters; ++i) {
+                for (CFG cfg : build(moduleNode, funDefNodes)) {
+                    solve(cfg);
+                }
+            }
+
+            long buildTime = 0;
+            long solveTime = 0;
+            for (int i = 0; i < numIters; ++i) {
+                long startTime = System.nanoTime();
+                List<CFG> cfgs = build(moduleNode, funDefNodes);
+                long builtTime = System.nanoTime();
+                for (CFG cfg : cfgs) {
+                    solve(cfg);
+                }
+                buildTime += builtTime - startTime;
+                solveTime += System.nanoTime() - builtTime;
+            }
+            System.out.printf("%d iterations, %.3f us per build, %.3f us per solve%n", numIters,
+                    buildTime / 1e3 / numIters, solveTime / 1e3 / numIters);
+            analyze(moduleNode, funDefNodes);
+        } catch (SyntaxErr | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the control-flow graphs of a module.
+     *
+     * @param moduleNode  the module AST's root.
+     * @param funDefNodes the module's function definitions.
+     * @return the graph of the top-level code followed by the graph of each function.
+     */
+    private static List<CFG> build(ScopeASTNode moduleNode, List<FunDefASTNode> funDefNodes) {
+        List<CFG> cfgs = new ArrayList<>();
+        cfgs.add(CFGBuilder.buildModule(moduleNode));
+        for (FunDefASTNode funDefNode : funDefNodes) {
+            cfgs.add(CFGBuilder.build(funDefNode));
+        }
+        return cfgs;
+    }
+
+    /**
+     * Solves the built-in analyses on a graph.
+     *
+     * @param cfg the control-flow graph.
+     * @return the number of times a block has been visited by the solvers.
+     */
+    private static int solve(CFG cfg) {
+        BitsetAnalysis[] analyses = {new Liveness(cfg), new ReachingDefs(cfg), new DefiniteAssignment(cfg)};
+        int numVisits = 0;
+        for (BitsetAnalysis analysis : analyses) {
+            analysis.solve();
+            numVisits += analysis.countVisits();
+        }
+        return numVisits;
+    }
+
+    /**
+     * Builds the graphs, solves the analyses and prints the sizes of the graphs.
+     *
+     * @param moduleNode  the module AST's root.
+     * @param funDefNodes the module's function definitions.
+     */
+    private static void analyze(ScopeASTNode moduleNode, List<FunDefASTNode> funDefNodes) {
+        int numBlocks = 0;
+        int numVisits = 0;
+        for (CFG cfg : build(moduleNode, funDefNodes)) {
+            numBlocks += cfg.countBlocks();
+            numVisits += solve(cfg);
+        }
+        System.out.printf("%d graphs, %d blocks, %d block visits%n", funDefNodes.size() + 1, numBlocks, numVisits);
+    }
+}
@@ -0,0 +1,68 @@
+package parse.module;
+
+import ast.FunDefASTNode;
+import exceptions.ErrMsg;
+import symbols.FunDeps;
+
+import java.util.HashMap;
+
+// Results of checking the function bodies of a module, which are kept between checks so that the bodies that have not
+// changed are not checked again after an edit, see ModuleSemanChecker.checkSemanIncremental
+// Each result is kept with the lines that its function spans in the current source. The editor reports every edit
+// between two checks with edit, which drops the results of the functions whose lines have been edited and moves the
+// ones below the edit, so an unchanged function is recognized by its span without looking at its nodes. Its result is
+// reused if the function is found on the same lines, under the same identifier, which is unique in the global scope,
+// and if its dependencies resolve to the same signatures. The entries of the functions that are no longer in the
+// module are only replaced when a function with the same identifier is checked.
+public class FunCheckCache {
+    // Result of checking a function body, with the first and last lines of the function in the current source
+    // The definition is the one in the AST of the latest check, whose body is moved to the next AST when it is reused
+    record Entry(int startLn, int endLn, FunDefASTNode funDefNode, FunDeps deps, ErrMsg err) {
+    }
+
+    private final HashMap<String, Entry> entries = new HashMap<>();
+    // Number of bodies whose results were reused and that were checked during the latest check
+    private int numReused = 0;
+    private int numChecked = 0;
+
+    /**
+     * Records an edit of the source since the latest check, which replaces a range of lines with new ones. The
+     * results of the functions that overlap the range are dropped and the functions below it are moved. Edits are
+     * reported in the order they are made.
+     *
+     * @param firstLn   the first line that is replaced, or the line before which lines are inserted.
+     * @param numOldLns the number of lines that are replaced, which is 0 for an insertion.
+     * @param numNewLns the number of lines that replace them, which is 0 for a deletion.
+     */
+    public void edit(int firstLn, int numOldLns, int numNewLns) {
+        int delta = numNewLns - numOldLns;
+        // An insertion overlaps the functions that span the lines on both sides of it
+        entries.values().removeIf(entry -> entry.endLn() >= firstLn && entry.startLn() < firstLn + numOldLns);
+        if (delta != 0) {
+            entries.replaceAll((id, entry) -> entry.startLn() < firstLn ? entry :
+                    new Entry(entry.startLn() + delta, entry.endLn() + delta, entry.funDefNode(), entry.deps(),
+                            entry.err()));
+        }
+    }
+
+    Entry get(String id) {
+        return entries.get(id);
+    }
+
+    void put(String id, Entry entry) {
+        entries.put(id, entry);
+    }
+
+    void setCounts(int numReused, int numChecked) {
+        this.numReused = numReused;
+        this.numChecked = numChecked;
+    }
+
+    public int getNumReused() {
+        return numReused;
+    }
+
+    public int getNumChecked() {
+        return numChecked;
+    }
+}
@@ -0,0 +1,100 @@
+package parse.module;
+
+import ast.ASTNode;
+import exceptions.SyntaxErr;
+import lex.LexReader;
+import parse.scope.Scope;
+import parse.scope.ScopeStack;
+import parse.scope.ScopeType;
+import parse.utils.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Measures the average time it takes to parse a module
+// Usage: ModuleBench <input file> <number of iterations> [options accepted by ModuleMain]
+public class ModuleBench {
+    private static boolean fusedExprCheck = false;
+    private static boolean syntaxOnly = false;
+    private static boolean semanPass = false;
+    private static boolean opChains = false;
+    private static boolean packedArrs = false;
+    private static boolean parallelArrCheck = false;
+    private static boolean flatSymbols = false;
+    private static boolean parallelSeman = false;
+
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        int numIters = Integer.parseInt(args[1]);
+        for (int i = 2; i < args.length; ++i) {
+            switch (args[i]) {
+                case ModuleMain.FUSED_EXPR_CHECK_OPT -> fusedExprCheck = true;
+                case ModuleMain.SYNTAX_ONLY_OPT -> syntaxOnly = true;
+                case ModuleMain.SEMAN_PASS_OPT -> semanPass = true;
+                case ModuleMain.OP_CHAINS_OPT -> opChains = true;
+                case ModuleMain.PACKED_ARRS_OPT -> packedArrs = true;
+                case ModuleMain.PARALLEL_ARR_CHECK_OPT -> parallelArrCheck = true;
+                case ModuleMain.FLAT_SYMBOLS_OPT -> flatSymbols = true;
+                case ModuleMain.PARALLEL_SEMAN_OPT -> parallelSeman = true;
+            }
+        }
+
+        try {
+            String src = Files.readString(Path.of(inFilename));
+            // Warm up before measuring
+            for (int i = 0; i < numIters; ++i) {
+                parse(src);
+            }
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < numIters; ++i) {
+                parse(src);
+            }
+            long elapsedTime = System.nanoTime() - startTime;
+            System.out.printf("%d iterations, %.3f us per parse%n", numIters, elapsedTime / 1e3 / numIters);
+        } catch (SyntaxErr | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Parses a module from a string.
+     *
+     * @param src the source code.
+     * @return the AST of the module.
+     * @throws SyntaxErr   if there is a syntax error.
+     * @throws IOException if there is an IO exception.
+     */
+    static ASTNode parse(String src) throws SyntaxErr, IOException {
+        LexReader lexReader = new LexReader(new BufferedReader(new StringReader(src)));
+        ModuleParser moduleParser = new ModuleParser(lexReader);
+        moduleParser.init();
+
+        ParseContext context = ParseContext.createContext();
+        context.setFusedExprCheck(fusedExprCheck);
+        context.setSyntaxOnly(syntaxOnly || semanPass || parallelSeman);
+        context.setOpChains(opChains);
+        context.setPackedArrLiterals(packedArrs);
+        context.setParallelArrCheck(parallelArrCheck);
+        context.setFlatSymbols(flatSymbols);
+        ScopeStack scopeStack = context.getScopeStack();
+        scopeStack.push(new Scope(ScopeType.MODULE, null));
+        ParseResult<ASTNode> result = moduleParser.parseModule(context);
+        scopeStack.pop();
+        if ((semanPass || parallelSeman) && result.getStatus() == ParseStatus.OK) {
+            context.setSyntaxOnly(false);
+            scopeStack.push(new Scope(ScopeType.MODULE, null));
+            if (parallelSeman) {
+                result = moduleParser.checkModuleTwoPhase(result.getData(), context);
+            } else {
+                result = moduleParser.checkModule(result.getData(), context);
+            }
+            scopeStack.pop();
+        }
+        if (context.hasErr()) {
+            throw new SyntaxErr(context.getErrMsg());
+        }
+        return result.getData();
+    }
+}
@@ -1,43 +1,186 @@
 package parse.module;
 
+import ast.ASTArena;
+import ast.ASTBinWriter;
+import ast.ASTHashConser;
+import ast.ASTHasher;
 import ast.ASTNode;
-import ast.JSONWalker;
+import ast.JSONEmitter;
+import ast.JSONStreamWalker;
+import ast.ParallelJSONWalker;
 import exceptions.SyntaxErr;
 import lex.LexReader;
+import parse.expr.ConstFolder;
 import parse.scope.Scope;
 import parse.scope.ScopeStack;
 import parse.scope.ScopeType;
 import parse.utils.*;
+import symbols.XrefIndex;
+import toks.SrcPos;
 
 import java.io.*;
 
 public class ModuleMain {
+    // Option to type check expressions while parsing them
+    public static final String FUSED_EXPR_CHECK_OPT = "--fused-expr";
+    // Option to only check the syntax without analyzing the semantics
+    public static final String SYNTAX_ONLY_OPT = "--syntax-only";
+    // Option to check the syntax first and then the semantics in a separate pass over the AST
+    public static final String SEMAN_PASS_OPT = "--seman-pass";
+    // Option to store the AST in a compact arena before displaying it
+    public static final String ARENA_OPT = "--arena";
+    // Option to write the AST in the binary format instead of JSON
+    public static final String BIN_OPT = "--bin";
+    // Option to indent the JSON output
+    public static final String PRETTY_OPT = "--pretty";
+    // Option to render large subtrees of the JSON output in parallel
+    public static final String PARALLEL_OPT = "--parallel";
+    // Options to share equal literal, identifier and data type nodes, or equal subtrees, before displaying the AST
+    public static final String HASH_CONS_OPT = "--hash-cons";
+    public static final String HASH_CONS_SUBTREES_OPT = "--hash-cons-subtrees";
+    // Option to parse runs of the same left-associative operator into single n-ary nodes
+    public static final String OP_CHAINS_OPT = "--op-chains";
+    // Option to store array literals of literals of the same type as packed primitive arrays
+    public static final String PACKED_ARRS_OPT = "--packed-arrs";
+    // Option to infer the data types of constant array literals in parallel
+    public static final String PARALLEL_ARR_CHECK_OPT = "--parallel-arr-check";
+    // Option to index the definitions and uses of symbols and list the unused ones
+    public static final String XREF_OPT = "--xref";
+    // Option to keep the symbols of all scopes in a single flat table instead of a table for each scope
+    public static final String FLAT_SYMBOLS_OPT = "--flat-symbols";
+    // Option to check the semantics in a separate pass like --seman-pass, but with the function bodies checked in
+    // parallel after the rest of the module
+    public static final String PARALLEL_SEMAN_OPT = "--parallel-seman";
+    // Option to fold the operators applied to literals and propagate the constants defined by literals once the
+    // semantics have been checked
+    public static final String FOLD_CONSTS_OPT = "--fold-consts";
+    // Option to compute the structural hashes of the checked AST and print the module's hash
+    public static final String STRUCT_HASH_OPT = "--struct-hash";
+
     public static void main(String[] args) {
         String inFilename = args[0];
         String outFilename = args[1];
+        // Options following the file names
+        boolean fusedExprCheck = false;
+        boolean syntaxOnly = false;
+        boolean semanPass = false;
+        boolean arena = false;
+        boolean bin = false;
+        boolean pretty = false;
+        boolean parallel = false;
+        boolean hashCons = false;
+        boolean hashConsSubtrees = false;
+        boolean opChains = false;
+        boolean packedArrs = false;
+        boolean parallelArrCheck = false;
+        boolean xref = false;
+        boolean flatSymbols = false;
+        boolean parallelSeman = false;
+        boolean foldConsts = false;
+        boolean structHash = false;
+        for (int i = 2; i < args.length; ++i) {
+            switch (args[i]) {
+                case FUSED_EXPR_CHECK_OPT -> fusedExprCheck = true;
+                case SYNTAX_ONLY_OPT -> syntaxOnly = true;
+                case SEMAN_PASS_OPT -> semanPass = true;
+                case ARENA_OPT -> arena = true;
+                case BIN_OPT -> bin = true;
+                case PRETTY_OPT -> pretty = true;
+                case PARALLEL_OPT -> parallel = true;
+                case HASH_CONS_OPT -> hashCons = true;
+                case HASH_CONS_SUBTREES_OPT -> hashConsSubtrees = true;
+                case OP_CHAINS_OPT -> opChains = true;
+                case PACKED_ARRS_OPT -> packedArrs = true;
+                case PARALLEL_ARR_CHECK_OPT -> parallelArrCheck = true;
+                case XREF_OPT -> xref = true;
+                case FLAT_SYMBOLS_OPT -> flatSymbols = true;
+                case PARALLEL_SEMAN_OPT -> parallelSeman = true;
+                case FOLD_CONSTS_OPT -> foldConsts = true;
+                case STRUCT_HASH_OPT -> structHash = true;
+            }
+        }
 
         try (BufferedReader reader = new BufferedReader(new FileReader(inFilename));
-             BufferedWriter writer = new BufferedWriter(new FileWriter(outFilename))) {
+             FileOutputStream out = new FileOutputStream(outFilename)) {
             LexReader lexReader = new LexReader(reader);
             ModuleParser moduleParser = new ModuleParser(lexReader);
 
             moduleParser.init();
 
             ParseContext context = ParseContext.createContext();
-            Scope globalScope = new Scope(ScopeType.MODULE, null);
+            context.setFusedExprCheck(fusedExprCheck);
+            context.setSyntaxOnly(syntaxOnly || semanPass || parallelSeman);
+            context.setOpChains(opChains);
+            context.setPackedArrLiterals(packedArrs);
+            context.setParallelArrCheck(parallelArrCheck);
+            context.setFlatSymbols(flatSymbols);
+            if (xref) {
+                context.setXrefIndex(new XrefIndex());
+            }
             ScopeStack scopeStack = context.getScopeStack();
-            scopeStack.push(globalScope);
+            scopeStack.push(new Scope(ScopeType.MODULE, null));
             ParseResult<ASTNode> result = moduleParser.parseModule(context);
             scopeStack.pop();
+            if ((semanPass || parallelSeman) && result.getStatus() == ParseStatus.OK) {
+                // Start over in a new global scope since no symbols were declared during parsing
+                context.setSyntaxOnly(false);
+                scopeStack.push(new Scope(ScopeType.MODULE, null));
+                if (parallelSeman) {
+                    result = moduleParser.checkModuleTwoPhase(result.getData(), context);
+                } else {
+                    result = moduleParser.checkModule(result.getData(), context);
+                }
+                scopeStack.pop();
+            }
+            if (foldConsts && !syntaxOnly && !context.hasErr() && result.getStatus() == ParseStatus.OK) {
+                result = new ConstFolder().fold(result.getData(), context);
+            }
             if (context.hasErr()) {
                 throw new SyntaxErr(context.getErrMsg());
             } else if (result.getStatus() == ParseStatus.OK) {
                 ASTNode moduleNode = result.getData();
-                JSONWalker walker = new JSONWalker();
-                writer.write(walker.walk(moduleNode));
+                // The AST is complete once it has been checked and folded
+                long moduleHash = structHash ? ASTHasher.hash(moduleNode) : 0;
+                if (bin) {
+                    OutputStream binOut = new BufferedOutputStream(out);
+                    ASTBinWriter.write(ASTArena.fromTree(moduleNode), binOut);
+                    binOut.flush();
+                } else {
+                    // The JSON is streamed to the file instead of being built as a string first
+                    JSONEmitter emitter = new JSONEmitter(out.getChannel(), pretty, JSONEmitter.DEFAULT_BUFF_SIZE);
+                    JSONStreamWalker walker = new JSONStreamWalker(emitter);
+                    if (hashCons || hashConsSubtrees) {
+                        ASTHashConser hashConser = new ASTHashConser(hashConsSubtrees);
+                        walker.walk(hashConser.hashCons(moduleNode), hashConser.getPosTable());
+                    } else if (parallel) {
+                        new ParallelJSONWalker().walk(ASTArena.fromTree(moduleNode), emitter, pretty);
+                    } else if (arena) {
+                        walker.walk(ASTArena.fromTree(moduleNode));
+                    } else {
+                        walker.walk(moduleNode);
+                    }
+                }
+                if (xref) {
+                    printUnused(context.getXrefIndex());
+                }
+                if (structHash) {
+                    System.out.printf("Structural hash of the module: %016x%n", moduleHash);
+                }
             }
         } catch (SyntaxErr | IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Prints the symbols that are defined but never used.
+     *
+     * @param xrefIndex the cross-reference index of the module.
+     */
+    private static void printUnused(XrefIndex xrefIndex) {
+        for (int symbolId : xrefIndex.findUnused()) {
+            System.out.println("Unused symbol '" + xrefIndex.getSymbol(symbolId).getId() + "' on " +
+                    SrcPos.unpack(xrefIndex.getDefPos(symbolId)));
+        }
+    }
 }
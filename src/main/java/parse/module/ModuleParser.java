@@ -6,6 +6,7 @@ import lex.LexReader;
 import lex.LexResult;
 import lex.LexStatus;
 import lex.Lexer;
+import parse.branch.CondSemanChecker;
 import parse.branch.IfElseParser;
 import parse.branch.WhileParser;
 import parse.control_transfer.BreakParser;
@@ -16,7 +17,9 @@ import parse.dtype.DtypeParser;
 import parse.expr.ExprParser;
 import parse.expr.ExprSemanChecker;
 import parse.function.*;
+import parse.ll.LLPredictor;
 import parse.control_transfer.RetParser;
+import parse.control_transfer.RetSemanChecker;
 import parse.scope.ScopeParser;
 import parse.stmt.StmtParser;
 import parse.utils.*;
@@ -25,6 +28,7 @@ import toks.TokType;
 import parse.utils.ParseContext;
 
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 public class ModuleParser {
     private final LexReader lexReader;
@@ -36,16 +40,21 @@ public class ModuleParser {
     private final ExprParser exprParser = new ExprParser();
     private final DeclStmtSemanChecker declStmtSemanChecker = new DeclStmtSemanChecker();
     private final DeclStmtParser declStmtParser = new DeclStmtParser();
+    private final RetSemanChecker retSemanChecker = new RetSemanChecker();
     private final RetParser retParser = new RetParser();
     private final BreakParser breakParser = new BreakParser();
     private final ContParser contParser = new ContParser();
     private final StmtParser stmtParser = new StmtParser();
+    private final CondSemanChecker condSemanChecker = new CondSemanChecker();
     private final IfElseParser ifElseParser = new IfElseParser();
     private final WhileParser whileParser = new WhileParser();
     private final FunHeadParser funHeadParser = new FunHeadParser();
     private final FunHeadSemanChecker funHeadSemanChecker = new FunHeadSemanChecker();
+    private final FunBodySemanChecker funBodySemanChecker = new FunBodySemanChecker();
     private final FunDefParser funDefParser = new FunDefParser();
     private final ScopeParser scopeParser = new ScopeParser();
+    private final LLPredictor llPredictor = new LLPredictor();
+    private final ModuleSemanChecker moduleSemanChecker = new ModuleSemanChecker();
 
     public ModuleParser(LexReader lexReader) {
         this.lexReader = lexReader;
@@ -59,17 +68,20 @@ public class ModuleParser {
         tokMatcher.init(lexer);
         dtypeParser.init(tokMatcher);
         semiChecker.init(tokMatcher);
-        exprParser.init(lexer, tokMatcher, exprSemanChecker);
+        exprParser.init(lexer, tokMatcher, exprSemanChecker, llPredictor);
         declStmtParser.init(tokMatcher, dtypeParser, exprParser, declStmtSemanChecker);
-        retParser.init(tokMatcher, exprParser);
+        retParser.init(tokMatcher, exprParser, retSemanChecker);
         breakParser.init(tokMatcher);
         contParser.init(tokMatcher);
-        stmtParser.init(tokMatcher, semiChecker, exprParser, declStmtParser, retParser, breakParser, contParser);
-        ifElseParser.init(tokMatcher, semiChecker, exprParser, scopeParser);
-        whileParser.init(tokMatcher, semiChecker, exprParser, scopeParser);
+        stmtParser.init(tokMatcher, semiChecker, exprParser, declStmtParser, retParser, breakParser, contParser,
+                llPredictor);
+        ifElseParser.init(tokMatcher, semiChecker, exprParser, scopeParser, condSemanChecker);
+        whileParser.init(tokMatcher, semiChecker, exprParser, scopeParser, condSemanChecker);
         funHeadParser.init(tokMatcher, dtypeParser, funHeadSemanChecker);
-        funDefParser.init(funHeadParser, scopeParser);
-        scopeParser.init(lexReader, tokMatcher, stmtParser, funDefParser, ifElseParser, whileParser);
+        funDefParser.init(funHeadParser, scopeParser, funBodySemanChecker);
+        scopeParser.init(lexReader, tokMatcher, stmtParser, funDefParser, ifElseParser, whileParser, llPredictor);
+        moduleSemanChecker.init(exprSemanChecker, declStmtSemanChecker, retSemanChecker, condSemanChecker,
+                funHeadSemanChecker, funBodySemanChecker);
     }
 
     /**
@@ -103,4 +115,44 @@ public class ModuleParser {
 
         return moduleResult;
     }
+
+    /**
+     * Checks the semantics of a module that was parsed in syntax-only mode.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains only the global scope.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkModule(ASTNode moduleNode, ParseContext context) throws IOException {
+        return moduleSemanChecker.checkSeman(moduleNode, context);
+    }
+
+    /**
+     * Checks the semantics of a module that was parsed in syntax-only mode, with the function bodies checked in
+     * parallel after the rest of the module.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains only the global scope.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkModuleTwoPhase(ASTNode moduleNode, ParseContext context) throws IOException {
+        return moduleSemanChecker.checkSemanTwoPhase(moduleNode, context, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Checks the semantics of a module that was parsed in syntax-only mode after an edit, only checking the function
+     * bodies that have changed or depend on global symbols that have changed since the previous check.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains only the global scope.
+     * @param cache      the results of the previous checks of the module.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkModuleIncremental(ASTNode moduleNode, ParseContext context, FunCheckCache cache)
+            throws IOException {
+        return moduleSemanChecker.checkSemanIncremental(moduleNode, context, ForkJoinPool.commonPool(), cache);
+    }
 }
@@ -0,0 +1,511 @@
+package parse.module;
+
+import ast.*;
+import exceptions.ErrMsg;
+import parse.branch.CondSemanChecker;
+import parse.control_transfer.RetSemanChecker;
+import parse.decl_stmt.DeclStmtSemanChecker;
+import parse.expr.ExprSemanChecker;
+import parse.function.FunBodySemanChecker;
+import parse.function.FunHeadSemanChecker;
+import parse.scope.Scope;
+import parse.scope.ScopeStack;
+import parse.scope.ScopeType;
+import parse.utils.ParseContext;
+import parse.utils.ParseResult;
+import parse.utils.ParseStatus;
+import symbols.FunDeps;
+import symbols.GlobalSymbolOrder;
+import symbols.ISymbolTable;
+import toks.SrcPos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Checks the semantics of a module that was parsed in syntax-only mode
+// Scopes are pushed and the checkers are run in the same order as when the semantics are checked during parsing
+public class ModuleSemanChecker {
+    private ExprSemanChecker exprSemanChecker;
+    private DeclStmtSemanChecker declStmtSemanChecker;
+    private RetSemanChecker retSemanChecker;
+    private CondSemanChecker condSemanChecker;
+    private FunHeadSemanChecker funHeadSemanChecker;
+    private FunBodySemanChecker funBodySemanChecker;
+    private ParseContext context;
+
+    /**
+     * Initializes the dependencies.
+     *
+     * @param exprSemanChecker     an expression semantic checker.
+     * @param declStmtSemanChecker a semantic checker for the declaration statement.
+     * @param retSemanChecker      a semantic checker for the return statement.
+     * @param condSemanChecker     a semantic checker for the branch condition.
+     * @param funHeadSemanChecker  a semantic checker for the function header.
+     * @param funBodySemanChecker  a semantic checker for the function body.
+     */
+    public void init(ExprSemanChecker exprSemanChecker, DeclStmtSemanChecker declStmtSemanChecker,
+                     RetSemanChecker retSemanChecker, CondSemanChecker condSemanChecker,
+                     FunHeadSemanChecker funHeadSemanChecker, FunBodySemanChecker funBodySemanChecker) {
+        this.exprSemanChecker = exprSemanChecker;
+        this.declStmtSemanChecker = declStmtSemanChecker;
+        this.retSemanChecker = retSemanChecker;
+        this.condSemanChecker = condSemanChecker;
+        this.funHeadSemanChecker = funHeadSemanChecker;
+        this.funBodySemanChecker = funBodySemanChecker;
+    }
+
+    /**
+     * Checks the semantics of a module.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains the module scope.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkSeman(ASTNode moduleNode, ParseContext context) throws IOException {
+        this.context = context;
+        return checkScope((ScopeASTNode) moduleNode);
+    }
+
+    /**
+     * Checks the semantics of the code components in a scope.
+     *
+     * @param scopeNode the scope AST's root.
+     * @return a ParseResult object as the result of checking the scope.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkScope(ScopeASTNode scopeNode) throws IOException {
+        ParseResult<ASTNode> result;
+        ASTNode childNode;
+        int numChildren = scopeNode.countChildren();
+
+        for (int i = 0; i < numChildren; ++i) {
+            childNode = scopeNode.getChild(i);
+            result = checkComponent(childNode);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+            // The semantic checker may replace the node, i.e. an identifier
+            scopeNode.replaceChild(i, result.getData());
+        }
+
+        return ParseResult.ok(scopeNode);
+    }
+
+    /**
+     * Checks the semantics of a code component in a scope.
+     *
+     * @param node the code component's root.
+     * @return a ParseResult object as the result of checking the code component.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkComponent(ASTNode node) throws IOException {
+        return switch (node.getNodeType()) {
+            case FUN_DEF -> checkFunDef((FunDefASTNode) node);
+            case IF_ELSE -> checkIfElse((IfElseASTNode) node);
+            case WHILE -> checkBranch((BranchNode) node, ScopeType.LOOP);
+            case SCOPE -> checkBlock((ScopeASTNode) node, ScopeType.SIMPLE);
+            case VAR_DECL -> declStmtSemanChecker.checkSeman(node, context);
+            case VAR_DEF -> checkVarDef((VarDefASTNode) node);
+            case RET -> checkRet((RetASTNode) node);
+            case BREAK, CONT -> ParseResult.ok(node);
+            default -> exprSemanChecker.checkSeman(node, context);
+        };
+    }
+
+    /**
+     * Checks the semantics of a block in a new scope.
+     *
+     * @param blockNode the block AST's root.
+     * @param scopeType the scope type of the block.
+     * @return a ParseResult object as the result of checking the block.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkBlock(ScopeASTNode blockNode, ScopeType scopeType) throws IOException {
+        ScopeStack scopeStack = context.getScopeStack();
+        scopeStack.push(new Scope(scopeType, context.getScope()));
+        ParseResult<ASTNode> result = checkScope(blockNode);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+        scopeStack.pop();
+        return result;
+    }
+
+    /**
+     * Checks the semantics of a variable definition.
+     *
+     * @param defNode the variable definition AST's root.
+     * @return a ParseResult object as the result of checking the variable definition.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkVarDef(VarDefASTNode defNode) throws IOException {
+        // The rhs expression is checked before the variable is declared
+        ParseResult<ASTNode> result = exprSemanChecker.checkSeman(defNode.getExprNode(), context);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+        defNode.setExprNode(result.getData());
+        return declStmtSemanChecker.checkSeman(defNode, context);
+    }
+
+    /**
+     * Checks the semantics of a return statement.
+     *
+     * @param retNode the return statement AST's root.
+     * @return a ParseResult object as the result of checking the return statement.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkRet(RetASTNode retNode) throws IOException {
+        ASTNode exprNode = retNode.getExprNode();
+        if (exprNode != null) {
+            ParseResult<ASTNode> result = exprSemanChecker.checkSeman(exprNode, context);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+            retNode.setExprNode(result.getData());
+        }
+        return retSemanChecker.checkSeman(retNode, context);
+    }
+
+    /**
+     * Checks the semantics of a sequence of if-elif-else blocks.
+     *
+     * @param ifElseNode the if-else sequence AST's root.
+     * @return a ParseResult object as the result of checking the if-else sequence.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkIfElse(IfElseASTNode ifElseNode) throws IOException {
+        ParseResult<ASTNode> result;
+        for (ASTNode brNode : ifElseNode) {
+            if (brNode.getNodeType() == ASTNodeType.ELSE) {
+                result = checkBlock(((ElseASTNode) brNode).getBodyNode(), ScopeType.ELSE);
+            } else {
+                result = checkBranch((BranchNode) brNode, ScopeType.IF);
+            }
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+        }
+        return ParseResult.ok(ifElseNode);
+    }
+
+    /**
+     * Checks the semantics of a conditional branch block, which includes its condition and body.
+     *
+     * @param brNode    the branch AST's root.
+     * @param scopeType the scope type of the branch.
+     * @return a ParseResult object as the result of checking the branch.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkBranch(BranchNode brNode, ScopeType scopeType) throws IOException {
+        ParseResult<ASTNode> result = exprSemanChecker.checkSeman(brNode.getCondNode(), context);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        brNode.setCondNode(result.getData());
+        result = condSemanChecker.checkSeman(brNode, context);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        // A loop can have no body
+        ScopeASTNode bodyNode = brNode.getBodyNode();
+        if (bodyNode != null) {
+            result = checkBlock(bodyNode, scopeType);
+            if (result.getStatus() == ParseStatus.ERR) {
+                return result;
+            }
+        }
+        return ParseResult.ok(brNode);
+    }
+
+    /**
+     * Checks the semantics of a function definition.
+     *
+     * @param funDefNode the function definition AST's root.
+     * @return a ParseResult object as the result of checking the function definition.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkFunDef(FunDefASTNode funDefNode) throws IOException {
+        // The function scope is pushed when the function header is checked
+        ParseResult<ASTNode> result = funHeadSemanChecker.checkSeman(funDefNode, context);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        result = checkBlock(funDefNode.getBodyNode(), ScopeType.SIMPLE);
+        if (result.getStatus() == ParseStatus.ERR) {
+            return result;
+        }
+
+        Scope funScope = context.getScopeStack().pop();
+        return funBodySemanChecker.checkSeman(funDefNode, funScope, context);
+    }
+
+    /**
+     * Checks the semantics of a module in two phases, where the function bodies are checked in parallel.
+     * The first phase checks the top-level code components in order like checkSeman, except for the bodies of the
+     * functions, so it registers all the global symbols. The second phase checks each function body as a fork-join
+     * task with its own checkers, context and scope stack, which only reads the global scope and only sees the global
+     * symbols declared before the function. If there are errors, the one reported is the first in source order, which
+     * is the same as the one checkSeman reports.
+     * The cross-reference index and the flat symbol table cannot be shared between threads, so the module is checked
+     * in a single pass if either is used.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains the module scope.
+     * @param pool       the pool that runs the tasks.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkSemanTwoPhase(ASTNode moduleNode, ParseContext context, ForkJoinPool pool)
+            throws IOException {
+        return checkSemanTwoPhase(moduleNode, context, pool, null);
+    }
+
+    /**
+     * Checks the semantics of a module again after an edit, in two phases like checkSemanTwoPhase, but only checks the
+     * function bodies that have changed or that depend on global symbols whose signatures have changed.
+     * The rest of the module, i.e. the global declarations and the function headers, is always checked again. The
+     * result of checking each function body is then looked up in the cache, and reused if the function spans the same
+     * lines as the cache's entry, whose lines follow the edits reported to the cache, and every global symbol that the
+     * body looked up still resolves to a symbol with the same signature. The reused bodies are moved to the new AST and
+     * the positions of the ones below an edit that added or removed lines are shifted, so the AST of the previous check
+     * should not be used any more. The other bodies are checked and their results replace the ones in the cache.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains the module scope.
+     * @param pool       the pool that runs the tasks.
+     * @param cache      the results of the previous checks of the module, which is empty before the first check.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<ASTNode> checkSemanIncremental(ASTNode moduleNode, ParseContext context, ForkJoinPool pool,
+                                                      FunCheckCache cache) throws IOException {
+        return checkSemanTwoPhase(moduleNode, context, pool, cache);
+    }
+
+    /**
+     * Checks the semantics of a module in two phases, reusing the results of the function bodies in the cache if
+     * there is one.
+     *
+     * @param moduleNode the module AST's root.
+     * @param context    the parsing context whose scope stack contains the module scope.
+     * @param pool       the pool that runs the tasks.
+     * @param cache      the results of the previous checks, or null to check every function body.
+     * @return a ParseResult object as the result of checking the module's semantics.
+     * @throws IOException if there is an IO exception.
+     */
+    private ParseResult<ASTNode> checkSemanTwoPhase(ASTNode moduleNode, ParseContext context, ForkJoinPool pool,
+                                                    FunCheckCache cache) throws IOException {
+        if (context.getXrefIndex() != null || context.getScopeStack().getFlatSymbolTable() != null) {
+            return checkSeman(moduleNode, context);
+        }
+
+        this.context = context;
+        ScopeASTNode scopeNode = (ScopeASTNode) moduleNode;
+        ISymbolTable globalTable = context.getSymbolTable();
+        GlobalSymbolOrder globalOrder = new GlobalSymbolOrder();
+        List<FunBody> funBodies = new ArrayList<>();
+        ParseResult<ASTNode> result = ParseResult.ok(scopeNode);
+        ASTNode childNode;
+        int numChildren = scopeNode.countChildren();
+
+        // Check everything but the function bodies in order, stopping at the first error
+        for (int i = 0; i < numChildren && result.getStatus() != ParseStatus.ERR; ++i) {
+            childNode = scopeNode.getChild(i);
+            if (childNode.getNodeType() == ASTNodeType.FUN_DEF) {
+                FunDefASTNode funDefNode = (FunDefASTNode) childNode;
+                result = funHeadSemanChecker.checkSeman(funDefNode, context);
+                if (result.getStatus() != ParseStatus.ERR) {
+                    // The function is visible in its own body
+                    globalOrder.add(globalTable.getLocalSymbol(funDefNode.getIdNode().getTok().getVal()));
+                    // The function scope pushed by the header check is pushed again on the body's own scope stack
+                    Scope funScope = context.getScopeStack().pop();
+                    funBodies.add(new FunBody(funDefNode, funScope, globalOrder.count(),
+                            cache == null ? null : new FunDeps()));
+                }
+                continue;
+            }
+
+            result = checkComponent(childNode);
+            if (result.getStatus() != ParseStatus.ERR) {
+                scopeNode.replaceChild(i, result.getData());
+                IdASTNode idNode = switch (childNode.getNodeType()) {
+                    case VAR_DECL -> ((VarDeclASTNode) childNode).getIdNode();
+                    case VAR_DEF -> ((VarDefASTNode) childNode).getVarDeclNode().getIdNode();
+                    default -> null;
+                };
+                if (idNode != null) {
+                    globalOrder.add(globalTable.getLocalSymbol(idNode.getTok().getVal()));
+                }
+            }
+        }
+
+        // Reuse the results of the function bodies that do not need to be checked again
+        ErrMsg[] bodyErrs = new ErrMsg[funBodies.size()];
+        List<FunBody> checkedBodies = new ArrayList<>();
+        List<Integer> checkedIndices = new ArrayList<>();
+        for (int i = 0; i < funBodies.size(); ++i) {
+            FunBody funBody = funBodies.get(i);
+            if (cache == null || !reuseFunBody(funBody, globalTable, globalOrder, cache, bodyErrs, i)) {
+                checkedBodies.add(funBody);
+                checkedIndices.add(i);
+            }
+        }
+
+        // Check the other function bodies, which all come before the first error if there is one
+        ErrMsg[] checkedErrs = new ErrMsg[checkedBodies.size()];
+        try {
+            pool.invoke(new FunBodyTask(checkedBodies, globalOrder, checkedErrs, 0, checkedBodies.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (int i = 0; i < checkedBodies.size(); ++i) {
+            bodyErrs[checkedIndices.get(i)] = checkedErrs[i];
+            if (cache != null) {
+                FunBody funBody = checkedBodies.get(i);
+                FunDefASTNode funDefNode = funBody.funDefNode();
+                cache.put(funDefNode.getIdNode().getTok().getVal(),
+                        new FunCheckCache.Entry(SrcPos.getLn(funDefNode.getStartPos()),
+                                SrcPos.getLn(funDefNode.getEndPos()), funDefNode, funBody.deps(), checkedErrs[i]));
+            }
+        }
+        if (cache != null) {
+            cache.setCounts(funBodies.size() - checkedBodies.size(), checkedBodies.size());
+        }
+
+        for (ErrMsg bodyErr : bodyErrs) {
+            if (bodyErr != null) {
+                context.setErrMsg(bodyErr);
+                return ParseResult.err();
+            }
+        }
+        return result.getStatus() == ParseStatus.ERR ? result : ParseResult.ok(scopeNode);
+    }
+
+    /**
+     * Reuses the result of checking a function body before if the function and its dependencies have not changed.
+     *
+     * @param funBody     the function body whose header has been checked.
+     * @param globalTable the symbol table of the global scope.
+     * @param globalOrder the order of the global symbols.
+     * @param cache       the results of the previous checks.
+     * @param bodyErrs    the errors of the function bodies, which is updated if the body had an error.
+     * @param i           the position of the function body in the module.
+     * @return true if the checked body has been moved to the function definition and false if the body has to be
+     * checked.
+     */
+    private boolean reuseFunBody(FunBody funBody, ISymbolTable globalTable, GlobalSymbolOrder globalOrder,
+                                 FunCheckCache cache, ErrMsg[] bodyErrs, int i) {
+        FunDefASTNode funDefNode = funBody.funDefNode();
+        String funId = funDefNode.getIdNode().getTok().getVal();
+        FunCheckCache.Entry entry = cache.get(funId);
+        long newStartPos = funDefNode.getStartPos();
+        // The lines of an entry are only kept while they have not been edited, so the same lines hold the same text
+        if (entry == null || entry.startLn() != SrcPos.getLn(newStartPos) ||
+                entry.endLn() != SrcPos.getLn(funDefNode.getEndPos()) ||
+                !entry.deps().isSatisfiedBy(globalOrder.limit(globalTable, funBody.numVisibleGlobals(), null))) {
+            return false;
+        }
+
+        // The function may have moved to other lines
+        FunDefASTNode checkedNode = entry.funDefNode();
+        int numLns = SrcPos.getLn(newStartPos) - SrcPos.getLn(checkedNode.getStartPos());
+        ScopeASTNode bodyNode = checkedNode.getBodyNode();
+        ASTLayout.shiftLns(bodyNode, numLns);
+        funDefNode.setBodyNode(bodyNode);
+        funDefNode.setFrameSize(checkedNode.getFrameSize());
+        ErrMsg err = entry.err();
+        if (err != null) {
+            err = new ErrMsg(err.getVal(), new SrcPos(err.getSrcPos().getLn() + numLns, err.getSrcPos().getCol()));
+            bodyErrs[i] = err;
+        }
+        cache.put(funId, new FunCheckCache.Entry(entry.startLn(), entry.endLn(), funDefNode, entry.deps(), err));
+        return true;
+    }
+
+    // Function body whose header has been checked, with the global symbols that the body depends on, which are only
+    // recorded for an incremental check
+    private record FunBody(FunDefASTNode funDefNode, Scope funScope, int numVisibleGlobals, FunDeps deps) {
+    }
+
+    // Checks a range of function bodies, each with its own checkers and context
+    private class FunBodyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<FunBody> funBodies;
+        private final GlobalSymbolOrder globalOrder;
+        private final ErrMsg[] bodyErrs;
+        private final int lo;
+        private final int hi;
+
+        public FunBodyTask(List<FunBody> funBodies, GlobalSymbolOrder globalOrder, ErrMsg[] bodyErrs, int lo,
+                           int hi) {
+            this.funBodies = funBodies;
+            this.globalOrder = globalOrder;
+            this.bodyErrs = bodyErrs;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new FunBodyTask(funBodies, globalOrder, bodyErrs, lo, mid),
+                        new FunBodyTask(funBodies, globalOrder, bodyErrs, mid, hi));
+                return;
+            }
+
+            for (int i = lo; i < hi; ++i) {
+                FunBody funBody = funBodies.get(i);
+                ParseContext bodyContext = context.fork(globalOrder, funBody.numVisibleGlobals(), funBody.deps());
+                try {
+                    bodyErrs[i] = createChecker().checkFunBody(funBody, bodyContext);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a checker with its own dependencies, which can run on another thread.
+     *
+     * @return a ModuleSemanChecker object.
+     */
+    private static ModuleSemanChecker createChecker() {
+        ModuleSemanChecker checker = new ModuleSemanChecker();
+        checker.init(new ExprSemanChecker(), new DeclStmtSemanChecker(), new RetSemanChecker(),
+                new CondSemanChecker(), new FunHeadSemanChecker(), new FunBodySemanChecker());
+        return checker;
+    }
+
+    /**
+     * Checks the semantics of a function body whose header has been checked.
+     *
+     * @param funBody the function body.
+     * @param context a parsing context with an empty scope stack.
+     * @return the error message or null if there is no error.
+     * @throws IOException if there is an IO exception.
+     */
+    private ErrMsg checkFunBody(FunBody funBody, ParseContext context) throws IOException {
+        this.context = context;
+        ScopeStack scopeStack = context.getScopeStack();
+        scopeStack.push(funBody.funScope());
+        FunDefASTNode funDefNode = funBody.funDefNode();
+        ParseResult<ASTNode> result = checkBlock(funDefNode.getBodyNode(), ScopeType.SIMPLE);
+        if (result.getStatus() != ParseStatus.ERR) {
+            Scope funScope = scopeStack.pop();
+            funBodySemanChecker.checkSeman(funDefNode, funScope, context);
+        }
+        return context.getErrMsg();
+    }
+}
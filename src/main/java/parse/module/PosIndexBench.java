@@ -0,0 +1,98 @@
+package parse.module;
+
+import ast.ASTNode;
+import ast.ASTPosIndex;
+import ast.ASTTraverser;
+import ast.IASTTraversal;
+import exceptions.SyntaxErr;
+import toks.SrcPos;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Measures the time it takes to index the source ranges of a module and to find the innermost node at a position, as
+// an editor does to answer a hover or go-to-definition request, with the index and by scanning the whole AST
+// The module is parsed and checked once. The positions are drawn at random from the lines of the module, and each
+// lookup of the index is checked against the scan.
+// Usage: PosIndexBench <input file> <number of lookups>
+public class PosIndexBench {
+    public static void main(String[] args) {
+        String inFilename = args[0];
+        int numLookups = Integer.parseInt(args[1]);
+
+        try {
+            String src = Files.readString(Path.of(inFilename));
+            ASTNode moduleNode = ModuleBench.parse(src);
+            String[] lns = src.split("\\n", -1);
+            long[] poses = new long[numLookups];
+            Random random = new Random(0);
+            for (int i = 0; i < numLookups; ++i) {
+                int ln = random.nextInt(lns.length);
+                poses[i] = SrcPos.pack(ln + 1, random.nextInt(lns[ln].length() + 1) + 1);
+            }
+
+            // Warm up before measuring
+            ASTPosIndex posIndex = ASTPosIndex.build(moduleNode);
+            for (long pos : poses) {
+                posIndex.findInnermost(pos);
+            }
+
+            long startTime = System.nanoTime();
+            posIndex = ASTPosIndex.build(moduleNode);
+            long buildTime = System.nanoTime() - startTime;
+            ASTNode[] found = new ASTNode[numLookups];
+            startTime = System.nanoTime();
+            for (int i = 0; i < numLookups; ++i) {
+                found[i] = posIndex.findInnermost(poses[i]);
+            }
+            long lookupTime = System.nanoTime() - startTime;
+            int numMismatches = 0;
+            startTime = System.nanoTime();
+            for (int i = 0; i < numLookups; ++i) {
+                if (scanInnermost(moduleNode, poses[i]) != found[i]) {
+                    ++numMismatches;
+                }
+            }
+            long scanTime = System.nanoTime() - startTime;
+
+            System.out.printf("%.3f us per build, %.3f us per indexed lookup, %.3f us per scan%n", buildTime / 1e3,
+                    lookupTime / 1e3 / numLookups, scanTime / 1e3 / numLookups);
+            System.out.printf("%d lookups, %d differ from the scan%n", numLookups, numMismatches);
+        } catch (SyntaxErr | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Finds the innermost node at a position by visiting every node of an AST.
+     *
+     * @param root the AST's root.
+     * @param pos  the packed position.
+     * @return the node that contains the position and starts last, which is the deepest one if several start at the
+     * same place, or null if no node contains the position.
+     */
+    private static ASTNode scanInnermost(ASTNode root, long pos) {
+        ASTNode[] innermost = {null};
+        long[] innermostStartPos = {Long.MIN_VALUE};
+        new ASTTraverser().traverse(root, new IASTTraversal() {
+            @Override
+            public boolean enter(ASTNode node) {
+                long startPos = ASTPosIndex.getStartPos(node);
+                // The nodes are entered in pre-order, so a node that starts where its parent does replaces it
+                if (startPos <= pos && node.getEndPos() > pos && startPos >= innermostStartPos[0]) {
+                    innermost[0] = node;
+                    innermostStartPos[0] = startPos;
+                }
+                return true;
+            }
+
+            @Override
+            public ASTNode exit(ASTNode node) {
+                return node;
+            }
+        });
+        return innermost[0];
+    }
+}
@@ -0,0 +1,115 @@
+package parse.module;
+
+import ast.ASTNode;
+import exceptions.SyntaxErr;
+import lex.LexReader;
+import parse.scope.Scope;
+import parse.scope.ScopeStack;
+import parse.scope.ScopeType;
+import parse.utils.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Measures the average time it takes to check the semantics of a module again after an edit, with and without the
+// results of the previous check
+// The module is parsed before each check, which is not measured. The incremental checks alternate between the original
+// and the edited module, so each of them follows an edit, which is reported to the cache as the lines between the
+// common first and last lines of the two modules.
+// Usage: RecheckBench <original file> <edited file> <number of iterations>
+public class RecheckBench {
+    public static void main(String[] args) {
+        String origFilename = args[0];
+        String editedFilename = args[1];
+        int numIters = Integer.parseInt(args[2]);
+
+        try {
+            String[] srcs = {Files.readString(Path.of(origFilename)), Files.readString(Path.of(editedFilename))};
+            String[][] lns = {srcs[0].split("\n", -1), srcs[1].split("\n", -1)};
+            int numCommonFirstLns = 0;
+            int maxCommonLns = Math.min(lns[0].length, lns[1].length);
+            while (numCommonFirstLns < maxCommonLns && lns[0][numCommonFirstLns].equals(lns[1][numCommonFirstLns])) {
+                ++numCommonFirstLns;
+            }
+            int numCommonLastLns = 0;
+            while (numCommonFirstLns + numCommonLastLns < maxCommonLns && lns[0][lns[0].length - 1 - numCommonLastLns]
+                    .equals(lns[1][lns[1].length - 1 - numCommonLastLns])) {
+                ++numCommonLastLns;
+            }
+            // Number of lines that the edit replaces in each module
+            int[] numEditedLns = {lns[0].length - numCommonFirstLns - numCommonLastLns,
+                    lns[1].length - numCommonFirstLns - numCommonLastLns};
+            int firstEditedLn = numCommonFirstLns + 1;
+
+            FunCheckCache cache = new FunCheckCache();
+            check(srcs[0], cache);
+            // Index of the module that the next incremental check edits the previous one into
+            int next = 1;
+            // Warm up before measuring
+            for (int i = 0; i < numIters; ++i) {
+                cache.edit(firstEditedLn, numEditedLns[1 - next], numEditedLns[next]);
+                check(srcs[next], cache);
+                next = 1 - next;
+                check(srcs[1], null);
+            }
+
+            long fullTime = 0;
+            long incrementalTime = 0;
+            for (int i = 0; i < numIters; ++i) {
+                fullTime += check(srcs[1], null);
+            }
+            for (int i = 0; i < numIters; ++i) {
+                cache.edit(firstEditedLn, numEditedLns[1 - next], numEditedLns[next]);
+                incrementalTime += check(srcs[next], cache);
+                next = 1 - next;
+            }
+            System.out.printf("%d iterations, %.3f us per full check, %.3f us per incremental check%n", numIters,
+                    fullTime / 1e3 / numIters, incrementalTime / 1e3 / numIters);
+            System.out.printf("%d function bodies reused, %d checked in the last incremental check%n",
+                    cache.getNumReused(), cache.getNumChecked());
+        } catch (SyntaxErr | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Parses a module from a string and checks its semantics.
+     *
+     * @param src   the source code.
+     * @param cache the results of the previous checks or null to check the whole module.
+     * @return the time it takes to check the semantics in nanoseconds.
+     * @throws SyntaxErr   if there is a syntax or semantic error.
+     * @throws IOException if there is an IO exception.
+     */
+    private static long check(String src, FunCheckCache cache) throws SyntaxErr, IOException {
+        LexReader lexReader = new LexReader(new BufferedReader(new StringReader(src)));
+        ModuleParser moduleParser = new ModuleParser(lexReader);
+        moduleParser.init();
+
+        ParseContext context = ParseContext.createContext();
+        context.setSyntaxOnly(true);
+        ScopeStack scopeStack = context.getScopeStack();
+        scopeStack.push(new Scope(ScopeType.MODULE, null));
+        ParseResult<ASTNode> result = moduleParser.parseModule(context);
+        scopeStack.pop();
+        if (context.hasErr()) {
+            throw new SyntaxErr(context.getErrMsg());
+        }
+
+        context.setSyntaxOnly(false);
+        scopeStack.push(new Scope(ScopeType.MODULE, null));
+        long startTime = System.nanoTime();
+        if (cache == null) {
+            moduleParser.checkModuleTwoPhase(result.getData(), context);
+        } else {
+            moduleParser.checkModuleIncremental(result.getData(), context, cache);
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        scopeStack.pop();
+        if (context.hasErr()) {
+            throw new SyntaxErr(context.getErrMsg());
+        }
+        return elapsedTime;
+    }
+}
@@ -1,5 +1,6 @@
 package parse.scope;
 
+import symbols.SymbolInfo;
 import symbols.SymbolTable;
 import types.TypeInfo;
 
@@ -7,13 +8,29 @@ import types.TypeInfo;
 public class Scope {
     protected final ScopeType scopeType;
     protected final Scope parent;
-    protected final SymbolTable symbolTable;
+    // Symbol table is created the first time it is needed since syntax-only parsing does not use it
+    protected SymbolTable symbolTable;
     protected RetState retState = RetState.INIT;
+    // Scope that owns the frame holding the variables of the current scope, which is the innermost function scope or
+    // the module scope, and the depth of the frame
+    protected final Scope frameScope;
+    protected final int frameDepth;
+    // Number of slots allocated in the frame if the current scope owns one
+    protected int frameSize = 0;
 
     public Scope(ScopeType scopeType, Scope parent) {
         this.scopeType = scopeType;
         this.parent = parent;
-        this.symbolTable = new SymbolTable(parent == null ? null : parent.symbolTable);
+        if (parent == null) {
+            frameScope = this;
+            frameDepth = 0;
+        } else if (scopeType == ScopeType.FUNCTION) {
+            frameScope = this;
+            frameDepth = parent.frameDepth + 1;
+        } else {
+            frameScope = parent.frameScope;
+            frameDepth = parent.frameDepth;
+        }
     }
 
     public ScopeType getScopeType() {
@@ -25,9 +42,26 @@ public class Scope {
     }
 
     public SymbolTable getSymbolTable() {
+        if (symbolTable == null) {
+            symbolTable = new SymbolTable(parent == null ? null : parent.getSymbolTable());
+        }
         return symbolTable;
     }
 
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Allocates a slot for a variable or parameter in the frame that holds the variables of the current scope.
+     * Slots are not reused when a nested scope is left, so each variable of a frame has a distinct slot.
+     *
+     * @param symbol the variable or parameter, whose address is set.
+     */
+    public void allocSlot(SymbolInfo symbol) {
+        symbol.setAddr(frameDepth, frameScope.frameSize++);
+    }
+
     public RetState getRetState() {
         return retState;
     }
@@ -42,11 +76,20 @@ public class Scope {
      * @return the return type of the function if it is in one and null otherwise.
      */
     public TypeInfo isInFun() {
+        FunScope funScope = getFunScope();
+        return funScope == null ? null : funScope.getRetDtype();
+    }
+
+    /**
+     * Gets the scope of the function that the current scope is in.
+     *
+     * @return the function scope if the current scope is inside a function and null otherwise.
+     */
+    public FunScope getFunScope() {
         Scope upScope = this;
         while (upScope != null) {
             if (upScope.scopeType == ScopeType.FUNCTION) {
-                FunScope funScope = (FunScope) upScope;
-                return funScope.getRetDtype();
+                return (FunScope) upScope;
             }
             upScope = upScope.parent;
         }
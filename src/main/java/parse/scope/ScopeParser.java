@@ -7,10 +7,10 @@ import lex.LexReader;
 import parse.branch.IfElseParser;
 import parse.branch.WhileParser;
 import parse.function.FunDefParser;
+import parse.ll.LLPredictor;
+import parse.ll.LLTable;
 import parse.stmt.StmtParser;
 import parse.utils.*;
-import toks.SrcPos;
-import toks.SrcRange;
 import toks.Tok;
 import toks.TokType;
 
@@ -23,6 +23,7 @@ public class ScopeParser {
     private FunDefParser funDefParser;
     private IfElseParser ifElseParser;
     private WhileParser whileParser;
+    private LLPredictor llPredictor;
 
     /**
      * Initializes the dependencies.
@@ -33,15 +34,17 @@ public class ScopeParser {
      * @param funDefParser a function definition parser.
      * @param ifElseParser an if-elif-else sequence parser.
      * @param whileParser  a while-loop parser.
+     * @param llPredictor  a predictor that chooses the component to parse from the LL(1) table.
      */
     public void init(LexReader lexReader, TokMatcher tokMatcher, StmtParser stmtParser, FunDefParser funDefParser,
-                     IfElseParser ifElseParser, WhileParser whileParser) {
+                     IfElseParser ifElseParser, WhileParser whileParser, LLPredictor llPredictor) {
         this.lexReader = lexReader;
         this.tokMatcher = tokMatcher;
         this.stmtParser = stmtParser;
         this.funDefParser = funDefParser;
         this.ifElseParser = ifElseParser;
         this.whileParser = whileParser;
+        this.llPredictor = llPredictor;
     }
 
     /**
@@ -62,7 +65,7 @@ public class ScopeParser {
         }
 
         Tok curlyTok = curlyResult.getData();
-        SrcPos blockStartPos = curlyTok.getSrcRange().getStartPos();
+        long blockStartPos = curlyTok.getStartPos();
         // Try parsing code in a new scope
         Scope newScope = new Scope(scopeType, context.getScope());
         ScopeStack scopeStack = context.getScopeStack();
@@ -82,10 +85,9 @@ public class ScopeParser {
         }
 
         curlyTok = curlyResult.getData();
-        SrcPos blockEndPos = curlyTok.getSrcRange().getEndPos();
-        SrcRange blockRange = new SrcRange(blockStartPos, blockEndPos);
         ScopeASTNode blockNode = (ScopeASTNode) scopeResult.getData();
-        blockNode.setSrcRange(blockRange);
+        blockNode.setStartPos(blockStartPos);
+        blockNode.setEndPos(curlyTok.getEndPos());
         scopeStack.pop();
         return scopeResult;
     }
@@ -98,75 +100,40 @@ public class ScopeParser {
      * @throws IOException if there is an IO exception.
      */
     public ParseResult<ASTNode> parseScope(ParseContext context) throws IOException {
+        ParseResult<Tok> tokResult;
+        ParseResult<ASTNode> itemResult;
         ParseStatus status;
-        ParseResult<ASTNode> stmtResult, funDefResult, blockResult, ifElseResult, whileResult;
         ScopeASTNode scopeNode = new ScopeASTNode();
-        SrcPos scopeStartPos = lexReader.getSrcPos();
-        SrcPos scopeEndPos;
-        SrcRange scopeRange;
+        long scopeStartPos = lexReader.getPos();
         boolean end = false;
 
         while (!end) {
-            // Try parsing a function definition
-            funDefResult = funDefParser.parseFunDef(context);
-            status = funDefResult.getStatus();
-            if (status == ParseStatus.ERR) {
-                return funDefResult;
-            } else if (!(end = status == ParseStatus.FAIL)) {
-                scopeNode.addChild(funDefResult.getData());
-            }
-
-            if (end) {
-                // Try parsing a sequence of if-elif-else blocks
-                // The blocks are added to the scope if successful
-                ifElseResult = ifElseParser.parseIfElse(context);
-                status = ifElseResult.getStatus();
-                if (status == ParseStatus.ERR) {
-                    return ifElseResult;
-                } else if (!(end = status == ParseStatus.FAIL)) {
-                    scopeNode.addChild(ifElseResult.getData());
-                }
+            tokResult = tokMatcher.peekTok(context);
+            if (tokResult.getStatus() == ParseStatus.ERR) {
+                return ParseResult.err();
             }
 
-            if (end) {
-                // Try parsing a while loop
-                whileResult = whileParser.parseWhile(context);
-                status = whileResult.getStatus();
-                if (status == ParseStatus.ERR) {
-                    return whileResult;
-                } else if (!(end = status == ParseStatus.FAIL)) {
-                    scopeNode.addChild(whileResult.getData());
-                }
+            // Predict the next component from the lookahead token instead of trying every alternative
+            switch (llPredictor.predict(LLTable.SCOPE_ITEM, tokResult.getData())) {
+                case LLTable.SCOPE_ITEM_FUNCTION -> itemResult = funDefParser.parseFunDef(context);
+                case LLTable.SCOPE_ITEM_IF_STATEMENT -> itemResult = ifElseParser.parseIfElse(context);
+                case LLTable.SCOPE_ITEM_WHILE_STATEMENT -> itemResult = whileParser.parseWhile(context);
+                case LLTable.SCOPE_ITEM_BLOCK -> itemResult = parseBlock(ScopeType.SIMPLE, context);
+                case LLTable.SCOPE_ITEM_STATEMENT -> itemResult = stmtParser.parseStmt(context);
+                // The lookahead token cannot start a component so the scope ends here
+                default -> itemResult = ParseResult.fail(tokResult.getData());
             }
 
-            if (end) {
-                // Try parsing a block
-                blockResult = parseBlock(ScopeType.SIMPLE, context);
-                status = blockResult.getStatus();
-                if (status == ParseStatus.ERR) {
-                    return blockResult;
-                } else if (!(end = status == ParseStatus.FAIL)) {
-                    scopeNode.addChild(blockResult.getData());
-                }
-            }
-
-            if (end) {
-                // Try parsing a statement
-                stmtResult = stmtParser.parseStmt(context);
-                status = stmtResult.getStatus();
-                if (status == ParseStatus.ERR) {
-                    return stmtResult;
-                } else if (!(end = status == ParseStatus.FAIL)) {
-                    if (status != ParseStatus.EMPTY) {
-                        scopeNode.addChild(stmtResult.getData());
-                    }
-                }
+            status = itemResult.getStatus();
+            if (status == ParseStatus.ERR) {
+                return itemResult;
+            } else if (!(end = status == ParseStatus.FAIL) && status != ParseStatus.EMPTY) {
+                scopeNode.addChild(itemResult.getData());
             }
         }
 
-        scopeEndPos = lexReader.getSrcPos();
-        scopeRange = new SrcRange(scopeStartPos, scopeEndPos);
-        scopeNode.setSrcRange(scopeRange);
+        scopeNode.setStartPos(scopeStartPos);
+        scopeNode.setEndPos(lexReader.getPos());
         return ParseResult.ok(scopeNode);
     }
 }
@@ -1,9 +1,26 @@
 package parse.scope;
 
+import symbols.FlatSymbolTable;
+
 import java.util.ArrayDeque;
 
 public class ScopeStack {
     private final ArrayDeque<Scope> stack = new ArrayDeque<>();
+    // Symbol table shared by the scopes on the stack, which replaces their own tables if it is set
+    private FlatSymbolTable flatSymbolTable = null;
+
+    public FlatSymbolTable getFlatSymbolTable() {
+        return flatSymbolTable;
+    }
+
+    /**
+     * Sets a symbol table to be shared by the scopes, which must be done while the stack is empty.
+     *
+     * @param flatSymbolTable the shared symbol table or null to give each scope its own table.
+     */
+    public void setFlatSymbolTable(FlatSymbolTable flatSymbolTable) {
+        this.flatSymbolTable = flatSymbolTable;
+    }
 
     /**
      * Pushes a new scope onto the stack.
@@ -12,6 +29,9 @@ public class ScopeStack {
      */
     public void push(Scope scope) {
         stack.push(scope);
+        if (flatSymbolTable != null) {
+            flatSymbolTable.enterScope();
+        }
     }
 
     /**
@@ -22,6 +42,9 @@ public class ScopeStack {
     public Scope pop() {
         Scope scope = stack.pop();
         Scope parent = stack.peek();
+        if (flatSymbolTable != null) {
+            flatSymbolTable.leaveScope();
+        }
 
         // Update the return state of the parent scope
         if (parent != null && parent.getRetState() != RetState.MISSING && parent.getRetState() != RetState.EXIST) {
@@ -6,6 +6,8 @@ import parse.control_transfer.ContParser;
 import parse.control_transfer.RetParser;
 import parse.decl_stmt.DeclStmtParser;
 import parse.expr.ExprParser;
+import parse.ll.LLPredictor;
+import parse.ll.LLTable;
 import parse.utils.*;
 import toks.Tok;
 import toks.TokType;
@@ -20,6 +22,7 @@ public class StmtParser {
     private RetParser retParser;
     private BreakParser breakParser;
     private ContParser contParser;
+    private LLPredictor llPredictor;
 
     /**
      * Initializes the dependencies.
@@ -31,9 +34,10 @@ public class StmtParser {
      * @param retParser      a return statement parser.
      * @param breakParser    a break statement parser.
      * @param contParser     a continue statement parser.
+     * @param llPredictor    a predictor that chooses the statement to parse from the LL(1) table.
      */
     public void init(TokMatcher tokMatcher, SemiChecker semiChecker, ExprParser exprParser, DeclStmtParser declStmtParser,
-                     RetParser retParser, BreakParser breakParser, ContParser contParser) {
+                     RetParser retParser, BreakParser breakParser, ContParser contParser, LLPredictor llPredictor) {
         this.tokMatcher = tokMatcher;
         this.semiChecker = semiChecker;
         this.exprParser = exprParser;
@@ -41,6 +45,7 @@ public class StmtParser {
         this.retParser = retParser;
         this.breakParser = breakParser;
         this.contParser = contParser;
+        this.llPredictor = llPredictor;
     }
 
     /**
@@ -51,54 +56,34 @@ public class StmtParser {
      * @throws IOException if there is an IO exception.
      */
     public ParseResult<ASTNode> parseStmt(ParseContext context) throws IOException {
-        // Parse a declaration statement
-        ParseResult<ASTNode> stmtResult = declStmtParser.parseDeclStmt(context);
-        if (stmtResult.getStatus() == ParseStatus.ERR) {
-            return stmtResult;
-        } else if (stmtResult.getStatus() == ParseStatus.OK) {
-            return semiChecker.check(stmtResult, context);
-        }
-
-        // Parse a return statement
-        stmtResult = retParser.parseRet(context);
-        if (stmtResult.getStatus() == ParseStatus.ERR) {
-            return stmtResult;
-        } else if (stmtResult.getStatus() == ParseStatus.OK) {
-            return semiChecker.check(stmtResult, context);
-        }
-
-        // Parse a break statement
-        stmtResult = breakParser.parseBreak(context);
-        if (stmtResult.getStatus() == ParseStatus.ERR) {
-            return stmtResult;
-        } else if (stmtResult.getStatus() == ParseStatus.OK) {
-            return semiChecker.check(stmtResult, context);
+        ParseResult<Tok> tokResult = tokMatcher.peekTok(context);
+        if (tokResult.getStatus() == ParseStatus.ERR) {
+            return ParseResult.err();
         }
 
-        // Parse a continue statement
-        stmtResult = contParser.parseCont(context);
-        if (stmtResult.getStatus() == ParseStatus.ERR) {
-            return stmtResult;
-        } else if (stmtResult.getStatus() == ParseStatus.OK) {
-            return semiChecker.check(stmtResult, context);
+        Tok tok = tokResult.getData();
+        ParseResult<ASTNode> stmtResult;
+        switch (llPredictor.predict(LLTable.STATEMENT, tok)) {
+            case LLTable.STATEMENT_DECLARATION -> stmtResult = declStmtParser.parseDeclStmt(context);
+            case LLTable.STATEMENT_RETURN_STATEMENT -> stmtResult = retParser.parseRet(context);
+            case LLTable.STATEMENT_BREAK -> stmtResult = breakParser.parseBreak(context);
+            case LLTable.STATEMENT_CONT -> stmtResult = contParser.parseCont(context);
+            case LLTable.STATEMENT_EXPRESSION -> stmtResult = exprParser.parseExpr(context);
+            case LLTable.STATEMENT_SEMI -> {
+                // Empty statement in the form ';'
+                if (tokMatcher.parseTok(TokType.SEMI, context).getStatus() == ParseStatus.ERR) {
+                    return ParseResult.err();
+                }
+                return ParseResult.empty();
+            }
+            default -> {
+                return ParseResult.fail(tok);
+            }
         }
 
-        // Parse a expression
-        stmtResult = exprParser.parseExpr(context);
-        if (stmtResult.getStatus() == ParseStatus.ERR) {
+        if (stmtResult.getStatus() != ParseStatus.OK) {
             return stmtResult;
-        } else if (stmtResult.getStatus() == ParseStatus.OK) {
-            return semiChecker.check(stmtResult, context);
         }
-
-        ParseResult<Tok> semiResult = tokMatcher.parseTok(TokType.SEMI, context);
-        if (semiResult.getStatus() == ParseStatus.ERR) {
-            return ParseResult.err();
-        } else if (semiResult.getStatus() == ParseStatus.FAIL) {
-            return stmtResult;
-        }
-
-        // Empty statement in the form ';'
-        return ParseResult.empty();
+        return semiChecker.check(stmtResult, context);
     }
 }
@@ -1,18 +1,40 @@
 package parse.utils;
 
+import ast.ASTNode;
 import exceptions.ErrMsg;
 import keywords.KeywordTable;
 import operators.OpTable;
 import parse.scope.Scope;
 import parse.scope.ScopeStack;
+import symbols.FlatSymbolTable;
+import symbols.FunDeps;
+import symbols.GlobalSymbolOrder;
+import symbols.ISymbolTable;
+import symbols.SymbolInfo;
+import symbols.XrefIndex;
 import types.TypeTable;
 
 public class ParseContext {
     private ScopeStack scopeStack;
-    private TypeTable typeTable;
+    // The language tables are shared by all contexts
     private OpTable opTable;
     private KeywordTable kwTable;
     private ErrMsg errMsg = null;
+    // Whether expressions are type checked while being parsed instead of in a separate pass
+    private boolean fusedExprCheck = false;
+    // Whether only the syntax is checked, in which case the semantics can be checked later by ModuleSemanChecker
+    private boolean syntaxOnly = false;
+    // Whether runs of the same left-associative binary operator are parsed into single OpChainASTNode nodes
+    private boolean opChains = false;
+    // Whether array literals of literals of the same type are packed into PackedArrLiteralASTNode nodes
+    private boolean packedArrLiterals = false;
+    // Whether the data types of constant array literals are inferred in parallel
+    private boolean parallelArrCheck = false;
+    // Index of the definitions and uses of symbols, which are only recorded if it has been set
+    private XrefIndex xrefIndex = null;
+    // Symbol table of the current scope that only finds the global symbols visible from a function body checked apart
+    // from the module, and records the ones it depends on, which is only used if it has been set
+    private ISymbolTable limitedSymbolTable = null;
 
     private ParseContext() {
     }
@@ -25,9 +47,8 @@ public class ParseContext {
     public static ParseContext createContext() {
         ParseContext context = new ParseContext();
         context.scopeStack = new ScopeStack();
-        context.typeTable = TypeTable.createTable();
-        context.opTable = OpTable.createTable();
-        context.kwTable = KeywordTable.createTable();
+        context.opTable = OpTable.getInst();
+        context.kwTable = KeywordTable.getInst();
         return context;
     }
 
@@ -44,8 +65,70 @@ public class ParseContext {
         return scopeStack.peek();
     }
 
+    /**
+     * Creates a context with the same options but an empty scope stack and no error, which checks part of a module
+     * apart from this context, e.g. on another thread.
+     *
+     * @return a ParseContext object.
+     */
+    public ParseContext fork() {
+        ParseContext context = createContext();
+        context.fusedExprCheck = fusedExprCheck;
+        context.syntaxOnly = syntaxOnly;
+        context.opChains = opChains;
+        context.packedArrLiterals = packedArrLiterals;
+        context.parallelArrCheck = parallelArrCheck;
+        return context;
+    }
+
+    /**
+     * Creates a context like fork that checks a function body apart from the module, where only the global symbols
+     * declared before the function can be found. The limited symbol table is created once and follows the current
+     * scope, so looking up a symbol does not allocate.
+     *
+     * @param globalOrder       the order in which the global symbols were declared.
+     * @param numVisibleGlobals the number of global symbols declared before the function.
+     * @param funDeps           the dependencies of the function body that record the global symbols it looks up, or
+     *                          null.
+     * @return a ParseContext object.
+     */
+    public ParseContext fork(GlobalSymbolOrder globalOrder, int numVisibleGlobals, FunDeps funDeps) {
+        ParseContext context = fork();
+        context.limitedSymbolTable = globalOrder.limit(context::getScopeSymbolTable, numVisibleGlobals, funDeps);
+        return context;
+    }
+
+    /**
+     * Gets the symbol table of the current scope, which is the flat table shared by all scopes if there is one.
+     *
+     * @return an ISymbolTable object.
+     */
+    public ISymbolTable getSymbolTable() {
+        return limitedSymbolTable == null ? getScopeSymbolTable() : limitedSymbolTable;
+    }
+
+    private ISymbolTable getScopeSymbolTable() {
+        FlatSymbolTable flatSymbolTable = scopeStack.getFlatSymbolTable();
+        return flatSymbolTable == null ? getScope().getSymbolTable() : flatSymbolTable;
+    }
+
+    /**
+     * Sets whether all scopes share a single flat symbol table instead of having their own, which must be done before
+     * any scope is pushed.
+     *
+     * @param flatSymbols whether to use a flat symbol table.
+     */
+    public void setFlatSymbols(boolean flatSymbols) {
+        scopeStack.setFlatSymbolTable(flatSymbols ? new FlatSymbolTable() : null);
+    }
+
+    /**
+     * Gets the type table, which is only loaded the first time it is needed since syntax-only parsing does not use it.
+     *
+     * @return a TypeTable object.
+     */
     public TypeTable getTypeTable() {
-        return typeTable;
+        return TypeTable.getInst();
     }
 
     public OpTable getOpTable() {
@@ -56,6 +139,78 @@ public class ParseContext {
         return kwTable;
     }
 
+    public boolean isFusedExprCheck() {
+        return fusedExprCheck && !syntaxOnly;
+    }
+
+    public void setFusedExprCheck(boolean fusedExprCheck) {
+        this.fusedExprCheck = fusedExprCheck;
+    }
+
+    public boolean isSyntaxOnly() {
+        return syntaxOnly;
+    }
+
+    public void setSyntaxOnly(boolean syntaxOnly) {
+        this.syntaxOnly = syntaxOnly;
+    }
+
+    public boolean isOpChains() {
+        return opChains;
+    }
+
+    public void setOpChains(boolean opChains) {
+        this.opChains = opChains;
+    }
+
+    public boolean isPackedArrLiterals() {
+        return packedArrLiterals;
+    }
+
+    public void setPackedArrLiterals(boolean packedArrLiterals) {
+        this.packedArrLiterals = packedArrLiterals;
+    }
+
+    public boolean isParallelArrCheck() {
+        return parallelArrCheck;
+    }
+
+    public void setParallelArrCheck(boolean parallelArrCheck) {
+        this.parallelArrCheck = parallelArrCheck;
+    }
+
+    public XrefIndex getXrefIndex() {
+        return xrefIndex;
+    }
+
+    public void setXrefIndex(XrefIndex xrefIndex) {
+        this.xrefIndex = xrefIndex;
+    }
+
+    /**
+     * Records the definition of a symbol in the cross-reference index if there is one.
+     *
+     * @param symbol the symbol that has just been registered.
+     * @param idNode the identifier node of the definition.
+     */
+    public void recordDef(SymbolInfo symbol, ASTNode idNode) {
+        if (xrefIndex != null) {
+            xrefIndex.addDef(symbol, idNode);
+        }
+    }
+
+    /**
+     * Records a use of a symbol in the cross-reference index if there is one.
+     *
+     * @param symbol the symbol that the identifier resolves to.
+     * @param idNode the identifier node of the use.
+     */
+    public void recordUse(SymbolInfo symbol, ASTNode idNode) {
+        if (xrefIndex != null) {
+            xrefIndex.addUse(symbol, idNode);
+        }
+    }
+
     /**
      * Updates the error message to the earliest one as possible and also returns an error signal.
      *
@@ -85,4 +240,13 @@ public class ParseContext {
     public ErrMsg getErrMsg() {
         return errMsg;
     }
+
+    /**
+     * Replaces the error message, e.g. with one raised in a forked context.
+     *
+     * @param errMsg the error message.
+     */
+    public void setErrMsg(ErrMsg errMsg) {
+        this.errMsg = errMsg;
+    }
 }
@@ -40,4 +40,19 @@ public class TokMatcher {
         lexer.consume();
         return ParseResult.ok(tok);
     }
+
+    /**
+     * Peeks at the next token without consuming it.
+     *
+     * @param context the parsing context.
+     * @return a ParseResult as the result of reading the next token.
+     * @throws IOException if there is an IO exception.
+     */
+    public ParseResult<Tok> peekTok(ParseContext context) throws IOException {
+        LexResult<Tok> tokResult = lexer.lookahead(context);
+        if (tokResult.getStatus() != LexStatus.OK) {
+            return context.raiseErr(tokResult.getErrMsg());
+        }
+        return ParseResult.ok(tokResult.getData());
+    }
 }
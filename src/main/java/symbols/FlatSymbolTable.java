@@ -0,0 +1,154 @@
+package symbols;
+
+import java.util.Arrays;
+
+// Symbol table shared by all scopes, which maps each identifier to a stack of bindings where the top one is the
+// visible symbol and the ones below it are shadowed
+// Identifiers are stored once in an open-addressing table and never removed, and the bindings are kept in the order
+// they are registered, so they also form an undo log. Entering a scope marks the end of the log and leaving it pops
+// the bindings back to the mark, uncovering the shadowed ones. A lookup costs a single probe sequence however deeply
+// the scopes are nested, and no table is allocated per scope.
+public class FlatSymbolTable implements ISymbolTable {
+    private static final int NONE = -1;
+
+    // Open-addressing table of entry ids, where NONE marks an empty slot
+    private int[] slots = new int[64];
+    // Entries, one for each distinct identifier, and the top binding of each one
+    private int numEntries = 0;
+    private String[] entryIds = new String[32];
+    private int[] entryTops = new int[32];
+
+    // Bindings in the order they are registered
+    private int numBindings = 0;
+    private SymbolInfo[] bindingSymbols = new SymbolInfo[64];
+    private int[] bindingEntries = new int[64];
+    // Binding of the same entry that the binding shadows
+    private int[] bindingPrevs = new int[64];
+    private int[] bindingDepths = new int[64];
+
+    // Number of bindings when each of the current scopes was entered
+    private int depth = 0;
+    private int[] marks = new int[16];
+
+    public FlatSymbolTable() {
+        Arrays.fill(slots, NONE);
+    }
+
+    /**
+     * Enters a new innermost scope.
+     */
+    public void enterScope() {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+        }
+        marks[depth++] = numBindings;
+    }
+
+    /**
+     * Leaves the innermost scope, removing its bindings.
+     */
+    public void leaveScope() {
+        int mark = marks[--depth];
+        while (numBindings > mark) {
+            int binding = --numBindings;
+            entryTops[bindingEntries[binding]] = bindingPrevs[binding];
+            bindingSymbols[binding] = null;
+        }
+    }
+
+    @Override
+    public void registerSymbol(SymbolInfo symbol) {
+        int entry = findEntry(symbol.getId(), true);
+        int top = entryTops[entry];
+        if (top != NONE && bindingDepths[top] == depth) {
+            // Replaces the symbol in the same scope like a map would
+            bindingSymbols[top] = symbol;
+            return;
+        }
+
+        int binding = numBindings++;
+        if (binding == bindingSymbols.length) {
+            int capacity = binding * 2;
+            bindingSymbols = Arrays.copyOf(bindingSymbols, capacity);
+            bindingEntries = Arrays.copyOf(bindingEntries, capacity);
+            bindingPrevs = Arrays.copyOf(bindingPrevs, capacity);
+            bindingDepths = Arrays.copyOf(bindingDepths, capacity);
+        }
+        bindingSymbols[binding] = symbol;
+        bindingEntries[binding] = entry;
+        bindingPrevs[binding] = top;
+        bindingDepths[binding] = depth;
+        entryTops[entry] = binding;
+    }
+
+    @Override
+    public SymbolInfo getClosureSymbol(String id) {
+        int entry = findEntry(id, false);
+        if (entry == NONE || entryTops[entry] == NONE) {
+            return null;
+        }
+        return bindingSymbols[entryTops[entry]];
+    }
+
+    @Override
+    public SymbolInfo getLocalSymbol(String id) {
+        int entry = findEntry(id, false);
+        if (entry == NONE || entryTops[entry] == NONE || bindingDepths[entryTops[entry]] != depth) {
+            return null;
+        }
+        return bindingSymbols[entryTops[entry]];
+    }
+
+    /**
+     * Finds the entry of an identifier with linear probing.
+     *
+     * @param id     the identifier.
+     * @param create whether to add an entry if there is none.
+     * @return the entry's id, or NONE if there is none and it is not created.
+     */
+    private int findEntry(String id, boolean create) {
+        int mask = slots.length - 1;
+        int slot = spread(id.hashCode()) & mask;
+        while (slots[slot] != NONE) {
+            String entryId = entryIds[slots[slot]];
+            if (entryId == id || entryId.equals(id)) {
+                return slots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return NONE;
+        }
+
+        int entry = numEntries++;
+        if (entry == entryIds.length) {
+            entryIds = Arrays.copyOf(entryIds, entry * 2);
+            entryTops = Arrays.copyOf(entryTops, entry * 2);
+        }
+        entryIds[entry] = id;
+        entryTops[entry] = NONE;
+        slots[slot] = entry;
+        // Keeps the table at most half full
+        if (numEntries * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return entry;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        Arrays.fill(slots, NONE);
+        int mask = capacity - 1;
+        for (int entry = 0; entry < numEntries; ++entry) {
+            int slot = spread(entryIds[entry].hashCode()) & mask;
+            while (slots[slot] != NONE) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
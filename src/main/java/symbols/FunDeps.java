@@ -0,0 +1,45 @@
+package symbols;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Global symbols that a function body has looked up while it was checked, including the identifiers that were not
+// found at all
+// The result of checking the body only depends on the rest of the module through these lookups, so it still holds
+// after an edit elsewhere as long as each identifier resolves to a symbol with the same signature, or still to none.
+public class FunDeps {
+    // Symbol that each identifier resolved to, which is null if there was none
+    private final HashMap<String, SymbolInfo> symbols = new HashMap<>();
+
+    /**
+     * Records the result of looking up an identifier in the global scope.
+     *
+     * @param id     the identifier.
+     * @param symbol the global symbol or null if the identifier was not found.
+     */
+    public void add(String id, SymbolInfo symbol) {
+        symbols.putIfAbsent(id, symbol);
+    }
+
+    public int count() {
+        return symbols.size();
+    }
+
+    /**
+     * Checks if the identifiers still resolve to the same symbols in another global scope.
+     *
+     * @param globalTable the symbol table of the other global scope, limited to the symbols visible from the body.
+     * @return true if every identifier resolves to a symbol with the same signature or still to none, and false
+     * otherwise.
+     */
+    public boolean isSatisfiedBy(ISymbolTable globalTable) {
+        for (Map.Entry<String, SymbolInfo> entry : symbols.entrySet()) {
+            SymbolInfo oldSymbol = entry.getValue();
+            SymbolInfo newSymbol = globalTable.getClosureSymbol(entry.getKey());
+            if (oldSymbol == null ? newSymbol != null : newSymbol == null || !oldSymbol.hasSameSignature(newSymbol)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
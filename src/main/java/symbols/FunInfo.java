@@ -33,6 +33,21 @@ public class FunInfo extends SymbolInfo implements Iterable<TypeInfo> {
         return paramDtypes.size();
     }
 
+    /**
+     * Gets the data type of a parameter.
+     *
+     * @param i the parameter's position.
+     * @return a TypeInfo object as the parameter's data type.
+     */
+    public TypeInfo getParamDtype(int i) {
+        return paramDtypes.get(i);
+    }
+
+    @Override
+    public boolean hasSameSignature(SymbolInfo symbol) {
+        return super.hasSameSignature(symbol) && paramDtypes.equals(((FunInfo) symbol).paramDtypes);
+    }
+
     /**
      * Gets an Iterator object to iterate through the list of parameter types.
      *
@@ -0,0 +1,100 @@
+package symbols;
+
+import java.util.IdentityHashMap;
+import java.util.function.Supplier;
+
+// Order in which the global symbols of a module were declared
+// A function body that is checked apart from the rest of the module, e.g. on another thread once all the global
+// symbols have been registered, must only see the ones declared before it, like when the module is checked in source
+// order. It is only read while the bodies are checked, so it can be shared between threads.
+public class GlobalSymbolOrder {
+    private final IdentityHashMap<SymbolInfo, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * Adds a global symbol after the ones that have been declared so far.
+     *
+     * @param symbol the global symbol.
+     */
+    public void add(SymbolInfo symbol) {
+        indices.putIfAbsent(symbol, indices.size());
+    }
+
+    public int count() {
+        return indices.size();
+    }
+
+    /**
+     * Checks if a symbol is visible from a point of the module.
+     *
+     * @param symbol     the symbol.
+     * @param numVisible the number of global symbols declared before the point.
+     * @return false if the symbol is a global symbol declared after the point and true otherwise.
+     */
+    public boolean isVisible(SymbolInfo symbol, int numVisible) {
+        Integer index = indices.get(symbol);
+        return index == null || index < numVisible;
+    }
+
+    /**
+     * Wraps a symbol table so that it does not find the global symbols declared after a point of the module.
+     *
+     * @param symbolTable the symbol table of the current scope.
+     * @param numVisible  the number of global symbols declared before the point.
+     * @param deps        the dependencies that record the global symbols that are looked up, or null.
+     * @return an ISymbolTable object that delegates to the symbol table.
+     */
+    public ISymbolTable limit(ISymbolTable symbolTable, int numVisible, FunDeps deps) {
+        return new LimitedSymbolTable(() -> symbolTable, numVisible, deps);
+    }
+
+    /**
+     * Wraps the symbol table of whichever scope is current so that it does not find the global symbols declared after
+     * a point of the module, which lets a single wrapper serve every lookup of a function body.
+     *
+     * @param symbolTables the supplier of the symbol table of the current scope.
+     * @param numVisible   the number of global symbols declared before the point.
+     * @param deps         the dependencies that record the global symbols that are looked up, or null.
+     * @return an ISymbolTable object that delegates to the current symbol table.
+     */
+    public ISymbolTable limit(Supplier<ISymbolTable> symbolTables, int numVisible, FunDeps deps) {
+        return new LimitedSymbolTable(symbolTables, numVisible, deps);
+    }
+
+    // Symbol table that hides the global symbols declared after a point
+    // Global symbols cannot be redeclared in the global scope, so a hidden symbol does not shadow a visible one
+    private class LimitedSymbolTable implements ISymbolTable {
+        private final Supplier<ISymbolTable> symbolTables;
+        private final int numVisible;
+        private final FunDeps deps;
+
+        public LimitedSymbolTable(Supplier<ISymbolTable> symbolTables, int numVisible, FunDeps deps) {
+            this.symbolTables = symbolTables;
+            this.numVisible = numVisible;
+            this.deps = deps;
+        }
+
+        @Override
+        public void registerSymbol(SymbolInfo symbol) {
+            symbolTables.get().registerSymbol(symbol);
+        }
+
+        @Override
+        public SymbolInfo getClosureSymbol(String id) {
+            SymbolInfo symbol = symbolTables.get().getClosureSymbol(id);
+            if (symbol != null && !isVisible(symbol, numVisible)) {
+                symbol = null;
+            }
+            // A local symbol does not depend on the rest of the module
+            if (deps != null && (symbol == null || indices.containsKey(symbol))) {
+                deps.add(id, symbol);
+            }
+            return symbol;
+        }
+
+        @Override
+        public SymbolInfo getLocalSymbol(String id) {
+            SymbolInfo symbol = symbolTables.get().getLocalSymbol(id);
+            return symbol == null || isVisible(symbol, numVisible) ? symbol : null;
+        }
+    }
+}
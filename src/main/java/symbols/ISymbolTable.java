@@ -0,0 +1,27 @@
+package symbols;
+
+// Symbols visible from the current scope
+public interface ISymbolTable {
+    /**
+     * Adds a new symbol to the current scope.
+     *
+     * @param symbol the symbol to be registered.
+     */
+    void registerSymbol(SymbolInfo symbol);
+
+    /**
+     * Finds the symbol associated with the given key in the current scope or an enclosing one.
+     *
+     * @param id the string that identifies a symbol.
+     * @return a symbol if one exists and null otherwise.
+     */
+    SymbolInfo getClosureSymbol(String id);
+
+    /**
+     * Finds the symbol associated with the given key in the current scope only.
+     *
+     * @param id the string that identifies a symbol.
+     * @return a symbol if one exists and null otherwise.
+     */
+    SymbolInfo getLocalSymbol(String id);
+}
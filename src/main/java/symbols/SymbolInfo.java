@@ -4,12 +4,18 @@ import types.TypeInfo;
 
 // The base class for storing symbol information in the symbol table
 public class SymbolInfo {
+    public static final int NO_SLOT = -1;
+
     protected final String id;
     protected final SymbolType symbolType;
     // The data type of the symbol
     // For a function, this is its return type
     protected TypeInfo dtype;
     protected boolean mutable;
+    // Address of a variable or parameter, which is the depth of the frame that holds it and its slot in the frame
+    // A function has no address
+    protected int frameDepth = NO_SLOT;
+    protected int slot = NO_SLOT;
 
     public SymbolInfo(String id, SymbolType symbolType, TypeInfo dtype, boolean mutable) {
         this.id = id;
@@ -42,6 +48,38 @@ public class SymbolInfo {
         this.mutable = mutable;
     }
 
+    public int getFrameDepth() {
+        return frameDepth;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Sets the address of a variable or parameter.
+     *
+     * @param frameDepth the depth of the frame, which is 0 for the module's frame and the number of enclosing functions
+     *                   otherwise.
+     * @param slot       the slot in the frame.
+     */
+    public void setAddr(int frameDepth, int slot) {
+        this.frameDepth = frameDepth;
+        this.slot = slot;
+    }
+
+    /**
+     * Checks if another symbol can be used in place of this one by code that has been checked against this one, e.g.
+     * the same global variable declared again after an edit.
+     *
+     * @param symbol the other symbol.
+     * @return true if the symbols have the same type, data type, mutability and address, and false otherwise.
+     */
+    public boolean hasSameSignature(SymbolInfo symbol) {
+        return symbol.symbolType == symbolType && symbol.dtype == dtype && symbol.mutable == mutable &&
+                symbol.frameDepth == frameDepth && symbol.slot == slot;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -2,7 +2,8 @@ package symbols;
 
 import java.util.HashMap;
 
-public class SymbolTable {
+// Symbol table of a single scope, which is linked to the table of the enclosing scope
+public class SymbolTable implements ISymbolTable {
     private final HashMap<String, SymbolInfo> symbolMap = new HashMap<>();
     private final SymbolTable parent;
 
@@ -19,6 +20,7 @@ public class SymbolTable {
      *
      * @param symbol the symbol to be registered.
      */
+    @Override
     public void registerSymbol(SymbolInfo symbol) {
         symbolMap.put(symbol.getId(), symbol);
     }
@@ -29,6 +31,7 @@ public class SymbolTable {
      * @param id the string that identifies a symbol in one of the tables.
      * @return a symbol if one exists and null otherwise.
      */
+    @Override
     public SymbolInfo getClosureSymbol(String id) {
         SymbolTable table = this;
         SymbolInfo symbolInfo = null;
@@ -45,6 +48,7 @@ public class SymbolTable {
      * @param id the string that identifies a symbol in the table.
      * @return a symbol if one exists and null otherwise.
      */
+    @Override
     public SymbolInfo getLocalSymbol(String id) {
         return symbolMap.get(id);
     }
@@ -0,0 +1,164 @@
+package symbols;
+
+import ast.ASTNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+// Cross-reference index of the definitions and uses of symbols, recorded by the semantic checkers as they resolve
+// identifiers
+// Each symbol gets a dense id in the order it is defined, and its occurrences are linked in a list through parallel
+// arrays, starting with its definition, so the references of a symbol are found in O(number of references) without
+// another traversal of the AST
+public class XrefIndex {
+    private static final int NONE = -1;
+
+    // Symbols by id, and the ids of the symbols, which are compared by identity since shadowed symbols have equal ids
+    private final List<SymbolInfo> symbols = new ArrayList<>();
+    private final IdentityHashMap<SymbolInfo, Integer> symbolIds = new IdentityHashMap<>();
+    // First and last occurrence of each symbol, where the first one is the definition
+    private int[] firstOccs = new int[16];
+    private int[] lastOccs = new int[16];
+    private int[] numUses = new int[16];
+
+    // Occurrences
+    private int numOccs = 0;
+    // Packed positions of the identifiers, see SrcPos
+    private long[] occPos = new long[64];
+    private ASTNode[] occNodes = new ASTNode[64];
+    private int[] nextOccs = new int[64];
+
+    /**
+     * Records the definition of a symbol.
+     *
+     * @param symbol the symbol that has just been registered.
+     * @param idNode the identifier node of the definition.
+     * @return the symbol's id.
+     */
+    public int addDef(SymbolInfo symbol, ASTNode idNode) {
+        int symbolId = symbols.size();
+        symbols.add(symbol);
+        symbolIds.put(symbol, symbolId);
+        if (symbolId == firstOccs.length) {
+            int capacity = symbolId * 2;
+            firstOccs = Arrays.copyOf(firstOccs, capacity);
+            lastOccs = Arrays.copyOf(lastOccs, capacity);
+            numUses = Arrays.copyOf(numUses, capacity);
+        }
+
+        int occ = addOcc(idNode);
+        firstOccs[symbolId] = occ;
+        lastOccs[symbolId] = occ;
+        return symbolId;
+    }
+
+    /**
+     * Records a use of a symbol.
+     *
+     * @param symbol the symbol that the identifier resolves to.
+     * @param idNode the identifier node of the use.
+     */
+    public void addUse(SymbolInfo symbol, ASTNode idNode) {
+        Integer symbolId = symbolIds.get(symbol);
+        if (symbolId == null) {
+            // The definition was not recorded, e.g. the symbol was registered before the index was created
+            return;
+        }
+
+        int occ = addOcc(idNode);
+        nextOccs[lastOccs[symbolId]] = occ;
+        lastOccs[symbolId] = occ;
+        ++numUses[symbolId];
+    }
+
+    private int addOcc(ASTNode idNode) {
+        int occ = numOccs++;
+        if (occ == occPos.length) {
+            int capacity = occ * 2;
+            occPos = Arrays.copyOf(occPos, capacity);
+            occNodes = Arrays.copyOf(occNodes, capacity);
+            nextOccs = Arrays.copyOf(nextOccs, capacity);
+        }
+        occPos[occ] = idNode.getTok().getStartPos();
+        occNodes[occ] = idNode;
+        nextOccs[occ] = NONE;
+        return occ;
+    }
+
+    public int countSymbols() {
+        return symbols.size();
+    }
+
+    public SymbolInfo getSymbol(int symbolId) {
+        return symbols.get(symbolId);
+    }
+
+    /**
+     * Gets the id of a symbol.
+     *
+     * @param symbol the symbol.
+     * @return the symbol's id or -1 if its definition has not been recorded.
+     */
+    public int getSymbolId(SymbolInfo symbol) {
+        Integer symbolId = symbolIds.get(symbol);
+        return symbolId == null ? NONE : symbolId;
+    }
+
+    public ASTNode getDefNode(int symbolId) {
+        return occNodes[firstOccs[symbolId]];
+    }
+
+    public long getDefPos(int symbolId) {
+        return occPos[firstOccs[symbolId]];
+    }
+
+    public int countUses(int symbolId) {
+        return numUses[symbolId];
+    }
+
+    /**
+     * Finds the identifier nodes that use a symbol.
+     *
+     * @param symbolId the symbol's id.
+     * @return a list of nodes in the order they were checked.
+     */
+    public List<ASTNode> findUseNodes(int symbolId) {
+        List<ASTNode> nodes = new ArrayList<>(numUses[symbolId]);
+        for (int occ = nextOccs[firstOccs[symbolId]]; occ != NONE; occ = nextOccs[occ]) {
+            nodes.add(occNodes[occ]);
+        }
+        return nodes;
+    }
+
+    /**
+     * Finds the positions of the identifiers that use a symbol.
+     *
+     * @param symbolId the symbol's id.
+     * @return an array of packed positions in the order they were checked.
+     */
+    public long[] findUsePos(int symbolId) {
+        long[] pos = new long[numUses[symbolId]];
+        int i = 0;
+        for (int occ = nextOccs[firstOccs[symbolId]]; occ != NONE; occ = nextOccs[occ]) {
+            pos[i++] = occPos[occ];
+        }
+        return pos;
+    }
+
+    /**
+     * Finds the symbols that are defined but never used.
+     *
+     * @return a list of symbol ids in the order the symbols were defined.
+     */
+    public List<Integer> findUnused() {
+        List<Integer> unused = new ArrayList<>();
+        for (int symbolId = 0; symbolId < symbols.size(); ++symbolId) {
+            if (numUses[symbolId] == 0) {
+                unused.add(symbolId);
+            }
+        }
+        return unused;
+    }
+}
@@ -1,6 +1,9 @@
 package toks;
 
+// A position can also be packed into a long with the line in the high 32 bits and the column in the low 32 bits
 public class SrcPos {
+    // Packed position of the first character in the source
+    public static final long START = pack(1, 1);
     private int ln;
     private int col;
 
@@ -33,6 +36,39 @@ public class SrcPos {
         this.col = col;
     }
 
+    /**
+     * Packs a position into a long.
+     *
+     * @param ln  the line number.
+     * @param col the column number.
+     * @return the packed position.
+     */
+    public static long pack(int ln, int col) {
+        return ((long) ln << 32) | (col & 0xffffffffL);
+    }
+
+    public static int getLn(long pos) {
+        return (int) (pos >>> 32);
+    }
+
+    public static int getCol(long pos) {
+        return (int) pos;
+    }
+
+    /**
+     * Creates a position from its packed form.
+     *
+     * @param pos the packed position.
+     * @return a new SrcPos object.
+     */
+    public static SrcPos unpack(long pos) {
+        return new SrcPos(getLn(pos), getCol(pos));
+    }
+
+    public long pack() {
+        return pack(ln, col);
+    }
+
     @Override
     public String toString() {
         return "line " + ln + ", column " + col;
@@ -9,6 +9,10 @@ public class SrcRange {
         this.endPos = endPos;
     }
 
+    public SrcRange(long startPos, long endPos) {
+        this(SrcPos.unpack(startPos), SrcPos.unpack(endPos));
+    }
+
     public SrcRange(SrcRange srcRange) {
         this(new SrcPos(srcRange.startPos), new SrcPos(srcRange.endPos));
     }
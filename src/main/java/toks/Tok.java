@@ -3,12 +3,19 @@ package toks;
 public class Tok {
     private final String val;
     private TokType tokType;
-    private SrcRange srcRange;
+    // Packed source positions, see SrcPos
+    private long startPos;
+    private long endPos;
 
-    public Tok(String val, TokType tokType, SrcRange srcRange) {
+    public Tok(String val, TokType tokType, long startPos, long endPos) {
         this.val = val;
         this.tokType = tokType;
-        this.srcRange = srcRange;
+        this.startPos = startPos;
+        this.endPos = endPos;
+    }
+
+    public Tok(String val, TokType tokType, SrcRange srcRange) {
+        this(val, tokType, srcRange.getStartPos().pack(), srcRange.getEndPos().pack());
     }
 
     public String getVal() {
@@ -23,17 +30,42 @@ public class Tok {
         this.tokType = tokType;
     }
 
+    public long getStartPos() {
+        return startPos;
+    }
+
+    public long getEndPos() {
+        return endPos;
+    }
+
+    /**
+     * Moves the token to packed positions.
+     *
+     * @param startPos the packed start position.
+     * @param endPos   the packed end position.
+     */
+    public void setPos(long startPos, long endPos) {
+        this.startPos = startPos;
+        this.endPos = endPos;
+    }
+
+    /**
+     * Creates the source range of the token.
+     *
+     * @return a new SrcRange object.
+     */
     public SrcRange getSrcRange() {
-        return srcRange;
+        return new SrcRange(startPos, endPos);
     }
 
     public void setSrcRange(SrcRange srcRange) {
-        this.srcRange = srcRange;
+        startPos = srcRange.getStartPos().pack();
+        endPos = srcRange.getEndPos().pack();
     }
 
     @Override
     public String toString() {
-        return "val: " + val + ", tok type: " + tokType + ", " + srcRange;
+        return "val: " + val + ", tok type: " + tokType + ", " + getSrcRange();
     }
 
     @Override
@@ -1,39 +1,80 @@
 package types;
 
-public class ArrTypeInfo extends TypeInfo {
+import java.util.Objects;
+
+// Array data type
+// Array types are immutable and canonical, with one instance for each core data type and dimension, so they are
+// compared by reference. The instances are created on demand by getInst, which can be called from any thread.
+public final class ArrTypeInfo extends TypeInfo {
     public static final String ID = "Array";
     // Size of an array reference
     public static final int SIZE = 4;
-    private TypeInfo coreDtype;
-    private int dim;
+    // Canonical instances indexed by the core data type's dense id and then the dimension
+    // The arrays are copied on write and never modified after they are published, so they can be read without a lock
+    private static volatile ArrTypeInfo[][] insts = new ArrTypeInfo[NUM_PRIM_DENSE_IDS][];
+    private static int nextDenseId = NUM_PRIM_DENSE_IDS;
+    private final TypeInfo coreDtype;
+    private final int dim;
+    private final int hash;
 
-    public ArrTypeInfo(TypeInfo coreDtype, int dim) {
-        super(ID, TypeInfoType.ARR, SIZE);
+    private ArrTypeInfo(TypeInfo coreDtype, int dim, int denseId) {
+        super(ID, TypeInfoType.ARR, SIZE, denseId);
         this.coreDtype = coreDtype;
         this.dim = dim;
+        hash = Objects.hash(ID, coreDtype, dim);
     }
 
-    public TypeInfo getCoreDtype() {
-        return coreDtype;
+    /**
+     * Gets the canonical array type with the given core data type and dimension.
+     *
+     * @param coreDtype the primitive data type of the elements at the innermost dimension.
+     * @param dim       the number of dimensions.
+     * @return an ArrTypeInfo object.
+     */
+    public static ArrTypeInfo getInst(TypeInfo coreDtype, int dim) {
+        ArrTypeInfo[] dimInsts = insts[coreDtype.getDenseId()];
+        if (dimInsts != null && dim < dimInsts.length && dimInsts[dim] != null) {
+            return dimInsts[dim];
+        }
+        return createInst(coreDtype, dim);
     }
 
-    public void setCoreDtype(TypeInfo coreDtype) {
-        this.coreDtype = coreDtype;
+    private static synchronized ArrTypeInfo createInst(TypeInfo coreDtype, int dim) {
+        int coreId = coreDtype.getDenseId();
+        ArrTypeInfo[] dimInsts = insts[coreId];
+        if (dimInsts != null && dim < dimInsts.length && dimInsts[dim] != null) {
+            // Created by another thread in the meantime
+            return dimInsts[dim];
+        }
+
+        ArrTypeInfo[] newDimInsts = new ArrTypeInfo[Math.max(dim + 1, dimInsts == null ? 0 : dimInsts.length)];
+        if (dimInsts != null) {
+            System.arraycopy(dimInsts, 0, newDimInsts, 0, dimInsts.length);
+        }
+        ArrTypeInfo inst = new ArrTypeInfo(coreDtype, dim, nextDenseId++);
+        newDimInsts[dim] = inst;
+        ArrTypeInfo[][] newInsts = insts.clone();
+        newInsts[coreId] = newDimInsts;
+        insts = newInsts;
+        return inst;
+    }
+
+    public TypeInfo getCoreDtype() {
+        return coreDtype;
     }
 
     public int getDim() {
         return dim;
     }
 
-    public void setDim(int dim) {
-        this.dim = dim;
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     @Override
     public boolean equals(Object obj) {
-        if (!super.equals(obj) || !(obj instanceof ArrTypeInfo arrDtype)) {
-            return false;
-        }
-        return coreDtype.equals(arrDtype.coreDtype) && dim == arrDtype.dim;
+        // There is only one instance for each core data type and dimension
+        return obj == this;
     }
 }
@@ -2,11 +2,12 @@ package types;
 
 public class BoolType extends TypeInfo {
     public static final String ID = "Bool";
+    public static final int DENSE_ID = 2;
     public static final int SIZE = 1;
     private static final BoolType inst = new BoolType();
 
     public BoolType() {
-        super(ID, TypeInfoType.PRIMITIVE, SIZE);
+        super(ID, TypeInfoType.PRIMITIVE, SIZE, DENSE_ID);
     }
 
     /**
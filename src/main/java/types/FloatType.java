@@ -2,11 +2,12 @@ package types;
 
 public class FloatType extends TypeInfo {
     public static final String ID = "Float";
+    public static final int DENSE_ID = 1;
     public static final int SIZE = 4;
     private static final FloatType inst = new FloatType();
 
     private FloatType() {
-        super(ID, TypeInfoType.PRIMITIVE, SIZE);
+        super(ID, TypeInfoType.PRIMITIVE, SIZE, DENSE_ID);
     }
 
     /**
@@ -2,11 +2,12 @@ package types;
 
 public class IntType extends TypeInfo {
     public static final String ID = "Int";
+    public static final int DENSE_ID = 0;
     public static final int SIZE = 4;
     private static final IntType inst = new IntType();
 
     private IntType() {
-        super(ID, TypeInfoType.PRIMITIVE, SIZE);
+        super(ID, TypeInfoType.PRIMITIVE, SIZE, DENSE_ID);
     }
 
     /**
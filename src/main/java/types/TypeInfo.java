@@ -2,14 +2,25 @@ package types;
 
 // Data type
 public class TypeInfo {
+    // Number of primitive types, whose dense ids are below it and index the operator compatibility tables
+    // Canonical array types are given the dense ids after them, see ArrTypeInfo.getInst
+    public static final int NUM_PRIM_DENSE_IDS = 4;
+    // Dense id of the types that do not have one
+    public static final int NO_DENSE_ID = -1;
     private final String id;
     private final TypeInfoType infoType;
     private final int size;
+    private final int denseId;
 
-    public TypeInfo(String id, TypeInfoType infoType, int size) {
+    public TypeInfo(String id, TypeInfoType infoType, int size, int denseId) {
         this.id = id;
         this.infoType = infoType;
         this.size = size;
+        this.denseId = denseId;
+    }
+
+    public TypeInfo(String id, TypeInfoType infoType, int size) {
+        this(id, infoType, size, NO_DENSE_ID);
     }
 
     public String getId() {
@@ -24,6 +35,15 @@ public class TypeInfo {
         return size;
     }
 
+    public int getDenseId() {
+        return denseId;
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == this) {
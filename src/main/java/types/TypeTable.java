@@ -4,7 +4,10 @@ import toks.TokType;
 
 import java.util.HashMap;
 
+// Table for storing data types
+// There is a single instance, which is never modified after it is built, so it is shared by all parses and threads
 public class TypeTable {
+    private static final TypeTable inst = createTable();
     // String-to-type map
     private final HashMap<String, TypeInfo> strToType = new HashMap<>();
     private final HashMap<TokType, TypeInfo> literalToType = new HashMap<>();
@@ -12,12 +15,21 @@ public class TypeTable {
     private TypeTable() {
     }
 
+    /**
+     * Gets the only instance of the type table.
+     *
+     * @return a TypeTable object.
+     */
+    public static TypeTable getInst() {
+        return inst;
+    }
+
     /**
      * Creates an instance of TypeTable and initializes it.
      *
      * @return a TypeTable object.
      */
-    public static TypeTable createTable() {
+    private static TypeTable createTable() {
         TypeTable table = new TypeTable();
         // Add types to table
         table.registerType(IntType.getInst());
@@ -37,7 +49,7 @@ public class TypeTable {
      *
      * @param dtype TypeInfo object that carries type data.
      */
-    public void registerType(TypeInfo dtype) {
+    private void registerType(TypeInfo dtype) {
         strToType.put(dtype.getId(), dtype);
     }
 
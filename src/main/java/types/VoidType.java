@@ -2,11 +2,12 @@ package types;
 
 public class VoidType extends TypeInfo {
     public static final String ID = "Void";
+    public static final int DENSE_ID = 3;
     public static final int SIZE = 4;
     private static final VoidType inst = new VoidType();
 
     public VoidType() {
-        super(ID, TypeInfoType.PRIMITIVE, SIZE);
+        super(ID, TypeInfoType.PRIMITIVE, SIZE, DENSE_ID);
     }
 
     /**